@@ -23,14 +23,14 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.reef.annotations.Unstable;
 import org.apache.reef.annotations.audience.DriverSide;
 import org.apache.reef.annotations.audience.Private;
-import org.apache.reef.task.HeartBeatTriggerManager;
+import org.apache.reef.task.TaskMessage;
+import org.apache.reef.task.TaskMessageChannel;
 import org.apache.reef.vortex.common.KryoUtils;
 import org.apache.reef.vortex.protocol.mastertoworker.TaskletAggregationRequest;
 import org.apache.reef.vortex.protocol.workertomaster.*;
 
 import javax.annotation.concurrent.GuardedBy;
 import java.util.*;
-import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -47,9 +47,8 @@ final class AggregateContainer {
 
   private final Object stateLock = new Object();
   private final TaskletAggregationRequest taskletAggregationRequest;
-  private final HeartBeatTriggerManager heartBeatTriggerManager;
+  private final TaskMessageChannel taskMessageChannel;
   private final KryoUtils kryoUtils;
-  private final BlockingDeque<byte[]> workerReportsQueue;
   private final ScheduledExecutorService timer = Executors.newScheduledThreadPool(1);
 
   @GuardedBy("stateLock")
@@ -61,13 +60,11 @@ final class AggregateContainer {
   @GuardedBy("stateLock")
   private final List<Pair<Integer, Exception>> failedTasklets = new ArrayList<>();
 
-  AggregateContainer(final HeartBeatTriggerManager heartBeatTriggerManager,
+  AggregateContainer(final TaskMessageChannel taskMessageChannel,
                      final KryoUtils kryoUtils,
-                     final BlockingDeque<byte[]> workerReportsQueue,
                      final TaskletAggregationRequest taskletAggregationRequest) {
-    this.heartBeatTriggerManager = heartBeatTriggerManager;
+    this.taskMessageChannel = taskMessageChannel;
     this.kryoUtils = kryoUtils;
-    this.workerReportsQueue = workerReportsQueue;
     this.taskletAggregationRequest = taskletAggregationRequest;
   }
 
@@ -136,8 +133,8 @@ final class AggregateContainer {
 
     // Add to worker report only if there is something to report back.
     if (!workerToMasterReports.isEmpty()) {
-      workerReportsQueue.addLast(kryoUtils.serialize(new WorkerToMasterReports(workerToMasterReports)));
-      heartBeatTriggerManager.triggerHeartBeat();
+      taskMessageChannel.send(TaskMessage.from(VortexWorker.MESSAGE_SOURCE_ID,
+          kryoUtils.serialize(new WorkerToMasterReports(workerToMasterReports))));
     }
   }
 
@@ -22,13 +22,11 @@ import org.apache.reef.annotations.Unstable;
 import org.apache.reef.annotations.audience.TaskSide;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.tang.annotations.Unit;
-import org.apache.reef.task.HeartBeatTriggerManager;
 import org.apache.reef.task.Task;
 import org.apache.reef.task.TaskMessage;
-import org.apache.reef.task.TaskMessageSource;
+import org.apache.reef.task.TaskMessageChannel;
 import org.apache.reef.task.events.CloseEvent;
 import org.apache.reef.task.events.DriverMessage;
-import org.apache.reef.util.Optional;
 import org.apache.reef.vortex.common.KryoUtils;
 import org.apache.reef.vortex.protocol.mastertoworker.*;
 import org.apache.reef.vortex.protocol.workertomaster.*;
@@ -49,24 +47,23 @@ import java.util.logging.Logger;
 @Unstable
 @Unit
 @TaskSide
-public final class VortexWorker implements Task, TaskMessageSource {
+public final class VortexWorker implements Task {
   private static final Logger LOG = Logger.getLogger(VortexWorker.class.getName());
-  private static final String MESSAGE_SOURCE_ID = ""; // empty string as there is no use for it
+  static final String MESSAGE_SOURCE_ID = ""; // empty string as there is no use for it
 
   private final BlockingDeque<byte[]> pendingRequests = new LinkedBlockingDeque<>();
-  private final BlockingDeque<byte[]> workerReports = new LinkedBlockingDeque<>();
   private final ConcurrentMap<Integer, AggregateContainer> aggregates = new ConcurrentHashMap<>();
 
   private final KryoUtils kryoUtils;
-  private final HeartBeatTriggerManager heartBeatTriggerManager;
+  private final TaskMessageChannel taskMessageChannel;
   private final int numOfThreads;
   private final CountDownLatch terminated = new CountDownLatch(1);
 
   @Inject
-  private VortexWorker(final HeartBeatTriggerManager heartBeatTriggerManager,
+  private VortexWorker(final TaskMessageChannel taskMessageChannel,
                        final KryoUtils kryoUtils,
                        @Parameter(VortexWorkerConf.NumOfThreads.class) final int numOfThreads) {
-    this.heartBeatTriggerManager = heartBeatTriggerManager;
+    this.taskMessageChannel = taskMessageChannel;
     this.kryoUtils = kryoUtils;
     this.numOfThreads = numOfThreads;
   }
@@ -102,8 +99,7 @@ public final class VortexWorker implements Task, TaskMessageSource {
               final TaskletAggregationRequest taskletAggregationRequest =
                   (TaskletAggregationRequest) masterToWorkerRequest;
               aggregates.put(taskletAggregationRequest.getAggregateFunctionId(),
-                  new AggregateContainer(heartBeatTriggerManager, kryoUtils, workerReports,
-                      taskletAggregationRequest));
+                  new AggregateContainer(taskMessageChannel, kryoUtils, taskletAggregationRequest));
               break;
             case ExecuteAggregateTasklet:
               executeAggregateTasklet(commandExecutor, masterToWorkerRequest);
@@ -169,7 +165,6 @@ public final class VortexWorker implements Task, TaskMessageSource {
             }
 
             reports = new WorkerToMasterReports(holder);
-            workerReports.addLast(kryoUtils.serialize(reports));
             try {
               latch.await();
             } catch (final InterruptedException e) {
@@ -177,7 +172,7 @@ public final class VortexWorker implements Task, TaskMessageSource {
               throw new RuntimeException(e);
             }
             futures.remove(taskletExecutionRequest.getTaskletId());
-            heartBeatTriggerManager.triggerHeartBeat();
+            taskMessageChannel.send(TaskMessage.from(MESSAGE_SOURCE_ID, kryoUtils.serialize(reports)));
           }
         }));
 
@@ -213,19 +208,6 @@ public final class VortexWorker implements Task, TaskMessageSource {
     });
   }
 
-  /**
-   * @return the workerReport the worker wishes to send.
-   */
-  @Override
-  public Optional<TaskMessage> getMessage() {
-    final byte[] msg = workerReports.pollFirst();
-    if (msg != null) {
-      return Optional.of(TaskMessage.from(MESSAGE_SOURCE_ID, msg));
-    } else {
-      return Optional.empty();
-    }
-  }
-
   /**
    * Handle requests from Vortex Master.
    */
@@ -32,8 +32,8 @@ import org.apache.reef.driver.evaluator.FailedEvaluator;
 import org.apache.reef.driver.parameters.*;
 import org.apache.reef.driver.task.*;
 import org.apache.reef.runtime.common.driver.DriverRuntimeConfiguration;
-import org.apache.reef.runtime.common.driver.parameters.EvaluatorIdlenessThreadPoolSize;
-import org.apache.reef.runtime.common.driver.parameters.EvaluatorIdlenessWaitInMilliseconds;
+import org.apache.reef.runtime.common.driver.parameters.EvaluatorDispatcherThreadPoolSize;
+import org.apache.reef.runtime.common.driver.parameters.EvaluatorLaunchThreadPoolSize;
 import org.apache.reef.tang.formats.*;
 import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.time.Clock;
@@ -187,30 +187,75 @@ public final class DriverConfiguration extends ConfigurationModuleBuilder {
   public static final OptionalImpl<ProgressProvider> PROGRESS_PROVIDER = new OptionalImpl<>();
 
   /**
-   * Number of threads allocated per evaluator to dispatch events from this Evaluator.
+   * Maximum number of events from one Evaluator that are dispatched at the same time.
    */
   public static final OptionalParameter<Integer> EVALUATOR_DISPATCHER_THREADS = new OptionalParameter<>();
 
+  /**
+   * The number of Threads in a Driver to dispatch the events of all Evaluators.
+   * Used by {@link org.apache.reef.runtime.common.driver.evaluator.EvaluatorDispatcherThreadPool}.
+   */
+  public static final OptionalParameter<Integer> EVALUATOR_DISPATCHER_THREAD_POOL_SIZE = new OptionalParameter<>();
+
+  /**
+   * The number of Threads in a Driver that launch Evaluators. Defaults to 0, launch on the submitting thread.
+   * Used by {@link org.apache.reef.runtime.common.driver.evaluator.EvaluatorLaunchThreadPool}.
+   */
+  public static final OptionalParameter<Integer> EVALUATOR_LAUNCH_THREAD_POOL_SIZE = new OptionalParameter<>();
+
   /**
    * The number of submissions that the resource manager will attempt to submit the application. Defaults to 1.
    */
   public static final OptionalParameter<Integer> MAX_APPLICATION_SUBMISSIONS = new OptionalParameter<>();
 
+  /**
+   * The number of Evaluators that the Driver keeps allocated ahead of its requests. Defaults to 0, no pool.
+   * See {@link org.apache.reef.driver.parameters.EvaluatorPoolSize}.
+   */
+  public static final OptionalParameter<Integer> EVALUATOR_POOL_SIZE = new OptionalParameter<>();
+
+  /**
+   * The memory in MegaBytes of the Evaluators in the pool, see EVALUATOR_POOL_SIZE.
+   */
+  public static final OptionalParameter<Integer> EVALUATOR_POOL_MEMORY = new OptionalParameter<>();
+
+  /**
+   * The number of cores of the Evaluators in the pool, see EVALUATOR_POOL_SIZE.
+   */
+  public static final OptionalParameter<Integer> EVALUATOR_POOL_CORES = new OptionalParameter<>();
+
+  /**
+   * The launch profile of the JVM Evaluators, DEFAULT or STARTUP.
+   * See {@link org.apache.reef.runtime.common.launch.JavaLaunchProfile}.
+   */
+  public static final OptionalParameter<String> EVALUATOR_LAUNCH_PROFILE = new OptionalParameter<>();
+
+  /**
+   * The path of the class data sharing archive of the JVM Evaluators.
+   * See {@link org.apache.reef.driver.parameters.EvaluatorClassDataSharingArchive}.
+   */
+  public static final OptionalParameter<String> EVALUATOR_CLASS_DATA_SHARING_ARCHIVE = new OptionalParameter<>();
+
   /**
    * The number of Threads in a Driver to verify the completion of Evaluators.
-   * Used by {@link org.apache.reef.runtime.common.driver.evaluator.EvaluatorIdlenessThreadPool}.
+   * @deprecated No longer used: the Driver checks its idleness as soon as an Evaluator is closed.
    */
+  @Deprecated
   public static final OptionalParameter<Integer> EVALUATOR_IDLENESS_THREAD_POOL_SIZE = new OptionalParameter<>();
 
   /**
-   * The number of Threads in a Driver to verify the completion of Evaluators.
-   * Used by {@link org.apache.reef.runtime.common.driver.evaluator.EvaluatorIdlenessThreadPool}.
+   * The number of milliseconds to wait in a loop to verify the completion of Evaluators.
+   * @deprecated No longer used: the Driver checks its idleness as soon as an Evaluator is closed.
    */
+  @Deprecated
   public static final OptionalParameter<Long> EVALUATOR_IDLENESS_WAIT_IN_MS = new OptionalParameter<>();
 
   /**
    * ConfigurationModule to fill out to get a legal Driver Configuration.
+   * The deprecated idleness options stay bound to their deprecated parameters so that existing
+   * configurations that set them remain legal; the fully qualified names keep the imports warning-free.
    */
+  @SuppressWarnings("deprecation")
   public static final ConfigurationModule CONF = new DriverConfiguration().merge(DriverRuntimeConfiguration.CONF)
       .bindNamedParameter(DriverIdentifier.class, DRIVER_IDENTIFIER)
       .bindNamedParameter(DriverMemory.class, DRIVER_MEMORY)
@@ -251,8 +296,17 @@ public final class DriverConfiguration extends ConfigurationModuleBuilder {
 
           // Various parameters
       .bindNamedParameter(EvaluatorDispatcherThreads.class, EVALUATOR_DISPATCHER_THREADS)
-      .bindNamedParameter(EvaluatorIdlenessThreadPoolSize.class, EVALUATOR_IDLENESS_THREAD_POOL_SIZE)
-      .bindNamedParameter(EvaluatorIdlenessWaitInMilliseconds.class, EVALUATOR_IDLENESS_WAIT_IN_MS)
+      .bindNamedParameter(EvaluatorDispatcherThreadPoolSize.class, EVALUATOR_DISPATCHER_THREAD_POOL_SIZE)
+      .bindNamedParameter(EvaluatorLaunchThreadPoolSize.class, EVALUATOR_LAUNCH_THREAD_POOL_SIZE)
+      .bindNamedParameter(EvaluatorPoolSize.class, EVALUATOR_POOL_SIZE)
+      .bindNamedParameter(EvaluatorPoolMemory.class, EVALUATOR_POOL_MEMORY)
+      .bindNamedParameter(EvaluatorPoolCores.class, EVALUATOR_POOL_CORES)
+      .bindNamedParameter(EvaluatorLaunchProfile.class, EVALUATOR_LAUNCH_PROFILE)
+      .bindNamedParameter(EvaluatorClassDataSharingArchive.class, EVALUATOR_CLASS_DATA_SHARING_ARCHIVE)
+      .bindNamedParameter(org.apache.reef.runtime.common.driver.parameters.EvaluatorIdlenessThreadPoolSize.class,
+          EVALUATOR_IDLENESS_THREAD_POOL_SIZE)
+      .bindNamedParameter(org.apache.reef.runtime.common.driver.parameters.EvaluatorIdlenessWaitInMilliseconds.class,
+          EVALUATOR_IDLENESS_WAIT_IN_MS)
       .bindImplementation(ProgressProvider.class, PROGRESS_PROVIDER)
       .build();
 }
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.driver;
+
+import org.apache.reef.annotations.Provided;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Public;
+import org.apache.reef.tang.Configuration;
+
+import java.util.List;
+
+/**
+ * Interface for classes that support queueing Tasks to run one after the other.
+ * The ActiveContext of a JVM Evaluator implements it: check with instanceof before casting.
+ */
+@DriverSide
+@Provided
+@Public
+public interface TaskQueueable {
+
+  /**
+   * Queue Tasks to run one after the other, without waiting for the Driver in between.
+   * <p>
+   * The Evaluator starts the first Task as soon as no Task is running on the context, and each following Task as
+   * soon as the previous one is DONE. Each Task still triggers its RunningTask and CompletedTask events. The
+   * remaining queued Tasks are dropped if a Task fails, is suspended or closed, or if the context is closed,
+   * so a CompletedTask handler must not close the context while Tasks remain queued on it.
+   * <p>
+   * Only JVM Evaluators support this.
+   *
+   * @param taskConfs the configurations of the Tasks, in the order in which they run.
+   */
+  void queueTasks(final List<Configuration> taskConfs);
+}
@@ -23,6 +23,8 @@ import org.apache.reef.annotations.audience.DriverSide;
 import org.apache.reef.annotations.audience.Public;
 import org.apache.reef.runtime.common.driver.EvaluatorRequestorImpl;
 
+import java.util.Collection;
+
 /**
  * Interface through which Evaluators can be requested.
  */
@@ -37,6 +39,14 @@ public interface EvaluatorRequestor {
    */
   void submit(final EvaluatorRequest req);
 
+  /**
+   * Submit several requests for new evaluators at once.
+   * The requests for the same kind of Evaluator are handed to the resource manager as one request.
+   * The responses will surface in the AllocatedEvaluator message handler.
+   * @param requests the requests, all of which are checked before any is submitted.
+   */
+  void submitAll(final Collection<EvaluatorRequest> requests);
+
   /**
    * Get a new Builder for the evaluator with fluid interface.
    * @return Builder for the evaluator
@@ -21,6 +21,7 @@ package org.apache.reef.driver.evaluator;
 import org.apache.reef.runtime.common.files.ClasspathProvider;
 import org.apache.reef.runtime.common.files.RuntimePathProvider;
 import org.apache.reef.runtime.common.launch.JavaLaunchCommandBuilder;
+import org.apache.reef.runtime.common.launch.JavaLaunchProfile;
 
 import java.util.Collections;
 import java.util.List;
@@ -29,7 +30,8 @@ import java.util.List;
  * Defines the setup of a JVM process.
  * Users can set JVM options via {@link #setMemory(int)} and {@link #addOption(String)}.
  * Runtimes can also set JVM options, but should not do so if users have set options by
- * checking {@link #isOptionSet()}.
+ * checking {@link #isOptionSet()}. The launch profile and the class data sharing archive do not count as
+ * options set by users.
  */
 public final class JVMProcess implements EvaluatorProcess {
   private final JavaLaunchCommandBuilder commandBuilder = new JavaLaunchCommandBuilder();
@@ -99,4 +101,25 @@ public final class JVMProcess implements EvaluatorProcess {
     optionSet = true;
     return this;
   }
+
+  /**
+   * Set the launch profile whose JVM options are passed in addition to the options set.
+   * @param profile the launch profile.
+   * @return this
+   */
+  public JVMProcess setLaunchProfile(final JavaLaunchProfile profile) {
+    commandBuilder.setLaunchProfile(profile);
+    return this;
+  }
+
+  /**
+   * Set the class data sharing archive of the classpath, see
+   * {@link JavaLaunchCommandBuilder#setClassDataSharingArchive(String)}.
+   * @param archivePath the path of the archive, empty for none.
+   * @return this
+   */
+  public JVMProcess setClassDataSharingArchive(final String archivePath) {
+    commandBuilder.setClassDataSharingArchive(archivePath);
+    return this;
+  }
 }
@@ -19,28 +19,41 @@
 package org.apache.reef.driver.evaluator;
 
 import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.driver.parameters.EvaluatorClassDataSharingArchive;
+import org.apache.reef.driver.parameters.EvaluatorLaunchProfile;
 import org.apache.reef.runtime.common.files.ClasspathProvider;
 import org.apache.reef.runtime.common.files.RuntimePathProvider;
+import org.apache.reef.runtime.common.launch.JavaLaunchProfile;
+import org.apache.reef.tang.annotations.Parameter;
 
 import javax.inject.Inject;
 
 /**
- * Factory to setup new JVM processes.
+ * Factory to setup new JVM processes, with the launch profile and class data sharing archive of the Driver
+ * configuration.
  */
 @DriverSide
 public final class JVMProcessFactory implements EvaluatorProcessFactory<JVMProcess> {
   private final RuntimePathProvider pathProvider;
   private final ClasspathProvider classpathProvider;
+  private final JavaLaunchProfile launchProfile;
+  private final String classDataSharingArchive;
 
   @Inject
   private JVMProcessFactory(final RuntimePathProvider pathProvider,
-                           final ClasspathProvider classpathProvider) {
+                           final ClasspathProvider classpathProvider,
+                           @Parameter(EvaluatorLaunchProfile.class) final String launchProfile,
+                           @Parameter(EvaluatorClassDataSharingArchive.class) final String classDataSharingArchive) {
     this.pathProvider = pathProvider;
     this.classpathProvider = classpathProvider;
+    this.launchProfile = JavaLaunchProfile.valueOf(launchProfile);
+    this.classDataSharingArchive = classDataSharingArchive;
   }
 
   @Override
   public JVMProcess newEvaluatorProcess() {
-    return new JVMProcess(pathProvider, classpathProvider);
+    return new JVMProcess(pathProvider, classpathProvider)
+        .setLaunchProfile(launchProfile)
+        .setClassDataSharingArchive(classDataSharingArchive);
   }
 }
@@ -26,6 +26,8 @@ import java.util.Set;
 
 /**
  * Configuration provides whose Configurations will be mixed into the Evaluator Configuration.
+ * They are called for each Evaluator, unless they implement
+ * {@link org.apache.reef.driver.evaluator.ConstantConfigurationProvider}.
  */
 @NamedParameter(doc = "Configuration provides whose Configurations will be mixed into the Evaluator Configuration.")
 public final class EvaluatorConfigurationProviders implements Name<Set<ConfigurationProvider>> {
@@ -22,10 +22,12 @@ import org.apache.reef.tang.annotations.Name;
 import org.apache.reef.tang.annotations.NamedParameter;
 
 /**
- * Number of threads allocated per evaluator to dispatch events from that Evaluator.
+ * Maximum number of events from one Evaluator that are dispatched at the same time.
+ * With the default of 1, the events of an Evaluator are handled one at a time, in order.
+ * The threads themselves are shared by all Evaluators, see EvaluatorDispatcherThreadPoolSize.
  */
 @NamedParameter(
-    doc = "Number of threads allocated per evaluator to dispatch events from that Evaluator.",
+    doc = "Maximum number of events from one Evaluator that are dispatched at the same time.",
     default_value = "1")
 public final class EvaluatorDispatcherThreads implements Name<Integer> {
   private EvaluatorDispatcherThreads() {
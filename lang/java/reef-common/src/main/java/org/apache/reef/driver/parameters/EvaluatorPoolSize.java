@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.driver.parameters;
+
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+
+/**
+ * Number of Evaluators the Driver keeps allocated ahead of its requests, to hand them out without a round trip to
+ * the resource manager. The pool is filled on the first request, and only serves requests for the memory and cores
+ * of EvaluatorPoolMemory and EvaluatorPoolCores, on any node and rack of the default runtime. Defaults to 0, no pool.
+ */
+@NamedParameter(doc = "Number of Evaluators the Driver keeps allocated ahead of its requests.", default_value = "0")
+public final class EvaluatorPoolSize implements Name<Integer> {
+  private EvaluatorPoolSize() {
+  }
+}
@@ -18,9 +18,9 @@
  */
 package org.apache.reef.io;
 
+import org.apache.reef.driver.evaluator.ConstantConfigurationProvider;
 import org.apache.reef.driver.parameters.EvaluatorConfigurationProviders;
 import org.apache.reef.tang.Configuration;
-import org.apache.reef.tang.ConfigurationProvider;
 import org.apache.reef.tang.Tang;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.wake.remote.ports.parameters.TcpPortRangeBegin;
@@ -33,8 +33,9 @@ import java.util.logging.Logger;
 
 /**
  * Implements ConfigurationProvider for RangeTcpPortProvider.
+ * Its Configuration only depends on the parameters it was injected with, so it is constant.
  */
-public class TcpPortConfigurationProvider implements ConfigurationProvider {
+public class TcpPortConfigurationProvider implements ConstantConfigurationProvider {
   private final int portRangeBegin;
   private final int portRangeCount;
   private final int portRangeTryCount;
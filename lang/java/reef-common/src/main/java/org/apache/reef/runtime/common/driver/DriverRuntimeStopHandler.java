@@ -23,6 +23,7 @@ import org.apache.reef.annotations.audience.Private;
 import org.apache.reef.driver.parameters.ResourceManagerPreserveEvaluators;
 import org.apache.reef.exception.DriverFatalRuntimeException;
 import org.apache.reef.runtime.common.driver.api.ResourceManagerStopHandler;
+import org.apache.reef.runtime.common.driver.evaluator.EvaluatorPool;
 import org.apache.reef.runtime.common.driver.evaluator.Evaluators;
 import org.apache.reef.runtime.common.utils.RemoteManager;
 import org.apache.reef.tang.annotations.Parameter;
@@ -48,6 +49,7 @@ final class DriverRuntimeStopHandler implements EventHandler<RuntimeStop> {
   private final ResourceManagerStopHandler resourceManagerStopHandler;
   private final RemoteManager remoteManager;
   private final Evaluators evaluators;
+  private final EvaluatorPool evaluatorPool;
   private final boolean preserveEvaluatorsAcrossRestarts;
 
   @Inject
@@ -56,12 +58,14 @@ final class DriverRuntimeStopHandler implements EventHandler<RuntimeStop> {
       final ResourceManagerStopHandler resourceManagerStopHandler,
       final RemoteManager remoteManager,
       final Evaluators evaluators,
+      final EvaluatorPool evaluatorPool,
       @Parameter(ResourceManagerPreserveEvaluators.class) final boolean preserveEvaluatorsAcrossRestarts) {
 
     this.driverStatusManager = driverStatusManager;
     this.resourceManagerStopHandler = resourceManagerStopHandler;
     this.remoteManager = remoteManager;
     this.evaluators = evaluators;
+    this.evaluatorPool = evaluatorPool;
     this.preserveEvaluatorsAcrossRestarts = preserveEvaluatorsAcrossRestarts;
   }
 
@@ -77,6 +81,7 @@ final class DriverRuntimeStopHandler implements EventHandler<RuntimeStop> {
     if (runtimeException == null ||
         runtimeException instanceof DriverFatalRuntimeException ||
         !this.preserveEvaluatorsAcrossRestarts) {
+      this.evaluatorPool.close();
       this.evaluators.close();
     }
 
@@ -24,11 +24,14 @@ import org.apache.reef.driver.evaluator.EvaluatorRequestor;
 import org.apache.reef.runtime.common.driver.api.ResourceRequestEvent;
 import org.apache.reef.runtime.common.driver.api.ResourceRequestEventImpl;
 import org.apache.reef.runtime.common.driver.api.ResourceRequestHandler;
+import org.apache.reef.runtime.common.driver.evaluator.EvaluatorPool;
 import org.apache.reef.runtime.common.utils.Constants;
+import org.apache.reef.util.Optional;
 import org.apache.reef.util.logging.LoggingScope;
 import org.apache.reef.util.logging.LoggingScopeFactory;
 
 import javax.inject.Inject;
+import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,23 +46,77 @@ public final class EvaluatorRequestorImpl implements EvaluatorRequestor {
   private final ResourceCatalog resourceCatalog;
   private final ResourceRequestHandler resourceRequestHandler;
   private final LoggingScopeFactory loggingScopeFactory;
+  private final Optional<EvaluatorPool> evaluatorPool;
 
   /**
    * @param resourceCatalog
    * @param resourceRequestHandler
    * @param loggingScopeFactory
+   * @param evaluatorPool          satisfies the requests it can before they go to the resource manager.
    */
   @Inject
+  EvaluatorRequestorImpl(final ResourceCatalog resourceCatalog,
+                         final ResourceRequestHandler resourceRequestHandler,
+                         final LoggingScopeFactory loggingScopeFactory,
+                         final EvaluatorPool evaluatorPool) {
+    this.resourceCatalog = resourceCatalog;
+    this.resourceRequestHandler = resourceRequestHandler;
+    this.loggingScopeFactory = loggingScopeFactory;
+    this.evaluatorPool = Optional.of(evaluatorPool);
+  }
+
+  /**
+   * Creates an EvaluatorRequestor that hands all requests to the resource manager.
+   *
+   * @param resourceCatalog
+   * @param resourceRequestHandler
+   * @param loggingScopeFactory
+   */
   public EvaluatorRequestorImpl(final ResourceCatalog resourceCatalog,
                                 final ResourceRequestHandler resourceRequestHandler,
                                 final LoggingScopeFactory loggingScopeFactory) {
     this.resourceCatalog = resourceCatalog;
     this.resourceRequestHandler = resourceRequestHandler;
     this.loggingScopeFactory = loggingScopeFactory;
+    this.evaluatorPool = Optional.empty();
+  }
+
+  @Override
+  public void submit(final EvaluatorRequest req) {
+    this.submitAll(Collections.singletonList(req));
   }
 
   @Override
-  public synchronized void submit(final EvaluatorRequest req) {
+  public synchronized void submitAll(final Collection<EvaluatorRequest> requests) {
+    for (final EvaluatorRequest req : requests) {
+      checkRequest(req);
+    }
+
+    // The requests for the same kind of Evaluator, and the number of Evaluators left to request for each.
+    final Map<List<Object>, EvaluatorRequest> kinds = new LinkedHashMap<>();
+    final Map<List<Object>, Integer> numbers = new HashMap<>();
+    for (final EvaluatorRequest req : requests) {
+      final int fromPool = this.evaluatorPool.isPresent() ? this.evaluatorPool.get().take(req) : 0;
+      if (fromPool < req.getNumber()) {
+        final List<Object> kind = Arrays.<Object>asList(req.getMegaBytes(), req.getNumberOfCores(),
+            req.getNodeNames(), req.getRackNames(), isRelaxLocality(req), req.getRuntimeName());
+        final Integer number = numbers.get(kind);
+        numbers.put(kind, (number == null ? 0 : number) + req.getNumber() - fromPool);
+        if (!kinds.containsKey(kind)) {
+          kinds.put(kind, req);
+        }
+      }
+    }
+
+    for (final Map.Entry<List<Object>, EvaluatorRequest> kind : kinds.entrySet()) {
+      this.requestFromResourceManager(kind.getValue(), numbers.get(kind.getKey()), isRelaxLocality(kind.getValue()));
+    }
+    if (this.evaluatorPool.isPresent()) {
+      this.evaluatorPool.get().refill();
+    }
+  }
+
+  private static void checkRequest(final EvaluatorRequest req) {
     LOG.log(Level.FINEST, "Got an EvaluatorRequest: number: {0}, memory = {1}, cores = {2}.",
         new Object[] {req.getNumber(), req.getMegaBytes(), req.getNumberOfCores()});
 
@@ -81,6 +138,9 @@ public final class EvaluatorRequestorImpl implements EvaluatorRequestor {
     if(req.getRuntimeName() == null) {
       throw new IllegalArgumentException("Runtime name cannot be null");
     }
+  }
+
+  private static boolean isRelaxLocality(final EvaluatorRequest req) {
     // for backwards compatibility, we will always set the relax locality flag
     // to true unless the user configured racks, in which case we will check for
     // the ANY modifier (*), if not there, then we won't relax the locality
@@ -98,11 +158,14 @@ public final class EvaluatorRequestorImpl implements EvaluatorRequestor {
     if (!req.getNodeNames().isEmpty()) {
       relaxLocality = false;
     }
+    return relaxLocality;
+  }
 
-    try (LoggingScope ls = this.loggingScopeFactory.evaluatorSubmit(req.getNumber())) {
+  private void requestFromResourceManager(final EvaluatorRequest req, final int number, final boolean relaxLocality) {
+    try (LoggingScope ls = this.loggingScopeFactory.evaluatorSubmit(number)) {
       final ResourceRequestEvent request = ResourceRequestEventImpl
           .newBuilder()
-          .setResourceCount(req.getNumber())
+          .setResourceCount(number)
           .setVirtualCores(req.getNumberOfCores())
           .setMemorySize(req.getMegaBytes())
           .addNodeNames(req.getNodeNames())
@@ -21,12 +21,12 @@ package org.apache.reef.runtime.common.driver.context;
 import net.jcip.annotations.GuardedBy;
 import net.jcip.annotations.ThreadSafe;
 import org.apache.reef.driver.evaluator.EvaluatorDescriptor;
+import org.apache.reef.runtime.common.driver.evaluator.ConfigurationEncoder;
 import org.apache.reef.runtime.common.driver.evaluator.EvaluatorManager;
 import org.apache.reef.runtime.common.driver.evaluator.EvaluatorMessageDispatcher;
 import org.apache.reef.runtime.common.utils.ExceptionCodec;
 import org.apache.reef.tang.InjectionFuture;
 import org.apache.reef.tang.annotations.Parameter;
-import org.apache.reef.tang.formats.ConfigurationSerializer;
 import org.apache.reef.util.Optional;
 
 import javax.inject.Inject;
@@ -41,7 +41,7 @@ final class ContextFactory {
 
   private final String evaluatorId;
   private final EvaluatorDescriptor evaluatorDescriptor;
-  private final ConfigurationSerializer configurationSerializer;
+  private final ConfigurationEncoder configurationEncoder;
   private final ExceptionCodec exceptionCodec;
   private final EvaluatorMessageDispatcher messageDispatcher;
   private final ContextControlHandler contextControlHandler;
@@ -56,14 +56,14 @@ final class ContextFactory {
   ContextFactory(@Parameter(EvaluatorManager.EvaluatorIdentifier.class) final String evaluatorId,
                  @Parameter(EvaluatorManager.EvaluatorDescriptorName.class)
                  final EvaluatorDescriptor evaluatorDescriptor,
-                 final ConfigurationSerializer configurationSerializer,
+                 final ConfigurationEncoder configurationEncoder,
                  final ExceptionCodec exceptionCodec,
                  final EvaluatorMessageDispatcher messageDispatcher,
                  final ContextControlHandler contextControlHandler,
                  final InjectionFuture<ContextRepresenters> contextRepresenters) {
     this.evaluatorId = evaluatorId;
     this.evaluatorDescriptor = evaluatorDescriptor;
-    this.configurationSerializer = configurationSerializer;
+    this.configurationEncoder = configurationEncoder;
     this.exceptionCodec = exceptionCodec;
     this.messageDispatcher = messageDispatcher;
     this.contextControlHandler = contextControlHandler;
@@ -88,7 +88,7 @@ final class ContextFactory {
         this.evaluatorId,
         this.evaluatorDescriptor,
         parentID,
-        this.configurationSerializer,
+        this.configurationEncoder,
         this.contextControlHandler,
         this.messageDispatcher,
         this.exceptionCodec,
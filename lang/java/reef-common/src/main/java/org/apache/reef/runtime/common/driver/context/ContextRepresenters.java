@@ -38,6 +38,7 @@ import java.util.logging.Logger;
 
 /**
  * Driver-Side representation of all contexts on an Evaluator.
+ * The public methods lock this; the private ones are only called from them.
  */
 @ThreadSafe
 @DriverSide
@@ -110,6 +111,31 @@ public final class ContextRepresenters {
     }
   }
 
+  /**
+   * Reconcile the contexts known to the Driver with a full snapshot of the contexts on the Evaluator.
+   * Heartbeats in between snapshots only carry changed context statuses, so a context that closed without
+   * the Driver seeing its DONE status is still known here. It is closed now, topmost first, as if that status
+   * had arrived. The statuses in the snapshot must have been processed before.
+   *
+   * @param reportedContextIds the ids of all contexts on the Evaluator.
+   */
+  public synchronized void onContextSnapshot(final Collection<String> reportedContextIds) {
+    final List<EvaluatorContext> knownContexts = new ArrayList<>(this.contextStack);
+    Collections.reverse(knownContexts);
+    for (final EvaluatorContext context : knownContexts) {
+      if (reportedContextIds.contains(context.getId())) {
+        continue;
+      }
+      LOG.log(Level.WARNING, "Context {0} is missing from the latest snapshot of its Evaluator. Closing it.",
+          context.getId());
+      this.removeContext(context);
+      if (context.isRootContext()) {
+        LOG.log(Level.FINE, "Root context {0} closed. Evaluator closed will trigger final shutdown.", context.getId());
+      } else if (!this.isUnknownContextId(context.getParentId().get())) {
+        this.messageDispatcher.onContextClose(context.getClosedContext(this.getContext(context.getParentId().get())));
+      }
+    }
+  }
 
   /**
    * Process a heartbeat from a context.
@@ -117,7 +143,7 @@ public final class ContextRepresenters {
    * @param contextStatus
    * @param notifyClientOnNewActiveContext
    */
-  private synchronized void onContextStatusMessage(final ContextStatusPOJO contextStatus,
+  private void onContextStatusMessage(final ContextStatusPOJO contextStatus,
                                                    final boolean notifyClientOnNewActiveContext) {
 
     LOG.log(Level.FINER, "Processing context status message for context {0}", contextStatus.getContextId());
@@ -140,12 +166,12 @@ public final class ContextRepresenters {
   }
 
 
-  private synchronized void onUnknownContextStatus(final ContextStatusPOJO contextStatus) {
+  private void onUnknownContextStatus(final ContextStatusPOJO contextStatus) {
     LOG.log(Level.WARNING, "Received unexpected context status: {0}", contextStatus);
     throw new RuntimeException("Received unexpected context status: " + contextStatus.getContextState());
   }
 
-  private synchronized void onContextFailed(final ContextStatusPOJO contextStatus) {
+  private void onContextFailed(final ContextStatusPOJO contextStatus) {
     assert ContextState.FAIL == contextStatus.getContextState();
     final String contextID = contextStatus.getContextId();
     LOG.log(Level.FINE, "Context {0} failed", contextID);
@@ -158,7 +184,7 @@ public final class ContextRepresenters {
     this.messageDispatcher.onContextFailed(context.getFailedContext(contextStatus));
   }
 
-  private synchronized void onContextDone(final ContextStatusPOJO contextStatus) {
+  private void onContextDone(final ContextStatusPOJO contextStatus) {
     assert ContextState.DONE == contextStatus.getContextState();
     final String contextID = contextStatus.getContextId();
     if (isUnknownContextId(contextID)) {
@@ -184,7 +210,7 @@ public final class ContextRepresenters {
    * @param notifyClientOnNewActiveContext whether or not to inform the application when this in fact refers to a new
    *                                       context.
    */
-  private synchronized void onContextReady(final ContextStatusPOJO contextStatus,
+  private void onContextReady(final ContextStatusPOJO contextStatus,
                                            final boolean notifyClientOnNewActiveContext) {
     assert ContextState.READY == contextStatus.getContextState();
     final String contextID = contextStatus.getContextId();
@@ -210,7 +236,7 @@ public final class ContextRepresenters {
    * @param contextStatus             the message to create the context from
    * @param notifyClientOnNewActiveContext whether or not to fire an event to the user.
    */
-  private synchronized void onNewContext(final ContextStatusPOJO contextStatus,
+  private void onNewContext(final ContextStatusPOJO contextStatus,
                                          final boolean notifyClientOnNewActiveContext) {
     final String contextID = contextStatus.getContextId();
     LOG.log(Level.FINE, "Adding new context {0}.", contextID);
@@ -236,7 +262,7 @@ public final class ContextRepresenters {
    *
    * @param context
    */
-  private synchronized void addContext(final EvaluatorContext context) {
+  private void addContext(final EvaluatorContext context) {
     this.contextStack.add(context);
     this.contextIds.add(context.getId());
   }
@@ -246,7 +272,7 @@ public final class ContextRepresenters {
    *
    * @param context
    */
-  private synchronized void removeContext(final EvaluatorContext context) {
+  private void removeContext(final EvaluatorContext context) {
     this.contextStack.remove(context);
     this.contextIds.remove(context.getId());
   }
@@ -255,7 +281,7 @@ public final class ContextRepresenters {
    * @param contextId
    * @return true if the given context id is unknown so far.
    */
-  private synchronized boolean isUnknownContextId(final String contextId) {
+  private boolean isUnknownContextId(final String contextId) {
     return !this.contextIds.contains(contextId);
   }
 
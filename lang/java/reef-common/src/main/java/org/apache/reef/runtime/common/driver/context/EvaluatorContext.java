@@ -21,19 +21,22 @@ package org.apache.reef.runtime.common.driver.context;
 import com.google.protobuf.ByteString;
 import org.apache.reef.annotations.audience.DriverSide;
 import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.driver.TaskQueueable;
 import org.apache.reef.driver.context.ActiveContext;
 import org.apache.reef.driver.context.ClosedContext;
 import org.apache.reef.driver.context.FailedContext;
 import org.apache.reef.driver.evaluator.EvaluatorDescriptor;
+import org.apache.reef.driver.evaluator.EvaluatorType;
 import org.apache.reef.proto.EvaluatorRuntimeProtocol;
+import org.apache.reef.runtime.common.driver.evaluator.ConfigurationEncoder;
 import org.apache.reef.runtime.common.driver.evaluator.EvaluatorMessageDispatcher;
 import org.apache.reef.runtime.common.driver.evaluator.pojos.ContextState;
 import org.apache.reef.runtime.common.driver.evaluator.pojos.ContextStatusPOJO;
 import org.apache.reef.runtime.common.utils.ExceptionCodec;
 import org.apache.reef.tang.Configuration;
-import org.apache.reef.tang.formats.ConfigurationSerializer;
 import org.apache.reef.util.Optional;
 
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -42,7 +45,7 @@ import java.util.logging.Logger;
  */
 @DriverSide
 @Private
-public final class EvaluatorContext implements ActiveContext {
+public final class EvaluatorContext implements ActiveContext, TaskQueueable {
 
   private static final Logger LOG = Logger.getLogger(EvaluatorContext.class.getName());
 
@@ -51,18 +54,24 @@ public final class EvaluatorContext implements ActiveContext {
   private final EvaluatorDescriptor evaluatorDescriptor;
 
   private final Optional<String> parentID;
-  private final ConfigurationSerializer configurationSerializer;
+  private final ConfigurationEncoder configurationEncoder;
   private final ContextControlHandler contextControlHandler;
   private final ExceptionCodec exceptionCodec;
   private final ContextRepresenters contextRepresenters;
 
   private boolean isClosed = false;
 
+  /**
+   * The last task configuration sent in binary form, which the Evaluator keeps for this context.
+   * The next task configuration is sent as a delta relative to it.
+   */
+  private Optional<Configuration> lastTaskConfiguration = Optional.empty();
+
   public EvaluatorContext(final String contextIdentifier,
                           final String evaluatorIdentifier,
                           final EvaluatorDescriptor evaluatorDescriptor,
                           final Optional<String> parentID,
-                          final ConfigurationSerializer configurationSerializer,
+                          final ConfigurationEncoder configurationEncoder,
                           final ContextControlHandler contextControlHandler,
                           final EvaluatorMessageDispatcher messageDispatcher,
                           final ExceptionCodec exceptionCodec,
@@ -72,7 +81,7 @@ public final class EvaluatorContext implements ActiveContext {
     this.evaluatorIdentifier = evaluatorIdentifier;
     this.evaluatorDescriptor = evaluatorDescriptor;
     this.parentID = parentID;
-    this.configurationSerializer = configurationSerializer;
+    this.configurationEncoder = configurationEncoder;
     this.contextControlHandler = contextControlHandler;
     this.exceptionCodec = exceptionCodec;
     this.contextRepresenters = contextRepresenters;
@@ -125,10 +134,33 @@ public final class EvaluatorContext implements ActiveContext {
 
   @Override
   public synchronized void submitTask(final Configuration taskConf) {
-    submitTask(this.configurationSerializer.toString(taskConf));
+    if (!isJVMEvaluator()) {
+      submitTask(this.configurationEncoder.toString(taskConf));
+      return;
+    }
+
+    final ByteString binaryConf = this.lastTaskConfiguration.isPresent() ?
+        this.configurationEncoder.toBinaryDelta(taskConf, this.lastTaskConfiguration.get()) :
+        this.configurationEncoder.toBinary(taskConf);
+
+    submitTask(EvaluatorRuntimeProtocol.StartTaskProto.newBuilder()
+        .setContextId(this.contextIdentifier)
+        .setConfiguration("")
+        .setBinaryConfiguration(binaryConf)
+        .build());
+    this.lastTaskConfiguration = Optional.of(taskConf);
   }
 
   public synchronized void submitTask(final String taskConf) {
+    submitTask(EvaluatorRuntimeProtocol.StartTaskProto.newBuilder()
+        .setContextId(this.contextIdentifier)
+        .setConfiguration(taskConf)
+        .build());
+    // The Evaluator keeps this configuration too, but we can't compute deltas against a string.
+    this.lastTaskConfiguration = Optional.empty();
+  }
+
+  private void submitTask(final EvaluatorRuntimeProtocol.StartTaskProto startTaskProto) {
     if (this.isClosed) {
       throw new RuntimeException("Active context already closed");
     }
@@ -138,19 +170,55 @@ public final class EvaluatorContext implements ActiveContext {
 
     final EvaluatorRuntimeProtocol.ContextControlProto contextControlProto =
         EvaluatorRuntimeProtocol.ContextControlProto.newBuilder()
-            .setStartTask(
-                EvaluatorRuntimeProtocol.StartTaskProto.newBuilder()
-                    .setContextId(this.contextIdentifier)
-                    .setConfiguration(taskConf)
-                    .build())
+            .setStartTask(startTaskProto)
             .build();
 
     this.contextControlHandler.send(contextControlProto);
   }
 
+  @Override
+  public synchronized void queueTasks(final List<Configuration> taskConfs) {
+    if (this.isClosed) {
+      throw new RuntimeException("Active context already closed");
+    }
+    if (!isJVMEvaluator()) {
+      throw new UnsupportedOperationException("Only JVM Evaluators can queue Tasks");
+    }
+    if (taskConfs.isEmpty()) {
+      return;
+    }
+
+    LOG.log(Level.FINEST, "Queue {0} tasks: RunningEvaluator id[{1}] for context id[{2}]",
+        new Object[]{taskConfs.size(), getEvaluatorId(), getId()});
+
+    // Each configuration is a delta to the one before it, as the Evaluator reads them in order.
+    final EvaluatorRuntimeProtocol.ContextControlProto.Builder contextControlProto =
+        EvaluatorRuntimeProtocol.ContextControlProto.newBuilder();
+    for (final Configuration taskConf : taskConfs) {
+      final ByteString binaryConf = this.lastTaskConfiguration.isPresent() ?
+          this.configurationEncoder.toBinaryDelta(taskConf, this.lastTaskConfiguration.get()) :
+          this.configurationEncoder.toBinary(taskConf);
+      contextControlProto.addQueueTask(EvaluatorRuntimeProtocol.StartTaskProto.newBuilder()
+          .setContextId(this.contextIdentifier)
+          .setConfiguration("")
+          .setBinaryConfiguration(binaryConf)
+          .build());
+      this.lastTaskConfiguration = Optional.of(taskConf);
+    }
+
+    this.contextControlHandler.send(contextControlProto.build());
+  }
+
   @Override
   public synchronized void submitContext(final Configuration contextConfiguration) {
-    submitContext(this.configurationSerializer.toString(contextConfiguration));
+    if (isJVMEvaluator()) {
+      submitContext(EvaluatorRuntimeProtocol.AddContextProto.newBuilder()
+          .setParentContextId(getId())
+          .setContextConfiguration("")
+          .setBinaryContextConfiguration(this.configurationEncoder.toBinary(contextConfiguration)));
+    } else {
+      submitContext(this.configurationEncoder.toString(contextConfiguration));
+    }
   }
 
   public synchronized void submitContext(final String contextConf) {
@@ -160,9 +228,17 @@ public final class EvaluatorContext implements ActiveContext {
   @Override
   public synchronized void submitContextAndService(
       final Configuration contextConfiguration, final Configuration serviceConfiguration) {
-    submitContextAndService(
-        this.configurationSerializer.toString(contextConfiguration),
-        this.configurationSerializer.toString(serviceConfiguration));
+    if (isJVMEvaluator()) {
+      submitContext(EvaluatorRuntimeProtocol.AddContextProto.newBuilder()
+          .setParentContextId(getId())
+          .setContextConfiguration("")
+          .setBinaryContextConfiguration(this.configurationEncoder.toBinary(contextConfiguration))
+          .setBinaryServiceConfiguration(this.configurationEncoder.toBinary(serviceConfiguration)));
+    } else {
+      submitContextAndService(
+          this.configurationEncoder.toString(contextConfiguration),
+          this.configurationEncoder.toString(serviceConfiguration));
+    }
   }
 
   public synchronized void submitContextAndService(final String contextConf, final String serviceConf) {
@@ -170,10 +246,6 @@ public final class EvaluatorContext implements ActiveContext {
   }
 
   public synchronized void submitContextAndService(final String contextConf, final Optional<String> serviceConf) {
-    if (this.isClosed) {
-      throw new RuntimeException("Active context already closed");
-    }
-
     EvaluatorRuntimeProtocol.AddContextProto.Builder contextBuilder =
         EvaluatorRuntimeProtocol.AddContextProto.newBuilder()
             .setParentContextId(getId()).setContextConfiguration(contextConf);
@@ -182,6 +254,14 @@ public final class EvaluatorContext implements ActiveContext {
       contextBuilder = contextBuilder.setServiceConfiguration(serviceConf.get());
     }
 
+    submitContext(contextBuilder);
+  }
+
+  private void submitContext(final EvaluatorRuntimeProtocol.AddContextProto.Builder contextBuilder) {
+    if (this.isClosed) {
+      throw new RuntimeException("Active context already closed");
+    }
+
     final EvaluatorRuntimeProtocol.ContextControlProto contextControlProto =
         EvaluatorRuntimeProtocol.ContextControlProto.newBuilder()
             .setAddContext(contextBuilder.build())
@@ -190,6 +270,14 @@ public final class EvaluatorContext implements ActiveContext {
     this.contextControlHandler.send(contextControlProto);
   }
 
+  /**
+   * Only JVM Evaluators read the binary configuration fields; CLR Evaluators get the string forms.
+   */
+  private boolean isJVMEvaluator() {
+    return this.evaluatorDescriptor.getProcess() != null &&
+        this.evaluatorDescriptor.getProcess().getType() == EvaluatorType.JVM;
+  }
+
   @Override
   public String getEvaluatorId() {
     return this.evaluatorIdentifier;
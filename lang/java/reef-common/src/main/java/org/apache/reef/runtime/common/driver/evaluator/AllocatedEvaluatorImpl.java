@@ -22,22 +22,21 @@ import org.apache.reef.annotations.audience.DriverSide;
 import org.apache.reef.annotations.audience.Private;
 import org.apache.reef.driver.context.ContextConfiguration;
 import org.apache.reef.driver.evaluator.*;
+import org.apache.reef.runtime.common.driver.api.ResourceLaunchEvent;
 import org.apache.reef.runtime.common.driver.api.ResourceLaunchEventImpl;
 import org.apache.reef.runtime.common.evaluator.EvaluatorConfiguration;
 import org.apache.reef.tang.Configuration;
-import org.apache.reef.tang.ConfigurationBuilder;
-import org.apache.reef.tang.ConfigurationProvider;
 import org.apache.reef.tang.Tang;
 import org.apache.reef.tang.formats.ConfigurationModule;
-import org.apache.reef.tang.formats.ConfigurationSerializer;
 import org.apache.reef.util.Optional;
 import org.apache.reef.util.logging.LoggingScope;
 import org.apache.reef.util.logging.LoggingScopeFactory;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -52,10 +51,10 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
 
   private final EvaluatorManager evaluatorManager;
   private final String remoteID;
-  private final ConfigurationSerializer configurationSerializer;
+  private final ConfigurationEncoder configurationEncoder;
   private final String jobIdentifier;
   private final LoggingScopeFactory loggingScopeFactory;
-  private final Set<ConfigurationProvider> evaluatorConfigurationProviders;
+  private final EvaluatorConfigurationFragments configurationFragments;
 
   /**
    * The set of files to be places on the Evaluator.
@@ -69,16 +68,16 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
 
   AllocatedEvaluatorImpl(final EvaluatorManager evaluatorManager,
                          final String remoteID,
-                         final ConfigurationSerializer configurationSerializer,
+                         final ConfigurationEncoder configurationEncoder,
                          final String jobIdentifier,
                          final LoggingScopeFactory loggingScopeFactory,
-                         final Set<ConfigurationProvider> evaluatorConfigurationProviders) {
+                         final EvaluatorConfigurationFragments configurationFragments) {
     this.evaluatorManager = evaluatorManager;
     this.remoteID = remoteID;
-    this.configurationSerializer = configurationSerializer;
+    this.configurationEncoder = configurationEncoder;
     this.jobIdentifier = jobIdentifier;
     this.loggingScopeFactory = loggingScopeFactory;
-    this.evaluatorConfigurationProviders = evaluatorConfigurationProviders;
+    this.configurationFragments = configurationFragments;
   }
 
   @Override
@@ -110,7 +109,7 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
     final Configuration contextConfiguration = ContextConfiguration.CONF
         .set(ContextConfiguration.IDENTIFIER, "RootContext_" + this.getId())
         .build();
-    final String contextConfigurationString = this.configurationSerializer.toString(contextConfiguration);
+    final String contextConfigurationString = this.configurationEncoder.toString(contextConfiguration);
     this.launchWithConfigurationString(
         evaluatorConfiguration, contextConfigurationString,  Optional.<String>empty(), Optional.of(taskConfiguration));
   }
@@ -218,15 +217,24 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
     this.libraries.add(file);
   }
 
+  /**
+   * Launches the Evaluator. The configurations are serialized on the EvaluatorLaunchThreadPool.
+   */
   private void launch(final Configuration contextConfiguration,
                       final Optional<Configuration> serviceConfiguration,
                       final Optional<Configuration> taskConfiguration) {
-    try (final LoggingScope lb = loggingScopeFactory.evaluatorLaunch(this.getId())) {
-      final Configuration evaluatorConfiguration =
-          makeEvaluatorConfiguration(contextConfiguration, serviceConfiguration, taskConfiguration);
-
-      resourceBuildAndLaunch(evaluatorConfiguration);
-    }
+    final ResourceLaunchEventImpl.Builder launchEventBuilder = this.newResourceLaunchEventBuilder();
+    this.evaluatorManager.launch(new Callable<ResourceLaunchEvent>() {
+      @Override
+      public ResourceLaunchEvent call() {
+        try (final LoggingScope lb = loggingScopeFactory.evaluatorLaunch(getId())) {
+          return launchEventBuilder
+              .setEvaluatorConf(makeEvaluatorConfiguration(contextConfiguration, serviceConfiguration,
+                  taskConfiguration))
+              .build();
+        }
+      }
+    });
   }
 
   /**
@@ -243,27 +251,32 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
       final String contextConfiguration,
       final Optional<String> serviceConfiguration,
       final Optional<String> taskConfiguration) {
-    try (final LoggingScope lb = loggingScopeFactory.evaluatorLaunch(this.getId())) {
-      final Configuration submissionEvaluatorConfiguration =
-          makeEvaluatorConfiguration(
-              contextConfiguration, Optional.of(evaluatorConfiguration), serviceConfiguration, taskConfiguration);
-
-      resourceBuildAndLaunch(submissionEvaluatorConfiguration);
-    }
+    final ResourceLaunchEventImpl.Builder launchEventBuilder = this.newResourceLaunchEventBuilder();
+    this.evaluatorManager.launch(new Callable<ResourceLaunchEvent>() {
+      @Override
+      public ResourceLaunchEvent call() {
+        try (final LoggingScope lb = loggingScopeFactory.evaluatorLaunch(getId())) {
+          return launchEventBuilder
+              .setEvaluatorConf(makeEvaluatorConfiguration(
+                  contextConfiguration, Optional.of(evaluatorConfiguration), serviceConfiguration, taskConfiguration))
+              .build();
+        }
+      }
+    });
   }
 
-  private void resourceBuildAndLaunch(final Configuration evaluatorConfiguration) {
-    final ResourceLaunchEventImpl.Builder rbuilder =
-        ResourceLaunchEventImpl.newBuilder()
-            .setIdentifier(this.evaluatorManager.getId())
-            .setRemoteId(this.remoteID)
-            .setEvaluatorConf(evaluatorConfiguration)
-            .addFiles(this.files)
-            .addLibraries(this.libraries)
-            .setRuntimeName(this.getEvaluatorDescriptor().getRuntimeName());
-
-    rbuilder.setProcess(this.evaluatorManager.getEvaluatorDescriptor().getProcess());
-    this.evaluatorManager.onResourceLaunch(rbuilder.build());
+  /**
+   * @return a builder of the launch event, with everything but the Evaluator configuration. Built on the calling
+   * thread, so that the files, libraries and process are the ones set when the Evaluator was submitted.
+   */
+  private ResourceLaunchEventImpl.Builder newResourceLaunchEventBuilder() {
+    return ResourceLaunchEventImpl.newBuilder()
+        .setIdentifier(this.evaluatorManager.getId())
+        .setRemoteId(this.remoteID)
+        .addFiles(new ArrayList<>(this.files))
+        .addLibraries(new ArrayList<>(this.libraries))
+        .setRuntimeName(this.getEvaluatorDescriptor().getRuntimeName())
+        .setProcess(this.evaluatorManager.getEvaluatorDescriptor().getProcess());
   }
 
   /**
@@ -277,24 +290,17 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
                                                    final Optional<Configuration> serviceConfiguration,
                                                    final Optional<Configuration> taskConfiguration) {
 
-    final String contextConfigurationString = this.configurationSerializer.toString(contextConfiguration);
+    final String contextConfigurationString = this.configurationEncoder.toString(contextConfiguration);
 
     final Optional<String> taskConfigurationString;
     if (taskConfiguration.isPresent()) {
-      taskConfigurationString = Optional.of(this.configurationSerializer.toString(taskConfiguration.get()));
+      taskConfigurationString = Optional.of(this.configurationEncoder.toString(taskConfiguration.get()));
     } else {
       taskConfigurationString = Optional.empty();
     }
 
-    final Optional<Configuration> mergedServiceConfiguration = makeRootServiceConfiguration(serviceConfiguration);
-    if (mergedServiceConfiguration.isPresent()) {
-      final String serviceConfigurationString = this.configurationSerializer.toString(mergedServiceConfiguration.get());
-      return makeEvaluatorConfiguration(contextConfigurationString, Optional.<String>empty(),
-          Optional.of(serviceConfigurationString), taskConfigurationString);
-    } else {
-      return makeEvaluatorConfiguration(
-          contextConfigurationString, Optional.<String>empty(), Optional.<String>empty(), taskConfigurationString);
-    }
+    return makeEvaluatorConfiguration(contextConfigurationString, Optional.<String>empty(),
+        Optional.of(makeRootServiceConfigurationString(serviceConfiguration)), taskConfigurationString);
   }
 
   /**
@@ -335,7 +341,7 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
     } else {
       evaluatorConfigurationModule = evaluatorConfigurationModule
           .set(EvaluatorConfiguration.ROOT_SERVICE_CONFIGURATION,
-              this.configurationSerializer.toString(Tang.Factory.getTang().newConfigurationBuilder().build()));
+              this.configurationFragments.getEmptyConfigurationString());
     }
 
     // Add the (optional) task configuration
@@ -349,38 +355,28 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
   }
 
   /**
-   * Merges the Configurations provided by the evaluatorConfigurationProviders into the given
-   * serviceConfiguration, if any.
+   * Merges the Configuration provided by the evaluatorConfigurationProviders into the given
+   * serviceConfiguration, if any, and serializes it. Without a serviceConfiguration, the shared, pre-serialized
+   * root service configuration is used.
    */
-  private Optional<Configuration> makeRootServiceConfiguration(final Optional<Configuration> serviceConfiguration) {
+  private String makeRootServiceConfigurationString(final Optional<Configuration> serviceConfiguration) {
     final EvaluatorType evaluatorType = this.evaluatorManager.getEvaluatorDescriptor().getProcess().getType();
     if (EvaluatorType.CLR == evaluatorType) {
       LOG.log(Level.FINE, "Not using the ConfigurationProviders as we are configuring a {0} Evaluator.", evaluatorType);
-      return serviceConfiguration;
+      return serviceConfiguration.isPresent() ? this.configurationEncoder.toString(serviceConfiguration.get()) :
+          this.configurationFragments.getEmptyConfigurationString();
     }
 
-    if (!serviceConfiguration.isPresent() && this.evaluatorConfigurationProviders.isEmpty()) {
-      // No configurations to merge.
-      LOG.info("No service configuration given and no ConfigurationProviders set.");
-      return Optional.empty();
-    } else {
-      final ConfigurationBuilder configurationBuilder = getConfigurationBuilder(serviceConfiguration);
-      for (final ConfigurationProvider configurationProvider : this.evaluatorConfigurationProviders) {
-        configurationBuilder.addConfiguration(configurationProvider.getConfiguration());
-      }
-      return Optional.of(configurationBuilder.build());
+    if (!serviceConfiguration.isPresent()) {
+      return this.configurationFragments.getRootServiceConfigurationString();
     }
-  }
 
-  /**
-   * Utility to build a ConfigurationBuilder from an Optional<Configuration>.
-   */
-  private static ConfigurationBuilder getConfigurationBuilder(final Optional<Configuration> configuration) {
-    if (configuration.isPresent()) {
-      return Tang.Factory.getTang().newConfigurationBuilder(configuration.get());
-    } else {
-      return Tang.Factory.getTang().newConfigurationBuilder();
+    final Optional<Configuration> providedConfiguration = this.configurationFragments.getProvidedConfiguration();
+    if (!providedConfiguration.isPresent()) {
+      return this.configurationEncoder.toString(serviceConfiguration.get());
     }
+    return this.configurationEncoder.toString(Tang.Factory.getTang()
+        .newConfigurationBuilder(serviceConfiguration.get(), providedConfiguration.get()).build());
   }
 
   @Override
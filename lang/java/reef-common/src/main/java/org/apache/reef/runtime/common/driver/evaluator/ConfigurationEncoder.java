@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import com.google.protobuf.ByteString;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.formats.BinaryConfigurationSerializer;
+import org.apache.reef.tang.formats.ConfigurationSerializer;
+import org.apache.reef.util.cache.BoundedCacheImpl;
+import org.apache.reef.util.cache.Cache;
+import org.apache.reef.util.cache.SystemTime;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Serializes the configurations the Driver ships to its Evaluators.
+ * Serialized forms are cached by configuration content, so a configuration that is submitted
+ * to many Evaluators (e.g. a shared service or task configuration) is only serialized once.
+ * One instance is shared by all EvaluatorManagers.
+ */
+@Private
+@DriverSide
+public final class ConfigurationEncoder {
+
+  private static final long CACHE_TIMEOUT_MILLIS = 10 * 60 * 1000;
+  private static final int CACHE_MAXIMUM_SIZE = 1024;
+
+  private final ConfigurationSerializer configurationSerializer;
+  private final BinaryConfigurationSerializer binarySerializer;
+  private final Cache<Configuration, String> strings =
+      new BoundedCacheImpl<>(new SystemTime(), CACHE_TIMEOUT_MILLIS, CACHE_MAXIMUM_SIZE);
+  private final Cache<Configuration, ByteString> binaries =
+      new BoundedCacheImpl<>(new SystemTime(), CACHE_TIMEOUT_MILLIS, CACHE_MAXIMUM_SIZE);
+
+  @Inject
+  private ConfigurationEncoder(final ConfigurationSerializer configurationSerializer,
+                               final BinaryConfigurationSerializer binarySerializer) {
+    this.configurationSerializer = configurationSerializer;
+    this.binarySerializer = binarySerializer;
+  }
+
+  /**
+   * @param configuration the configuration to serialize
+   * @return the string form of the configuration, as read by all Evaluators and the launcher.
+   */
+  public String toString(final Configuration configuration) {
+    try {
+      return this.strings.get(configuration, new Callable<String>() {
+        @Override
+        public String call() {
+          return configurationSerializer.toString(configuration);
+        }
+      });
+    } catch (final ExecutionException e) {
+      throw new RuntimeException("Unable to serialize configuration", e.getCause());
+    }
+  }
+
+  /**
+   * @param configuration the configuration to serialize
+   * @return the binary form of the configuration. Only JVM Evaluators can read it.
+   */
+  public ByteString toBinary(final Configuration configuration) {
+    try {
+      return this.binaries.get(configuration, new Callable<ByteString>() {
+        @Override
+        public ByteString call() throws IOException {
+          return ByteString.copyFrom(binarySerializer.toByteArray(configuration));
+        }
+      });
+    } catch (final ExecutionException e) {
+      throw new RuntimeException("Unable to serialize configuration", e.getCause());
+    }
+  }
+
+  /**
+   * Deltas are not cached, as they depend on the configuration already present on the Evaluator.
+   *
+   * @param configuration the configuration to serialize
+   * @param base          the configuration the Evaluator will apply the delta to
+   * @return the binary form of the difference between base and configuration.
+   */
+  public ByteString toBinaryDelta(final Configuration configuration, final Configuration base) {
+    try {
+      return ByteString.copyFrom(this.binarySerializer.toByteArray(configuration, base));
+    } catch (final IOException e) {
+      throw new RuntimeException("Unable to serialize configuration delta", e);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.wake.impl.DefaultThreadFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the thread pools of the Driver that serve its Evaluators.
+ */
+final class DriverThreadPools {
+
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private DriverThreadPools() {
+  }
+
+  /**
+   * Creates a pool of a fixed number of threads with an unbounded queue.
+   * Idle threads time out, so the pool holds no threads while it has no work.
+   *
+   * @param numThreads the number of threads of the pool.
+   * @param owner      the class that uses the pool, which names its threads.
+   * @return the new pool.
+   */
+  static ThreadPoolExecutor newFixedThreadPool(final int numThreads, final Class<?> owner) {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(numThreads, numThreads,
+        KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+        new DefaultThreadFactory(owner.getName()));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.driver.evaluator.ConstantConfigurationProvider;
+import org.apache.reef.driver.parameters.EvaluatorConfigurationProviders;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.ConfigurationBuilder;
+import org.apache.reef.tang.ConfigurationProvider;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.util.Optional;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The parts of the Evaluator configuration that are the same for all Evaluators of the Driver.
+ * The Configurations of the ConstantConfigurationProviders are merged once, and the root service configuration is
+ * serialized once if all the providers are constant, instead of once per Evaluator. The other providers are called
+ * for each Evaluator, as the ConfigurationProvider contract does not promise a constant Configuration.
+ * One instance is shared by all EvaluatorManagers.
+ */
+@Private
+@DriverSide
+public final class EvaluatorConfigurationFragments {
+
+  private static final Logger LOG = Logger.getLogger(EvaluatorConfigurationFragments.class.getName());
+
+  private final List<ConfigurationProvider> constantProviders = new ArrayList<>();
+  private final List<ConfigurationProvider> otherProviders = new ArrayList<>();
+  private final ConfigurationEncoder configurationEncoder;
+
+  // Lazily initialized, guarded by this.
+  private Optional<Configuration> constantConfiguration = null;
+  private String emptyConfigurationString = null;
+  private String rootServiceConfigurationString = null;
+
+  @Inject
+  private EvaluatorConfigurationFragments(
+      @Parameter(EvaluatorConfigurationProviders.class)
+      final Set<ConfigurationProvider> evaluatorConfigurationProviders,
+      final ConfigurationEncoder configurationEncoder) {
+    for (final ConfigurationProvider provider : evaluatorConfigurationProviders) {
+      if (provider instanceof ConstantConfigurationProvider) {
+        this.constantProviders.add(provider);
+      } else {
+        this.otherProviders.add(provider);
+      }
+    }
+    this.configurationEncoder = configurationEncoder;
+    if (evaluatorConfigurationProviders.isEmpty()) {
+      LOG.log(Level.INFO, "No ConfigurationProviders set.");
+    }
+  }
+
+  /**
+   * @return the merged Configurations of the evaluatorConfigurationProviders, or empty if there are none.
+   */
+  public synchronized Optional<Configuration> getProvidedConfiguration() {
+    if (this.constantConfiguration == null) {
+      this.constantConfiguration = merge(this.constantProviders);
+    }
+    if (this.otherProviders.isEmpty()) {
+      return this.constantConfiguration;
+    }
+    final ConfigurationBuilder configurationBuilder = Tang.Factory.getTang().newConfigurationBuilder();
+    if (this.constantConfiguration.isPresent()) {
+      configurationBuilder.addConfiguration(this.constantConfiguration.get());
+    }
+    for (final ConfigurationProvider configurationProvider : this.otherProviders) {
+      configurationBuilder.addConfiguration(configurationProvider.getConfiguration());
+    }
+    return Optional.of(configurationBuilder.build());
+  }
+
+  /**
+   * @return the string form of the empty Configuration.
+   */
+  public synchronized String getEmptyConfigurationString() {
+    if (this.emptyConfigurationString == null) {
+      this.emptyConfigurationString =
+          this.configurationEncoder.toString(Tang.Factory.getTang().newConfigurationBuilder().build());
+    }
+    return this.emptyConfigurationString;
+  }
+
+  /**
+   * @return the string form of the root service configuration of a JVM Evaluator that is submitted without
+   * a service configuration: the provided Configuration, or the empty one.
+   */
+  public synchronized String getRootServiceConfigurationString() {
+    if (this.rootServiceConfigurationString != null) {
+      return this.rootServiceConfigurationString;
+    }
+    final Optional<Configuration> provided = this.getProvidedConfiguration();
+    final String configurationString = provided.isPresent() ?
+        this.configurationEncoder.toString(provided.get()) : this.getEmptyConfigurationString();
+    if (this.otherProviders.isEmpty()) {
+      this.rootServiceConfigurationString = configurationString;
+    }
+    return configurationString;
+  }
+
+  private static Optional<Configuration> merge(final List<ConfigurationProvider> providers) {
+    if (providers.isEmpty()) {
+      return Optional.empty();
+    }
+    final ConfigurationBuilder configurationBuilder = Tang.Factory.getTang().newConfigurationBuilder();
+    for (final ConfigurationProvider configurationProvider : providers) {
+      configurationBuilder.addConfiguration(configurationProvider.getConfiguration());
+    }
+    return Optional.of(configurationBuilder.build());
+  }
+}
@@ -40,25 +40,30 @@ public final class EvaluatorControlHandler {
   private static final Logger LOG = Logger.getLogger(EvaluatorControlHandler.class.getName());
   private final EvaluatorStatusManager stateManager;
   private final RemoteManager remoteManager;
+  private final HeartbeatPeriodAdvisor heartbeatPeriodAdvisor;
   private final String evaluatorId;
   private Optional<EventHandler<EvaluatorRuntimeProtocol.EvaluatorControlProto>> wrapped = Optional.empty();
 
   /**
    * @param stateManager  used to check whether the Evaluator is running before sending a message.
    * @param remoteManager used to establish the communications link as soon as the remote ID has been set.
+   * @param heartbeatPeriodAdvisor gives the heartbeat period that is sent along with each message.
    */
   @Inject
   EvaluatorControlHandler(final EvaluatorStatusManager stateManager,
                           final RemoteManager remoteManager,
+                          final HeartbeatPeriodAdvisor heartbeatPeriodAdvisor,
                           @Parameter(EvaluatorManager.EvaluatorIdentifier.class) final String evaluatorId) {
     this.stateManager = stateManager;
     this.remoteManager = remoteManager;
+    this.heartbeatPeriodAdvisor = heartbeatPeriodAdvisor;
     this.evaluatorId = evaluatorId;
     LOG.log(Level.FINE, "Instantiated 'EvaluatorControlHandler'");
   }
 
   /**
    * Send the evaluatorControlProto to the Evaluator.
+   * Unless the message sets one already, the heartbeat period the Driver currently asks for is added to it.
    *
    * @param evaluatorControlProto
    * @throws java.lang.IllegalStateException if the remote ID hasn't been set via setRemoteID() prior to this call
@@ -74,7 +79,13 @@ public final class EvaluatorControlHandler {
               new Object[]{this.evaluatorId, this.stateManager, evaluatorControlProto});
       return;
     }
-    this.wrapped.get().onNext(evaluatorControlProto);
+    if (evaluatorControlProto.hasHeartbeatPeriod()) {
+      this.wrapped.get().onNext(evaluatorControlProto);
+    } else {
+      this.wrapped.get().onNext(evaluatorControlProto.toBuilder()
+          .setHeartbeatPeriod(this.heartbeatPeriodAdvisor.getHeartbeatPeriod())
+          .build());
+    }
   }
 
   /**
@@ -34,7 +34,7 @@ final class EvaluatorDescriptorImpl implements EvaluatorDescriptor {
   private final NodeDescriptor nodeDescriptor;
   private final int megaBytes;
   private final int numberOfCores;
-  private EvaluatorProcess process;
+  private volatile EvaluatorProcess process;
   private final String runtimeName;
 
   EvaluatorDescriptorImpl(final NodeDescriptor nodeDescriptor,
@@ -55,14 +55,14 @@ final class EvaluatorDescriptorImpl implements EvaluatorDescriptor {
   }
 
   @Override
-  public synchronized EvaluatorProcess getProcess() {
+  public EvaluatorProcess getProcess() {
     if (null == this.process) {
       throw new IllegalArgumentException("EvaluatorProcess must be set");
     }
     return this.process;
   }
 
-  public synchronized void setProcess(final EvaluatorProcess process) {
+  public void setProcess(final EvaluatorProcess process) {
     this.process = process;
   }
 
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.runtime.common.driver.parameters.EvaluatorDispatcherThreadPoolSize;
+import org.apache.reef.tang.annotations.Parameter;
+
+import javax.inject.Inject;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Thread pool that runs the event handlers of all Evaluators of the Driver.
+ * Each {@link EvaluatorMessageDispatcher} queues the events of its Evaluator and runs them on this pool,
+ * so the number of dispatcher threads does not grow with the number of Evaluators.
+ * Idle threads time out, so the pool holds no threads while no events are dispatched.
+ */
+@Private
+@DriverSide
+public final class EvaluatorDispatcherThreadPool implements Executor {
+
+  private final ThreadPoolExecutor executor;
+
+  @Inject
+  private EvaluatorDispatcherThreadPool(
+      @Parameter(EvaluatorDispatcherThreadPoolSize.class) final int numThreads) {
+
+    Validate.isTrue(numThreads > 0, "EvaluatorDispatcherThreadPoolSize must be configured to be > 0");
+
+    this.executor = DriverThreadPools.newFixedThreadPool(numThreads, EvaluatorDispatcherThreadPool.class);
+  }
+
+  @Override
+  public void execute(final Runnable command) {
+    this.executor.execute(command);
+  }
+
+  /**
+   * @return the number of threads of the pool.
+   */
+  public int getPoolSize() {
+    return this.executor.getMaximumPoolSize();
+  }
+
+  /**
+   * @return the number of Evaluators whose events wait for a free thread of the pool.
+   */
+  public int getQueueLength() {
+    return this.executor.getQueue().size();
+  }
+}
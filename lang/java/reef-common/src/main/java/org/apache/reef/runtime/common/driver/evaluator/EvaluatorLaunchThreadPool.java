@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.runtime.common.driver.parameters.EvaluatorLaunchThreadPoolSize;
+import org.apache.reef.tang.annotations.Parameter;
+
+import javax.inject.Inject;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Thread pool that launches the Evaluators of the Driver, so that a Driver that submits many Evaluators at once
+ * builds their configurations and hands them to the resource manager in parallel.
+ * With a size of 0, launches run on the thread that submits the Evaluator.
+ * Idle threads time out, so the pool holds no threads while no Evaluators are launched.
+ */
+@Private
+@DriverSide
+public final class EvaluatorLaunchThreadPool implements Executor {
+
+  private final ThreadPoolExecutor executor;
+
+  @Inject
+  private EvaluatorLaunchThreadPool(
+      @Parameter(EvaluatorLaunchThreadPoolSize.class) final int numThreads) {
+
+    Validate.isTrue(numThreads >= 0, "EvaluatorLaunchThreadPoolSize must be configured to be >= 0");
+
+    if (numThreads == 0) {
+      this.executor = null;
+    } else {
+      this.executor = DriverThreadPools.newFixedThreadPool(numThreads, EvaluatorLaunchThreadPool.class);
+    }
+  }
+
+  /**
+   * @return true if launches run on the thread that submits the Evaluator.
+   */
+  public boolean isInline() {
+    return this.executor == null;
+  }
+
+  @Override
+  public void execute(final Runnable command) {
+    if (this.executor == null) {
+      command.run();
+    } else {
+      this.executor.execute(command);
+    }
+  }
+}
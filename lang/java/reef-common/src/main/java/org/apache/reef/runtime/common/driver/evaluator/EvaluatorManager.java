@@ -21,7 +21,6 @@ package org.apache.reef.runtime.common.driver.evaluator;
 import org.apache.reef.annotations.audience.DriverSide;
 import org.apache.reef.annotations.audience.Private;
 import org.apache.reef.driver.evaluator.FailedEvaluator;
-import org.apache.reef.driver.parameters.EvaluatorConfigurationProviders;
 import org.apache.reef.driver.restart.DriverRestartManager;
 import org.apache.reef.driver.restart.EvaluatorRestartState;
 import org.apache.reef.exception.NonSerializableException;
@@ -29,8 +28,8 @@ import org.apache.reef.runtime.common.driver.api.*;
 import org.apache.reef.runtime.common.driver.evaluator.pojos.ContextStatusPOJO;
 import org.apache.reef.runtime.common.driver.evaluator.pojos.EvaluatorStatusPOJO;
 import org.apache.reef.runtime.common.driver.evaluator.pojos.State;
+import org.apache.reef.runtime.common.driver.evaluator.pojos.TaskMessagePOJO;
 import org.apache.reef.runtime.common.driver.evaluator.pojos.TaskStatusPOJO;
-import org.apache.reef.tang.ConfigurationProvider;
 import org.apache.reef.driver.context.ActiveContext;
 import org.apache.reef.driver.context.FailedContext;
 import org.apache.reef.driver.evaluator.AllocatedEvaluator;
@@ -52,7 +51,6 @@ import org.apache.reef.runtime.common.utils.RemoteManager;
 import org.apache.reef.tang.annotations.Name;
 import org.apache.reef.tang.annotations.NamedParameter;
 import org.apache.reef.tang.annotations.Parameter;
-import org.apache.reef.tang.formats.ConfigurationSerializer;
 import org.apache.reef.util.Optional;
 import org.apache.reef.util.logging.LoggingScopeFactory;
 import org.apache.reef.wake.EventHandler;
@@ -63,8 +61,11 @@ import org.apache.reef.wake.time.event.Alarm;
 import javax.inject.Inject;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -100,29 +101,42 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
   private final ExceptionCodec exceptionCodec;
   private final EventHandlerIdlenessSource idlenessSource;
   private final RemoteManager remoteManager;
-  private final ConfigurationSerializer configurationSerializer;
+  private final ConfigurationEncoder configurationEncoder;
   private final LoggingScopeFactory loggingScopeFactory;
-  private final Set<ConfigurationProvider> evaluatorConfigurationProviders;
+  private final EvaluatorConfigurationFragments configurationFragments;
+  private final EvaluatorLaunchThreadPool launchThreadPool;
   private final DriverRestartManager driverRestartManager;
-  private final EvaluatorIdlenessThreadPool idlenessThreadPool;
+
+  /**
+   * When the Evaluator was allocated and submitted, in System.nanoTime(), to log how long it takes to start.
+   */
+  private final long allocationNanos = System.nanoTime();
+  private long submissionNanos = 0;
 
   // Mutable fields
   private Optional<TaskRepresenter> task = Optional.empty();
   private boolean resourceNotReleased = true;
   private boolean allocationNotFired = true;
 
+  /**
+   * Set by close(), so that the Driver idleness is checked once this Evaluator is closed.
+   * Guarded by evaluatorDescriptor.
+   */
+  private boolean closeRequested = false;
+  private boolean idlenessCheckScheduled = false;
+
   @Inject
   private EvaluatorManager(
       @Parameter(EvaluatorIdentifier.class) final String evaluatorId,
       @Parameter(EvaluatorDescriptorName.class) final EvaluatorDescriptorImpl evaluatorDescriptor,
-      @Parameter(EvaluatorConfigurationProviders.class)
-        final Set<ConfigurationProvider> evaluatorConfigurationProviders,
       final Clock clock,
       final RemoteManager remoteManager,
       final ResourceReleaseHandler resourceReleaseHandler,
       final ResourceLaunchHandler resourceLaunchHandler,
       final ContextRepresenters contextRepresenters,
-      final ConfigurationSerializer configurationSerializer,
+      final ConfigurationEncoder configurationEncoder,
+      final EvaluatorConfigurationFragments configurationFragments,
+      final EvaluatorLaunchThreadPool launchThreadPool,
       final EvaluatorMessageDispatcher messageDispatcher,
       final EvaluatorControlHandler evaluatorControlHandler,
       final ContextControlHandler contextControlHandler,
@@ -130,14 +144,12 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
       final ExceptionCodec exceptionCodec,
       final EventHandlerIdlenessSource idlenessSource,
       final LoggingScopeFactory loggingScopeFactory,
-      final DriverRestartManager driverRestartManager,
-      final EvaluatorIdlenessThreadPool idlenessThreadPool) {
+      final DriverRestartManager driverRestartManager) {
 
     LOG.log(Level.FINEST, "Instantiating 'EvaluatorManager' for evaluator: {0}", evaluatorId);
 
     this.evaluatorId = evaluatorId;
     this.evaluatorDescriptor = evaluatorDescriptor;
-    this.evaluatorConfigurationProviders = evaluatorConfigurationProviders;
 
     this.clock = clock;
     this.contextRepresenters = contextRepresenters;
@@ -152,10 +164,11 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
     this.exceptionCodec = exceptionCodec;
 
     this.remoteManager = remoteManager;
-    this.configurationSerializer = configurationSerializer;
+    this.configurationEncoder = configurationEncoder;
+    this.configurationFragments = configurationFragments;
+    this.launchThreadPool = launchThreadPool;
     this.loggingScopeFactory = loggingScopeFactory;
     this.driverRestartManager = driverRestartManager;
-    this.idlenessThreadPool = idlenessThreadPool;
 
     LOG.log(Level.FINEST, "Instantiated 'EvaluatorManager' for evaluator: [{0}]", this.getId());
   }
@@ -181,25 +194,28 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
   /**
    * Fires the EvaluatorAllocatedEvent to the handlers. Can only be done once.
    */
-  public synchronized void fireEvaluatorAllocatedEvent() {
+  public void fireEvaluatorAllocatedEvent() {
+
+    synchronized (this.evaluatorDescriptor) {
 
-    if (this.stateManager.isAllocated() && this.allocationNotFired) {
+      if (this.stateManager.isAllocated() && this.allocationNotFired) {
 
-      final AllocatedEvaluator allocatedEvaluator =
-          new AllocatedEvaluatorImpl(this,
-              this.remoteManager.getMyIdentifier(),
-              this.configurationSerializer,
-              getJobIdentifier(),
-              this.loggingScopeFactory,
-              this.evaluatorConfigurationProviders);
+        final AllocatedEvaluator allocatedEvaluator =
+            new AllocatedEvaluatorImpl(this,
+                this.remoteManager.getMyIdentifier(),
+                this.configurationEncoder,
+                getJobIdentifier(),
+                this.loggingScopeFactory,
+                this.configurationFragments);
 
-      LOG.log(Level.FINEST, "Firing AllocatedEvaluator event for Evaluator with ID [{0}]", this.evaluatorId);
+        LOG.log(Level.FINEST, "Firing AllocatedEvaluator event for Evaluator with ID [{0}]", this.evaluatorId);
 
-      this.messageDispatcher.onEvaluatorAllocated(allocatedEvaluator);
-      this.allocationNotFired = false;
+        this.messageDispatcher.onEvaluatorAllocated(allocatedEvaluator);
+        this.allocationNotFired = false;
 
-    } else {
-      LOG.log(Level.WARNING, "AllocatedEvaluator event fired more than once.");
+      } else {
+        LOG.log(Level.WARNING, "AllocatedEvaluator event fired more than once.");
+      }
     }
   }
 
@@ -272,9 +288,28 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
           this.resourceReleaseHandler.onNext(releaseEvent);
         }
       }
+
+      this.closeRequested = true;
+      this.checkIdlenessOnceClosed();
     }
+  }
 
-    this.idlenessThreadPool.runCheckAsync(this);
+  /**
+   * Once this Evaluator is requested to close and has completed, schedules a check of the Driver idleness
+   * for when the Evaluator is closed, i.e. when its last event was handled.
+   * Called whenever the Evaluator might have completed. Must be called while holding evaluatorDescriptor.
+   */
+  private void checkIdlenessOnceClosed() {
+    if (this.closeRequested && !this.idlenessCheckScheduled && this.stateManager.isCompleted()) {
+      this.idlenessCheckScheduled = true;
+      this.messageDispatcher.whenEmpty(new Runnable() {
+        @Override
+        public void run() {
+          LOG.log(Level.FINE, "Evaluator {0} has finished.", evaluatorId);
+          checkIdlenessSource();
+        }
+      });
+    }
   }
 
   /**
@@ -408,6 +443,13 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
             return;
           }
 
+          if (this.stateManager.isSubmitted()) {
+            final long now = System.nanoTime();
+            LOG.log(Level.FINE, "Evaluator {0} is running, {1} ms after its allocation and {2} ms after its launch",
+                new Object[] {this.evaluatorId, TimeUnit.NANOSECONDS.toMillis(now - this.allocationNanos),
+                    TimeUnit.NANOSECONDS.toMillis(now - this.submissionNanos)});
+          }
+
           this.stateManager.setRunning();
           LOG.log(Level.FINEST, "Evaluator {0} is running", this.evaluatorId);
 
@@ -432,23 +474,72 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
         contextStatusList.add(new ContextStatusPOJO(proto, messageSequenceNumber));
       }
 
-      this.contextRepresenters.onContextStatusMessages(contextStatusList, informClientOfNewContexts);
+      // Statuses that did not change since the last heartbeat are omitted, unless this is a full snapshot.
+      if (!contextStatusList.isEmpty()) {
+        this.contextRepresenters.onContextStatusMessages(contextStatusList, informClientOfNewContexts);
+      }
 
       // Process the Task status message
       if (evaluatorHeartbeatProto.hasTaskStatus()) {
         this.onTaskStatusMessage(new TaskStatusPOJO(evaluatorHeartbeatProto.getTaskStatus(), messageSequenceNumber));
       }
 
+      if (evaluatorHeartbeatProto.getFullSnapshot()) {
+        this.onFullSnapshot(evaluatorHeartbeatProto);
+      }
+
       LOG.log(Level.FINE, "DONE with evaluator heartbeat from Evaluator {0}", this.getId());
     }
   }
 
   /**
-   * Process a evaluator status message.
+   * Reconcile the Driver's view of the Evaluator with a heartbeat that carries all its statuses.
+   * A task or context the Driver knows but the snapshot does not report ended without the Driver seeing
+   * its final status: the task is failed and the contexts are closed.
+   */
+  private void onFullSnapshot(final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto snapshot) {
+    if (this.task.isPresent() && !snapshot.hasTaskStatus()) {
+      LOG.log(Level.WARNING, "Task {0} is missing from the latest snapshot of Evaluator {1}.",
+          new Object[] {this.task.get().getId(), this.evaluatorId});
+      this.task.get().onTaskMissing();
+      this.task = Optional.empty();
+    }
+
+    final Set<String> contextIds = new HashSet<>();
+    for (final ReefServiceProtos.ContextStatusProto proto : snapshot.getContextStatusList()) {
+      contextIds.add(proto.getContextId());
+    }
+    this.contextRepresenters.onContextSnapshot(contextIds);
+  }
+
+  /**
+   * Process task messages that a Task sent outside of a heartbeat.
+   */
+  public void onTaskMessages(final EvaluatorRuntimeProtocol.TaskMessagesProto taskMessagesProto) {
+
+    synchronized (this.evaluatorDescriptor) {
+
+      if (!(this.task.isPresent() && this.task.get().getId().equals(taskMessagesProto.getTaskId()))) {
+        LOG.log(Level.WARNING, "Dropping task messages from Task {0} that is not running on Evaluator {1}",
+            new Object[] {taskMessagesProto.getTaskId(), this.evaluatorId});
+        return;
+      }
+
+      // Like the messages of a heartbeat, all messages of a batch get its timestamp as their sequence number.
+      final List<TaskMessagePOJO> taskMessages = new ArrayList<>(taskMessagesProto.getTaskMessageCount());
+      for (final ReefServiceProtos.TaskStatusProto.TaskMessageProto proto : taskMessagesProto.getTaskMessageList()) {
+        taskMessages.add(new TaskMessagePOJO(proto, taskMessagesProto.getTimestamp()));
+      }
+      this.task.get().onTaskMessages(taskMessages);
+    }
+  }
+
+  /**
+   * Process a evaluator status message. Must be called while holding evaluatorDescriptor.
    *
    * @param message
    */
-  private synchronized void onEvaluatorStatusMessage(final EvaluatorStatusPOJO message) {
+  private void onEvaluatorStatusMessage(final EvaluatorStatusPOJO message) {
 
     switch (message.getState()) {
     case DONE:
@@ -471,10 +562,11 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
 
   /**
    * Process an evaluator message that indicates that the evaluator shut down cleanly.
+   * Must be called while holding evaluatorDescriptor.
    *
    * @param message
    */
-  private synchronized void onEvaluatorDone(final EvaluatorStatusPOJO message) {
+  private void onEvaluatorDone(final EvaluatorStatusPOJO message) {
 
     assert message.getState() == State.DONE;
 
@@ -495,11 +587,11 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
   }
 
   /**
-   * Process an evaluator message that indicates a crash.
+   * Process an evaluator message that indicates a crash. Must be called while holding evaluatorDescriptor.
    *
    * @param evaluatorStatus
    */
-  private synchronized void onEvaluatorFailed(final EvaluatorStatusPOJO evaluatorStatus) {
+  private void onEvaluatorFailed(final EvaluatorStatusPOJO evaluatorStatus) {
 
     assert evaluatorStatus.getState() == State.FAILED;
 
@@ -522,10 +614,11 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
 
   /**
    * Process an evaluator message that indicates that the evaluator completed the unclean shut down request.
+   * Must be called while holding evaluatorDescriptor.
    *
    * @param message
    */
-  private synchronized void onEvaluatorKilled(final EvaluatorStatusPOJO message) {
+  private void onEvaluatorKilled(final EvaluatorStatusPOJO message) {
 
     assert message.getState() == State.KILLED;
     assert this.stateManager.isClosing();
@@ -533,23 +626,84 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
     LOG.log(Level.WARNING, "Evaluator {0} killed completely.", getId());
 
     this.stateManager.setKilled();
+    this.checkIdlenessOnceClosed();
   }
 
   public void onResourceLaunch(final ResourceLaunchEvent resourceLaunchEvent) {
     synchronized (this.evaluatorDescriptor) {
-      if (this.stateManager.isAllocated()) {
-        this.stateManager.setSubmitted();
+      if (this.setSubmitted()) {
         this.resourceLaunchHandler.onNext(resourceLaunchEvent);
-      } else if (this.stateManager.isCompletedAbnormally()) {
-        LOG.log(Level.WARNING, "Evaluator manager expected {0} state but instead is in state {1}",
-            new Object[] {EvaluatorState.ALLOCATED, this.stateManager});
-      } else {
-        throw new RuntimeException("Evaluator manager expected " + EvaluatorState.ALLOCATED +
-            " state but instead is in state " + this.stateManager);
       }
     }
   }
 
+  /**
+   * Launches the Evaluator on the EvaluatorLaunchThreadPool.
+   * The Evaluator is SUBMITTED right away, so that submitting it twice fails on the calling thread, while
+   * its launch event, which holds its serialized configurations, is built and handed to the resource manager
+   * on the pool. If that fails, the Evaluator fails. If the Evaluator is closed in the meantime, it is not launched.
+   *
+   * @param launchEventBuilder builds the launch event of the Evaluator.
+   */
+  void launch(final Callable<ResourceLaunchEvent> launchEventBuilder) {
+
+    if (this.launchThreadPool.isInline()) {
+      try {
+        this.onResourceLaunch(launchEventBuilder.call());
+      } catch (final RuntimeException e) {
+        throw e;
+      } catch (final Exception e) {
+        throw new RuntimeException("Unable to launch Evaluator " + this.evaluatorId, e);
+      }
+      return;
+    }
+
+    synchronized (this.evaluatorDescriptor) {
+      if (!this.setSubmitted()) {
+        return;
+      }
+    }
+
+    this.launchThreadPool.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          final ResourceLaunchEvent resourceLaunchEvent = launchEventBuilder.call();
+          synchronized (evaluatorDescriptor) {
+            if (stateManager.isSubmitted()) {
+              resourceLaunchHandler.onNext(resourceLaunchEvent);
+            } else {
+              LOG.log(Level.FINE, "Not launching Evaluator {0} which is in state {1}",
+                  new Object[] {evaluatorId, stateManager});
+            }
+          }
+        } catch (final Exception e) {
+          onEvaluatorException(new EvaluatorException(evaluatorId, e));
+        }
+      }
+    });
+  }
+
+  /**
+   * Moves the Evaluator from ALLOCATED to SUBMITTED. Must be called while holding evaluatorDescriptor.
+   *
+   * @return false if the Evaluator must not be launched, as it failed or was killed already.
+   */
+  private boolean setSubmitted() {
+    if (this.stateManager.isAllocated()) {
+      this.stateManager.setSubmitted();
+      this.submissionNanos = System.nanoTime();
+      return true;
+    } else if (this.stateManager.isCompletedAbnormally()) {
+      LOG.log(Level.WARNING, "Evaluator manager expected {0} state but instead is in state {1}",
+          new Object[] {EvaluatorState.ALLOCATED, this.stateManager});
+      return false;
+    } else {
+      throw new RuntimeException("Evaluator manager expected " + EvaluatorState.ALLOCATED +
+          " state but instead is in state " + this.stateManager);
+    }
+  }
+
   /**
    * Packages the ContextControlProto in an EvaluatorControlProto and forward it to the EvaluatorRuntime.
    *
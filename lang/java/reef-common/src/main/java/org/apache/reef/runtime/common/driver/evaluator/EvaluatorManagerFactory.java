@@ -46,13 +46,24 @@ public final class EvaluatorManagerFactory {
   private final ResourceCatalog resourceCatalog;
   private final EvaluatorProcessFactory processFactory;
 
+  /**
+   * Injected here so that the instances live in the Driver injector. Forked injectors inherit them,
+   * so all EvaluatorManagers share the serialization caches and the dispatcher threads.
+   */
+  private final ConfigurationEncoder configurationEncoder;
+  private final EvaluatorDispatcherThreadPool dispatcherThreadPool;
+
   @Inject
   EvaluatorManagerFactory(final Injector injector,
                           final ResourceCatalog resourceCatalog,
-                          final EvaluatorProcessFactory processFactory) {
+                          final EvaluatorProcessFactory processFactory,
+                          final ConfigurationEncoder configurationEncoder,
+                          final EvaluatorDispatcherThreadPool dispatcherThreadPool) {
     this.injector = injector;
     this.resourceCatalog = resourceCatalog;
     this.processFactory = processFactory;
+    this.configurationEncoder = configurationEncoder;
+    this.dispatcherThreadPool = dispatcherThreadPool;
   }
 
   private EvaluatorManager getNewEvaluatorManagerInstanceForResource(
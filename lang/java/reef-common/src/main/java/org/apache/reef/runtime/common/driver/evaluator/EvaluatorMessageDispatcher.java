@@ -40,6 +40,7 @@ import java.util.logging.Logger;
 
 /**
  * Central dispatcher for all Evaluator related events. This exists once per Evaluator.
+ * The events are run on the Driver-wide {@link EvaluatorDispatcherThreadPool}.
  */
 public final class EvaluatorMessageDispatcher implements AutoCloseable {
 
@@ -127,12 +128,12 @@ public final class EvaluatorMessageDispatcher implements AutoCloseable {
       final Set<EventHandler<FailedEvaluator>> serviceDriverRestartFailedEvaluatorHandlers,
 
       @Parameter(EvaluatorDispatcherThreads.class) final int numberOfThreads,
-      @Parameter(EvaluatorManager.EvaluatorIdentifier.class) final String evaluatorIdentifier,
+      final EvaluatorDispatcherThreadPool threadPool,
       final DriverExceptionHandler driverExceptionHandler,
       final IdlenessCallbackEventHandlerFactory idlenessCallbackEventHandlerFactory
   ) {
 
-    this.serviceDispatcher = new DispatchingEStage(driverExceptionHandler, numberOfThreads, evaluatorIdentifier);
+    this.serviceDispatcher = new DispatchingEStage(driverExceptionHandler, threadPool, numberOfThreads);
     this.applicationDispatcher = new DispatchingEStage(this.serviceDispatcher);
     this.driverRestartApplicationDispatcher = new DispatchingEStage(this.serviceDispatcher);
     this.driverRestartServiceDispatcher = new DispatchingEStage(this.serviceDispatcher);
@@ -270,6 +271,15 @@ public final class EvaluatorMessageDispatcher implements AutoCloseable {
     return this.applicationDispatcher.isEmpty();
   }
 
+  /**
+   * Run the callback once, as soon as no events are queued or in processing.
+   *
+   * @param callback the callback to run.
+   */
+  void whenEmpty(final Runnable callback) {
+    this.applicationDispatcher.whenEmpty(callback);
+  }
+
   private <T, U extends T> void dispatch(final Class<T> type, final U message) {
     this.serviceDispatcher.onNext(type, message);
     this.applicationDispatcher.onNext(type, message);
@@ -284,6 +294,7 @@ public final class EvaluatorMessageDispatcher implements AutoCloseable {
   public void close() throws Exception {
     /**
      * This effectively closes all dispatchers as they share the same stage.
+     * The shared thread pool stays open for the other Evaluators.
      */
     this.serviceDispatcher.close();
   }
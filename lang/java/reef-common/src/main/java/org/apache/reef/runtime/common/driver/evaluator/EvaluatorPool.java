@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.driver.evaluator.EvaluatorRequest;
+import org.apache.reef.driver.parameters.EvaluatorPoolCores;
+import org.apache.reef.driver.parameters.EvaluatorPoolMemory;
+import org.apache.reef.driver.parameters.EvaluatorPoolSize;
+import org.apache.reef.runtime.common.driver.api.ResourceReleaseEventImpl;
+import org.apache.reef.runtime.common.driver.api.ResourceReleaseHandler;
+import org.apache.reef.runtime.common.driver.api.ResourceRequestEventImpl;
+import org.apache.reef.runtime.common.driver.api.ResourceRequestHandler;
+import org.apache.reef.runtime.common.driver.resourcemanager.ResourceAllocationEvent;
+import org.apache.reef.runtime.common.utils.Constants;
+import org.apache.reef.tang.InjectionFuture;
+import org.apache.reef.tang.annotations.Parameter;
+
+import javax.inject.Inject;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A pool of Evaluators that the Driver keeps allocated ahead of its requests, so that requests can be satisfied
+ * without a round trip to the resource manager. See EvaluatorPoolSize.
+ * <p>
+ * The pooled Evaluators are only allocated: the application chooses the process and the context when it submits
+ * an AllocatedEvaluator, so they can't be launched ahead of time.
+ * The resource manager does not say which request an allocation is for: each allocation goes to the outstanding
+ * request of the application or of the pool that it fits most tightly, and to the application on a tie.
+ * The pool is drained whenever all the Evaluators of the Driver are closed, so that it does not keep an otherwise
+ * idle Driver alive, and is filled again on the next request of the application.
+ */
+@Private
+@DriverSide
+public final class EvaluatorPool {
+
+  private static final Logger LOG = Logger.getLogger(EvaluatorPool.class.getName());
+
+  private final int size;
+  private final int megaBytes;
+  private final int cores;
+  private final InjectionFuture<ResourceRequestHandler> resourceRequestHandler;
+  private final InjectionFuture<ResourceReleaseHandler> resourceReleaseHandler;
+  private final EvaluatorManagerFactory evaluatorManagerFactory;
+  private final Evaluators evaluators;
+
+  /**
+   * The allocations held in the pool.
+   */
+  private final Queue<ResourceAllocationEvent> pooled = new ArrayDeque<>();
+
+  /**
+   * Number of Evaluators requested from the resource manager for the pool that were not allocated yet.
+   */
+  private int pendingRefills = 0;
+
+  /**
+   * Evaluators requested from the resource manager for the application that were not allocated yet.
+   */
+  private final List<PendingRequest> pendingRequests = new ArrayList<>();
+
+  /**
+   * True from the moment all the Evaluators of the Driver were closed until the next refill().
+   */
+  private boolean drained = false;
+
+  private boolean closed = false;
+
+  @Inject
+  EvaluatorPool(@Parameter(EvaluatorPoolSize.class) final int size,
+                @Parameter(EvaluatorPoolMemory.class) final int megaBytes,
+                @Parameter(EvaluatorPoolCores.class) final int cores,
+                final InjectionFuture<ResourceRequestHandler> resourceRequestHandler,
+                final InjectionFuture<ResourceReleaseHandler> resourceReleaseHandler,
+                final EvaluatorManagerFactory evaluatorManagerFactory,
+                final Evaluators evaluators) {
+    this.size = size;
+    this.megaBytes = megaBytes;
+    this.cores = cores;
+    this.resourceRequestHandler = resourceRequestHandler;
+    this.resourceReleaseHandler = resourceReleaseHandler;
+    this.evaluatorManagerFactory = evaluatorManagerFactory;
+    this.evaluators = evaluators;
+  }
+
+  /**
+   * Hands out pooled Evaluators for the request, as if the resource manager had just allocated them.
+   * The caller requests the rest from the resource manager and then calls refill().
+   *
+   * @param request the request of the application
+   * @return the number of Evaluators of the request that were handed out from the pool
+   */
+  public synchronized int take(final EvaluatorRequest request) {
+    if (this.size == 0) {
+      return 0;
+    }
+    final int taken = this.closed || !this.serves(request) ? 0 : Math.min(request.getNumber(), this.pooled.size());
+    for (int i = 0; i < taken; ++i) {
+      this.evaluators.put(this.evaluatorManagerFactory, this.pooled.remove());
+    }
+    if (taken < request.getNumber()) {
+      this.pendingRequests.add(new PendingRequest(request, request.getNumber() - taken));
+    }
+    if (taken > 0) {
+      LOG.log(Level.FINE, "Took {0} of {1} requested Evaluators from the pool",
+          new Object[] {taken, request.getNumber()});
+    }
+    return taken;
+  }
+
+  /**
+   * Requests as many Evaluators from the resource manager as the pool is missing.
+   * The application is active again, so a drained pool is filled again.
+   */
+  public synchronized void refill() {
+    if (this.closed || this.size == 0) {
+      return;
+    }
+    this.drained = false;
+    final int missing = this.size - this.pooled.size() - this.pendingRefills;
+    if (missing > 0) {
+      LOG.log(Level.FINEST, "Requesting {0} Evaluators for the pool", missing);
+      this.pendingRefills += missing;
+      this.resourceRequestHandler.get().onNext(ResourceRequestEventImpl.newBuilder()
+          .setResourceCount(missing)
+          .setMemorySize(this.megaBytes)
+          .setVirtualCores(this.cores)
+          .setRelaxLocality(true)
+          .build());
+    }
+  }
+
+  /**
+   * Takes a new allocation into the pool if it fits the pool better than the outstanding requests of the
+   * application.
+   *
+   * @param allocation the allocation from the resource manager
+   * @return true if the pool took the allocation, false if it goes to the application.
+   */
+  public synchronized boolean offer(final ResourceAllocationEvent allocation) {
+    final int allocatedCores = allocation.getVirtualCores().orElse(0);
+    PendingRequest bestRequest = null;
+    for (final PendingRequest request : this.pendingRequests) {
+      if (request.isSatisfiedBy(allocation) && (bestRequest == null || compareFit(allocation, allocatedCores,
+          request.megaBytes, request.cores, bestRequest.megaBytes, bestRequest.cores) < 0)) {
+        bestRequest = request;
+      }
+    }
+
+    final boolean fitsPool = this.pendingRefills > 0 && allocation.getResourceMemory() >= this.megaBytes &&
+        (!allocation.getVirtualCores().isPresent() || allocatedCores >= this.cores);
+    if (bestRequest != null && (!fitsPool || compareFit(allocation, allocatedCores,
+        bestRequest.megaBytes, bestRequest.cores, this.megaBytes, this.cores) <= 0)) {
+      if (--bestRequest.remaining == 0) {
+        this.pendingRequests.remove(bestRequest);
+      }
+      return false;
+    }
+    if (!fitsPool) {
+      return false;
+    }
+
+    --this.pendingRefills;
+    if (this.closed || this.drained) {
+      this.release(allocation);
+    } else {
+      this.pooled.add(allocation);
+    }
+    return true;
+  }
+
+  /**
+   * Releases the pooled Evaluators, and those still to be allocated for the pool, because no Evaluator of the
+   * Driver is open. The pool is filled again on the next refill().
+   */
+  public synchronized void drain() {
+    if (this.closed || this.drained || this.size == 0) {
+      return;
+    }
+    this.drained = true;
+    this.releasePooled();
+  }
+
+  /**
+   * Releases the pooled Evaluators, and those still to be allocated for the pool. The pool is not refilled after.
+   */
+  public synchronized void close() {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    this.releasePooled();
+  }
+
+  private void releasePooled() {
+    if (!this.pooled.isEmpty() || this.pendingRefills > 0) {
+      LOG.log(Level.FINE, "Releasing {0} pooled Evaluators, {1} more once allocated",
+          new Object[] {this.pooled.size(), this.pendingRefills});
+    }
+    while (!this.pooled.isEmpty()) {
+      this.release(this.pooled.remove());
+    }
+  }
+
+  private void release(final ResourceAllocationEvent allocation) {
+    this.resourceReleaseHandler.get().onNext(ResourceReleaseEventImpl.newBuilder()
+        .setIdentifier(allocation.getIdentifier())
+        .setRuntimeName(allocation.getRuntimeName())
+        .build());
+  }
+
+  /**
+   * @return true if the request is for Evaluators of the pool's shape, on any node and rack of the default runtime.
+   */
+  private boolean serves(final EvaluatorRequest request) {
+    if (this.size == 0 || request.getMegaBytes() != this.megaBytes || request.getNumberOfCores() != this.cores ||
+        !request.getRuntimeName().isEmpty() || !request.getNodeNames().isEmpty()) {
+      return false;
+    }
+    for (final String rackName : request.getRackNames()) {
+      if (!Constants.ANY_RACK.equals(rackName)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Compares how tightly an allocation fits two requests that it satisfies: by the memory left over, then by the
+   * cores left over.
+   *
+   * @return a negative number if the allocation fits the first request more tightly, 0 on a tie.
+   */
+  private static int compareFit(final ResourceAllocationEvent allocation, final int allocatedCores,
+                                final int megaBytes1, final int cores1, final int megaBytes2, final int cores2) {
+    final int memoryWaste1 = allocation.getResourceMemory() - megaBytes1;
+    final int memoryWaste2 = allocation.getResourceMemory() - megaBytes2;
+    if (memoryWaste1 != memoryWaste2) {
+      return memoryWaste1 < memoryWaste2 ? -1 : 1;
+    }
+    final int coresWaste1 = Math.abs(allocatedCores - cores1);
+    final int coresWaste2 = Math.abs(allocatedCores - cores2);
+    return coresWaste1 < coresWaste2 ? -1 : (coresWaste1 == coresWaste2 ? 0 : 1);
+  }
+
+  /**
+   * Evaluators of one request of the application that were not allocated yet.
+   */
+  private static final class PendingRequest {
+
+    private final int megaBytes;
+    private final int cores;
+    private final List<String> nodeNames;
+    private final List<String> rackNames;
+    private final String runtimeName;
+    private int remaining;
+
+    PendingRequest(final EvaluatorRequest request, final int remaining) {
+      this.megaBytes = request.getMegaBytes();
+      this.cores = request.getNumberOfCores();
+      this.nodeNames = request.getNodeNames();
+      this.rackNames = request.getRackNames();
+      this.runtimeName = request.getRuntimeName();
+      this.remaining = remaining;
+    }
+
+    /**
+     * @return true if the allocation has the memory and cores of the request, on its runtime if it names one, and
+     * on one of its nodes or racks. The allocation may be on any host only if the request names no node and no rack
+     * other than {@link Constants#ANY_RACK}.
+     */
+    boolean isSatisfiedBy(final ResourceAllocationEvent allocation) {
+      if (allocation.getResourceMemory() < this.megaBytes ||
+          allocation.getVirtualCores().isPresent() && allocation.getVirtualCores().get() < this.cores ||
+          !this.runtimeName.isEmpty() && !this.runtimeName.equals(allocation.getRuntimeName())) {
+        return false;
+      }
+      if (isAnyHost(this.nodeNames) && isAnyHost(this.rackNames)) {
+        return true;
+      }
+      if (allocation.getRackName().isPresent() && this.rackNames.contains(allocation.getRackName().get())) {
+        return true;
+      }
+      for (final String nodeName : this.nodeNames) {
+        if (allocation.getNodeId().equals(nodeName) || allocation.getNodeId().startsWith(nodeName + ":")) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private static boolean isAnyHost(final List<String> names) {
+      return names.isEmpty() || names.contains(Constants.ANY_RACK);
+    }
+  }
+}
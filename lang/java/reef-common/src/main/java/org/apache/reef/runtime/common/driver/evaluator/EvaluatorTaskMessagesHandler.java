@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.proto.EvaluatorRuntimeProtocol;
+import org.apache.reef.util.Optional;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.remote.RemoteMessage;
+
+import javax.inject.Inject;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Receives the task messages that Tasks send outside of heartbeats, from all Evaluators,
+ * and dispatches them to the right EvaluatorManager instance.
+ */
+@Private
+@DriverSide
+public final class EvaluatorTaskMessagesHandler
+    implements EventHandler<RemoteMessage<EvaluatorRuntimeProtocol.TaskMessagesProto>> {
+
+  private static final Logger LOG = Logger.getLogger(EvaluatorTaskMessagesHandler.class.getName());
+
+  private final Evaluators evaluators;
+
+  @Inject
+  EvaluatorTaskMessagesHandler(final Evaluators evaluators) {
+    this.evaluators = evaluators;
+  }
+
+  @Override
+  public void onNext(final RemoteMessage<EvaluatorRuntimeProtocol.TaskMessagesProto> taskMessagesMessage) {
+    final EvaluatorRuntimeProtocol.TaskMessagesProto taskMessages = taskMessagesMessage.getMessage();
+    final String evaluatorId = taskMessages.getEvaluatorId();
+
+    LOG.log(Level.FINEST, "{0} task messages from Evaluator {1}",
+        new Object[]{taskMessages.getTaskMessageCount(), evaluatorId});
+
+    final Optional<EvaluatorManager> evaluatorManager = this.evaluators.get(evaluatorId);
+    if (evaluatorManager.isPresent()) {
+      evaluatorManager.get().onTaskMessages(taskMessages);
+    } else {
+      LOG.log(Level.WARNING, "Dropping {0} task messages from Task {1} on unknown or closed Evaluator {2}",
+          new Object[]{taskMessages.getTaskMessageCount(), taskMessages.getTaskId(), evaluatorId});
+    }
+  }
+}
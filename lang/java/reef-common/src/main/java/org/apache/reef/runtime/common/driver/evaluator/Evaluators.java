@@ -24,17 +24,22 @@ import org.apache.reef.driver.parameters.DriverIdentifier;
 import org.apache.reef.runtime.common.driver.resourcemanager.ResourceAllocationEvent;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.util.Optional;
-import org.apache.reef.tang.util.MonotonicSet;
 import org.apache.reef.util.SingletonAsserter;
 
 import javax.inject.Inject;
-import java.util.*;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Manages all Evaluators.
  * See EvaluatorManager for the Driver side representation of a single Evaluator.
+ * <p>
+ * Lookups do not lock, so that the heartbeats of unrelated Evaluators do not contend on this class.
+ * Adding and removing Evaluators is serialized, as it is rare compared to lookups.
  */
 @DriverSide
 @Private
@@ -45,12 +50,13 @@ public final class Evaluators implements AutoCloseable {
   /**
    * A map between evaluatorId and the EvaluatorManager that handles this evaluator.
    */
-  private final Map<String, EvaluatorManager> evaluators = new HashMap<>();
+  private final ConcurrentMap<String, EvaluatorManager> evaluators = new ConcurrentHashMap<>();
 
   /**
-   * A set of evaluatorIds for "closed" (failed and returned) evaluators.
+   * A set of evaluatorIds for "closed" (failed and returned) evaluators. Ids are never removed from it.
    */
-  private final MonotonicSet<String> closedEvaluatorIds = new MonotonicSet<>();
+  private final Set<String> closedEvaluatorIds =
+      Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
   @Inject
   private Evaluators(@Parameter(DriverIdentifier.class) final String driverId) {
@@ -65,11 +71,7 @@ public final class Evaluators implements AutoCloseable {
    */
   @Override
   public void close() {
-    final List<EvaluatorManager> evaluatorsCopy;
-    synchronized (this) {
-      evaluatorsCopy = new ArrayList<>(this.evaluators.values());
-    }
-    for (final EvaluatorManager evaluatorManager : evaluatorsCopy) {
+    for (final EvaluatorManager evaluatorManager : this.evaluators.values()) {
       LOG.log(Level.WARNING, "Unclean shutdown of evaluator {0}", evaluatorManager.getId());
       if (!evaluatorManager.isClosedOrClosing()) {
         evaluatorManager.close();
@@ -81,12 +83,10 @@ public final class Evaluators implements AutoCloseable {
    * Return true if <em>all</em> evaluators are in closed state
    * (and their processing queues are empty).
    */
-  public synchronized boolean allEvaluatorsAreClosed() {
-    synchronized (this.evaluators) {
-      for (final EvaluatorManager eval : this.evaluators.values()) {
-        if (!eval.isClosed()) {
-          return false;
-        }
+  public boolean allEvaluatorsAreClosed() {
+    for (final EvaluatorManager eval : this.evaluators.values()) {
+      if (!eval.isClosed()) {
+        return false;
       }
     }
     return true;
@@ -96,7 +96,7 @@ public final class Evaluators implements AutoCloseable {
    * @param evaluatorId
    * @return the EvaluatorManager for the given id, if one exists.
    */
-  public synchronized Optional<EvaluatorManager> get(final String evaluatorId) {
+  public Optional<EvaluatorManager> get(final String evaluatorId) {
     return Optional.ofNullable(this.evaluators.get(evaluatorId));
   }
 
@@ -104,7 +104,7 @@ public final class Evaluators implements AutoCloseable {
    * @param evaluatorId
    * @return true if evaluator with this id has already been closed.
    */
-  public synchronized boolean wasClosed(final String evaluatorId) {
+  public boolean wasClosed(final String evaluatorId) {
     return this.closedEvaluatorIds.contains(evaluatorId);
   }
 
@@ -159,8 +159,10 @@ public final class Evaluators implements AutoCloseable {
       LOG.log(Level.FINE, "Trying to remove closed evaluator " + evaluatorId + " which has already been removed.");
     } else {
       LOG.log(Level.FINE, "Removing closed evaluator " + evaluatorId + ".");
-      this.evaluators.remove(evaluatorId);
+      // Mark the evaluator closed before removing it, so that a concurrent lookup that misses it in evaluators
+      // finds it in closedEvaluatorIds.
       this.closedEvaluatorIds.add(evaluatorId);
+      this.evaluators.remove(evaluatorId);
     }
   }
 }
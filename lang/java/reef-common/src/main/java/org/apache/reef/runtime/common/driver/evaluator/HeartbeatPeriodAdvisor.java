@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.runtime.common.evaluator.parameters.HeartbeatPeriod;
+import org.apache.reef.tang.annotations.Parameter;
+
+import javax.inject.Inject;
+
+/**
+ * Computes the heartbeat period that the Driver asks its Evaluators for, based on the Driver's load.
+ * <p>
+ * The load is the number of Evaluators whose events wait for a thread of the EvaluatorDispatcherThreadPool.
+ * As long as it doesn't exceed the size of the pool, the Driver has no preference. Beyond that, the Driver asks
+ * for the default HeartbeatPeriod times the number of pool-fulls of waiting Evaluators, so that the rate of
+ * heartbeats drops as the backlog grows. The Evaluators keep the period within their own bounds.
+ * <p>
+ * The period travels with the control messages that the Driver sends to an Evaluator anyway.
+ */
+@Private
+@DriverSide
+public final class HeartbeatPeriodAdvisor {
+
+  private final EvaluatorDispatcherThreadPool threadPool;
+  private final int heartbeatPeriod;
+
+  @Inject
+  private HeartbeatPeriodAdvisor(final EvaluatorDispatcherThreadPool threadPool,
+                                 @Parameter(HeartbeatPeriod.class) final int heartbeatPeriod) {
+    this.threadPool = threadPool;
+    this.heartbeatPeriod = heartbeatPeriod;
+  }
+
+  /**
+   * @return the heartbeat period in ms to ask the Evaluators for, or 0 if the Driver has no preference.
+   */
+  public int getHeartbeatPeriod() {
+    return getHeartbeatPeriod(this.threadPool.getQueueLength(), this.threadPool.getPoolSize(), this.heartbeatPeriod);
+  }
+
+  /**
+   * @param queueLength     the number of Evaluators whose events wait for a thread.
+   * @param poolSize        the number of threads that handle Evaluator events.
+   * @param heartbeatPeriod the default heartbeat period of the Evaluators in ms.
+   * @return the heartbeat period in ms to ask the Evaluators for, or 0 if the Driver has no preference.
+   */
+  public static int getHeartbeatPeriod(final int queueLength, final int poolSize, final int heartbeatPeriod) {
+    if (queueLength <= poolSize) {
+      return 0;
+    }
+    return (int) Math.min(Integer.MAX_VALUE, (long) heartbeatPeriod * (queueLength / poolSize));
+  }
+}
@@ -35,7 +35,8 @@ public final class TaskMessagePOJO implements Numberable {
   private final String sourceId;
   private final long sequenceNumber;
 
-  TaskMessagePOJO(final ReefServiceProtos.TaskStatusProto.TaskMessageProto proto, final long sequenceNumber) {
+  public TaskMessagePOJO(final ReefServiceProtos.TaskStatusProto.TaskMessageProto proto,
+                         final long sequenceNumber) {
     message = proto.getMessage().toByteArray();
     sourceId = proto.getSourceId();
     this.sequenceNumber = sequenceNumber;
@@ -18,6 +18,7 @@
  */
 package org.apache.reef.runtime.common.driver.idle;
 
+import org.apache.reef.runtime.common.driver.evaluator.EvaluatorPool;
 import org.apache.reef.runtime.common.driver.evaluator.Evaluators;
 import org.apache.reef.tang.InjectionFuture;
 
@@ -35,12 +36,15 @@ public final class EventHandlerIdlenessSource implements DriverIdlenessSource {
 
   private final InjectionFuture<Evaluators> evaluators;
   private final InjectionFuture<DriverIdleManager> driverIdleManager;
+  private final InjectionFuture<EvaluatorPool> evaluatorPool;
 
   @Inject
   EventHandlerIdlenessSource(final InjectionFuture<Evaluators> evaluators,
-                             final InjectionFuture<DriverIdleManager> driverIdleManager) {
+                             final InjectionFuture<DriverIdleManager> driverIdleManager,
+                             final InjectionFuture<EvaluatorPool> evaluatorPool) {
     this.evaluators = evaluators;
     this.driverIdleManager = driverIdleManager;
+    this.evaluatorPool = evaluatorPool;
   }
 
 
@@ -55,6 +59,9 @@ public final class EventHandlerIdlenessSource implements DriverIdlenessSource {
 
   public void check() {
     if (this.evaluators.get().allEvaluatorsAreClosed()) {
+      // The pooled Evaluators alone must not keep the Driver from going idle.
+      // The pool is only drained: the next request of the application fills it again.
+      this.evaluatorPool.get().drain();
       this.driverIdleManager.get().onPotentiallyIdle(IDLE_MESSAGE);
     }
   }
@@ -23,8 +23,9 @@ import org.apache.reef.tang.annotations.NamedParameter;
 
 /**
  * The number of Threads in a Driver to verify the completion of Evaluators.
- * Used by {@link org.apache.reef.runtime.common.driver.evaluator.EvaluatorIdlenessThreadPool}.
+ * @deprecated No longer used: the Driver checks its idleness as soon as an Evaluator is closed.
  */
+@Deprecated
 @NamedParameter(doc = "The number of Threads in a Driver to verify the completion of Evaluators.",
     default_value = "5")
 public final class EvaluatorIdlenessThreadPoolSize implements Name<Integer> {
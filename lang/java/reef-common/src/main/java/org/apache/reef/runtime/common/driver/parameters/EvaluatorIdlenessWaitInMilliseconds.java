@@ -22,9 +22,10 @@ import org.apache.reef.tang.annotations.Name;
 import org.apache.reef.tang.annotations.NamedParameter;
 
 /**
- * The number of Threads in a Driver to verify the completion of Evaluators.
- * Used by {@link org.apache.reef.runtime.common.driver.evaluator.EvaluatorIdlenessThreadPool}.
+ * The number of milliseconds to wait in a loop to verify the completion of Evaluators.
+ * @deprecated No longer used: the Driver checks its idleness as soon as an Evaluator is closed.
  */
+@Deprecated
 @NamedParameter(doc = "The number of milliseconds to wait in a loop to verify the completion of Evaluators.",
     default_value = "500")
 public final class EvaluatorIdlenessWaitInMilliseconds implements Name<Long> {
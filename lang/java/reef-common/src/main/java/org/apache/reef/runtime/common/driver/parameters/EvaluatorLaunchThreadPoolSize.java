@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.parameters;
+
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+
+/**
+ * The number of Threads in a Driver that launch Evaluators, i.e. serialize their configurations and hand them
+ * to the resource manager. With the default of 0, an Evaluator is launched on the thread that submits it.
+ * Used by {@link org.apache.reef.runtime.common.driver.evaluator.EvaluatorLaunchThreadPool}.
+ */
+@NamedParameter(doc = "The number of Threads in a Driver that launch Evaluators, 0 to launch on the submitting thread.",
+    default_value = "0")
+public final class EvaluatorLaunchThreadPoolSize implements Name<Integer> {
+  private EvaluatorLaunchThreadPoolSize(){
+  }
+}
@@ -21,13 +21,14 @@ package org.apache.reef.runtime.common.driver.resourcemanager;
 import org.apache.reef.annotations.audience.DriverSide;
 import org.apache.reef.annotations.audience.Private;
 import org.apache.reef.runtime.common.driver.evaluator.EvaluatorManagerFactory;
+import org.apache.reef.runtime.common.driver.evaluator.EvaluatorPool;
 import org.apache.reef.runtime.common.driver.evaluator.Evaluators;
 import org.apache.reef.wake.EventHandler;
 
 import javax.inject.Inject;
 
 /**
- * Handles new resource allocations by adding a new EvaluatorManager.
+ * Handles new resource allocations by adding a new EvaluatorManager, unless they are for the EvaluatorPool.
  */
 @Private
 @DriverSide
@@ -45,15 +46,22 @@ public final class ResourceAllocationHandler
    */
   private final Evaluators evaluators;
 
+  private final EvaluatorPool evaluatorPool;
+
   @Inject
   ResourceAllocationHandler(
-      final EvaluatorManagerFactory evaluatorManagerFactory, final Evaluators evaluators) {
+      final EvaluatorManagerFactory evaluatorManagerFactory, final Evaluators evaluators,
+      final EvaluatorPool evaluatorPool) {
     this.evaluatorManagerFactory = evaluatorManagerFactory;
     this.evaluators = evaluators;
+    this.evaluatorPool = evaluatorPool;
   }
 
   @Override
   public void onNext(final ResourceAllocationEvent value) {
+    if (this.evaluatorPool.offer(value)) {
+      return;
+    }
     // FIXME: Using this put() method is a temporary fix for the race condition
     // described in issues #828 and #839. Use Evaluators.put(EvaluatorManager) instead
     // when the bug is fixed.
@@ -153,8 +153,25 @@ public final class TaskRepresenter {
       this.messageDispatcher.onDriverRestartTaskRunning(runningTask);
     }
 
-    for (final TaskMessagePOJO
-             taskMessagePOJO : taskStatus.getTaskMessageList()) {
+    this.dispatchTaskMessages(taskStatus.getTaskMessageList());
+  }
+
+  /**
+   * Handle task messages that the Task sent outside of a heartbeat.
+   *
+   * @param taskMessages the messages, in the order the Task sent them.
+   */
+  public void onTaskMessages(final Iterable<TaskMessagePOJO> taskMessages) {
+    if (this.isNotRunning() || this.isFirstRunningMessage) {
+      LOG.log(Level.WARNING, "Dropping task messages from Task {0} in state {1}",
+          new Object[]{this.taskId, this.state});
+      return;
+    }
+    this.dispatchTaskMessages(taskMessages);
+  }
+
+  private void dispatchTaskMessages(final Iterable<TaskMessagePOJO> taskMessages) {
+    for (final TaskMessagePOJO taskMessagePOJO : taskMessages) {
       this.messageDispatcher.onTaskMessage(
           new TaskMessageImpl(taskMessagePOJO.getMessage(),
               this.taskId, this.context.getId(), taskMessagePOJO.getSourceId(), taskMessagePOJO.getSequenceNumber()));
@@ -190,6 +207,19 @@ public final class TaskRepresenter {
     this.setState(State.FAILED);
   }
 
+  /**
+   * Fail this task because a full snapshot of its Evaluator no longer reports it, i.e. the task ended
+   * without the Driver seeing its final status.
+   */
+  public void onTaskMissing() {
+    final String message = "Task " + this.taskId + " is missing from the latest snapshot of its Evaluator";
+    final FailedTask failedTask = new FailedTask(this.taskId, message, Optional.<String>empty(),
+        Optional.<Throwable>of(new IllegalStateException(message)), Optional.<byte[]>empty(),
+        Optional.<ActiveContext>of(this.context));
+    this.messageDispatcher.onTaskFailed(failedTask);
+    this.setState(State.FAILED);
+  }
+
   public String getId() {
     return this.taskId;
   }
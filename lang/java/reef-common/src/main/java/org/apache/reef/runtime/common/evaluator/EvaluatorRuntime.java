@@ -111,6 +111,8 @@ final class EvaluatorRuntime implements EventHandler<EvaluatorControlProto> {
         ));
       } else {
 
+        this.heartBeatManager.onDriverControlMessage(message.getHeartbeatPeriod());
+
         if (message.hasContextControl()) {
 
           LOG.log(Level.FINEST, "Send task control message to ContextManager");
@@ -22,7 +22,10 @@ import org.apache.reef.proto.EvaluatorRuntimeProtocol;
 import org.apache.reef.proto.ReefServiceProtos;
 import org.apache.reef.runtime.common.evaluator.context.ContextManager;
 import org.apache.reef.runtime.common.evaluator.parameters.DriverRemoteIdentifier;
+import org.apache.reef.runtime.common.evaluator.parameters.HeartbeatFullSnapshotInterval;
 import org.apache.reef.runtime.common.evaluator.parameters.HeartbeatPeriod;
+import org.apache.reef.runtime.common.evaluator.parameters.MaxHeartbeatPeriod;
+import org.apache.reef.runtime.common.evaluator.parameters.MinHeartbeatPeriod;
 import org.apache.reef.runtime.common.utils.RemoteManager;
 import org.apache.reef.tang.InjectionFuture;
 import org.apache.reef.tang.annotations.Parameter;
@@ -40,6 +43,14 @@ import java.util.logging.Logger;
 
 /**
  * Heartbeat manager.
+ * <p>
+ * To save Driver work and bandwidth, a heartbeat only carries the context and task statuses that
+ * changed since the previous heartbeat, or that carry messages. Every HeartbeatFullSnapshotInterval-th
+ * heartbeat is a full snapshot of all statuses, which the Driver uses to reconcile its state,
+ * see HeartbeatStatusFilter.
+ * <p>
+ * The period between regular heartbeats adapts to the Driver's load and to the Evaluator's activity,
+ * see HeartbeatPeriodPolicy.
  */
 @Unit
 public final class HeartBeatManager {
@@ -47,10 +58,28 @@ public final class HeartBeatManager {
   private static final Logger LOG = Logger.getLogger(HeartBeatManager.class.getName());
 
   private final Clock clock;
-  private final int heartbeatPeriod;
+  private final HeartbeatPeriodPolicy periodPolicy;
   private final EventHandler<EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto> evaluatorHeartbeatHandler;
   private final InjectionFuture<EvaluatorRuntime> evaluatorRuntime;
   private final InjectionFuture<ContextManager> contextManager;
+  private final HeartbeatStatusFilter statusFilter;
+
+  /**
+   * Whether the last heartbeat reported a running task, and whether it carried messages.
+   */
+  private boolean lastHeartbeatTaskRunning = false;
+  private boolean lastHeartbeatHadMessages = false;
+
+  /**
+   * Identifies the one scheduled alarm that is still wanted: Clock alarms can't be cancelled, so
+   * rescheduling a heartbeat bumps the generation and the superseded alarm does nothing when it fires.
+   */
+  private int alarmGeneration = 0;
+
+  /**
+   * The time at which the wanted alarm fires, in ms since the epoch.
+   */
+  private long nextHeartbeatTime;
 
   @Inject
   private HeartBeatManager(
@@ -59,12 +88,18 @@ public final class HeartBeatManager {
       final Clock clock,
       final RemoteManager remoteManager,
       @Parameter(HeartbeatPeriod.class) final int heartbeatPeriod,
+      @Parameter(MinHeartbeatPeriod.class) final int minHeartbeatPeriod,
+      @Parameter(MaxHeartbeatPeriod.class) final int maxHeartbeatPeriod,
+      @Parameter(HeartbeatFullSnapshotInterval.class) final int fullSnapshotInterval,
       @Parameter(DriverRemoteIdentifier.class) final String driverRID) {
 
     this.evaluatorRuntime = evaluatorRuntime;
     this.contextManager = contextManager;
     this.clock = clock;
-    this.heartbeatPeriod = heartbeatPeriod;
+    this.periodPolicy = new HeartbeatPeriodPolicy(heartbeatPeriod, minHeartbeatPeriod, maxHeartbeatPeriod);
+    // EvaluatorRuntime schedules the first heartbeat.
+    this.nextHeartbeatTime = System.currentTimeMillis() + heartbeatPeriod;
+    this.statusFilter = new HeartbeatStatusFilter(fullSnapshotInterval);
     this.evaluatorHeartbeatHandler = remoteManager.getHandler(
         driverRID, EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto.class);
   }
@@ -116,6 +151,20 @@ public final class HeartBeatManager {
         .build());
   }
 
+  /**
+   * Called with the heartbeat period the Driver asked for in a control message.
+   * If the new period is due before the next scheduled heartbeat, the heartbeat is rescheduled.
+   *
+   * @param driverPeriod the period in ms the Driver asked for, or 0 if it has no preference.
+   */
+  public synchronized void onDriverControlMessage(final int driverPeriod) {
+    final int period = this.periodPolicy.onDriverPeriod(driverPeriod);
+    if (System.currentTimeMillis() + period < this.nextHeartbeatTime) {
+      LOG.log(Level.FINEST, "Rescheduling the next heartbeat in {0} ms", period);
+      this.scheduleHeartbeat(period);
+    }
+  }
+
   /**
    * Sends the actual heartbeat out and logs it, if so desired.
    *
@@ -146,31 +195,53 @@ public final class HeartBeatManager {
         EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto.newBuilder()
             .setTimestamp(System.currentTimeMillis())
             .setEvaluatorStatus(evaluatorStatusProto);
+    this.statusFilter.addStatuses(builder, contextStatusProtos, taskStatusProto);
 
-    for (final ReefServiceProtos.ContextStatusProto contextStatusProto : contextStatusProtos) {
-      builder.addContextStatus(contextStatusProto);
+    boolean hadMessages = builder.hasTaskStatus() && builder.getTaskStatus().getTaskMessageCount() > 0;
+    for (final ReefServiceProtos.ContextStatusProto contextStatusProto : builder.getContextStatusList()) {
+      hadMessages |= contextStatusProto.getContextMessageCount() > 0;
     }
 
-    if (taskStatusProto.isPresent()) {
-      builder.setTaskStatus(taskStatusProto.get());
-    }
+    this.lastHeartbeatHadMessages = hadMessages;
+    this.lastHeartbeatTaskRunning = taskStatusProto.isPresent() &&
+        taskStatusProto.get().getState() == ReefServiceProtos.State.RUNNING;
 
     return builder.build();
   }
 
+  private void scheduleHeartbeat(final int period) {
+    final int generation = ++this.alarmGeneration;
+    this.nextHeartbeatTime = System.currentTimeMillis() + period;
+    this.clock.scheduleAlarm(period, new EventHandler<Alarm>() {
+      @Override
+      public void onNext(final Alarm alarm) {
+        onHeartbeatAlarm(generation);
+      }
+    });
+  }
+
+  private synchronized void onHeartbeatAlarm(final int generation) {
+    if (generation != this.alarmGeneration) {
+      LOG.log(Level.FINEST, "Ignoring a heartbeat alarm that was rescheduled");
+    } else if (this.evaluatorRuntime.get().isRunning()) {
+      this.sendHeartbeat();
+      this.scheduleHeartbeat(
+          this.periodPolicy.onHeartbeat(this.lastHeartbeatTaskRunning, this.lastHeartbeatHadMessages));
+    } else {
+      LOG.log(Level.FINEST,
+          "Not triggering a heartbeat, because state is: {0}",
+          this.evaluatorRuntime.get().getState());
+    }
+  }
+
+  /**
+   * Handles the alarm of the first heartbeat, which EvaluatorRuntime schedules.
+   */
   final class HeartbeatAlarmHandler implements EventHandler<Alarm> {
     @Override
     public void onNext(final Alarm alarm) {
-      synchronized (HeartBeatManager.this) {
-        if (evaluatorRuntime.get().isRunning()) {
-          HeartBeatManager.this.sendHeartbeat();
-          HeartBeatManager.this.clock.scheduleAlarm(HeartBeatManager.this.heartbeatPeriod, this);
-        } else {
-          LOG.log(Level.FINEST,
-              "Not triggering a heartbeat, because state is: {0}",
-              evaluatorRuntime.get().getState());
-        }
-      }
+      // Unless a control message from the Driver rescheduled it.
+      onHeartbeatAlarm(0);
     }
   }
 }
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.evaluator;
+
+/**
+ * Picks the period until the next regular heartbeat of an Evaluator.
+ * <p>
+ * The base period is the one the Driver last asked for, or the configured HeartbeatPeriod if the Driver has no
+ * preference. Around that base, an Evaluator that has messages to deliver heartbeats twice as often, one that runs
+ * a Task keeps the base period, and an idle one backs off, doubling its period on each heartbeat. All periods are
+ * kept within the configured bounds; those bounds are widened to include the configured HeartbeatPeriod.
+ * <p>
+ * This class is not thread-safe: HeartBeatManager uses it under its own lock.
+ */
+final class HeartbeatPeriodPolicy {
+
+  private final int configuredPeriod;
+  private final int minPeriod;
+  private final int maxPeriod;
+
+  /**
+   * The period the Driver asked for in its last control message, or 0 if it has no preference.
+   */
+  private int driverPeriod = 0;
+
+  private int period;
+
+  HeartbeatPeriodPolicy(final int configuredPeriod, final int minPeriod, final int maxPeriod) {
+    this.configuredPeriod = configuredPeriod;
+    this.minPeriod = Math.min(minPeriod, configuredPeriod);
+    this.maxPeriod = Math.max(maxPeriod, configuredPeriod);
+    this.period = configuredPeriod;
+  }
+
+  /**
+   * @return the current heartbeat period in ms.
+   */
+  int getPeriod() {
+    return this.period;
+  }
+
+  /**
+   * Takes the period the Driver asked for. As the Driver only sends control messages to Evaluators that it has
+   * work for, this also ends any idle back-off.
+   *
+   * @param driverPeriod the period in ms the Driver asked for, or 0 if it has no preference.
+   * @return the new heartbeat period in ms.
+   */
+  int onDriverPeriod(final int driverPeriod) {
+    this.driverPeriod = Math.max(0, driverPeriod);
+    this.period = this.getBasePeriod();
+    return this.period;
+  }
+
+  /**
+   * Computes the period until the heartbeat after the one that was just sent.
+   *
+   * @param taskRunning true if the heartbeat just sent reported a running Task.
+   * @param hadMessages true if the heartbeat just sent carried context or task messages.
+   * @return the new heartbeat period in ms.
+   */
+  int onHeartbeat(final boolean taskRunning, final boolean hadMessages) {
+    final int basePeriod = this.getBasePeriod();
+    if (hadMessages) {
+      this.period = this.clamp(basePeriod / 2);
+    } else if (taskRunning) {
+      this.period = basePeriod;
+    } else {
+      this.period = this.clamp(2L * Math.max(basePeriod, this.period));
+    }
+    return this.period;
+  }
+
+  private int getBasePeriod() {
+    return this.clamp(this.driverPeriod > 0 ? this.driverPeriod : this.configuredPeriod);
+  }
+
+  private int clamp(final long value) {
+    return (int) Math.max(this.minPeriod, Math.min(this.maxPeriod, value));
+  }
+}
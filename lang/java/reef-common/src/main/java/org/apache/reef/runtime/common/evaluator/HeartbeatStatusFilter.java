@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.evaluator;
+
+import org.apache.reef.proto.EvaluatorRuntimeProtocol;
+import org.apache.reef.proto.ReefServiceProtos;
+import org.apache.reef.util.Optional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Picks the context and task statuses that go into an Evaluator heartbeat.
+ * <p>
+ * A heartbeat only carries the statuses that changed since the previous heartbeat, or that carry messages.
+ * Every fullSnapshotInterval-th heartbeat, starting with the first, carries all statuses and is marked as a
+ * full snapshot, which the Driver uses to reconcile its state. Heartbeats travel over the ordered remote
+ * channel and a failed send fails the Evaluator, so the previous heartbeat stands in for the last acknowledged one.
+ * <p>
+ * This class is not thread-safe: HeartBeatManager uses it under its own lock.
+ */
+final class HeartbeatStatusFilter {
+
+  private final int fullSnapshotInterval;
+
+  /**
+   * The context statuses sent with the previous heartbeat, without their messages.
+   */
+  private final Map<String, ReefServiceProtos.ContextStatusProto> sentContextStatus = new HashMap<>();
+
+  /**
+   * The task status sent with the previous heartbeat, without its messages.
+   */
+  private Optional<ReefServiceProtos.TaskStatusProto> sentTaskStatus = Optional.empty();
+
+  /**
+   * The number of heartbeats sent since the last full snapshot.
+   */
+  private int heartbeatsSinceSnapshot = 0;
+
+  /**
+   * @param fullSnapshotInterval every how many heartbeats to send all statuses. Values below 1 are taken as 1.
+   */
+  HeartbeatStatusFilter(final int fullSnapshotInterval) {
+    this.fullSnapshotInterval = Math.max(1, fullSnapshotInterval);
+  }
+
+  /**
+   * Adds the statuses of the next heartbeat to its builder, and marks it if it is a full snapshot.
+   *
+   * @param builder the builder of the next heartbeat.
+   * @param contextStatusProtos the current statuses of all contexts.
+   * @param taskStatusProto the current status of the task, if there is one.
+   */
+  void addStatuses(final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto.Builder builder,
+                   final Iterable<ReefServiceProtos.ContextStatusProto> contextStatusProtos,
+                   final Optional<ReefServiceProtos.TaskStatusProto> taskStatusProto) {
+
+    final boolean fullSnapshot = this.heartbeatsSinceSnapshot == 0;
+    this.heartbeatsSinceSnapshot = (this.heartbeatsSinceSnapshot + 1) % this.fullSnapshotInterval;
+    builder.setFullSnapshot(fullSnapshot);
+
+    final Map<String, ReefServiceProtos.ContextStatusProto> contextStatusToRemember = new HashMap<>();
+    for (final ReefServiceProtos.ContextStatusProto contextStatusProto : contextStatusProtos) {
+      final boolean hasMessages = contextStatusProto.getContextMessageCount() > 0;
+      final ReefServiceProtos.ContextStatusProto withoutMessages =
+          hasMessages ? contextStatusProto.toBuilder().clearContextMessage().build() : contextStatusProto;
+      if (fullSnapshot || hasMessages ||
+          !withoutMessages.equals(this.sentContextStatus.get(contextStatusProto.getContextId()))) {
+        builder.addContextStatus(contextStatusProto);
+      }
+      contextStatusToRemember.put(contextStatusProto.getContextId(), withoutMessages);
+    }
+    this.sentContextStatus.clear();
+    this.sentContextStatus.putAll(contextStatusToRemember);
+
+    if (taskStatusProto.isPresent()) {
+      final boolean hasMessages = taskStatusProto.get().getTaskMessageCount() > 0;
+      final ReefServiceProtos.TaskStatusProto withoutMessages =
+          hasMessages ? taskStatusProto.get().toBuilder().clearTaskMessage().build() : taskStatusProto.get();
+      if (fullSnapshot || hasMessages ||
+          !(this.sentTaskStatus.isPresent() && withoutMessages.equals(this.sentTaskStatus.get()))) {
+        builder.setTaskStatus(taskStatusProto.get());
+      }
+      this.sentTaskStatus = Optional.of(withoutMessages);
+    } else {
+      this.sentTaskStatus = Optional.empty();
+    }
+  }
+}
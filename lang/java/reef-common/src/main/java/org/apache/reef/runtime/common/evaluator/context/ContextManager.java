@@ -30,14 +30,20 @@ import org.apache.reef.runtime.common.utils.ExceptionCodec;
 import org.apache.reef.tang.Configuration;
 import org.apache.reef.tang.InjectionFuture;
 import org.apache.reef.tang.exceptions.BindException;
+import org.apache.reef.tang.formats.BinaryConfigurationSerializer;
 import org.apache.reef.tang.formats.ConfigurationSerializer;
 import org.apache.reef.util.Optional;
+import org.apache.reef.wake.EventHandler;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Stack;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -72,22 +78,40 @@ public final class ContextManager implements AutoCloseable {
    */
   private final ConfigurationSerializer configurationSerializer;
 
+  /**
+   * To deserialize the binary Configurations and Configuration deltas sent by the Driver.
+   */
+  private final BinaryConfigurationSerializer binarySerializer;
+
+  /**
+   * The last task configuration of each context, which binary task configuration deltas apply to.
+   */
+  private final Map<String, Configuration> lastTaskConfigurations = new HashMap<>();
+
+  /**
+   * The Tasks queued on each context, to be started one after the other. Guarded by contextStack.
+   */
+  private final Map<String, Queue<Configuration>> queuedTasks = new HashMap<>();
+
   private final ExceptionCodec exceptionCodec;
 
   /**
    * @param launchContext           to instantiate the root context.
    * @param heartBeatManager        for status reporting to the Driver.
    * @param configurationSerializer
+   * @param binarySerializer
    * @param exceptionCodec
    */
   @Inject
   ContextManager(final InjectionFuture<RootContextLauncher> launchContext,
                  final HeartBeatManager heartBeatManager,
                  final ConfigurationSerializer configurationSerializer,
+                 final BinaryConfigurationSerializer binarySerializer,
                  final ExceptionCodec exceptionCodec) {
     this.launchContext = launchContext;
     this.heartBeatManager = heartBeatManager;
     this.configurationSerializer = configurationSerializer;
+    this.binarySerializer = binarySerializer;
     this.exceptionCodec = exceptionCodec;
   }
 
@@ -104,7 +128,9 @@ public final class ContextManager implements AutoCloseable {
       if (this.launchContext.get().getInitialTaskConfiguration().isPresent()) {
         LOG.log(Level.FINEST, "Launching the initial Task");
         try {
-          this.contextStack.peek().startTask(this.launchContext.get().getInitialTaskConfiguration().get());
+          final ContextRuntime rootContext = this.contextStack.peek();
+          rootContext.startTask(this.launchContext.get().getInitialTaskConfiguration().get(),
+              this.newTaskExitHandler(rootContext));
         } catch (final TaskClientCodeException e) {
           this.handleTaskException(e);
         }
@@ -169,6 +195,8 @@ public final class ContextManager implements AutoCloseable {
           this.removeContext(controlMessage.getRemoveContext().getContextId());
         } else if (controlMessage.hasStartTask()) {
           this.startTask(controlMessage.getStartTask());
+        } else if (controlMessage.getQueueTaskCount() > 0) {
+          this.queueTasks(controlMessage.getQueueTaskList());
         } else if (controlMessage.hasStopTask()) {
           this.contextStack.peek().closeTask(message);
         } else if (controlMessage.hasSuspendTask()) {
@@ -250,11 +278,15 @@ public final class ContextManager implements AutoCloseable {
               currentTopContext.getIdentifier() + "`");
         }
 
-        final Configuration contextConfiguration =
+        final Configuration contextConfiguration = addContextProto.hasBinaryContextConfiguration() ?
+            this.binarySerializer.fromByteArray(addContextProto.getBinaryContextConfiguration().toByteArray()) :
             this.configurationSerializer.fromString(addContextProto.getContextConfiguration());
 
         final ContextRuntime newTopContext;
-        if (addContextProto.hasServiceConfiguration()) {
+        if (addContextProto.hasBinaryServiceConfiguration()) {
+          newTopContext = currentTopContext.spawnChildContext(contextConfiguration,
+              this.binarySerializer.fromByteArray(addContextProto.getBinaryServiceConfiguration().toByteArray()));
+        } else if (addContextProto.hasServiceConfiguration()) {
           newTopContext = currentTopContext.spawnChildContext(contextConfiguration,
               this.configurationSerializer.fromString(addContextProto.getServiceConfiguration()));
         } else {
@@ -286,6 +318,8 @@ public final class ContextManager implements AutoCloseable {
       }
 
       this.contextStack.peek().close();
+      this.lastTaskConfigurations.remove(contextID);
+      this.dropQueuedTasks(contextID, "its context was closed");
       if (this.contextStack.size() > 1) {
         /* We did not close the root context. Therefore, we need to inform the
          * driver explicitly that this context is closed. The root context notification
@@ -312,23 +346,123 @@ public final class ContextManager implements AutoCloseable {
     synchronized (this.contextStack) {
 
       final ContextRuntime currentActiveContext = this.contextStack.peek();
+      currentActiveContext.startTask(this.readTaskConfiguration(startTaskProto, currentActiveContext),
+          this.newTaskExitHandler(currentActiveContext));
+    }
+  }
+
+  /**
+   * Queue Tasks to run one after the other on the top context, and start the first one if no Task is running.
+   */
+  private void queueTasks(
+      final List<EvaluatorRuntimeProtocol.StartTaskProto> startTaskProtos) throws TaskClientCodeException {
+
+    synchronized (this.contextStack) {
+
+      final ContextRuntime currentActiveContext = this.contextStack.peek();
+      final String contextId = currentActiveContext.getIdentifier();
 
-      final String expectedContextId = startTaskProto.getContextId();
-      if (!expectedContextId.equals(currentActiveContext.getIdentifier())) {
-        throw new IllegalStateException("Task expected context `" + expectedContextId +
-            "` but the active context has ID `" + currentActiveContext.getIdentifier() + "`");
+      Queue<Configuration> queue = this.queuedTasks.get(contextId);
+      if (queue == null) {
+        queue = new ArrayDeque<>(startTaskProtos.size());
+        this.queuedTasks.put(contextId, queue);
+      }
+      for (final EvaluatorRuntimeProtocol.StartTaskProto startTaskProto : startTaskProtos) {
+        queue.add(this.readTaskConfiguration(startTaskProto, currentActiveContext));
       }
+      LOG.log(Level.FINEST, "{0} Tasks queued on context {1}", new Object[] {queue.size(), contextId});
 
-      try {
-        final Configuration taskConfig =
-            this.configurationSerializer.fromString(startTaskProto.getConfiguration());
-        currentActiveContext.startTask(taskConfig);
-      } catch (IOException | BindException e) {
-        throw new RuntimeException("Unable to read configuration.", e);
+      if (!currentActiveContext.hasRunningTask()) {
+        this.startQueuedTask(currentActiveContext);
+      }
+    }
+  }
+
+  /**
+   * Deserialize the configuration of a Task and keep it as the base of the next delta.
+   * Must be called while holding contextStack.
+   */
+  private Configuration readTaskConfiguration(final EvaluatorRuntimeProtocol.StartTaskProto startTaskProto,
+                                              final ContextRuntime currentActiveContext) {
+
+    final String expectedContextId = startTaskProto.getContextId();
+    if (!expectedContextId.equals(currentActiveContext.getIdentifier())) {
+      throw new IllegalStateException("Task expected context `" + expectedContextId +
+          "` but the active context has ID `" + currentActiveContext.getIdentifier() + "`");
+    }
+
+    try {
+      final Configuration taskConfig;
+      if (startTaskProto.hasBinaryConfiguration()) {
+        // A full binary configuration ignores the base, a delta is applied to it.
+        taskConfig = this.binarySerializer.fromByteArray(startTaskProto.getBinaryConfiguration().toByteArray(),
+            this.lastTaskConfigurations.get(expectedContextId));
+      } else {
+        taskConfig = this.configurationSerializer.fromString(startTaskProto.getConfiguration());
       }
+      this.lastTaskConfigurations.put(expectedContextId, taskConfig);
+      return taskConfig;
+    } catch (IOException | BindException e) {
+      throw new RuntimeException("Unable to read configuration.", e);
+    }
+  }
+
+  /**
+   * Start the next Task queued on the given context, if there is one. Must be called while holding contextStack.
+   */
+  private void startQueuedTask(final ContextRuntime context) throws TaskClientCodeException {
+    final Queue<Configuration> queue = this.queuedTasks.get(context.getIdentifier());
+    if (queue == null) {
+      return;
+    }
+    final Configuration taskConfig = queue.poll();
+    if (queue.isEmpty()) {
+      this.queuedTasks.remove(context.getIdentifier());
+    }
+    context.startTask(taskConfig, this.newTaskExitHandler(context));
+  }
+
+  /**
+   * Must be called while holding contextStack.
+   */
+  private void dropQueuedTasks(final String contextId, final String reason) {
+    final Queue<Configuration> queue = this.queuedTasks.remove(contextId);
+    if (queue != null) {
+      LOG.log(Level.WARNING, "Dropping {0} Tasks queued on context {1} because {2}.",
+          new Object[] {queue.size(), contextId, reason});
     }
   }
 
+  /**
+   * @return a handler that starts the next Task queued on the context once its current Task is DONE,
+   * and drops the queued Tasks if the current Task ended in any other state.
+   */
+  private EventHandler<ReefServiceProtos.TaskStatusProto> newTaskExitHandler(final ContextRuntime context) {
+    return new EventHandler<ReefServiceProtos.TaskStatusProto>() {
+      @Override
+      public void onNext(final ReefServiceProtos.TaskStatusProto taskStatus) {
+        synchronized (heartBeatManager) {
+          synchronized (contextStack) {
+            // The context may be gone, or the driver may have started another Task on it by now.
+            if (contextStack.isEmpty() || contextStack.peek() != context || context.hasRunningTask()) {
+              return;
+            }
+            if (taskStatus.getState() != ReefServiceProtos.State.DONE) {
+              dropQueuedTasks(context.getIdentifier(),
+                  "Task " + taskStatus.getTaskId() + " ended in state " + taskStatus.getState());
+              return;
+            }
+            try {
+              startQueuedTask(context);
+            } catch (final TaskClientCodeException e) {
+              handleTaskException(e);
+            }
+          }
+        }
+      }
+    };
+  }
+
   /**
    * THIS ASSUMES THAT IT IS CALLED ON A THREAD HOLDING THE LOCK ON THE HeartBeatManager.
    */
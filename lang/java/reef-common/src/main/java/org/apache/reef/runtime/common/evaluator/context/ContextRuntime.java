@@ -33,6 +33,7 @@ import org.apache.reef.tang.Injector;
 import org.apache.reef.tang.exceptions.BindException;
 import org.apache.reef.tang.exceptions.InjectionException;
 import org.apache.reef.util.Optional;
+import org.apache.reef.wake.EventHandler;
 
 import java.util.Set;
 import java.util.logging.Level;
@@ -226,13 +227,15 @@ public final class ContextRuntime {
    * Launches a Task on this context.
    *
    * @param taskConfig the configuration to be used for the task.
+   * @param onTaskExit called on the Task's thread with the final status of the Task, once it has ended.
    * @throws org.apache.reef.runtime.common.evaluator.task.TaskClientCodeException If the Task cannot be instantiated
    * due to user code / configuration issues.
    * @throws IllegalStateException                                                 If this method is called when
    * there is either a task or child context already present.
    */
   @SuppressWarnings("checkstyle:illegalcatch")
-  void startTask(final Configuration taskConfig) throws TaskClientCodeException {
+  void startTask(final Configuration taskConfig,
+                 final EventHandler<ReefServiceProtos.TaskStatusProto> onTaskExit) throws TaskClientCodeException {
 
     synchronized (this.contextLifeCycle) {
 
@@ -255,7 +258,13 @@ public final class ContextRuntime {
         final Injector taskInjector = this.contextInjector.forkInjector(taskConfig);
         final TaskRuntime taskRuntime = taskInjector.getInstance(TaskRuntime.class);
         taskRuntime.initialize();
-        this.taskRuntimeThread = new Thread(taskRuntime, taskRuntime.getId());
+        this.taskRuntimeThread = new Thread(new Runnable() {
+          @Override
+          public void run() {
+            taskRuntime.run();
+            onTaskExit.onNext(taskRuntime.getStatusProto());
+          }
+        }, taskRuntime.getId());
         this.taskRuntimeThread.start();
         this.task = Optional.of(taskRuntime);
         LOG.log(Level.FINEST, "Started task: {0}", taskRuntime.getTaskId());
@@ -271,6 +280,15 @@ public final class ContextRuntime {
     }
   }
 
+  /**
+   * @return true if a Task is running on this context.
+   */
+  boolean hasRunningTask() {
+    synchronized (this.contextLifeCycle) {
+      return this.task.isPresent() && !this.task.get().hasEnded();
+    }
+  }
+
   /**
    * Close this context. If there is a child context, this recursively closes it before closing this context. If
    * there is a Task currently running, that will be closed.
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.evaluator.task;
+
+import com.google.protobuf.ByteString;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.annotations.audience.TaskSide;
+import org.apache.reef.driver.task.TaskConfigurationOptions;
+import org.apache.reef.evaluator.context.parameters.ContextIdentifier;
+import org.apache.reef.proto.EvaluatorRuntimeProtocol;
+import org.apache.reef.proto.ReefServiceProtos;
+import org.apache.reef.runtime.common.evaluator.parameters.DriverRemoteIdentifier;
+import org.apache.reef.runtime.common.evaluator.parameters.EvaluatorIdentifier;
+import org.apache.reef.runtime.common.utils.RemoteManager;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.task.TaskMessage;
+import org.apache.reef.wake.EventHandler;
+
+import javax.inject.Inject;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Sends the messages of a Task to the Driver right away, on the Evaluator's connection to the Driver.
+ * <p>
+ * The caller of send() transmits its message itself, unless another thread is transmitting already. In that case
+ * the message is queued, and the transmitting thread sends it in its next batch. Hence an idle sender sends each
+ * message on its own, and a busy one batches the messages that arrive while a batch is on the wire.
+ */
+@Private
+@TaskSide
+public final class TaskMessageSender {
+
+  /**
+   * The most messages sent in one batch.
+   */
+  private static final int MAX_BATCH_SIZE = 1024;
+
+  private final String evaluatorId;
+  private final String contextId;
+  private final String taskId;
+  private final EventHandler<EvaluatorRuntimeProtocol.TaskMessagesProto> driverHandler;
+
+  private final Queue<ReefServiceProtos.TaskStatusProto.TaskMessageProto> pending = new ArrayDeque<>();
+  private boolean sending = false;
+
+  @Inject
+  private TaskMessageSender(@Parameter(EvaluatorIdentifier.class) final String evaluatorId,
+                            @Parameter(ContextIdentifier.class) final String contextId,
+                            @Parameter(TaskConfigurationOptions.Identifier.class) final String taskId,
+                            @Parameter(DriverRemoteIdentifier.class) final String driverRID,
+                            final RemoteManager remoteManager) {
+    this(evaluatorId, contextId, taskId,
+        remoteManager.<EvaluatorRuntimeProtocol.TaskMessagesProto>getHandler(
+            driverRID, EvaluatorRuntimeProtocol.TaskMessagesProto.class));
+  }
+
+  TaskMessageSender(final String evaluatorId,
+                    final String contextId,
+                    final String taskId,
+                    final EventHandler<EvaluatorRuntimeProtocol.TaskMessagesProto> driverHandler) {
+    this.evaluatorId = evaluatorId;
+    this.contextId = contextId;
+    this.taskId = taskId;
+    this.driverHandler = driverHandler;
+  }
+
+  /**
+   * Sends the message to the Driver, possibly batched with other messages.
+   *
+   * @param message the message to send.
+   */
+  public void send(final TaskMessage message) {
+    synchronized (this.pending) {
+      this.pending.add(ReefServiceProtos.TaskStatusProto.TaskMessageProto.newBuilder()
+          .setSourceId(message.getMessageSourceID())
+          .setMessage(ByteString.copyFrom(message.get()))
+          .build());
+      if (this.sending) {
+        return;
+      }
+      this.sending = true;
+    }
+
+    try {
+      while (true) {
+        final EvaluatorRuntimeProtocol.TaskMessagesProto.Builder batch =
+            EvaluatorRuntimeProtocol.TaskMessagesProto.newBuilder()
+                .setEvaluatorId(this.evaluatorId)
+                .setContextId(this.contextId)
+                .setTaskId(this.taskId);
+        synchronized (this.pending) {
+          if (this.pending.isEmpty()) {
+            this.sending = false;
+            return;
+          }
+          while (!this.pending.isEmpty() && batch.getTaskMessageCount() < MAX_BATCH_SIZE) {
+            batch.addTaskMessage(this.pending.poll());
+          }
+        }
+        this.driverHandler.onNext(batch.setTimestamp(System.currentTimeMillis()).build());
+      }
+    } catch (final RuntimeException e) {
+      synchronized (this.pending) {
+        this.sending = false;
+      }
+      throw e;
+    }
+  }
+}
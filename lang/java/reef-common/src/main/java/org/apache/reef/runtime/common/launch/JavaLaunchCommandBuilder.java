@@ -27,6 +27,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -40,20 +41,21 @@ public final class JavaLaunchCommandBuilder implements LaunchCommandBuilder {
   private static final Logger LOG = Logger.getLogger(JavaLaunchCommandBuilder.class.getName());
 
   private static final String DEFAULT_JAVA_PATH = System.getenv("JAVA_HOME") + "/bin/" + "java";
-  private static final String[] DEFAULT_OPTIONS = {"-XX:PermSize=128m", "-XX:MaxPermSize=128m"};
+  private static final Pattern HEAP_SIZE = Pattern.compile("(\\d+)([kmgt]?)");
   private String stderrPath = null;
   private String stdoutPath = null;
   private Optional<List<String>> evaluatorConfigurationPaths = Optional.empty();
   private String javaPath = null;
   private String classPath = null;
   private Boolean assertionsEnabled = null;
+  private JavaLaunchProfile launchProfile = JavaLaunchProfile.DEFAULT;
+  private String classDataSharingArchive = null;
   private final Map<String, JVMOption> options = new HashMap<>();
   private final List<String> commandPrefixList;
   private final Class launcherClass;
 
   /**
-   * Constructor that populates default options, using the default Launcher
-   * class {@link REEFLauncher}.
+   * Constructor that uses the default Launcher class {@link REEFLauncher}.
    */
   public JavaLaunchCommandBuilder() {
     this(REEFLauncher.class, null);
@@ -71,10 +73,6 @@ public final class JavaLaunchCommandBuilder implements LaunchCommandBuilder {
    * Constructor that populates prefix and uses a custom Launcher class.
    */
   public JavaLaunchCommandBuilder(final Class launcherClass, final List<String> commandPrefixList) {
-    for (final String defaultOption : DEFAULT_OPTIONS) {
-      addOption(defaultOption);
-    }
-
     this.launcherClass = launcherClass;
     this.commandPrefixList = commandPrefixList;
   }
@@ -99,7 +97,7 @@ public final class JavaLaunchCommandBuilder implements LaunchCommandBuilder {
           addOption("-ea");
         }
 
-        for (final JVMOption jvmOption : options.values()) {
+        for (final JVMOption jvmOption : getJVMOptions()) {
           add(jvmOption.toString());
         }
 
@@ -185,6 +183,85 @@ public final class JavaLaunchCommandBuilder implements LaunchCommandBuilder {
     return addOption(JVMOption.parse(option));
   }
 
+  /**
+   * Set the launch profile whose options are passed in addition to the options set on this builder.
+   * Defaults to {@link JavaLaunchProfile#DEFAULT}.
+   *
+   * @param profile the launch profile.
+   * @return this
+   */
+  public JavaLaunchCommandBuilder setLaunchProfile(final JavaLaunchProfile profile) {
+    this.launchProfile = profile;
+    return this;
+  }
+
+  /**
+   * Set the class data sharing archive of the classpath. The options are guarded, so the JVM of the launched
+   * process decides what to do with the archive, whatever its version: Java 19 and newer create the archive if it
+   * does not exist or does not match the classpath, and use it from then on. Java 11 to 18 use the archive if it
+   * exists and was created beforehand, e.g. with -XX:ArchiveClassesAtExit. Java runs without sharing the class
+   * data of the classpath if it can't use the archive (-Xshare:auto), and skips the options it does not know
+   * (-XX:+IgnoreUnrecognizedVMOptions).
+   *
+   * @param archivePath the path of the archive, as seen by the launched process.
+   * @return this
+   */
+  public JavaLaunchCommandBuilder setClassDataSharingArchive(final String archivePath) {
+    this.classDataSharingArchive = archivePath;
+    return this;
+  }
+
+  /**
+   * @return the options of the launch profile and the class data sharing archive, replaced by the options
+   * that were set explicitly.
+   */
+  private Collection<JVMOption> getJVMOptions() {
+    final Map<String, JVMOption> result = new LinkedHashMap<>();
+    for (final String option : launchProfile.getOptions(getHeapMegaBytes(), options.keySet())) {
+      addOption(result, option);
+    }
+    if (classDataSharingArchive != null && !classDataSharingArchive.isEmpty()) {
+      addOption(result, JavaLaunchProfile.IGNORE_UNRECOGNIZED_OPTIONS);
+      addOption(result, JavaLaunchProfile.SHARE_CLASS_DATA_IF_POSSIBLE);
+      addOption(result, "-XX:SharedArchiveFile=" + classDataSharingArchive);
+      addOption(result, "-XX:+AutoCreateSharedArchive");
+    }
+    result.putAll(options);
+    return result.values();
+  }
+
+  private static void addOption(final Map<String, JVMOption> jvmOptions, final String option) {
+    final JVMOption jvmOption = JVMOption.parse(option);
+    jvmOptions.put(jvmOption.option, jvmOption);
+  }
+
+  /**
+   * @return the maximum heap size in MegaBytes, if set with -Xmx.
+   */
+  private Optional<Integer> getHeapMegaBytes() {
+    final JVMOption maxHeapSize = options.get("-Xmx");
+    if (maxHeapSize == null) {
+      return Optional.empty();
+    }
+    final Matcher matcher = HEAP_SIZE.matcher(maxHeapSize.value.toLowerCase());
+    if (!matcher.matches()) {
+      return Optional.empty();
+    }
+    final long size = Long.parseLong(matcher.group(1));
+    switch (matcher.group(2)) {
+    case "k":
+      return Optional.of((int) (size / 1024));
+    case "m":
+      return Optional.of((int) size);
+    case "g":
+      return Optional.of((int) (size * 1024));
+    case "t":
+      return Optional.of((int) (size * 1024 * 1024));
+    default:
+      return Optional.of((int) (size / (1024 * 1024)));
+    }
+  }
+
   /**
    * Pass values of the properties specified in the propNames array as <code>-D...</code>
    * command line parameters. Currently used only to pass logging configuration to child JVMs processes.
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.launch;
+
+import org.apache.reef.util.Optional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A set of JVM options that {@link JavaLaunchCommandBuilder} passes in addition to the options set on it.
+ * The options of a profile never replace an option that was set explicitly.
+ */
+public enum JavaLaunchProfile {
+
+  /**
+   * The options REEF has always passed: a fixed PermGen size.
+   */
+  DEFAULT {
+    @Override
+    List<String> getOptions(final Optional<Integer> heapMegaBytes, final Collection<String> setOptions) {
+      return Arrays.asList(PERM_SIZE, MAX_PERM_SIZE);
+    }
+  },
+
+  /**
+   * Options for JVMs that must start fast, e.g. the many short-lived Evaluators of a job.
+   * The JVM shares the class data of the JDK and, if a class data sharing archive is set, that of the classpath,
+   * whenever it can. It keeps no performance counters in memory-mapped files. The options are guarded, so that
+   * they suit the JVM of the launched process whatever its version: it skips the options it does not know, e.g.
+   * the PermGen size on Java 17, and runs without class data sharing if it can't map the archives.
+   * The garbage collector depends on the heap size:
+   * <ul>
+   * <li>Up to 1 GB, the serial collector, and classes are only compiled by the client compiler (C1).</li>
+   * <li>Up to 4 GB, the parallel collector.</li>
+   * <li>Above, G1.</li>
+   * </ul>
+   * No collector is chosen if the heap size is not set, or if a collector is set explicitly.
+   */
+  STARTUP {
+    @Override
+    List<String> getOptions(final Optional<Integer> heapMegaBytes, final Collection<String> setOptions) {
+      final List<String> result = new ArrayList<>();
+      result.add(IGNORE_UNRECOGNIZED_OPTIONS);
+      result.add(PERM_SIZE);
+      result.add(MAX_PERM_SIZE);
+      result.add(SHARE_CLASS_DATA_IF_POSSIBLE);
+      result.add("-XX:-UsePerfData");
+      if (heapMegaBytes.isPresent() && !isGarbageCollectorSet(setOptions)) {
+        if (heapMegaBytes.get() <= SMALL_HEAP_MEGABYTES) {
+          result.add("-XX:+UseSerialGC");
+          result.add("-XX:TieredStopAtLevel=1");
+        } else if (heapMegaBytes.get() <= MEDIUM_HEAP_MEGABYTES) {
+          result.add("-XX:+UseParallelGC");
+        } else {
+          result.add("-XX:+UseG1GC");
+        }
+      }
+      return result;
+    }
+  };
+
+  /**
+   * Makes the JVM skip the -XX options that its version does not know, instead of failing to start.
+   */
+  static final String IGNORE_UNRECOGNIZED_OPTIONS = "-XX:+IgnoreUnrecognizedVMOptions";
+
+  /**
+   * Makes the JVM share class data if it can map the archives, and run without sharing otherwise.
+   */
+  static final String SHARE_CLASS_DATA_IF_POSSIBLE = "-Xshare:auto";
+
+  private static final String PERM_SIZE = "-XX:PermSize=128m";
+  private static final String MAX_PERM_SIZE = "-XX:MaxPermSize=128m";
+  private static final int SMALL_HEAP_MEGABYTES = 1024;
+  private static final int MEDIUM_HEAP_MEGABYTES = 4096;
+
+  /**
+   * @param heapMegaBytes the maximum heap size of the JVM, if set.
+   * @param setOptions    the options that were set explicitly, without their values.
+   * @return the options of this profile.
+   */
+  abstract List<String> getOptions(final Optional<Integer> heapMegaBytes, final Collection<String> setOptions);
+
+  private static boolean isGarbageCollectorSet(final Collection<String> setOptions) {
+    for (final String option : setOptions) {
+      if (option.startsWith("-XX:+Use") && option.endsWith("GC")) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -62,6 +62,8 @@ public final class REEFMessageCodec implements Codec<GeneratedMessage> {
         return message.getEvaluatorControl();
       } else if (message.hasEvaluatorHeartBeat()) {
         return message.getEvaluatorHeartBeat();
+      } else if (message.hasTaskMessages()) {
+        return message.getTaskMessages();
       }
       throw new RuntimeException("Unable to decode a message: " + message.toString());
     } catch (final InvalidProtocolBufferException e) {
@@ -83,6 +85,8 @@ public final class REEFMessageCodec implements Codec<GeneratedMessage> {
       message.setEvaluatorControl((EvaluatorRuntimeProtocol.EvaluatorControlProto) msg);
     } else if (msg instanceof EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto) {
       message.setEvaluatorHeartBeat((EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto) msg);
+    } else if (msg instanceof EvaluatorRuntimeProtocol.TaskMessagesProto) {
+      message.setTaskMessages((EvaluatorRuntimeProtocol.TaskMessagesProto) msg);
     } else {
       throw new RuntimeException("Unable to serialize: " + msg);
     }
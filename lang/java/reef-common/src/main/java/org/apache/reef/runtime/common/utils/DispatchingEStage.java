@@ -23,20 +23,39 @@ import org.apache.reef.annotations.audience.Private;
 import org.apache.reef.tang.util.MonotonicHashMap;
 import org.apache.reef.util.ExceptionHandlingEventHandler;
 import org.apache.reef.wake.EventHandler;
-import org.apache.reef.wake.impl.ThreadPoolStage;
+import org.apache.reef.wake.WakeParameters;
+import org.apache.reef.wake.impl.DefaultThreadFactory;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Delayed event router that dispatches messages to the proper event handler by type.
  * This class is used in EvaluatorManager to isolate user threads from REEF.
+ * <p>
+ * Events are queued per stage and run on an Executor that may be shared by many stages,
+ * e.g. by the dispatchers of all Evaluators of a Driver. A stage never runs more than
+ * maxConcurrency of its events at a time, so with a maxConcurrency of 1 its events are
+ * processed one at a time, in the order they were submitted.
  */
 @Private
 @DriverSide
 public final class DispatchingEStage implements AutoCloseable {
 
+  private static final Logger LOG = Logger.getLogger(DispatchingEStage.class.getName());
+
   /**
    * A map of event handlers, populated in the register() method.
    */
@@ -47,9 +66,9 @@ public final class DispatchingEStage implements AutoCloseable {
    */
   private final EventHandler<Throwable> errorHandler;
   /**
-   * Thread pool to process delayed event handler invocations.
+   * Queue of delayed event handler invocations, shared with the stages constructed from this one.
    */
-  private final ThreadPoolStage<DelayedOnNext> stage;
+  private final EventQueue queue;
 
   /**
    * @param errorHandler used for exceptions thrown from the event handlers registered.
@@ -61,25 +80,33 @@ public final class DispatchingEStage implements AutoCloseable {
                            final int numThreads,
                            final String stageName) {
     this.errorHandler = errorHandler;
-    this.stage = new ThreadPoolStage<>(stageName,
-        new EventHandler<DelayedOnNext>() {
-          @Override
-          public void onNext(final DelayedOnNext promise) {
-            promise.handler.onNext(promise.message);
-          }
-        }, numThreads
-    );
+    final ExecutorService executor = Executors.newFixedThreadPool(numThreads, new DefaultThreadFactory(stageName));
+    this.queue = new EventQueue(executor, executor, numThreads, errorHandler);
+  }
 
+  /**
+   * @param errorHandler   used for exceptions thrown from the event handlers registered.
+   * @param executor       executor to dispatch events on. It is not shut down when this stage is closed.
+   * @param maxConcurrency the maximum number of events of this stage that run at the same time.
+   */
+  public DispatchingEStage(final EventHandler<Throwable> errorHandler,
+                           final Executor executor,
+                           final int maxConcurrency) {
+    if (maxConcurrency <= 0) {
+      throw new IllegalArgumentException("maxConcurrency " + maxConcurrency + " is less than or equal to 0");
+    }
+    this.errorHandler = errorHandler;
+    this.queue = new EventQueue(executor, null, maxConcurrency, errorHandler);
   }
 
   /**
-   * Constructs a DispatchingEStage that uses the Thread pool and ErrorHandler of another one.
+   * Constructs a DispatchingEStage that uses the event queue and ErrorHandler of another one.
    *
    * @param other
    */
   public DispatchingEStage(final DispatchingEStage other) {
     this.errorHandler = other.errorHandler;
-    this.stage = other.stage;
+    this.queue = other.queue;
   }
 
   /**
@@ -107,24 +134,35 @@ public final class DispatchingEStage implements AutoCloseable {
   @SuppressWarnings("unchecked")
   public <T, U extends T> void onNext(final Class<T> type, final U message) {
     final EventHandler<T> handler = (EventHandler<T>) this.handlers.get(type);
-    this.stage.onNext(new DelayedOnNext(handler, message));
+    this.queue.add(new DelayedOnNext(handler, message));
   }
 
   /**
    * Return true if there are no messages queued or in processing, false otherwise.
    */
   public boolean isEmpty() {
-    return this.stage.getQueueLength() + this.stage.getActiveCount() == 0;
+    return this.queue.isEmpty();
   }
 
   /**
-   * Close the internal thread pool.
+   * Run the callback once there are no messages queued or in processing: on the thread that handled the last
+   * message, or on the executor if there are none right now. The callback runs only once, even if more messages
+   * are dispatched later.
    *
-   * @throws Exception forwarded from EStage.close() call.
+   * @param callback the callback to run.
+   */
+  public void whenEmpty(final Runnable callback) {
+    this.queue.whenEmpty(callback);
+  }
+
+  /**
+   * Close the internal thread pool, if this stage owns one.
+   *
+   * @throws Exception forwarded from ExecutorService.awaitTermination() call.
    */
   @Override
   public void close() throws Exception {
-    this.stage.close();
+    this.queue.close();
   }
 
   /**
@@ -142,4 +180,167 @@ public final class DispatchingEStage implements AutoCloseable {
       this.message = message;
     }
   }
+
+  /**
+   * FIFO queue of delayed invocations, drained by at most maxConcurrency tasks on the executor.
+   * A drain task hands its thread back to the executor after BATCH_SIZE events,
+   * so a busy stage does not starve the other stages that share the executor.
+   */
+  private static final class EventQueue implements Runnable {
+
+    private static final int BATCH_SIZE = 64;
+
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final int maxConcurrency;
+    private final EventHandler<Throwable> errorHandler;
+
+    private final Queue<DelayedOnNext> pending = new ArrayDeque<>();
+
+    /**
+     * Callbacks to run once outstanding drops to 0. Guarded by this.
+     */
+    private final List<Runnable> emptyCallbacks = new ArrayList<>();
+
+    /**
+     * The number of drain tasks submitted to the executor. Guarded by this.
+     */
+    private int drainers = 0;
+
+    /**
+     * The number of events queued or in processing. Guarded by this.
+     */
+    private int outstanding = 0;
+
+    EventQueue(final Executor executor,
+               final ExecutorService ownedExecutor,
+               final int maxConcurrency,
+               final EventHandler<Throwable> errorHandler) {
+      this.executor = executor;
+      this.ownedExecutor = ownedExecutor;
+      this.maxConcurrency = maxConcurrency;
+      this.errorHandler = errorHandler;
+    }
+
+    void add(final DelayedOnNext event) {
+      final boolean startDrainer;
+      synchronized (this) {
+        this.pending.add(event);
+        ++this.outstanding;
+        startDrainer = this.drainers < this.maxConcurrency;
+        if (startDrainer) {
+          ++this.drainers;
+        }
+      }
+      if (startDrainer) {
+        submitDrainer();
+      }
+    }
+
+    synchronized boolean isEmpty() {
+      return this.outstanding == 0;
+    }
+
+    void whenEmpty(final Runnable callback) {
+      synchronized (this) {
+        if (this.outstanding > 0) {
+          this.emptyCallbacks.add(callback);
+          return;
+        }
+      }
+      try {
+        this.executor.execute(callback);
+      } catch (final RejectedExecutionException e) {
+        LOG.log(Level.FINE, "Executor rejected the callback, running it on the calling thread.", e);
+        callback.run();
+      }
+    }
+
+    /**
+     * @return the callbacks to run, if outstanding dropped to 0. Must be called while holding the lock.
+     */
+    private List<Runnable> takeEmptyCallbacks() {
+      if (this.outstanding > 0 || this.emptyCallbacks.isEmpty()) {
+        return Collections.emptyList();
+      }
+      final List<Runnable> callbacks = new ArrayList<>(this.emptyCallbacks);
+      this.emptyCallbacks.clear();
+      return callbacks;
+    }
+
+    private static void runEmptyCallbacks(final List<Runnable> callbacks) {
+      for (final Runnable callback : callbacks) {
+        callback.run();
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        for (int i = 0; i < BATCH_SIZE; ++i) {
+          final DelayedOnNext event;
+          synchronized (this) {
+            event = this.pending.poll();
+          }
+          if (event == null) {
+            return;
+          }
+          try {
+            event.handler.onNext(event.message);
+          } catch (final RuntimeException e) {
+            this.errorHandler.onNext(e);
+          } finally {
+            final List<Runnable> callbacks;
+            synchronized (this) {
+              --this.outstanding;
+              callbacks = takeEmptyCallbacks();
+            }
+            runEmptyCallbacks(callbacks);
+          }
+        }
+      } finally {
+        // Also reached when the error handler or a callback throws, so that the stage does not lose a drainer
+        final boolean resubmit;
+        synchronized (this) {
+          resubmit = !this.pending.isEmpty();
+          if (!resubmit) {
+            --this.drainers;
+          }
+        }
+        if (resubmit) {
+          submitDrainer();
+        }
+      }
+    }
+
+    private void submitDrainer() {
+      try {
+        this.executor.execute(this);
+      } catch (final RejectedExecutionException e) {
+        final int dropped;
+        final List<Runnable> callbacks;
+        synchronized (this) {
+          dropped = this.pending.size();
+          this.pending.clear();
+          this.outstanding -= dropped;
+          --this.drainers;
+          callbacks = takeEmptyCallbacks();
+        }
+        LOG.log(Level.WARNING, "Executor rejected the dispatch of " + dropped + " events.", e);
+        runEmptyCallbacks(callbacks);
+      }
+    }
+
+    void close() throws InterruptedException {
+      if (this.ownedExecutor == null) {
+        return;
+      }
+      this.ownedExecutor.shutdown();
+      if (!this.ownedExecutor.awaitTermination(WakeParameters.EXECUTOR_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+        LOG.log(Level.WARNING, "Executor did not terminate in " + WakeParameters.EXECUTOR_SHUTDOWN_TIMEOUT + "ms.");
+        final List<Runnable> droppedRunnables = this.ownedExecutor.shutdownNow();
+        LOG.log(Level.WARNING, "Executor dropped " + droppedRunnables.size() + " tasks.");
+      }
+    }
+  }
 }
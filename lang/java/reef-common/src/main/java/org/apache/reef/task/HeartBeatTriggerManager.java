@@ -30,6 +30,7 @@ import javax.inject.Inject;
  * This can be used together with TaskMessageSource to push urgent messages to the Driver.
  * <p>
  * CAUTION: Do not overuse as the Driver can be saturated with heartbeats.
+ * To push messages only, prefer TaskMessageChannel, which sends them without a heartbeat.
  *
  * @see <a href="https://issues.apache.org/jira/browse/REEF-33">REEF-33</a> for the ongoing discussion of
  * alternatives to this design.
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.task;
+
+import org.apache.reef.annotations.Unstable;
+import org.apache.reef.annotations.audience.Public;
+import org.apache.reef.annotations.audience.TaskSide;
+import org.apache.reef.runtime.common.evaluator.task.TaskMessageSender;
+
+import javax.inject.Inject;
+
+/**
+ * Sends TaskMessages to the Driver right away, instead of with the next heartbeat.
+ * <p>
+ * Unlike a TaskMessageSource together with HeartBeatTriggerManager, this does not send a heartbeat with all the
+ * statuses of the Evaluator: only the messages go to the Driver, batched if the Task sends them faster than they
+ * can be transmitted. The Driver receives them as TaskMessage events, like the ones of TaskMessageSources.
+ * Messages sent from Task.call() reach the Driver after the RunningTask and, if sent before call() returns,
+ * before the CompletedTask. Messages sent before call() is invoked are dropped.
+ */
+@TaskSide
+@Public
+@Unstable
+public final class TaskMessageChannel {
+
+  private final TaskMessageSender sender;
+
+  @Inject
+  private TaskMessageChannel(final TaskMessageSender sender) {
+    this.sender = sender;
+  }
+
+  /**
+   * Sends the message to the Driver. Safe to call from multiple threads.
+   *
+   * @param message the message to send.
+   */
+  public void send(final TaskMessage message) {
+    this.sender.send(message);
+  }
+}
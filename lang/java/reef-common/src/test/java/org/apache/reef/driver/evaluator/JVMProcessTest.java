@@ -18,16 +18,32 @@
  */
 package org.apache.reef.driver.evaluator;
 
+import org.apache.reef.driver.parameters.EvaluatorClassDataSharingArchive;
+import org.apache.reef.driver.parameters.EvaluatorLaunchProfile;
+import org.apache.reef.runtime.common.files.RuntimeClasspathProvider;
+import org.apache.reef.runtime.common.launch.JavaLaunchProfile;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
 import org.junit.Test;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
 
 /**
  * Tests for JVMProcess.
  */
 public final class JVMProcessTest {
 
+  private static final String ARCHIVE = "reef.jsa";
+
   @Test
   public void testIsOptionSetFalse() {
     final JVMProcess jvmProcess = new JVMProcess(null, null);
@@ -47,4 +63,77 @@ public final class JVMProcessTest {
         .setMemory(500);
     assertTrue("Option set", jvmProcess.isOptionSet());
   }
+
+  /**
+   * The JVM options of the command line of each profile, as configured in the Driver configuration.
+   */
+  @Test
+  public void testLaunchProfileCommandLines() throws InjectionException {
+    final JVMProcess defaultProcess = newJVMProcess(JavaLaunchProfile.DEFAULT, "");
+    assertFalse("The launch profile is not an option set by users", defaultProcess.isOptionSet());
+    assertEquals(Arrays.asList("-XX:PermSize=128m", "-XX:MaxPermSize=128m", "-Xmx512m"),
+        getJVMOptions(defaultProcess.setMemory(512)));
+
+    assertEquals(Arrays.asList("-XX:PermSize=128m", "-XX:MaxPermSize=128m",
+        "-XX:+IgnoreUnrecognizedVMOptions", "-Xshare:auto", "-XX:SharedArchiveFile=" + ARCHIVE,
+        "-XX:+AutoCreateSharedArchive", "-Xmx512m"),
+        getJVMOptions(newJVMProcess(JavaLaunchProfile.DEFAULT, ARCHIVE).setMemory(512)));
+
+    assertEquals(Arrays.asList("-XX:+IgnoreUnrecognizedVMOptions", "-XX:PermSize=128m", "-XX:MaxPermSize=128m",
+        "-Xshare:auto", "-XX:-UsePerfData", "-XX:+UseSerialGC", "-XX:TieredStopAtLevel=1", "-Xmx512m"),
+        getJVMOptions(newJVMProcess(JavaLaunchProfile.STARTUP, "").setMemory(512)));
+
+    final JVMProcess startupProcess = newJVMProcess(JavaLaunchProfile.STARTUP, ARCHIVE);
+    assertFalse("The class data sharing archive is not an option set by users", startupProcess.isOptionSet());
+    assertEquals(Arrays.asList("-XX:+IgnoreUnrecognizedVMOptions", "-XX:PermSize=128m", "-XX:MaxPermSize=128m",
+        "-Xshare:auto", "-XX:-UsePerfData", "-XX:+UseParallelGC", "-XX:SharedArchiveFile=" + ARCHIVE,
+        "-XX:+AutoCreateSharedArchive", "-Xmx2048m"),
+        getJVMOptions(startupProcess.setMemory(2048)));
+  }
+
+  /**
+   * The guarded options of the STARTUP profile are accepted by the JVM that runs this test, whatever its version,
+   * even with an archive that does not exist.
+   */
+  @Test
+  public void testStartupOptionsAreAcceptedByThisJvm() throws Exception {
+    final File archive = File.createTempFile("reef", ".jsa");
+    assertTrue(archive.delete());
+    try {
+      final List<String> command = new ArrayList<>();
+      command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+      command.addAll(getJVMOptions(newJVMProcess(JavaLaunchProfile.STARTUP, archive.getAbsolutePath())
+          .setMemory(64)));
+      command.add("-version");
+      final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+      assertEquals("Exit code of " + command, 0, process.waitFor());
+    } finally {
+      if (archive.exists() && !archive.delete()) {
+        archive.deleteOnExit();
+      }
+    }
+  }
+
+  private static JVMProcess newJVMProcess(final JavaLaunchProfile profile, final String archivePath)
+      throws InjectionException {
+    final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(EvaluatorLaunchProfile.class, profile.name())
+        .bindNamedParameter(EvaluatorClassDataSharingArchive.class, archivePath)
+        .build());
+    injector.bindVolatileInstance(RuntimeClasspathProvider.class, mock(RuntimeClasspathProvider.class));
+    return injector.getInstance(JVMProcessFactory.class).newEvaluatorProcess();
+  }
+
+  /**
+   * @return the -X options of the command line of the process.
+   */
+  private static List<String> getJVMOptions(final JVMProcess process) {
+    final List<String> options = new ArrayList<>();
+    for (final String entry : process.getCommandLine()) {
+      if (entry.startsWith("-X")) {
+        options.add(entry);
+      }
+    }
+    return options;
+  }
 }
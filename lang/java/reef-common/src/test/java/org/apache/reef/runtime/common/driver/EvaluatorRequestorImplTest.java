@@ -30,6 +30,10 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.mockito.Mockito.mock;
 
 /**
@@ -103,16 +107,58 @@ public class EvaluatorRequestorImplTest {
         .build());
   }
 
+  /**
+   * Checks that the requests for the same kind of Evaluator are handed to the resource manager as one request.
+   */
+  @Test
+  public void testSubmitAll() {
+    final DummyRequestHandler requestHandler = new DummyRequestHandler();
+    final EvaluatorRequestor evaluatorRequestor =
+        new EvaluatorRequestorImpl(resourceCatalog, requestHandler, loggingScopeFactory);
+    evaluatorRequestor.submitAll(Arrays.asList(
+        EvaluatorRequest.newBuilder().setMemory(512).setNumber(2).build(),
+        EvaluatorRequest.newBuilder().setMemory(1024).setNumber(1).build(),
+        EvaluatorRequest.newBuilder().setMemory(512).setNumber(3).build()));
+
+    Assert.assertEquals("The requests were not merged by kind", 2, requestHandler.getAll().size());
+    Assert.assertEquals(512, requestHandler.getAll().get(0).getMemorySize().get().intValue());
+    Assert.assertEquals(5, requestHandler.getAll().get(0).getResourceCount());
+    Assert.assertEquals(1024, requestHandler.getAll().get(1).getMemorySize().get().intValue());
+    Assert.assertEquals(1, requestHandler.getAll().get(1).getResourceCount());
+  }
+
+  /**
+   * Expect no request to be submitted when one of the requests is illegal.
+   */
+  @Test
+  public void testSubmitAllWithIllegalRequest() {
+    final DummyRequestHandler requestHandler = new DummyRequestHandler();
+    final EvaluatorRequestor evaluatorRequestor =
+        new EvaluatorRequestorImpl(resourceCatalog, requestHandler, loggingScopeFactory);
+    try {
+      evaluatorRequestor.submitAll(Arrays.asList(
+          EvaluatorRequest.newBuilder().setMemory(512).setNumber(2).build(),
+          EvaluatorRequest.newBuilder().setMemory(0).setNumber(1).build()));
+      Assert.fail("An illegal request was accepted");
+    } catch (final IllegalArgumentException e) {
+      Assert.assertTrue(requestHandler.getAll().isEmpty());
+    }
+  }
+
   private class DummyRequestHandler implements ResourceRequestHandler {
-    private ResourceRequestEvent request;
+    private final List<ResourceRequestEvent> requests = new ArrayList<>();
 
     @Override
     public void onNext(final ResourceRequestEvent resourceRequestEvent) {
-      this.request = resourceRequestEvent;
+      this.requests.add(resourceRequestEvent);
     }
 
     public ResourceRequestEvent get() {
-      return this.request;
+      return this.requests.get(this.requests.size() - 1);
+    }
+
+    public List<ResourceRequestEvent> getAll() {
+      return this.requests;
     }
   }
 }
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.driver.evaluator.ConstantConfigurationProvider;
+import org.apache.reef.driver.parameters.EvaluatorConfigurationProviders;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.ConfigurationProvider;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for EvaluatorConfigurationFragments.
+ */
+public final class EvaluatorConfigurationFragmentsTest {
+
+  private static final AtomicInteger CONSTANT_CALLS = new AtomicInteger();
+  private static final AtomicInteger CHANGING_CALLS = new AtomicInteger();
+
+  /**
+   * Only the ConstantConfigurationProviders are called once; the others are called for each Evaluator.
+   */
+  @Test
+  public void testOnlyConstantProvidersAreCached() throws Exception {
+    CONSTANT_CALLS.set(0);
+    CHANGING_CALLS.set(0);
+    final EvaluatorConfigurationFragments fragments = Tang.Factory.getTang().newInjector(
+        Tang.Factory.getTang().newConfigurationBuilder()
+            .bindSetEntry(EvaluatorConfigurationProviders.class, ConstantProvider.class)
+            .bindSetEntry(EvaluatorConfigurationProviders.class, ChangingProvider.class)
+            .build())
+        .getInstance(EvaluatorConfigurationFragments.class);
+
+    final String first = fragments.getRootServiceConfigurationString();
+    final String second = fragments.getRootServiceConfigurationString();
+    Assert.assertTrue(first, first.contains("constant"));
+    Assert.assertTrue(first, first.contains("changing-1"));
+    Assert.assertTrue(second, second.contains("changing-2"));
+    Assert.assertTrue(fragments.getProvidedConfiguration().isPresent());
+    Assert.assertEquals(1, CONSTANT_CALLS.get());
+    Assert.assertEquals(3, CHANGING_CALLS.get());
+  }
+
+  /**
+   * Without other providers, the root service configuration is built once.
+   */
+  @Test
+  public void testConstantProvidersOnly() throws Exception {
+    CONSTANT_CALLS.set(0);
+    final EvaluatorConfigurationFragments fragments = Tang.Factory.getTang().newInjector(
+        Tang.Factory.getTang().newConfigurationBuilder()
+            .bindSetEntry(EvaluatorConfigurationProviders.class, ConstantProvider.class)
+            .build())
+        .getInstance(EvaluatorConfigurationFragments.class);
+
+    Assert.assertSame(fragments.getRootServiceConfigurationString(), fragments.getRootServiceConfigurationString());
+    Assert.assertEquals(1, CONSTANT_CALLS.get());
+  }
+
+  @NamedParameter(doc = "A value set by ConstantProvider.")
+  private static final class ConstantValue implements Name<String> {
+  }
+
+  @NamedParameter(doc = "A value set by ChangingProvider.")
+  private static final class ChangingValue implements Name<String> {
+  }
+
+  private static final class ConstantProvider implements ConstantConfigurationProvider {
+
+    @Inject
+    private ConstantProvider() {
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+      CONSTANT_CALLS.incrementAndGet();
+      return Tang.Factory.getTang().newConfigurationBuilder()
+          .bindNamedParameter(ConstantValue.class, "constant")
+          .build();
+    }
+  }
+
+  private static final class ChangingProvider implements ConfigurationProvider {
+
+    @Inject
+    private ChangingProvider() {
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+      return Tang.Factory.getTang().newConfigurationBuilder()
+          .bindNamedParameter(ChangingValue.class, "changing-" + CHANGING_CALLS.incrementAndGet())
+          .build();
+    }
+  }
+}
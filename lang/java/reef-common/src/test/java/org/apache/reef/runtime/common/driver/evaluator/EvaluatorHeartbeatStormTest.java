@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.driver.catalog.ResourceCatalog;
+import org.apache.reef.driver.context.ActiveContext;
+import org.apache.reef.driver.evaluator.AllocatedEvaluator;
+import org.apache.reef.driver.evaluator.EvaluatorProcessFactory;
+import org.apache.reef.driver.parameters.ContextActiveHandlers;
+import org.apache.reef.driver.parameters.DriverIdentifier;
+import org.apache.reef.driver.parameters.EvaluatorAllocatedHandlers;
+import org.apache.reef.proto.EvaluatorRuntimeProtocol;
+import org.apache.reef.proto.ReefServiceProtos;
+import org.apache.reef.runtime.common.driver.api.ResourceLaunchEvent;
+import org.apache.reef.runtime.common.driver.api.ResourceLaunchHandler;
+import org.apache.reef.runtime.common.driver.api.ResourceReleaseHandler;
+import org.apache.reef.runtime.common.driver.api.ResourceRequestHandler;
+import org.apache.reef.runtime.common.driver.catalog.ResourceCatalogImpl;
+import org.apache.reef.runtime.common.driver.parameters.JobIdentifier;
+import org.apache.reef.runtime.common.driver.resourcemanager.ResourceEventImpl;
+import org.apache.reef.runtime.common.utils.RemoteManager;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.remote.RemoteIdentifier;
+import org.apache.reef.wake.remote.RemoteMessage;
+import org.apache.reef.wake.remote.impl.SocketRemoteIdentifier;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import javax.inject.Inject;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Replays a recorded heartbeat storm from many Evaluators against the Driver runtime, while the Driver
+ * checks its idleness in the background, and compares replaying it on one thread to replaying it on several.
+ */
+public final class EvaluatorHeartbeatStormTest {
+
+  private static final Logger LOG = Logger.getLogger(EvaluatorHeartbeatStormTest.class.getName());
+
+  private static final int NUM_EVALUATORS = 500;
+  private static final int HEARTBEATS_PER_EVALUATOR = 100;
+  private static final int NUM_THREADS = 8;
+  private static final String ROOT_CONTEXT_ID = "RootContext";
+
+  private static final AtomicInteger ACTIVE_CONTEXTS = new AtomicInteger();
+
+  @Test
+  public void testHeartbeatStorm() throws Exception {
+    final long serialNanos = replay("HeartbeatStormSerialDriver", 1);
+    final long concurrentNanos = replay("HeartbeatStormConcurrentDriver", NUM_THREADS);
+
+    final int numHeartbeats = NUM_EVALUATORS * HEARTBEATS_PER_EVALUATOR;
+    LOG.log(Level.INFO, String.format("%d heartbeats from %d Evaluators: %d ms on 1 thread, %d ms on %d threads",
+        numHeartbeats, NUM_EVALUATORS, TimeUnit.NANOSECONDS.toMillis(serialNanos),
+        TimeUnit.NANOSECONDS.toMillis(concurrentNanos), NUM_THREADS));
+  }
+
+  /**
+   * Allocates the Evaluators, then replays their heartbeats on the given number of threads.
+   * Like the remote stage, each thread replays the heartbeats of its own Evaluators in order.
+   *
+   * @return the time it took to replay the heartbeats, in nanoseconds.
+   */
+  private long replay(final String driverId, final int numThreads) throws Exception {
+    final Injector injector = newDriverInjector(driverId);
+    final Evaluators evaluators = injector.getInstance(Evaluators.class);
+    final EvaluatorManagerFactory evaluatorManagerFactory = injector.getInstance(EvaluatorManagerFactory.class);
+    final EvaluatorHeartbeatHandler heartbeatHandler = injector.getInstance(EvaluatorHeartbeatHandler.class);
+
+    final List<List<RemoteMessage<EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto>>> recordings =
+        new ArrayList<>(numThreads);
+    for (int t = 0; t < numThreads; ++t) {
+      recordings.add(new ArrayList<RemoteMessage<EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto>>());
+    }
+    for (int i = 0; i < NUM_EVALUATORS; ++i) {
+      final String evaluatorId = driverId + "-Evaluator-" + i;
+      evaluators.put(evaluatorManagerFactory, ResourceEventImpl.newAllocationBuilder()
+          .setIdentifier(evaluatorId)
+          .setNodeId("127.0.0.1:" + (20000 + i % 100))
+          .setRackName("rack")
+          .setResourceMemory(64)
+          .setVirtualCores(1)
+          .setRuntimeName("local")
+          .build());
+      evaluators.get(evaluatorId).get().onResourceLaunch(mock(ResourceLaunchEvent.class));
+    }
+    final List<RemoteIdentifier> remoteIds = new ArrayList<>(NUM_EVALUATORS);
+    for (int i = 0; i < NUM_EVALUATORS; ++i) {
+      remoteIds.add(new SocketRemoteIdentifier(new InetSocketAddress("127.0.0.1", 10000 + i)));
+    }
+    for (int h = 0; h < HEARTBEATS_PER_EVALUATOR; ++h) {
+      for (int i = 0; i < NUM_EVALUATORS; ++i) {
+        recordings.get(i % numThreads).add(newHeartbeat(driverId + "-Evaluator-" + i, remoteIds.get(i), h));
+      }
+    }
+
+    ACTIVE_CONTEXTS.set(0);
+    final AtomicBoolean stormDone = new AtomicBoolean(false);
+    final AtomicInteger idlenessChecks = new AtomicInteger();
+    final ExecutorService executor = Executors.newFixedThreadPool(numThreads + 1);
+    try {
+      final Future<?> idlenessChecker = executor.submit(new Runnable() {
+        @Override
+        public void run() {
+          while (!stormDone.get()) {
+            Assert.assertFalse(evaluators.allEvaluatorsAreClosed());
+            idlenessChecks.incrementAndGet();
+          }
+        }
+      });
+
+      final CountDownLatch start = new CountDownLatch(1);
+      final List<Future<?>> replays = new ArrayList<>(numThreads);
+      for (final List<RemoteMessage<EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto>> recording : recordings) {
+        replays.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws InterruptedException {
+            start.await();
+            for (final RemoteMessage<EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto> heartbeat : recording) {
+              heartbeatHandler.onNext(heartbeat);
+            }
+            return null;
+          }
+        }));
+      }
+
+      final long startTime = System.nanoTime();
+      start.countDown();
+      for (final Future<?> replay : replays) {
+        replay.get(60, TimeUnit.SECONDS);
+      }
+      final long elapsed = System.nanoTime() - startTime;
+
+      stormDone.set(true);
+      idlenessChecker.get(10, TimeUnit.SECONDS);
+      LOG.log(Level.INFO, "{0} idleness checks during the storm on {1} threads",
+          new Object[]{idlenessChecks.get(), numThreads});
+
+      final long deadline = System.currentTimeMillis() + 10000;
+      while (ACTIVE_CONTEXTS.get() < NUM_EVALUATORS && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      Assert.assertEquals(NUM_EVALUATORS, ACTIVE_CONTEXTS.get());
+      return elapsed;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static Injector newDriverInjector(final String driverId) throws InjectionException {
+    final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(DriverIdentifier.class, driverId)
+        .bindNamedParameter(JobIdentifier.class, driverId)
+        .bindImplementation(ResourceCatalog.class, ResourceCatalogImpl.class)
+        .bindSetEntry(EvaluatorAllocatedHandlers.class, AllocatedEvaluatorHandler.class)
+        .bindSetEntry(ContextActiveHandlers.class, ActiveContextHandler.class)
+        .build());
+
+    final RemoteManager remoteManager = mock(RemoteManager.class);
+    doReturn(mock(EventHandler.class)).when(remoteManager).getHandler(anyString(), Matchers.<Class<Object>>any());
+    injector.bindVolatileInstance(RemoteManager.class, remoteManager);
+    injector.bindVolatileInstance(EvaluatorProcessFactory.class, mock(EvaluatorProcessFactory.class));
+    injector.bindVolatileInstance(ResourceLaunchHandler.class, mock(ResourceLaunchHandler.class));
+    injector.bindVolatileInstance(ResourceReleaseHandler.class, mock(ResourceReleaseHandler.class));
+    injector.bindVolatileInstance(ResourceRequestHandler.class, mock(ResourceRequestHandler.class));
+    return injector;
+  }
+
+  /**
+   * @return the heartbeat number h of the given Evaluator. The first one reports its root context, the others
+   * only report that the Evaluator is running, as nothing else changed.
+   */
+  private static RemoteMessage<EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto> newHeartbeat(
+      final String evaluatorId, final RemoteIdentifier remoteId, final int h) {
+    final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto.Builder heartbeat =
+        EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto.newBuilder()
+            .setTimestamp(h + 1)
+            .setEvaluatorStatus(ReefServiceProtos.EvaluatorStatusProto.newBuilder()
+                .setEvaluatorId(evaluatorId)
+                .setState(ReefServiceProtos.State.RUNNING));
+    if (h == 0) {
+      heartbeat.addContextStatus(ReefServiceProtos.ContextStatusProto.newBuilder()
+          .setContextId(ROOT_CONTEXT_ID)
+          .setContextState(ReefServiceProtos.ContextStatusProto.State.READY));
+    }
+    return new Heartbeat(remoteId, heartbeat.build());
+  }
+
+  private static final class Heartbeat implements RemoteMessage<EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto> {
+
+    private final RemoteIdentifier identifier;
+    private final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto message;
+
+    private Heartbeat(final RemoteIdentifier identifier,
+                      final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto message) {
+      this.identifier = identifier;
+      this.message = message;
+    }
+
+    @Override
+    public RemoteIdentifier getIdentifier() {
+      return this.identifier;
+    }
+
+    @Override
+    public EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto getMessage() {
+      return this.message;
+    }
+  }
+
+  private static final class AllocatedEvaluatorHandler implements EventHandler<AllocatedEvaluator> {
+
+    @Inject
+    private AllocatedEvaluatorHandler() {
+    }
+
+    @Override
+    public void onNext(final AllocatedEvaluator allocatedEvaluator) {
+    }
+  }
+
+  private static final class ActiveContextHandler implements EventHandler<ActiveContext> {
+
+    @Inject
+    private ActiveContextHandler() {
+    }
+
+    @Override
+    public void onNext(final ActiveContext activeContext) {
+      ACTIVE_CONTEXTS.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.driver.catalog.ResourceCatalog;
+import org.apache.reef.driver.context.ContextConfiguration;
+import org.apache.reef.driver.evaluator.AllocatedEvaluator;
+import org.apache.reef.driver.evaluator.EvaluatorProcess;
+import org.apache.reef.driver.evaluator.EvaluatorProcessFactory;
+import org.apache.reef.driver.evaluator.EvaluatorType;
+import org.apache.reef.driver.parameters.DriverIdentifier;
+import org.apache.reef.driver.parameters.EvaluatorAllocatedHandlers;
+import org.apache.reef.runtime.common.driver.api.ResourceLaunchEvent;
+import org.apache.reef.runtime.common.driver.api.ResourceLaunchHandler;
+import org.apache.reef.runtime.common.driver.api.ResourceReleaseHandler;
+import org.apache.reef.runtime.common.driver.api.ResourceRequestHandler;
+import org.apache.reef.runtime.common.driver.catalog.ResourceCatalogImpl;
+import org.apache.reef.runtime.common.driver.parameters.EvaluatorDispatcherThreadPoolSize;
+import org.apache.reef.runtime.common.driver.parameters.EvaluatorLaunchThreadPoolSize;
+import org.apache.reef.runtime.common.driver.parameters.JobIdentifier;
+import org.apache.reef.runtime.common.driver.resourcemanager.ResourceEventImpl;
+import org.apache.reef.runtime.common.utils.RemoteManager;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EventHandler;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import javax.inject.Inject;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Launches many Evaluators at once, each of which takes a while to launch, on the submitting thread
+ * and on the EvaluatorLaunchThreadPool. The allocation handlers run one at a time, like synchronized handlers do.
+ */
+public final class EvaluatorLaunchTest {
+
+  private static final Logger LOG = Logger.getLogger(EvaluatorLaunchTest.class.getName());
+
+  private static final int NUM_EVALUATORS = 40;
+  private static final int NUM_THREADS = 8;
+  private static final long LAUNCH_MILLIS = 20;
+
+  @Test
+  public void testParallelLaunch() throws Exception {
+    final LaunchHandler serialLaunches = new LaunchHandler();
+    final long serialNanos = launch("EvaluatorLaunchSerialDriver", 0, serialLaunches);
+    Assert.assertEquals(1, serialLaunches.maxConcurrentLaunches.get());
+
+    final LaunchHandler parallelLaunches = new LaunchHandler();
+    final long parallelNanos = launch("EvaluatorLaunchParallelDriver", NUM_THREADS, parallelLaunches);
+    Assert.assertTrue("Evaluators were not launched in parallel", parallelLaunches.maxConcurrentLaunches.get() > 1);
+
+    LOG.log(Level.INFO, String.format("%d Evaluators launched in %d ms on the submitting thread, %d ms on %d threads",
+        NUM_EVALUATORS, TimeUnit.NANOSECONDS.toMillis(serialNanos), TimeUnit.NANOSECONDS.toMillis(parallelNanos),
+        NUM_THREADS));
+  }
+
+  /**
+   * Allocates the Evaluators, whose allocation handler submits them right away, and waits for all to be launched.
+   *
+   * @return the time it took to launch the Evaluators, in nanoseconds.
+   */
+  private static long launch(final String driverId, final int numThreads, final LaunchHandler launchHandler)
+      throws Exception {
+    final Injector injector = newDriverInjector(driverId, numThreads, launchHandler);
+    final Evaluators evaluators = injector.getInstance(Evaluators.class);
+    final EvaluatorManagerFactory evaluatorManagerFactory = injector.getInstance(EvaluatorManagerFactory.class);
+
+    final long startTime = System.nanoTime();
+    for (int i = 0; i < NUM_EVALUATORS; ++i) {
+      evaluators.put(evaluatorManagerFactory, ResourceEventImpl.newAllocationBuilder()
+          .setIdentifier(driverId + "-Evaluator-" + i)
+          .setNodeId("127.0.0.1:" + (20000 + i))
+          .setRackName("rack")
+          .setResourceMemory(64)
+          .setVirtualCores(1)
+          .setRuntimeName("local")
+          .build());
+    }
+
+    final long deadline = System.currentTimeMillis() + 30000;
+    while (launchHandler.launched.size() < NUM_EVALUATORS && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    final long elapsed = System.nanoTime() - startTime;
+    Assert.assertEquals(NUM_EVALUATORS, launchHandler.launched.size());
+    return elapsed;
+  }
+
+  private static Injector newDriverInjector(final String driverId, final int numThreads,
+                                            final LaunchHandler launchHandler) throws InjectionException {
+    final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(DriverIdentifier.class, driverId)
+        .bindNamedParameter(JobIdentifier.class, driverId)
+        .bindNamedParameter(EvaluatorDispatcherThreadPoolSize.class, "1")
+        .bindNamedParameter(EvaluatorLaunchThreadPoolSize.class, Integer.toString(numThreads))
+        .bindImplementation(ResourceCatalog.class, ResourceCatalogImpl.class)
+        .bindSetEntry(EvaluatorAllocatedHandlers.class, SubmittingAllocatedEvaluatorHandler.class)
+        .build());
+
+    final RemoteManager remoteManager = mock(RemoteManager.class);
+    doReturn(mock(EventHandler.class)).when(remoteManager).getHandler(anyString(), Matchers.<Class<Object>>any());
+    doReturn("socket://127.0.0.1:10000").when(remoteManager).getMyIdentifier();
+    final EvaluatorProcess process = mock(EvaluatorProcess.class);
+    doReturn(EvaluatorType.JVM).when(process).getType();
+    final EvaluatorProcessFactory processFactory = mock(EvaluatorProcessFactory.class);
+    doReturn(process).when(processFactory).newEvaluatorProcess();
+
+    injector.bindVolatileInstance(RemoteManager.class, remoteManager);
+    injector.bindVolatileInstance(EvaluatorProcessFactory.class, processFactory);
+    injector.bindVolatileInstance(ResourceLaunchHandler.class, launchHandler);
+    injector.bindVolatileInstance(ResourceReleaseHandler.class, mock(ResourceReleaseHandler.class));
+    injector.bindVolatileInstance(ResourceRequestHandler.class, mock(ResourceRequestHandler.class));
+    return injector;
+  }
+
+  /**
+   * Takes LAUNCH_MILLIS to launch an Evaluator, and records how many Evaluators it launches at the same time.
+   */
+  private static final class LaunchHandler implements ResourceLaunchHandler {
+
+    private final Set<String> launched = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final AtomicInteger concurrentLaunches = new AtomicInteger();
+    private final AtomicInteger maxConcurrentLaunches = new AtomicInteger();
+
+    @Override
+    public void onNext(final ResourceLaunchEvent resourceLaunchEvent) {
+      Assert.assertNotNull(resourceLaunchEvent.getEvaluatorConf());
+      final int concurrent = this.concurrentLaunches.incrementAndGet();
+      int max = this.maxConcurrentLaunches.get();
+      while (concurrent > max && !this.maxConcurrentLaunches.compareAndSet(max, concurrent)) {
+        max = this.maxConcurrentLaunches.get();
+      }
+      try {
+        Thread.sleep(LAUNCH_MILLIS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      this.concurrentLaunches.decrementAndGet();
+      this.launched.add(resourceLaunchEvent.getIdentifier());
+    }
+  }
+
+  private static final class SubmittingAllocatedEvaluatorHandler implements EventHandler<AllocatedEvaluator> {
+
+    @Inject
+    private SubmittingAllocatedEvaluatorHandler() {
+    }
+
+    @Override
+    public void onNext(final AllocatedEvaluator allocatedEvaluator) {
+      allocatedEvaluator.submitContext(ContextConfiguration.CONF
+          .set(ContextConfiguration.IDENTIFIER, "RootContext_" + allocatedEvaluator.getId())
+          .build());
+    }
+  }
+}
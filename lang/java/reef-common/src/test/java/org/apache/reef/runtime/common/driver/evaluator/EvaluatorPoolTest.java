@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.driver.catalog.ResourceCatalog;
+import org.apache.reef.driver.evaluator.AllocatedEvaluator;
+import org.apache.reef.driver.evaluator.EvaluatorProcessFactory;
+import org.apache.reef.driver.evaluator.EvaluatorRequest;
+import org.apache.reef.driver.parameters.DriverIdentifier;
+import org.apache.reef.driver.parameters.EvaluatorAllocatedHandlers;
+import org.apache.reef.driver.parameters.EvaluatorPoolCores;
+import org.apache.reef.driver.parameters.EvaluatorPoolMemory;
+import org.apache.reef.driver.parameters.EvaluatorPoolSize;
+import org.apache.reef.runtime.common.driver.api.ResourceLaunchHandler;
+import org.apache.reef.runtime.common.driver.api.ResourceReleaseEvent;
+import org.apache.reef.runtime.common.driver.api.ResourceReleaseHandler;
+import org.apache.reef.runtime.common.driver.api.ResourceRequestEvent;
+import org.apache.reef.runtime.common.driver.api.ResourceRequestHandler;
+import org.apache.reef.runtime.common.driver.catalog.ResourceCatalogImpl;
+import org.apache.reef.runtime.common.driver.parameters.JobIdentifier;
+import org.apache.reef.runtime.common.driver.resourcemanager.ResourceAllocationEvent;
+import org.apache.reef.runtime.common.driver.resourcemanager.ResourceEventImpl;
+import org.apache.reef.runtime.common.utils.RemoteManager;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EventHandler;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for EvaluatorPool.
+ */
+public final class EvaluatorPoolTest {
+
+  private static final int POOL_SIZE = 2;
+  private static final int MEMORY = 512;
+  private static final int CORES = 1;
+  private static final String RACK = "rack";
+
+  private static final AtomicInteger DRIVER_COUNT = new AtomicInteger();
+
+  private final ResourceRequestHandler resourceRequestHandler = mock(ResourceRequestHandler.class);
+  private final ResourceReleaseHandler resourceReleaseHandler = mock(ResourceReleaseHandler.class);
+  private Evaluators evaluators;
+  private EvaluatorPool evaluatorPool;
+  private int allocationCount = 0;
+
+  @Before
+  public void setUp() throws InjectionException {
+    // Evaluators is a singleton per Driver.
+    final String driverId = "EvaluatorPoolTestDriver-" + DRIVER_COUNT.incrementAndGet();
+    final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(DriverIdentifier.class, driverId)
+        .bindNamedParameter(JobIdentifier.class, driverId)
+        .bindNamedParameter(EvaluatorPoolSize.class, Integer.toString(POOL_SIZE))
+        .bindNamedParameter(EvaluatorPoolMemory.class, Integer.toString(MEMORY))
+        .bindNamedParameter(EvaluatorPoolCores.class, Integer.toString(CORES))
+        .bindImplementation(ResourceCatalog.class, ResourceCatalogImpl.class)
+        // Keep the Evaluators taken from the pool open: the default handler would close them.
+        .bindSetEntry(EvaluatorAllocatedHandlers.class, AllocatedEvaluatorHandler.class)
+        .build());
+
+    final RemoteManager remoteManager = mock(RemoteManager.class);
+    doReturn(mock(EventHandler.class)).when(remoteManager).getHandler(anyString(), Matchers.<Class<Object>>any());
+    injector.bindVolatileInstance(RemoteManager.class, remoteManager);
+    injector.bindVolatileInstance(EvaluatorProcessFactory.class, mock(EvaluatorProcessFactory.class));
+    injector.bindVolatileInstance(ResourceLaunchHandler.class, mock(ResourceLaunchHandler.class));
+    injector.bindVolatileInstance(ResourceRequestHandler.class, this.resourceRequestHandler);
+    injector.bindVolatileInstance(ResourceReleaseHandler.class, this.resourceReleaseHandler);
+
+    this.evaluators = injector.getInstance(Evaluators.class);
+    this.evaluatorPool = injector.getInstance(EvaluatorPool.class);
+  }
+
+  /**
+   * The pool is filled after the first request, which gets its allocation first, and satisfies the next one.
+   */
+  @Test
+  public void testRequestsAreSatisfiedFromThePool() {
+    Assert.assertEquals(0, this.evaluatorPool.take(newRequest(1, MEMORY)));
+    this.evaluatorPool.refill();
+    Assert.assertEquals(POOL_SIZE, getLastRequest().getResourceCount());
+
+    Assert.assertFalse("The application waits for an allocation", this.evaluatorPool.offer(newAllocation()));
+    for (int i = 0; i < POOL_SIZE; ++i) {
+      Assert.assertTrue("The pool waits for an allocation", this.evaluatorPool.offer(newAllocation()));
+    }
+    Assert.assertFalse("Nobody waits for an allocation", this.evaluatorPool.offer(newAllocation()));
+
+    Assert.assertEquals(POOL_SIZE, this.evaluatorPool.take(newRequest(POOL_SIZE + 1, MEMORY)));
+    Assert.assertTrue(this.evaluators.get("Evaluator-1").isPresent());
+    Assert.assertTrue(this.evaluators.get("Evaluator-2").isPresent());
+
+    this.evaluatorPool.refill();
+    verify(this.resourceRequestHandler, times(2)).onNext(any(ResourceRequestEvent.class));
+    Assert.assertEquals(POOL_SIZE, getLastRequest().getResourceCount());
+    Assert.assertFalse("The application waits for an allocation", this.evaluatorPool.offer(newAllocation()));
+    Assert.assertTrue("The pool waits for an allocation", this.evaluatorPool.offer(newAllocation()));
+  }
+
+  /**
+   * Requests for Evaluators of another size are not satisfied from the pool.
+   */
+  @Test
+  public void testRequestsOfAnotherSizeBypassThePool() {
+    this.evaluatorPool.refill();
+    for (int i = 0; i < POOL_SIZE; ++i) {
+      Assert.assertTrue(this.evaluatorPool.offer(newAllocation()));
+    }
+    Assert.assertEquals(0, this.evaluatorPool.take(newRequest(1, 2 * MEMORY)));
+    Assert.assertFalse("The application waits for an allocation",
+        this.evaluatorPool.offer(newAllocation(2 * MEMORY, RACK)));
+  }
+
+  /**
+   * Each allocation goes to the outstanding request whose shape and rack it fits, whichever was made first.
+   */
+  @Test
+  public void testAllocationsGoToTheRequestTheyFit() {
+    Assert.assertEquals(0, this.evaluatorPool.take(newRequest(1, 2 * MEMORY)));
+    Assert.assertEquals(0, this.evaluatorPool.take(EvaluatorRequest.newBuilder()
+        .setNumber(1).setMemory(MEMORY).setNumberOfCores(CORES).addRackName("otherRack").build()));
+    this.evaluatorPool.refill();
+
+    Assert.assertTrue("Fits no request of the application", this.evaluatorPool.offer(newAllocation(MEMORY, RACK)));
+    Assert.assertFalse("Fits the larger request", this.evaluatorPool.offer(newAllocation(2 * MEMORY, RACK)));
+    Assert.assertFalse("Fits the rack of the request", this.evaluatorPool.offer(newAllocation(MEMORY, "otherRack")));
+    Assert.assertTrue("The pool still waits for an allocation", this.evaluatorPool.offer(newAllocation(MEMORY, RACK)));
+    Assert.assertFalse("Nobody waits for an allocation", this.evaluatorPool.offer(newAllocation(MEMORY, RACK)));
+  }
+
+  /**
+   * A request that names only nodes is not satisfied by an allocation on another host.
+   */
+  @Test
+  public void testAllocationsKeepTheNodesOfTheRequest() {
+    Assert.assertEquals(0, this.evaluatorPool.take(EvaluatorRequest.newBuilder()
+        .setNumber(1).setMemory(MEMORY).setNumberOfCores(CORES).addNodeName("otherHost").build()));
+    this.evaluatorPool.refill();
+
+    Assert.assertTrue("Not on the node of the request",
+        this.evaluatorPool.offer(newAllocation(MEMORY, RACK, "127.0.0.1")));
+    Assert.assertFalse("On the node of the request",
+        this.evaluatorPool.offer(newAllocation(MEMORY, RACK, "otherHost")));
+    Assert.assertTrue("The pool still waits for an allocation", this.evaluatorPool.offer(newAllocation()));
+    Assert.assertFalse("Nobody waits for an allocation", this.evaluatorPool.offer(newAllocation()));
+  }
+
+  /**
+   * Draining the pool releases its Evaluators, including those allocated after, until it is refilled.
+   */
+  @Test
+  public void testDrainedPoolIsFilledAgain() {
+    this.evaluatorPool.refill();
+    Assert.assertTrue(this.evaluatorPool.offer(newAllocation()));
+    this.evaluatorPool.drain();
+    verify(this.resourceReleaseHandler, times(1)).onNext(any(ResourceReleaseEvent.class));
+    Assert.assertTrue(this.evaluatorPool.offer(newAllocation()));
+    verify(this.resourceReleaseHandler, times(2)).onNext(any(ResourceReleaseEvent.class));
+
+    Assert.assertEquals(0, this.evaluatorPool.take(newRequest(1, MEMORY)));
+    this.evaluatorPool.refill();
+    verify(this.resourceRequestHandler, times(2)).onNext(any(ResourceRequestEvent.class));
+    Assert.assertEquals(POOL_SIZE, getLastRequest().getResourceCount());
+    Assert.assertFalse("The application waits for an allocation", this.evaluatorPool.offer(newAllocation()));
+    Assert.assertTrue("The pool is filled again", this.evaluatorPool.offer(newAllocation()));
+    Assert.assertEquals(1, this.evaluatorPool.take(newRequest(1, MEMORY)));
+  }
+
+  /**
+   * Closing the pool releases its Evaluators, including those allocated after, for good.
+   */
+  @Test
+  public void testCloseReleasesThePool() {
+    this.evaluatorPool.refill();
+    Assert.assertTrue(this.evaluatorPool.offer(newAllocation()));
+    this.evaluatorPool.close();
+    verify(this.resourceReleaseHandler, times(1)).onNext(any(ResourceReleaseEvent.class));
+
+    Assert.assertTrue(this.evaluatorPool.offer(newAllocation()));
+    verify(this.resourceReleaseHandler, times(2)).onNext(any(ResourceReleaseEvent.class));
+
+    Assert.assertEquals(0, this.evaluatorPool.take(newRequest(1, MEMORY)));
+    this.evaluatorPool.refill();
+    verify(this.resourceRequestHandler, times(1)).onNext(any(ResourceRequestEvent.class));
+  }
+
+  private ResourceRequestEvent getLastRequest() {
+    final ArgumentCaptor<ResourceRequestEvent> request = ArgumentCaptor.forClass(ResourceRequestEvent.class);
+    verify(this.resourceRequestHandler, atLeastOnce()).onNext(request.capture());
+    return request.getValue();
+  }
+
+  private static EvaluatorRequest newRequest(final int number, final int megaBytes) {
+    return EvaluatorRequest.newBuilder().setNumber(number).setMemory(megaBytes).setNumberOfCores(CORES).build();
+  }
+
+  private ResourceAllocationEvent newAllocation() {
+    return newAllocation(MEMORY, RACK);
+  }
+
+  private ResourceAllocationEvent newAllocation(final int megaBytes, final String rackName) {
+    return newAllocation(megaBytes, rackName, "127.0.0.1");
+  }
+
+  private ResourceAllocationEvent newAllocation(final int megaBytes, final String rackName, final String host) {
+    return ResourceEventImpl.newAllocationBuilder()
+        .setIdentifier("Evaluator-" + this.allocationCount++)
+        .setNodeId(host + ":" + (20000 + this.allocationCount))
+        .setRackName(rackName)
+        .setResourceMemory(megaBytes)
+        .setVirtualCores(CORES)
+        .setRuntimeName("local")
+        .build();
+  }
+
+  private static final class AllocatedEvaluatorHandler implements EventHandler<AllocatedEvaluator> {
+
+    @Inject
+    private AllocatedEvaluatorHandler() {
+    }
+
+    @Override
+    public void onNext(final AllocatedEvaluator allocatedEvaluator) {
+    }
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.driver.catalog.ResourceCatalog;
+import org.apache.reef.driver.context.ClosedContext;
+import org.apache.reef.driver.evaluator.AllocatedEvaluator;
+import org.apache.reef.driver.evaluator.EvaluatorProcessFactory;
+import org.apache.reef.driver.parameters.ContextClosedHandlers;
+import org.apache.reef.driver.parameters.DriverIdentifier;
+import org.apache.reef.driver.parameters.EvaluatorAllocatedHandlers;
+import org.apache.reef.driver.parameters.TaskFailedHandlers;
+import org.apache.reef.driver.task.FailedTask;
+import org.apache.reef.proto.EvaluatorRuntimeProtocol;
+import org.apache.reef.proto.ReefServiceProtos;
+import org.apache.reef.runtime.common.driver.api.ResourceLaunchEvent;
+import org.apache.reef.runtime.common.driver.api.ResourceLaunchHandler;
+import org.apache.reef.runtime.common.driver.api.ResourceReleaseHandler;
+import org.apache.reef.runtime.common.driver.api.ResourceRequestHandler;
+import org.apache.reef.runtime.common.driver.catalog.ResourceCatalogImpl;
+import org.apache.reef.runtime.common.driver.parameters.JobIdentifier;
+import org.apache.reef.runtime.common.driver.resourcemanager.ResourceEventImpl;
+import org.apache.reef.runtime.common.utils.RemoteManager;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.remote.RemoteIdentifier;
+import org.apache.reef.wake.remote.RemoteMessage;
+import org.apache.reef.wake.remote.impl.SocketRemoteIdentifier;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import javax.inject.Inject;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests that the Driver reconciles its state with the full snapshots among the Evaluator heartbeats.
+ */
+public final class EvaluatorSnapshotTest {
+
+  private static final String EVALUATOR_ID = "SnapshotEvaluator";
+  private static final String ROOT_CONTEXT_ID = "RootContext";
+  private static final String CHILD_CONTEXT_ID = "ChildContext";
+  private static final String TASK_ID = "Task";
+
+  private static final List<String> CLOSED_CONTEXTS = new CopyOnWriteArrayList<>();
+  private static final List<String> FAILED_TASKS = new CopyOnWriteArrayList<>();
+
+  private final RemoteIdentifier remoteId = new SocketRemoteIdentifier(new InetSocketAddress("127.0.0.1", 10000));
+
+  /**
+   * A context and a task that the Evaluator no longer reports in a snapshot are closed and failed,
+   * while heartbeats in between snapshots that omit them change nothing.
+   */
+  @Test
+  public void testSnapshotClosesMissingContextsAndFailsMissingTask() throws Exception {
+    CLOSED_CONTEXTS.clear();
+    FAILED_TASKS.clear();
+    final Injector injector = newDriverInjector();
+    final Evaluators evaluators = injector.getInstance(Evaluators.class);
+    evaluators.put(injector.getInstance(EvaluatorManagerFactory.class), ResourceEventImpl.newAllocationBuilder()
+        .setIdentifier(EVALUATOR_ID)
+        .setNodeId("127.0.0.1:20000")
+        .setRackName("rack")
+        .setResourceMemory(64)
+        .setVirtualCores(1)
+        .setRuntimeName("local")
+        .build());
+    evaluators.get(EVALUATOR_ID).get().onResourceLaunch(mock(ResourceLaunchEvent.class));
+    final EvaluatorHeartbeatHandler heartbeatHandler = injector.getInstance(EvaluatorHeartbeatHandler.class);
+
+    final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto.Builder first = newHeartbeat(1, true);
+    first.addContextStatus(newContextStatus(ROOT_CONTEXT_ID, null));
+    first.addContextStatus(newContextStatus(CHILD_CONTEXT_ID, ROOT_CONTEXT_ID));
+    first.setTaskStatus(ReefServiceProtos.TaskStatusProto.newBuilder()
+        .setTaskId(TASK_ID)
+        .setContextId(CHILD_CONTEXT_ID)
+        .setState(ReefServiceProtos.State.INIT));
+    heartbeatHandler.onNext(new Heartbeat(this.remoteId, first.build()));
+
+    // A delta heartbeat omits the unchanged statuses
+    heartbeatHandler.onNext(new Heartbeat(this.remoteId, newHeartbeat(2, false).build()));
+
+    final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto.Builder snapshot = newHeartbeat(3, true);
+    snapshot.addContextStatus(newContextStatus(ROOT_CONTEXT_ID, null));
+    heartbeatHandler.onNext(new Heartbeat(this.remoteId, snapshot.build()));
+
+    final long deadline = System.currentTimeMillis() + 10000;
+    while ((CLOSED_CONTEXTS.isEmpty() || FAILED_TASKS.isEmpty()) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals("[" + TASK_ID + "]", FAILED_TASKS.toString());
+    Assert.assertEquals("[" + CHILD_CONTEXT_ID + "]", CLOSED_CONTEXTS.toString());
+  }
+
+  private static Injector newDriverInjector() throws InjectionException {
+    final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(DriverIdentifier.class, "SnapshotDriver")
+        .bindNamedParameter(JobIdentifier.class, "SnapshotDriver")
+        .bindImplementation(ResourceCatalog.class, ResourceCatalogImpl.class)
+        .bindSetEntry(EvaluatorAllocatedHandlers.class, AllocatedEvaluatorHandler.class)
+        .bindSetEntry(ContextClosedHandlers.class, ClosedContextHandler.class)
+        .bindSetEntry(TaskFailedHandlers.class, FailedTaskHandler.class)
+        .build());
+
+    final RemoteManager remoteManager = mock(RemoteManager.class);
+    doReturn(mock(EventHandler.class)).when(remoteManager).getHandler(anyString(), Matchers.<Class<Object>>any());
+    injector.bindVolatileInstance(RemoteManager.class, remoteManager);
+    injector.bindVolatileInstance(EvaluatorProcessFactory.class, mock(EvaluatorProcessFactory.class));
+    injector.bindVolatileInstance(ResourceLaunchHandler.class, mock(ResourceLaunchHandler.class));
+    injector.bindVolatileInstance(ResourceReleaseHandler.class, mock(ResourceReleaseHandler.class));
+    injector.bindVolatileInstance(ResourceRequestHandler.class, mock(ResourceRequestHandler.class));
+    return injector;
+  }
+
+  private static EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto.Builder newHeartbeat(
+      final long timestamp, final boolean fullSnapshot) {
+    return EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto.newBuilder()
+        .setTimestamp(timestamp)
+        .setFullSnapshot(fullSnapshot)
+        .setEvaluatorStatus(ReefServiceProtos.EvaluatorStatusProto.newBuilder()
+            .setEvaluatorId(EVALUATOR_ID)
+            .setState(ReefServiceProtos.State.RUNNING));
+  }
+
+  private static ReefServiceProtos.ContextStatusProto newContextStatus(final String contextId, final String parentId) {
+    final ReefServiceProtos.ContextStatusProto.Builder status = ReefServiceProtos.ContextStatusProto.newBuilder()
+        .setContextId(contextId)
+        .setContextState(ReefServiceProtos.ContextStatusProto.State.READY);
+    if (parentId != null) {
+      status.setParentId(parentId);
+    }
+    return status.build();
+  }
+
+  private static final class Heartbeat implements RemoteMessage<EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto> {
+
+    private final RemoteIdentifier identifier;
+    private final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto message;
+
+    private Heartbeat(final RemoteIdentifier identifier,
+                      final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto message) {
+      this.identifier = identifier;
+      this.message = message;
+    }
+
+    @Override
+    public RemoteIdentifier getIdentifier() {
+      return this.identifier;
+    }
+
+    @Override
+    public EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto getMessage() {
+      return this.message;
+    }
+  }
+
+  private static final class AllocatedEvaluatorHandler implements EventHandler<AllocatedEvaluator> {
+
+    @Inject
+    private AllocatedEvaluatorHandler() {
+    }
+
+    @Override
+    public void onNext(final AllocatedEvaluator allocatedEvaluator) {
+    }
+  }
+
+  private static final class ClosedContextHandler implements EventHandler<ClosedContext> {
+
+    @Inject
+    private ClosedContextHandler() {
+    }
+
+    @Override
+    public void onNext(final ClosedContext closedContext) {
+      CLOSED_CONTEXTS.add(closedContext.getId());
+    }
+  }
+
+  private static final class FailedTaskHandler implements EventHandler<FailedTask> {
+
+    @Inject
+    private FailedTaskHandler() {
+    }
+
+    @Override
+    public void onNext(final FailedTask failedTask) {
+      FAILED_TASKS.add(failedTask.getId());
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.evaluator;
+
+import org.apache.reef.runtime.common.driver.evaluator.HeartbeatPeriodAdvisor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Tests for HeartbeatPeriodPolicy, and a simulation of the Driver load it causes.
+ */
+public final class HeartbeatPeriodPolicyTest {
+
+  private static final Logger LOG = Logger.getLogger(HeartbeatPeriodPolicyTest.class.getName());
+
+  private static final int PERIOD = 5000;
+  private static final int MIN_PERIOD = 1000;
+  private static final int MAX_PERIOD = 30000;
+
+  @Test
+  public void testIdleBackOff() {
+    final HeartbeatPeriodPolicy policy = new HeartbeatPeriodPolicy(PERIOD, MIN_PERIOD, MAX_PERIOD);
+    Assert.assertEquals(PERIOD, policy.getPeriod());
+    Assert.assertEquals(10000, policy.onHeartbeat(false, false));
+    Assert.assertEquals(20000, policy.onHeartbeat(false, false));
+    Assert.assertEquals(MAX_PERIOD, policy.onHeartbeat(false, false));
+    Assert.assertEquals(MAX_PERIOD, policy.onHeartbeat(false, false));
+  }
+
+  @Test
+  public void testActivityTightens() {
+    final HeartbeatPeriodPolicy policy = new HeartbeatPeriodPolicy(PERIOD, MIN_PERIOD, MAX_PERIOD);
+    policy.onHeartbeat(false, false);
+    policy.onHeartbeat(false, false);
+    Assert.assertEquals(PERIOD, policy.onHeartbeat(true, false));
+    Assert.assertEquals(PERIOD / 2, policy.onHeartbeat(true, true));
+    Assert.assertEquals(PERIOD / 2, policy.onHeartbeat(false, true));
+  }
+
+  @Test
+  public void testDriverPeriod() {
+    final HeartbeatPeriodPolicy policy = new HeartbeatPeriodPolicy(PERIOD, MIN_PERIOD, MAX_PERIOD);
+    policy.onHeartbeat(false, false);
+    Assert.assertEquals("A control message ends the back-off", PERIOD, policy.onDriverPeriod(0));
+    Assert.assertEquals(15000, policy.onDriverPeriod(15000));
+    Assert.assertEquals(15000, policy.onHeartbeat(true, false));
+    Assert.assertEquals(7500, policy.onHeartbeat(true, true));
+    Assert.assertEquals(MAX_PERIOD, policy.onDriverPeriod(100000));
+    Assert.assertEquals(MIN_PERIOD, policy.onDriverPeriod(10));
+    Assert.assertEquals(MIN_PERIOD, policy.onHeartbeat(true, true));
+  }
+
+  @Test
+  public void testBoundsIncludeConfiguredPeriod() {
+    final HeartbeatPeriodPolicy policy = new HeartbeatPeriodPolicy(100, MIN_PERIOD, MAX_PERIOD);
+    Assert.assertEquals(100, policy.onHeartbeat(true, false));
+    Assert.assertEquals(100, policy.onHeartbeat(true, true));
+    final HeartbeatPeriodPolicy fixed = new HeartbeatPeriodPolicy(PERIOD, PERIOD, PERIOD);
+    Assert.assertEquals(PERIOD, fixed.onHeartbeat(false, false));
+    Assert.assertEquals(PERIOD, fixed.onDriverPeriod(20000));
+  }
+
+  @Test
+  public void testAdvisor() {
+    Assert.assertEquals(0, HeartbeatPeriodAdvisor.getHeartbeatPeriod(0, 16, PERIOD));
+    Assert.assertEquals(0, HeartbeatPeriodAdvisor.getHeartbeatPeriod(16, 16, PERIOD));
+    Assert.assertEquals(PERIOD, HeartbeatPeriodAdvisor.getHeartbeatPeriod(17, 16, PERIOD));
+    Assert.assertEquals(3 * PERIOD, HeartbeatPeriodAdvisor.getHeartbeatPeriod(48, 16, PERIOD));
+  }
+
+  /**
+   * Simulates the Driver load for a growing number of Evaluators, with a fixed and with an adaptive period.
+   * The adaptive Driver must receive fewer heartbeats, and no more than it can handle.
+   */
+  @Test
+  public void testDriverLoadSimulation() {
+    LOG.log(Level.INFO, "evaluators, fixed heartbeats/s, fixed max backlog, adaptive heartbeats/s, " +
+        "adaptive max backlog");
+    for (final int numEvaluators : new int[]{100, 1000, 5000}) {
+      final Simulation fixed = new Simulation(numEvaluators, PERIOD, PERIOD);
+      final Simulation adaptive = new Simulation(numEvaluators, MIN_PERIOD, MAX_PERIOD);
+      fixed.run();
+      adaptive.run();
+      LOG.log(Level.INFO, String.format("%d, %d, %d, %d, %d", numEvaluators,
+          fixed.getHeartbeatRate(), fixed.maxBacklog, adaptive.getHeartbeatRate(), adaptive.maxBacklog));
+      Assert.assertTrue(adaptive.getHeartbeatRate() < fixed.getHeartbeatRate());
+      Assert.assertTrue(adaptive.getHeartbeatRate() <= Simulation.DRIVER_HEARTBEATS_PER_SECOND);
+    }
+  }
+
+  /**
+   * A Driver that handles a fixed number of heartbeats per second, and Evaluators of which a fifth run Tasks.
+   * A new Task, and with it a control message carrying the Driver's advice, starts on each busy Evaluator every
+   * TASK_DURATION ms. Some heartbeats of the busy Evaluators carry task messages.
+   */
+  private static final class Simulation {
+
+    private static final int TICK = 100;
+    private static final int DURATION = 600000;
+    private static final int TASK_DURATION = 60000;
+    private static final int DRIVER_HEARTBEATS_PER_SECOND = 400;
+    private static final int POOL_SIZE = 16;
+
+    private final HeartbeatPeriodPolicy[] policies;
+    private final long[] nextHeartbeat;
+    private final boolean[] busy;
+    private final Random random = new Random(42);
+
+    private long heartbeats = 0;
+    private long backlog = 0;
+    private long maxBacklog = 0;
+
+    Simulation(final int numEvaluators, final int minPeriod, final int maxPeriod) {
+      this.policies = new HeartbeatPeriodPolicy[numEvaluators];
+      this.nextHeartbeat = new long[numEvaluators];
+      this.busy = new boolean[numEvaluators];
+      for (int i = 0; i < numEvaluators; ++i) {
+        this.policies[i] = new HeartbeatPeriodPolicy(PERIOD, minPeriod, maxPeriod);
+        this.nextHeartbeat[i] = this.random.nextInt(PERIOD);
+        this.busy[i] = i % 5 == 0;
+      }
+    }
+
+    void run() {
+      for (long now = 0; now < DURATION; now += TICK) {
+        for (int i = 0; i < this.policies.length; ++i) {
+          if (this.busy[i] && (now + i * TICK) % TASK_DURATION == 0) {
+            final int advice = HeartbeatPeriodAdvisor.getHeartbeatPeriod((int) this.backlog, POOL_SIZE, PERIOD);
+            this.nextHeartbeat[i] = Math.min(this.nextHeartbeat[i], now + this.policies[i].onDriverPeriod(advice));
+          }
+          if (this.nextHeartbeat[i] <= now) {
+            ++this.heartbeats;
+            ++this.backlog;
+            final boolean hadMessages = this.busy[i] && this.random.nextInt(10) == 0;
+            this.nextHeartbeat[i] = now + this.policies[i].onHeartbeat(this.busy[i], hadMessages);
+          }
+        }
+        this.maxBacklog = Math.max(this.maxBacklog, this.backlog);
+        this.backlog = Math.max(0, this.backlog - DRIVER_HEARTBEATS_PER_SECOND * TICK / 1000);
+      }
+    }
+
+    long getHeartbeatRate() {
+      return this.heartbeats * 1000 / DURATION;
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.evaluator;
+
+import org.apache.reef.proto.EvaluatorRuntimeProtocol;
+import org.apache.reef.proto.ReefServiceProtos;
+import org.apache.reef.util.Optional;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for HeartbeatStatusFilter.
+ */
+public final class HeartbeatStatusFilterTest {
+
+  private static final ReefServiceProtos.ContextStatusProto ROOT_CONTEXT = newContextStatus("Root", false);
+  private static final ReefServiceProtos.ContextStatusProto CHILD_CONTEXT = newContextStatus("Child", false);
+  private static final Optional<ReefServiceProtos.TaskStatusProto> RUNNING_TASK =
+      Optional.of(newTaskStatus(ReefServiceProtos.State.RUNNING, false));
+
+  /**
+   * Heartbeats in between snapshots only carry the statuses that changed or that carry messages.
+   */
+  @Test
+  public void testUnchangedStatusesAreOmitted() {
+    final HeartbeatStatusFilter filter = new HeartbeatStatusFilter(100);
+    final List<ReefServiceProtos.ContextStatusProto> contexts = Arrays.asList(ROOT_CONTEXT, CHILD_CONTEXT);
+
+    final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto first = nextHeartbeat(filter, contexts, RUNNING_TASK);
+    Assert.assertTrue(first.getFullSnapshot());
+    Assert.assertEquals(2, first.getContextStatusCount());
+    Assert.assertTrue(first.hasTaskStatus());
+
+    final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto unchanged = nextHeartbeat(filter, contexts, RUNNING_TASK);
+    Assert.assertFalse(unchanged.getFullSnapshot());
+    Assert.assertEquals(0, unchanged.getContextStatusCount());
+    Assert.assertFalse(unchanged.hasTaskStatus());
+
+    final ReefServiceProtos.ContextStatusProto childWithMessage = newContextStatus("Child", true);
+    final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto withMessages = nextHeartbeat(filter,
+        Arrays.asList(ROOT_CONTEXT, childWithMessage),
+        Optional.of(newTaskStatus(ReefServiceProtos.State.RUNNING, true)));
+    Assert.assertEquals(Arrays.asList(childWithMessage), withMessages.getContextStatusList());
+    Assert.assertEquals(1, withMessages.getTaskStatus().getTaskMessageCount());
+
+    // The messages were delivered, so the same statuses without them are unchanged
+    final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto delivered = nextHeartbeat(filter, contexts, RUNNING_TASK);
+    Assert.assertEquals(0, delivered.getContextStatusCount());
+    Assert.assertFalse(delivered.hasTaskStatus());
+
+    final Optional<ReefServiceProtos.TaskStatusProto> doneTask =
+        Optional.of(newTaskStatus(ReefServiceProtos.State.DONE, false));
+    final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto changed = nextHeartbeat(filter,
+        Arrays.asList(ROOT_CONTEXT), doneTask);
+    Assert.assertEquals(0, changed.getContextStatusCount());
+    Assert.assertEquals(doneTask.get(), changed.getTaskStatus());
+
+    // A context that reappears is new again
+    final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto reappeared = nextHeartbeat(filter, contexts,
+        Optional.<ReefServiceProtos.TaskStatusProto>empty());
+    Assert.assertEquals(Arrays.asList(CHILD_CONTEXT), reappeared.getContextStatusList());
+    Assert.assertFalse(reappeared.hasTaskStatus());
+  }
+
+  /**
+   * Every fullSnapshotInterval-th heartbeat, starting with the first, carries all statuses.
+   */
+  @Test
+  public void testSnapshotInterval() {
+    final int interval = 3;
+    final HeartbeatStatusFilter filter = new HeartbeatStatusFilter(interval);
+    final List<ReefServiceProtos.ContextStatusProto> contexts = Arrays.asList(ROOT_CONTEXT, CHILD_CONTEXT);
+    for (int i = 0; i < 4 * interval; ++i) {
+      final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto heartbeat = nextHeartbeat(filter, contexts, RUNNING_TASK);
+      final boolean expectSnapshot = i % interval == 0;
+      Assert.assertEquals("Heartbeat " + i, expectSnapshot, heartbeat.getFullSnapshot());
+      Assert.assertEquals("Heartbeat " + i, expectSnapshot ? 2 : 0, heartbeat.getContextStatusCount());
+      Assert.assertEquals("Heartbeat " + i, expectSnapshot, heartbeat.hasTaskStatus());
+    }
+  }
+
+  /**
+   * An interval below 1 makes every heartbeat a full snapshot.
+   */
+  @Test
+  public void testEveryHeartbeatIsASnapshot() {
+    final HeartbeatStatusFilter filter = new HeartbeatStatusFilter(0);
+    for (int i = 0; i < 3; ++i) {
+      final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto heartbeat =
+          nextHeartbeat(filter, Arrays.asList(ROOT_CONTEXT), RUNNING_TASK);
+      Assert.assertTrue(heartbeat.getFullSnapshot());
+      Assert.assertEquals(1, heartbeat.getContextStatusCount());
+      Assert.assertTrue(heartbeat.hasTaskStatus());
+    }
+  }
+
+  private static EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto nextHeartbeat(
+      final HeartbeatStatusFilter filter,
+      final List<ReefServiceProtos.ContextStatusProto> contexts,
+      final Optional<ReefServiceProtos.TaskStatusProto> task) {
+    final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto.Builder builder =
+        EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto.newBuilder()
+            .setTimestamp(System.currentTimeMillis())
+            .setEvaluatorStatus(ReefServiceProtos.EvaluatorStatusProto.newBuilder()
+                .setEvaluatorId("Evaluator")
+                .setState(ReefServiceProtos.State.RUNNING));
+    filter.addStatuses(builder, contexts, task);
+    return builder.build();
+  }
+
+  private static ReefServiceProtos.ContextStatusProto newContextStatus(final String contextId,
+                                                                      final boolean withMessage) {
+    final ReefServiceProtos.ContextStatusProto.Builder status = ReefServiceProtos.ContextStatusProto.newBuilder()
+        .setContextId(contextId)
+        .setContextState(ReefServiceProtos.ContextStatusProto.State.READY);
+    if (withMessage) {
+      status.addContextMessage(ReefServiceProtos.ContextStatusProto.ContextMessageProto.newBuilder()
+          .setSourceId("Source")
+          .setMessage(com.google.protobuf.ByteString.copyFromUtf8("message")));
+    }
+    return status.build();
+  }
+
+  private static ReefServiceProtos.TaskStatusProto newTaskStatus(final ReefServiceProtos.State state,
+                                                                final boolean withMessage) {
+    final ReefServiceProtos.TaskStatusProto.Builder status = ReefServiceProtos.TaskStatusProto.newBuilder()
+        .setTaskId("Task")
+        .setContextId("Child")
+        .setState(state);
+    if (withMessage) {
+      status.addTaskMessage(ReefServiceProtos.TaskStatusProto.TaskMessageProto.newBuilder()
+          .setSourceId("Source")
+          .setMessage(com.google.protobuf.ByteString.copyFromUtf8("message")));
+    }
+    return status.build();
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.evaluator.task;
+
+import org.apache.reef.proto.EvaluatorRuntimeProtocol;
+import org.apache.reef.proto.ReefServiceProtos;
+import org.apache.reef.task.TaskMessage;
+import org.apache.reef.wake.EventHandler;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for TaskMessageSender.
+ */
+public final class TaskMessageSenderTest {
+
+  @Test
+  public void testSendsRightAway() {
+    final List<EvaluatorRuntimeProtocol.TaskMessagesProto> sent = new ArrayList<>();
+    final TaskMessageSender sender = new TaskMessageSender("evaluator", "context", "task",
+        new EventHandler<EvaluatorRuntimeProtocol.TaskMessagesProto>() {
+          @Override
+          public void onNext(final EvaluatorRuntimeProtocol.TaskMessagesProto batch) {
+            sent.add(batch);
+          }
+        });
+
+    sender.send(TaskMessage.from("source", new byte[]{1}));
+    sender.send(TaskMessage.from("source", new byte[]{2}));
+
+    Assert.assertEquals(2, sent.size());
+    Assert.assertEquals("evaluator", sent.get(0).getEvaluatorId());
+    Assert.assertEquals("context", sent.get(0).getContextId());
+    Assert.assertEquals("task", sent.get(0).getTaskId());
+    Assert.assertEquals(1, sent.get(0).getTaskMessageCount());
+    Assert.assertEquals("source", sent.get(0).getTaskMessage(0).getSourceId());
+    Assert.assertEquals(2, sent.get(1).getTaskMessage(0).getMessage().byteAt(0));
+  }
+
+  /**
+   * Messages sent while a batch is on the wire must go out together, in order, in the next batch.
+   */
+  @Test
+  public void testBatchesUnderLoad() throws InterruptedException {
+    final int numThreads = 4;
+    final int messagesPerThread = 1000;
+    final List<EvaluatorRuntimeProtocol.TaskMessagesProto> sent =
+        Collections.synchronizedList(new ArrayList<EvaluatorRuntimeProtocol.TaskMessagesProto>());
+    final TaskMessageSender sender = new TaskMessageSender("evaluator", "context", "task",
+        new EventHandler<EvaluatorRuntimeProtocol.TaskMessagesProto>() {
+          @Override
+          public void onNext(final EvaluatorRuntimeProtocol.TaskMessagesProto batch) {
+            sent.add(batch);
+            try {
+              Thread.sleep(1);
+            } catch (final InterruptedException e) {
+              throw new RuntimeException(e);
+            }
+          }
+        });
+
+    final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    final CountDownLatch done = new CountDownLatch(numThreads);
+    for (int t = 0; t < numThreads; ++t) {
+      final int thread = t;
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          for (int i = 0; i < messagesPerThread; ++i) {
+            sender.send(TaskMessage.from(Integer.toString(thread), ByteBuffer.allocate(4).putInt(i).array()));
+          }
+          done.countDown();
+        }
+      });
+    }
+    Assert.assertTrue(done.await(60, TimeUnit.SECONDS));
+    executor.shutdown();
+
+    final int[] next = new int[numThreads];
+    int numMessages = 0;
+    for (final EvaluatorRuntimeProtocol.TaskMessagesProto batch : sent) {
+      for (final ReefServiceProtos.TaskStatusProto.TaskMessageProto message : batch.getTaskMessageList()) {
+        final int thread = Integer.parseInt(message.getSourceId());
+        Assert.assertEquals(next[thread]++, message.getMessage().asReadOnlyByteBuffer().getInt());
+        ++numMessages;
+      }
+    }
+    Assert.assertEquals(numThreads * messagesPerThread, numMessages);
+    Assert.assertTrue("Expected batching, got " + sent.size() + " batches", sent.size() < numMessages);
+  }
+
+  /**
+   * A failed transmission must not block later messages.
+   */
+  @Test
+  public void testRecoversFromFailure() {
+    final List<EvaluatorRuntimeProtocol.TaskMessagesProto> sent = new ArrayList<>();
+    final TaskMessageSender sender = new TaskMessageSender("evaluator", "context", "task",
+        new EventHandler<EvaluatorRuntimeProtocol.TaskMessagesProto>() {
+          private boolean failed = false;
+
+          @Override
+          public void onNext(final EvaluatorRuntimeProtocol.TaskMessagesProto batch) {
+            if (!this.failed) {
+              this.failed = true;
+              throw new IllegalStateException("Connection lost");
+            }
+            sent.add(batch);
+          }
+        });
+
+    try {
+      sender.send(TaskMessage.from("source", new byte[]{1}));
+      Assert.fail("The failure of the transmission must be passed on");
+    } catch (final IllegalStateException e) {
+      // Expected
+    }
+    sender.send(TaskMessage.from("source", new byte[]{2}));
+    Assert.assertEquals(1, sent.size());
+  }
+}
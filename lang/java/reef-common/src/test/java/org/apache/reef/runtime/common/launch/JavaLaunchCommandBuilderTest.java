@@ -167,6 +167,77 @@ public final class JavaLaunchCommandBuilderTest {
     assertEquals(1, numMaxPermSizeEntries);
   }
 
+  @Test
+  public void testStartupProfileSmallHeap() {
+    final List<String> command = newBuilder()
+        .setLaunchProfile(JavaLaunchProfile.STARTUP)
+        .setMemory(512)
+        .build();
+    assertTrue(command.contains("-XX:+IgnoreUnrecognizedVMOptions"));
+    assertTrue(command.contains("-Xshare:auto"));
+    assertTrue(command.contains("-XX:-UsePerfData"));
+    assertTrue(command.contains("-XX:+UseSerialGC"));
+    assertTrue(command.contains("-XX:TieredStopAtLevel=1"));
+    assertPermSizeSet(command, "128m", "128m");
+    assertMemoryOption(command, "512m");
+  }
+
+  @Test
+  public void testStartupProfileLargeHeap() {
+    final List<String> command = newBuilder()
+        .setLaunchProfile(JavaLaunchProfile.STARTUP)
+        .addOption("-Xmx8g")
+        .build();
+    assertTrue(command.contains("-XX:+UseG1GC"));
+    assertFalse(command.contains("-XX:TieredStopAtLevel=1"));
+  }
+
+  @Test
+  public void testStartupProfileKeepsOptions() {
+    final List<String> command = newBuilder()
+        .setLaunchProfile(JavaLaunchProfile.STARTUP)
+        .setMemory(512)
+        .addOption("-XX:+UseParallelGC")
+        .addOption("-XX:MaxPermSize=256m")
+        .build();
+    assertTrue(command.contains("-XX:+UseParallelGC"));
+    assertFalse(command.contains("-XX:+UseSerialGC"));
+    assertPermSizeSet(command, "128m", "256m");
+  }
+
+  @Test
+  public void testClassDataSharingArchive() {
+    final List<String> command = newBuilder()
+        .setClassDataSharingArchive("reef.jsa")
+        .build();
+    assertTrue(command.contains("-XX:+IgnoreUnrecognizedVMOptions"));
+    assertTrue(command.contains("-Xshare:auto"));
+    assertTrue(command.contains("-XX:SharedArchiveFile=reef.jsa"));
+    assertTrue(command.contains("-XX:+AutoCreateSharedArchive"));
+    assertPermSizeSet(command, "128m", "128m");
+  }
+
+  @Test
+  public void testClassDataSharingArchiveWithStartupProfile() {
+    final List<String> command = newBuilder()
+        .setLaunchProfile(JavaLaunchProfile.STARTUP)
+        .setClassDataSharingArchive("reef.jsa")
+        .build();
+    assertEquals(1, Collections.frequency(command, "-XX:+IgnoreUnrecognizedVMOptions"));
+    assertEquals(1, Collections.frequency(command, "-Xshare:auto"));
+    assertTrue(command.contains("-XX:SharedArchiveFile=reef.jsa"));
+  }
+
+  @Test
+  public void testNoClassDataSharingArchive() {
+    final List<String> command = newBuilder()
+        .setClassDataSharingArchive("")
+        .build();
+    for (final String entry : command) {
+      assertFalse(entry.startsWith("-XX:SharedArchiveFile") || entry.startsWith("-Xshare"));
+    }
+  }
+
   private static JavaLaunchCommandBuilder newBuilder() {
     return new JavaLaunchCommandBuilder()
         .setConfigurationFilePaths(Collections.singletonList("mockConfigurationFileName"));
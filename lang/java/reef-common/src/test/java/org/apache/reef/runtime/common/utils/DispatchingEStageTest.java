@@ -0,0 +1,354 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.utils;
+
+import org.apache.reef.runtime.common.driver.evaluator.EvaluatorDispatcherThreadPool;
+import org.apache.reef.runtime.common.driver.parameters.EvaluatorDispatcherThreadPoolSize;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.DefaultThreadFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Tests for DispatchingEStage on a shared thread pool.
+ */
+public final class DispatchingEStageTest {
+
+  private static final Logger LOG = Logger.getLogger(DispatchingEStageTest.class.getName());
+
+  private static final int POOL_SIZE = 16;
+
+  private ExecutorService pool;
+
+  @Before
+  public void setUp() {
+    this.pool = Executors.newFixedThreadPool(
+        POOL_SIZE, new DefaultThreadFactory(DispatchingEStageTest.class.getName()));
+  }
+
+  @After
+  public void tearDown() throws InterruptedException {
+    this.pool.shutdown();
+    this.pool.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  /**
+   * The events of one stage are handled in order, one at a time.
+   */
+  @Test
+  public void testEventsOfAStageAreOrdered() throws InterruptedException {
+    final int numEvents = 1000;
+    final CountDownLatch done = new CountDownLatch(numEvents);
+    final List<Integer> received = Collections.synchronizedList(new ArrayList<Integer>());
+    final DispatchingEStage stage = newStage(new EventHandler<Integer>() {
+      @Override
+      public void onNext(final Integer value) {
+        received.add(value);
+        done.countDown();
+      }
+    });
+
+    for (int i = 0; i < numEvents; ++i) {
+      stage.onNext(Integer.class, i);
+    }
+
+    Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+    for (int i = 0; i < numEvents; ++i) {
+      Assert.assertEquals(i, received.get(i).intValue());
+    }
+  }
+
+  /**
+   * isEmpty() is false while an event is queued or in processing.
+   */
+  @Test
+  public void testIsEmpty() throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final DispatchingEStage stage = newStage(new EventHandler<Integer>() {
+      @Override
+      public void onNext(final Integer value) {
+        started.countDown();
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    });
+    Assert.assertTrue(stage.isEmpty());
+
+    stage.onNext(Integer.class, 1);
+    Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+    Assert.assertFalse(stage.isEmpty());
+
+    release.countDown();
+    waitUntilEmpty(Collections.singletonList(stage));
+  }
+
+  /**
+   * whenEmpty() runs its callback once, after the last queued event was handled.
+   */
+  @Test
+  public void testWhenEmptyRunsAfterTheLastEvent() throws InterruptedException {
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger handled = new AtomicInteger();
+    final DispatchingEStage stage = newStage(new EventHandler<Integer>() {
+      @Override
+      public void onNext(final Integer value) {
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        handled.incrementAndGet();
+      }
+    });
+
+    stage.onNext(Integer.class, 1);
+    stage.onNext(Integer.class, 2);
+
+    final CountDownLatch called = new CountDownLatch(1);
+    final AtomicInteger handledWhenCalled = new AtomicInteger(-1);
+    final AtomicInteger calls = new AtomicInteger();
+    stage.whenEmpty(new Runnable() {
+      @Override
+      public void run() {
+        handledWhenCalled.set(handled.get());
+        calls.incrementAndGet();
+        called.countDown();
+      }
+    });
+    Assert.assertEquals(1, called.getCount());
+
+    release.countDown();
+    Assert.assertTrue(called.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(2, handledWhenCalled.get());
+
+    final CountDownLatch done = new CountDownLatch(1);
+    stage.whenEmpty(new Runnable() {
+      @Override
+      public void run() {
+        done.countDown();
+      }
+    });
+    stage.onNext(Integer.class, 3);
+    Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(1, calls.get());
+  }
+
+  /**
+   * whenEmpty() runs its callback right away if no events are queued.
+   */
+  @Test
+  public void testWhenEmptyOnAnEmptyStage() throws InterruptedException {
+    final DispatchingEStage stage = newStage(new EventHandler<Integer>() {
+      @Override
+      public void onNext(final Integer value) {
+      }
+    });
+    final CountDownLatch called = new CountDownLatch(1);
+    stage.whenEmpty(new Runnable() {
+      @Override
+      public void run() {
+        called.countDown();
+      }
+    });
+    Assert.assertTrue(called.await(10, TimeUnit.SECONDS));
+  }
+
+  /**
+   * An exception thrown by a handler goes to the error handler and does not stall the stage.
+   */
+  @Test
+  public void testExceptionDoesNotStallStage() throws InterruptedException {
+    final CountDownLatch errors = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(1);
+    final DispatchingEStage stage = new DispatchingEStage(new EventHandler<Throwable>() {
+      @Override
+      public void onNext(final Throwable value) {
+        errors.countDown();
+      }
+    }, this.pool, 1);
+    stage.register(Integer.class, Collections.<EventHandler<Integer>>singleton(new EventHandler<Integer>() {
+      @Override
+      public void onNext(final Integer value) {
+        if (value == 0) {
+          throw new IllegalStateException("Expected");
+        }
+        done.countDown();
+      }
+    }));
+
+    stage.onNext(Integer.class, 0);
+    stage.onNext(Integer.class, 1);
+
+    Assert.assertTrue(errors.await(10, TimeUnit.SECONDS));
+    Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+  }
+
+  /**
+   * An error handler that throws does not stall the stage either.
+   */
+  @Test
+  public void testThrowingErrorHandlerDoesNotStallStage() throws InterruptedException {
+    final CountDownLatch done = new CountDownLatch(1);
+    final DispatchingEStage stage = new DispatchingEStage(new EventHandler<Throwable>() {
+      @Override
+      public void onNext(final Throwable value) {
+        throw new IllegalStateException("Expected", value);
+      }
+    }, this.pool, 1);
+    stage.register(Integer.class, Collections.<EventHandler<Integer>>singleton(new EventHandler<Integer>() {
+      @Override
+      public void onNext(final Integer value) {
+        if (value == 0) {
+          throw new IllegalStateException("Expected");
+        }
+        done.countDown();
+      }
+    }));
+
+    stage.onNext(Integer.class, 0);
+    stage.onNext(Integer.class, 1);
+    Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+    waitUntilEmpty(Collections.singletonList(stage));
+
+    // The drainer was released, so a new event starts another one
+    final CountDownLatch more = new CountDownLatch(1);
+    stage.whenEmpty(new Runnable() {
+      @Override
+      public void run() {
+        more.countDown();
+      }
+    });
+    stage.onNext(Integer.class, 2);
+    Assert.assertTrue(more.await(10, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Many stages, one per simulated Evaluator, share the Driver's EvaluatorDispatcherThreadPool
+   * without adding threads, and each stage keeps its order.
+   */
+  @Test
+  public void testManyStagesShareThePool() throws InterruptedException, InjectionException {
+    final int numStages = 5000;
+    final int eventsPerStage = 20;
+    final Executor dispatcherPool = Tang.Factory.getTang().newInjector(Tang.Factory.getTang()
+        .newConfigurationBuilder()
+        .bindNamedParameter(EvaluatorDispatcherThreadPoolSize.class, Integer.toString(POOL_SIZE))
+        .build())
+        .getInstance(EvaluatorDispatcherThreadPool.class);
+    final Set<Thread> handlerThreads = Collections.synchronizedSet(new HashSet<Thread>());
+
+    final CountDownLatch done = new CountDownLatch(numStages * eventsPerStage);
+    final AtomicLong maxLatencyNanos = new AtomicLong();
+    final Set<Integer> outOfOrder = Collections.synchronizedSet(new HashSet<Integer>());
+    final List<DispatchingEStage> stages = new ArrayList<>(numStages);
+    for (int i = 0; i < numStages; ++i) {
+      final int stageIndex = i;
+      final int[] expected = {0};
+      stages.add(newStage(new EventHandler<long[]>() {
+        @Override
+        public void onNext(final long[] event) {
+          if (event[0] != expected[0]++) {
+            outOfOrder.add(stageIndex);
+          }
+          handlerThreads.add(Thread.currentThread());
+          final long latency = System.nanoTime() - event[1];
+          long max = maxLatencyNanos.get();
+          while (latency > max && !maxLatencyNanos.compareAndSet(max, latency)) {
+            max = maxLatencyNanos.get();
+          }
+          done.countDown();
+        }
+      }, long[].class, dispatcherPool));
+    }
+
+    final long start = System.nanoTime();
+    for (int e = 0; e < eventsPerStage; ++e) {
+      for (final DispatchingEStage stage : stages) {
+        stage.onNext(long[].class, new long[]{e, System.nanoTime()});
+      }
+    }
+    Assert.assertTrue(done.await(60, TimeUnit.SECONDS));
+    final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    LOG.log(Level.INFO, "{0} stages, {1} events in {2} ms, max latency {3} ms, {4} threads",
+        new Object[]{numStages, numStages * eventsPerStage, elapsedMillis,
+            TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get()), handlerThreads.size()});
+
+    Assert.assertTrue("Stages handled events out of order: " + outOfOrder, outOfOrder.isEmpty());
+    Assert.assertTrue("Used " + handlerThreads.size() + " threads for " + numStages + " stages",
+        handlerThreads.size() <= POOL_SIZE);
+    waitUntilEmpty(stages);
+  }
+
+  /**
+   * The last handler of a stage returns before the stage counts its event as done, so poll for it.
+   */
+  private static void waitUntilEmpty(final List<DispatchingEStage> stages) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 10000;
+    for (final DispatchingEStage stage : stages) {
+      while (!stage.isEmpty()) {
+        Assert.assertTrue("A stage still has events after the deadline", System.currentTimeMillis() < deadline);
+        Thread.sleep(1);
+      }
+    }
+  }
+
+  private DispatchingEStage newStage(final EventHandler<Integer> handler) {
+    return newStage(handler, Integer.class);
+  }
+
+  private <T> DispatchingEStage newStage(final EventHandler<T> handler, final Class<T> type) {
+    return newStage(handler, type, this.pool);
+  }
+
+  private static <T> DispatchingEStage newStage(
+      final EventHandler<T> handler, final Class<T> type, final Executor executor) {
+    final DispatchingEStage stage = new DispatchingEStage(new EventHandler<Throwable>() {
+      @Override
+      public void onNext(final Throwable value) {
+        LOG.log(Level.SEVERE, "Unexpected exception", value);
+      }
+    }, executor, 1);
+    stage.register(type, Collections.<EventHandler<T>>singleton(handler));
+    return stage;
+  }
+}
@@ -50,6 +50,12 @@ public interface Connection<T> extends AutoCloseable {
    */
   void write(List<T> messages);
 
+  /**
+   * Sends any messages buffered by this connection.
+   * Connections that do not buffer writes implement this as a no-op.
+   */
+  void flush();
+
   /**
    * Closes the connection.
    *
@@ -19,6 +19,7 @@
 package org.apache.reef.io.network.group.api.driver;
 
 import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.driver.catalog.NodeDescriptor;
 import org.apache.reef.io.network.group.impl.config.BroadcastOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.GatherOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.ReduceOperatorSpec;
@@ -106,4 +107,15 @@ public interface CommunicationGroupDriver {
    * @param partialTaskConf
    */
   void addTask(Configuration partialTaskConf);
+
+  /**
+   * Add the task represented by this configuration to this
+   * communication group, together with the location of the
+   * evaluator it runs on. Topologies that are aware of locality
+   * use the location to place the task; other topologies ignore it.
+   *
+   * @param partialTaskConf
+   * @param nodeDescriptor the node the task runs on
+   */
+  void addTask(Configuration partialTaskConf, NodeDescriptor nodeDescriptor);
 }
@@ -23,6 +23,8 @@ import org.apache.reef.io.network.group.impl.operators.BroadcastReceiver;
 import org.apache.reef.io.network.group.impl.operators.BroadcastSender;
 import org.apache.reef.tang.annotations.DefaultImplementation;
 
+import java.util.concurrent.Future;
+
 /**
  * MPI Broadcast operator.
  * <p>
@@ -42,6 +44,16 @@ public interface Broadcast {
      * Send element to all receivers.
      */
     void send(T element) throws NetworkException, InterruptedException;
+
+    /**
+     * Send element to all receivers without blocking the calling thread.
+     * Asynchronous operations of an operator run one at a time in the order they were issued,
+     * and must not be mixed with blocking calls on the same operator while they are in flight.
+     *
+     * @param callback callback to notify on completion; may be null
+     * @return a future that completes once the element has been sent
+     */
+    Future<Void> sendAsync(T element, GroupCommCallback<Void> callback);
   }
 
   /**
@@ -56,5 +68,15 @@ public interface Broadcast {
      * @return the element broadcasted by sender
      */
     T receive() throws NetworkException, InterruptedException;
+
+    /**
+     * Receive the element broadcasted by sender without blocking the calling thread.
+     * Asynchronous operations of an operator run one at a time in the order they were issued,
+     * and must not be mixed with blocking calls on the same operator while they are in flight.
+     *
+     * @param callback callback to notify on completion; may be null
+     * @return a future that holds the element broadcasted by sender
+     */
+    Future<T> receiveAsync(GroupCommCallback<T> callback);
   }
 }
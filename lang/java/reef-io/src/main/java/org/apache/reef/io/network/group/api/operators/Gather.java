@@ -19,12 +19,15 @@
 package org.apache.reef.io.network.group.api.operators;
 
 import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.Tuple;
 import org.apache.reef.io.network.group.impl.operators.GatherReceiver;
 import org.apache.reef.io.network.group.impl.operators.GatherSender;
 import org.apache.reef.tang.annotations.DefaultImplementation;
+import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.Identifier;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
 /**
  * MPI Gather Operator.
@@ -44,6 +47,16 @@ public interface Gather {
      * Send the element to the root/receiver.
      */
     void send(T element) throws InterruptedException, NetworkException;
+
+    /**
+     * Send the element to the root/receiver without blocking the calling thread.
+     * Asynchronous operations of an operator run one at a time in the order they were issued,
+     * and must not be mixed with blocking calls on the same operator while they are in flight.
+     *
+     * @param callback callback to notify on completion; may be null
+     * @return a future that completes once the element has been sent
+     */
+    Future<Void> sendAsync(T element, GroupCommCallback<Void> callback);
   }
 
   /**
@@ -65,5 +78,24 @@ public interface Gather {
      * @return elements sent by senders as a List in specified order
      */
     List<T> receive(List<? extends Identifier> order) throws InterruptedException, NetworkException;
+
+    /**
+     * Receive the elements sent by the senders as they arrive.
+     * Each element is handed to {@code elementHandler} together with the identifier of its sender
+     * as soon as the subtree containing the sender reports, without waiting for the other children.
+     *
+     * @param elementHandler handler that is invoked once for every (sender identifier, element) pair
+     */
+    void receive(EventHandler<Tuple<String, T>> elementHandler) throws InterruptedException, NetworkException;
+
+    /**
+     * Receive the elements sent by the senders in default order without blocking the calling thread.
+     * Asynchronous operations of an operator run one at a time in the order they were issued,
+     * and must not be mixed with blocking calls on the same operator while they are in flight.
+     *
+     * @param callback callback to notify on completion; may be null
+     * @return a future that holds the elements sent by senders in default order
+     */
+    Future<List<T>> receiveAsync(GroupCommCallback<List<T>> callback);
   }
 }
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.api.operators;
+
+/**
+ * Callback that is notified when an asynchronous group communication operation completes.
+ * Callbacks are invoked on the thread that ran the operation, so they should not block.
+ */
+public interface GroupCommCallback<T> {
+
+  /**
+   * Called when the operation completes successfully.
+   *
+   * @param result the result of the operation, null for operations that do not return a value
+   */
+  void onSuccess(T result);
+
+  /**
+   * Called when the operation fails.
+   *
+   * @param cause the reason of the failure
+   */
+  void onFailure(Throwable cause);
+}
@@ -21,10 +21,12 @@ package org.apache.reef.io.network.group.api.operators;
 import org.apache.reef.exception.evaluator.NetworkException;
 import org.apache.reef.io.network.group.impl.operators.ReduceReceiver;
 import org.apache.reef.io.network.group.impl.operators.ReduceSender;
+import org.apache.reef.io.serialization.Codec;
 import org.apache.reef.tang.annotations.DefaultImplementation;
 import org.apache.reef.wake.Identifier;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
 /**
  * MPI Reduce operator.
@@ -63,6 +65,16 @@ public interface Reduce {
      * @return {@link ReduceFunction}
      */
     Reduce.ReduceFunction<T> getReduceFunction();
+
+    /**
+     * Receive values sent by senders and reduce them in default order, without blocking the calling thread.
+     * Asynchronous operations of an operator run one at a time in the order they were issued,
+     * and must not be mixed with blocking calls on the same operator while they are in flight.
+     *
+     * @param callback callback to notify on completion; may be null
+     * @return a future that holds the result of applying the reduce function
+     */
+    Future<T> reduceAsync(GroupCommCallback<T> callback);
   }
 
   /**
@@ -82,6 +94,16 @@ public interface Reduce {
      * @return {@link ReduceFunction}
      */
     Reduce.ReduceFunction<T> getReduceFunction();
+
+    /**
+     * Send the element to the root without blocking the calling thread.
+     * Asynchronous operations of an operator run one at a time in the order they were issued,
+     * and must not be mixed with blocking calls on the same operator while they are in flight.
+     *
+     * @param callback callback to notify on completion; may be null
+     * @return a future that completes once the element has been sent
+     */
+    Future<Void> sendAsync(T element, GroupCommCallback<Void> callback);
   }
 
   /**
@@ -96,4 +118,38 @@ public interface Reduce {
      */
     T apply(Iterable<T> elements);
   }
+
+  /**
+   * A {@link ReduceFunction} that combines values in place, so that children's values can be folded
+   * into a single accumulator as they arrive without creating an intermediate object per child.
+   * The function must be associative and commutative, because values are combined in arrival order.
+   * An instance is used by a single operator, one reduce at a time, so it may reuse internal buffers.
+   */
+  interface InPlaceReduceFunction<T> extends ReduceFunction<T> {
+
+    /**
+     * Combine {@code element} into {@code accumulator}, modifying {@code accumulator} in place.
+     * {@code element} must not be modified.
+     *
+     * @return the accumulator
+     */
+    T combine(T accumulator, T element);
+
+    /**
+     * @param dataCodec the data codec of the operator
+     * @return true if {@link #combineEncoded} understands the encoding of {@code dataCodec}. If not, the
+     * operator decodes each element with {@code dataCodec} and combines it with {@link #combine}.
+     */
+    boolean isEncodedBy(Codec<T> dataCodec);
+
+    /**
+     * Combine an element, encoded by the data codec of the operator, into {@code accumulator}
+     * without decoding it into an intermediate object. Only called if {@link #isEncodedBy} the data codec.
+     *
+     * @param accumulator the accumulator to modify in place, or null if nothing has been accumulated yet
+     * @param encodedElement an element encoded by the data codec of the operator
+     * @return the accumulator, which is newly created when {@code accumulator} is null
+     */
+    T combineEncoded(T accumulator, byte[] encodedElement);
+  }
 }
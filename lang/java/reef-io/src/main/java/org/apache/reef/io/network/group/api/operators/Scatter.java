@@ -25,6 +25,7 @@ import org.apache.reef.tang.annotations.DefaultImplementation;
 import org.apache.reef.wake.Identifier;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
 /**
  * MPI Scatter operator
@@ -62,6 +63,16 @@ public interface Scatter {
      */
     void send(List<T> elements, List<Integer> counts,
               List<? extends Identifier> order) throws NetworkException, InterruptedException;
+
+    /**
+     * Distribute evenly across task ids sorted lexicographically, without blocking the calling thread.
+     * Asynchronous operations of an operator run one at a time in the order they were issued,
+     * and must not be mixed with blocking calls on the same operator while they are in flight.
+     *
+     * @param callback callback to notify on completion; may be null
+     * @return a future that completes once the elements have been sent
+     */
+    Future<Void> sendAsync(List<T> elements, GroupCommCallback<Void> callback);
   }
 
   /**
@@ -75,5 +86,15 @@ public interface Scatter {
      * @return list of elements targeted for the current receiver.
      */
     List<T> receive() throws InterruptedException, NetworkException;
+
+    /**
+     * Receive the sub-list of elements targeted for the current receiver without blocking the calling thread.
+     * Asynchronous operations of an operator run one at a time in the order they were issued,
+     * and must not be mixed with blocking calls on the same operator while they are in flight.
+     *
+     * @param callback callback to notify on completion; may be null
+     * @return a future that holds the elements targeted for the current receiver
+     */
+    Future<List<T>> receiveAsync(GroupCommCallback<List<T>> callback);
   }
 }
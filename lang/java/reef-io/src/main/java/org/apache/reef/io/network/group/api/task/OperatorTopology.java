@@ -23,6 +23,7 @@ import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
 import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
 import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.wake.EventHandler;
 
 import java.util.Map;
 
@@ -61,5 +62,7 @@ public interface OperatorTopology {
 
   byte[] recvFromChildren() throws ParentDeadException;
 
+  void recvFromChildren(EventHandler<byte[]> childDataHandler) throws ParentDeadException;
+
   void initialize() throws ParentDeadException;
 }
@@ -24,6 +24,7 @@ import org.apache.reef.io.network.group.impl.operators.Sender;
 import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
 import org.apache.reef.io.serialization.Codec;
 import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.wake.EventHandler;
 
 import java.util.Collection;
 import java.util.Map;
@@ -75,4 +76,12 @@ public interface OperatorTopologyStruct {
   <T> T recvFromChildren(ReduceFunction<T> redFunc, Codec<T> dataCodec);
 
   byte[] recvFromChildren();
+
+  /**
+   * Receive data from all children, handing each child's message to
+   * {@code childDataHandler} as soon as it arrives instead of concatenating them.
+   *
+   * @param childDataHandler handler that is invoked once for every message received from a child
+   */
+  void recvFromChildren(EventHandler<byte[]> childDataHandler);
 }
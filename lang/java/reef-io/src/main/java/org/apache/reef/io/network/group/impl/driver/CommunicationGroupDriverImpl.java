@@ -20,6 +20,7 @@ package org.apache.reef.io.network.group.impl.driver;
 
 import org.apache.reef.annotations.audience.DriverSide;
 import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.driver.catalog.NodeDescriptor;
 import org.apache.reef.driver.evaluator.FailedEvaluator;
 import org.apache.reef.driver.parameters.DriverIdentifier;
 import org.apache.reef.driver.task.FailedTask;
@@ -27,6 +28,7 @@ import org.apache.reef.driver.task.RunningTask;
 import org.apache.reef.driver.task.TaskConfigurationOptions;
 import org.apache.reef.io.network.group.api.config.OperatorSpec;
 import org.apache.reef.io.network.group.api.driver.CommunicationGroupDriver;
+import org.apache.reef.io.network.group.api.driver.LocalityAwareTopology;
 import org.apache.reef.io.network.group.api.driver.Topology;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
 import org.apache.reef.io.network.group.impl.config.BroadcastOperatorSpec;
@@ -85,6 +87,8 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
   private final TopologyFactory topologyFactory;
   private final Class<? extends Topology> topologyClass;
 
+  private final CommunicationGroupMetrics metrics;
+
   /**
    * @deprecated in 0.14. Use Tang to obtain an instance of this instead.
    */
@@ -102,6 +106,7 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
     this.driverId = driverId;
     this.confSerializer = confSerializer;
     this.allInitialTasksRunning = new CountingSemaphore(numberOfTasks, getQualifiedName(), topologiesLock);
+    this.metrics = new CommunicationGroupMetrics(Utils.simpleName(groupName));
 
     groupCommRunningTaskHandler.addHandler(new TopologyRunningTaskHandler(this));
     groupCommFailedTaskHandler.addHandler(new TopologyFailedTaskHandler(this));
@@ -141,6 +146,7 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
     this.driverId = driverId;
     this.confSerializer = confSerializer;
     this.allInitialTasksRunning = new CountingSemaphore(numberOfTasks, getQualifiedName(), topologiesLock);
+    this.metrics = new CommunicationGroupMetrics(Utils.simpleName(groupName));
 
     registerHandlers(groupCommRunningTaskHandler, groupCommFailedTaskHandler,
         groupCommFailedEvaluatorHandler, groupCommMessageHandler);
@@ -266,8 +272,10 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
 
   @Override
   public Configuration getTaskConfiguration(final Configuration taskConf) {
-    LOG.entering("CommunicationGroupDriverImpl", "getTaskConfiguration",
-        new Object[]{getQualifiedName(), confSerializer.toString(taskConf)});
+    if (LOG.isLoggable(Level.FINER)) {
+      LOG.entering("CommunicationGroupDriverImpl", "getTaskConfiguration",
+          new Object[]{getQualifiedName(), confSerializer.toString(taskConf)});
+    }
     final JavaConfigurationBuilder jcb = Tang.Factory.getTang().newConfigurationBuilder();
     final String taskId = taskId(taskConf);
     if (perTaskState.containsKey(taskId)) {
@@ -303,8 +311,10 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
       return null;
     }
     final Configuration configuration = jcb.build();
-    LOG.exiting("CommunicationGroupDriverImpl", "getTaskConfiguration",
-        Arrays.toString(new Object[]{getQualifiedName(), confSerializer.toString(configuration)}));
+    if (LOG.isLoggable(Level.FINER)) {
+      LOG.exiting("CommunicationGroupDriverImpl", "getTaskConfiguration",
+          Arrays.toString(new Object[]{getQualifiedName(), confSerializer.toString(configuration)}));
+    }
     return configuration;
   }
 
@@ -336,8 +346,15 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
 
   @Override
   public void addTask(final Configuration partialTaskConf) {
-    LOG.entering("CommunicationGroupDriverImpl", "addTask",
-        new Object[]{getQualifiedName(), confSerializer.toString(partialTaskConf)});
+    addTask(partialTaskConf, null);
+  }
+
+  @Override
+  public void addTask(final Configuration partialTaskConf, final NodeDescriptor nodeDescriptor) {
+    if (LOG.isLoggable(Level.FINER)) {
+      LOG.entering("CommunicationGroupDriverImpl", "addTask",
+          new Object[]{getQualifiedName(), confSerializer.toString(partialTaskConf)});
+    }
     final String taskId = taskId(partialTaskConf);
     LOG.finest(getQualifiedName() + "AddTask(" + taskId + "). Waiting to acquire toBeRemovedLock");
     synchronized (toBeRemovedLock) {
@@ -358,7 +375,11 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
       boolean isRootOfSomeTopology = false;
       for (final Class<? extends Name<String>> operName : operatorSpecs.keySet()) {
         final Topology topology = topologies.get(operName);
-        topology.addTask(taskId);
+        if (nodeDescriptor != null && topology instanceof LocalityAwareTopology) {
+          ((LocalityAwareTopology) topology).addTask(taskId, nodeDescriptor);
+        } else {
+          topology.addTask(taskId);
+        }
         isRootOfSomeTopology |= topology.getRootId().equals(taskId);
       }
 
@@ -367,6 +388,7 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
       }
 
       perTaskState.put(taskId, TaskState.NOT_STARTED);
+      metrics.onTaskAdded();
       LOG.finest(getQualifiedName() + "Released topologiesLock");
     }
     LOG.fine(getQualifiedName() + "Added " + taskId + " to topology");
@@ -429,10 +451,11 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
           final Topology topology = topologies.get(operName);
           topology.onRunningTask(id);
         }
-        if (initializing.get()) {
-          allInitialTasksRunning.decrement();
+        if (initializing.get() && allInitialTasksRunning.decrement() == 0) {
+          metrics.onInitialTasksRunning(allInitialTasksRunning.getInitialCount());
         }
         perTaskState.put(id, TaskState.RUNNING);
+        metrics.onTaskRunning(id);
         LOG.finest(getQualifiedName() + "Released topologiesLock. Waiting to acquire yetToRunLock");
       } else {
         nonMember = true;
@@ -488,6 +511,7 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
         allInitialTasksRunning.increment();
       }
       perTaskState.put(id, TaskState.FAILED);
+      metrics.onTaskFailed(id);
       LOG.finest(getQualifiedName() + "Removing msgs associated with dead task " + id + " from msgQue.");
       final Set<MsgKey> keys = msgQue.keySet();
       final List<MsgKey> keysToBeRemoved = new ArrayList<>();
@@ -588,6 +612,7 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
 
   public void processMsg(final GroupCommunicationMessage msg) {
     LOG.entering("CommunicationGroupDriverImpl", "processMsg", new Object[]{getQualifiedName(), msg});
+    metrics.onControlMessage();
     LOG.finest(getQualifiedName() + "ProcessMsg: " + msg + ". Waiting to acquire topologiesLock");
     synchronized (topologiesLock) {
       LOG.finest(getQualifiedName() + "Acquired topologiesLock");
@@ -610,6 +635,13 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
         Arrays.toString(new Object[]{getQualifiedName(), "ProcessMsg done for: ", msg}));
   }
 
+  /**
+   * @return startup and recovery latency metrics of this communication group
+   */
+  public CommunicationGroupMetrics getMetrics() {
+    return metrics;
+  }
+
   private String taskId(final Configuration partialTaskConf) {
     try {
       final Injector injector = Tang.Factory.getTang().newInjector(partialTaskConf);
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.driver;
+
+import org.apache.reef.wake.metrics.Histogram;
+import org.apache.reef.wake.metrics.Meter;
+import org.apache.reef.wake.metrics.UniformHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Latency metrics of the driver side control plane of a communication group.
+ * The startup latency is the time from adding the first task to all initial tasks running.
+ * The recovery latency of a task is the time from its failure to a task with the same id running again.
+ * At most {@link #MAX_PENDING_RECOVERIES} failed tasks are tracked; when more tasks fail without being
+ * replaced, the oldest failures are dropped and their recoveries are not measured.
+ */
+public final class CommunicationGroupMetrics {
+
+  private static final Logger LOG = Logger.getLogger(CommunicationGroupMetrics.class.getName());
+
+  private static final long RECOVERY_BIN_WIDTH_MS = 100;
+  private static final int RECOVERY_NUM_BINS = 100;
+  static final int MAX_PENDING_RECOVERIES = 10000;
+
+  private final String groupName;
+  private final Meter controlMsgMeter;
+  private final Histogram recoveryLatencies = new UniformHistogram(RECOVERY_BIN_WIDTH_MS, RECOVERY_NUM_BINS);
+  private final Map<String, Long> failureTimes = new LinkedHashMap<String, Long>() {
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+      if (size() > MAX_PENDING_RECOVERIES) {
+        LOG.fine(groupName + " - Task " + eldest.getKey() + " was not replaced; not measuring its recovery");
+        return true;
+      }
+      return false;
+    }
+  };
+
+  private long firstTaskAddedTime = -1;
+  private long startupLatencyMs = -1;
+  private long totalRecoveryLatencyMs = 0;
+  private long maxRecoveryLatencyMs = 0;
+
+  CommunicationGroupMetrics(final String groupName) {
+    this.groupName = groupName;
+    this.controlMsgMeter = new Meter(groupName + "ControlMsgs");
+  }
+
+  synchronized void onTaskAdded() {
+    if (firstTaskAddedTime < 0) {
+      firstTaskAddedTime = System.nanoTime();
+    }
+  }
+
+  synchronized void onInitialTasksRunning(final int numberOfTasks) {
+    if (startupLatencyMs < 0 && firstTaskAddedTime >= 0) {
+      startupLatencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - firstTaskAddedTime);
+      LOG.info(groupName + " - All " + numberOfTasks + " initial tasks running " + startupLatencyMs
+          + " ms after the first task was added");
+    }
+  }
+
+  synchronized void onTaskFailed(final String taskId) {
+    failureTimes.put(taskId, System.nanoTime());
+  }
+
+  synchronized void onTaskRunning(final String taskId) {
+    final Long failureTime = failureTimes.remove(taskId);
+    if (failureTime != null) {
+      final long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - failureTime);
+      recoveryLatencies.update(latencyMs);
+      totalRecoveryLatencyMs += latencyMs;
+      maxRecoveryLatencyMs = Math.max(maxRecoveryLatencyMs, latencyMs);
+      LOG.info(groupName + " - Task " + taskId + " recovered " + latencyMs + " ms after its failure");
+    }
+  }
+
+  void onControlMessage() {
+    controlMsgMeter.mark(1);
+  }
+
+  /**
+   * @return the startup latency in milliseconds, or -1 if not all initial tasks are running yet
+   */
+  public synchronized long getStartupLatencyMs() {
+    return startupLatencyMs;
+  }
+
+  /**
+   * @return the number of failed tasks that have been replaced by a running task
+   */
+  public long getNumRecoveries() {
+    return recoveryLatencies.getCount();
+  }
+
+  /**
+   * @return the number of failed tasks that have not been replaced yet
+   */
+  synchronized int getNumPendingRecoveries() {
+    return failureTimes.size();
+  }
+
+  /**
+   * @return the mean recovery latency in milliseconds, or 0 if there were no recoveries
+   */
+  public synchronized double getMeanRecoveryLatencyMs() {
+    final long numRecoveries = recoveryLatencies.getCount();
+    return numRecoveries == 0 ? 0 : (double) totalRecoveryLatencyMs / numRecoveries;
+  }
+
+  public synchronized long getMaxRecoveryLatencyMs() {
+    return maxRecoveryLatencyMs;
+  }
+
+  /**
+   * @return histogram of recovery latencies in milliseconds, with bins of 100 ms
+   */
+  public Histogram getRecoveryLatencyHistogram() {
+    return recoveryLatencies;
+  }
+
+  /**
+   * @return meter of the control msgs received from the tasks of the group
+   */
+  public Meter getControlMsgMeter() {
+    return controlMsgMeter;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "CommunicationGroupMetrics{" +
+        "group=" + groupName +
+        ", startupLatencyMs=" + startupLatencyMs +
+        ", numRecoveries=" + recoveryLatencies.getCount() +
+        ", meanRecoveryLatencyMs=" + getMeanRecoveryLatencyMs() +
+        ", maxRecoveryLatencyMs=" + maxRecoveryLatencyMs +
+        ", controlMsgs=" + controlMsgMeter.getCount() +
+        '}';
+  }
+}
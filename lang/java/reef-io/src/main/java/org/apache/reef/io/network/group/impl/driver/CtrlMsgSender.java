@@ -21,41 +21,81 @@ package org.apache.reef.io.network.group.impl.driver;
 
 import org.apache.reef.exception.evaluator.NetworkException;
 import org.apache.reef.io.network.Connection;
-import org.apache.reef.io.network.impl.NetworkService;
+import org.apache.reef.io.network.ConnectionFactory;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
 import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.Identifier;
 import org.apache.reef.wake.IdentifierFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 
 /**
  * Event handler that receives ctrl msgs and.
  * dispatched them using network service
+ * <p>
+ * Msgs are queued per destination task. Whoever sends to a destination
+ * sends all msgs queued for it in one network message, so that the updates
+ * a task receives for all operators of a topology change are batched
+ * while the sender threads are busy.
  */
 public class CtrlMsgSender implements EventHandler<GroupCommunicationMessage> {
 
   private static final Logger LOG = Logger.getLogger(CtrlMsgSender.class.getName());
   private final IdentifierFactory idFac;
-  private final NetworkService<GroupCommunicationMessage> netService;
+  private final ConnectionFactory<GroupCommunicationMessage> connFactory;
+  private final ConcurrentMap<String, Queue<GroupCommunicationMessage>> pendingMsgs = new ConcurrentHashMap<>();
 
-  public CtrlMsgSender(final IdentifierFactory idFac, final NetworkService<GroupCommunicationMessage> netService) {
+  public CtrlMsgSender(final IdentifierFactory idFac,
+                       final ConnectionFactory<GroupCommunicationMessage> connFactory) {
     this.idFac = idFac;
-    this.netService = netService;
+    this.connFactory = connFactory;
   }
 
   @Override
   public void onNext(final GroupCommunicationMessage srcCtrlMsg) {
     LOG.entering("CtrlMsgSender", "onNext", srcCtrlMsg);
-    final Identifier id = idFac.getNewInstance(srcCtrlMsg.getDestid());
-    final Connection<GroupCommunicationMessage> link = netService.newConnection(id);
+    final String destId = srcCtrlMsg.getDestid();
+    Queue<GroupCommunicationMessage> queue = pendingMsgs.get(destId);
+    if (queue == null) {
+      queue = new ConcurrentLinkedQueue<>();
+      final Queue<GroupCommunicationMessage> prevQueue = pendingMsgs.putIfAbsent(destId, queue);
+      if (prevQueue != null) {
+        queue = prevQueue;
+      }
+    }
+    queue.add(srcCtrlMsg);
+
+    synchronized (queue) {
+      final List<GroupCommunicationMessage> batch = new ArrayList<>();
+      for (GroupCommunicationMessage msg = queue.poll(); msg != null; msg = queue.poll()) {
+        batch.add(msg);
+      }
+      if (!batch.isEmpty()) {
+        send(destId, batch);
+      }
+    }
+    LOG.exiting("CtrlMsgSender", "onNext", srcCtrlMsg);
+  }
+
+  private void send(final String destId, final List<GroupCommunicationMessage> batch) {
+    final Identifier id = idFac.getNewInstance(destId);
+    final Connection<GroupCommunicationMessage> link = connFactory.newConnection(id);
     try {
       link.open();
-      link.write(srcCtrlMsg);
+      if (batch.size() == 1) {
+        link.write(batch.get(0));
+      } else {
+        LOG.finest("Sending " + batch.size() + " ctrl msgs to " + destId + " in one message");
+        link.write(batch);
+      }
     } catch (final NetworkException e) {
       throw new RuntimeException("Unable to send ctrl task msg to parent " + id, e);
     }
-    LOG.exiting("CtrlMsgSender", "onNext", srcCtrlMsg);
   }
-
 }
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.driver;
+
+import org.apache.reef.io.network.group.api.driver.TaskNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A tree of task nodes with a bounded fan-out below a leader node.
+ * The i-th member is attached to the leader if i is smaller than the fan-out,
+ * and to member (i / fanOut - 1) otherwise, so members never move when new members join.
+ */
+final class FanOutTree {
+
+  private final int fanOut;
+  private TaskNode leader;
+  private final List<TaskNode> members = new ArrayList<>();
+
+  FanOutTree(final TaskNode leader, final int fanOut) {
+    this.leader = leader;
+    this.fanOut = fanOut;
+  }
+
+  /**
+   * Attach a node to the next free position of the tree.
+   *
+   * @param node the node to attach
+   */
+  void add(final TaskNode node) {
+    final int index = members.size();
+    final TaskNode parent = index < fanOut ? leader : members.get(index / fanOut - 1);
+    node.setParent(parent);
+    parent.addChild(node);
+    members.add(node);
+  }
+
+  /**
+   * @return true if {@code node} leads this tree
+   */
+  boolean isLeader(final TaskNode node) {
+    return leader == node;
+  }
+
+  /**
+   * Remove a node from the tree. The last member of the tree takes over its position, so that the children
+   * of the removed node are not left attached to it. The caller detaches the removed node from its parent.
+   *
+   * @param node the leader or a member of this tree
+   * @return the member that took over the position of the node, or null if none had to
+   */
+  TaskNode remove(final TaskNode node) {
+    if (members.isEmpty()) {
+      return null;
+    }
+    final TaskNode last = members.remove(members.size() - 1);
+    final TaskNode lastParent = last.getParent();
+    if (lastParent != null) {
+      lastParent.removeChild(last);
+    }
+    last.setParent(null);
+    if (last == node) {
+      return null;
+    }
+    replace(node, last);
+    return last;
+  }
+
+  /**
+   * Let {@code newNode} take over the position of {@code oldNode} in this tree: its parent, unless
+   * {@code oldNode} is the leader, and its children in this tree. Neighbors that are running are told
+   * about their new parent or child. {@code newNode} must not be attached to a parent already.
+   *
+   * @param oldNode the leader or a member of this tree
+   * @param newNode the node that takes over the position
+   */
+  void replace(final TaskNode oldNode, final TaskNode newNode) {
+    final List<TaskNode> children;
+    if (leader == oldNode) {
+      leader = newNode;
+      children = members.subList(0, Math.min(fanOut, members.size()));
+    } else {
+      final int index = members.indexOf(oldNode);
+      members.set(index, newNode);
+      final TaskNode parent = index < fanOut ? leader : members.get(index / fanOut - 1);
+      newNode.setParent(parent);
+      parent.addChild(newNode);
+      if (parent.isRunning() && newNode.isRunning()) {
+        newNode.onParentRunning();
+        parent.onChildRunning(newNode.getTaskId());
+      }
+      children = members.subList(Math.min((index + 1) * fanOut, members.size()),
+          Math.min((index + 2) * fanOut, members.size()));
+    }
+    for (final TaskNode child : children) {
+      oldNode.removeChild(child);
+      child.setParent(newNode);
+      newNode.addChild(child);
+      if (child.isRunning() && newNode.isRunning()) {
+        child.onParentRunning();
+        newNode.onChildRunning(child.getTaskId());
+      }
+    }
+  }
+}
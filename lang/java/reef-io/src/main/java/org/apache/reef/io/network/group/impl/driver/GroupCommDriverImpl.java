@@ -154,7 +154,9 @@ public final class GroupCommDriverImpl implements GroupCommServiceDriver {
           new EventHandler<Message<GroupCommunicationMessage>>() {
             @Override
             public void onNext(final Message<GroupCommunicationMessage> msg) {
-              groupCommMessageStage.onNext(Utils.getGCM(msg));
+              for (final GroupCommunicationMessage gcm : msg.getData()) {
+                groupCommMessageStage.onNext(gcm);
+              }
             }
           });
       injector.bindVolatileParameter(NetworkServiceParameters.NetworkServiceExceptionHandler.class,
@@ -263,7 +265,10 @@ public final class GroupCommDriverImpl implements GroupCommServiceDriver {
 
   @Override
   public Configuration getTaskConfiguration(final Configuration partialTaskConf) {
-    LOG.entering("GroupCommDriverImpl", "getTaskConfiguration", new Object[]{confSerializer.toString(partialTaskConf)});
+    if (LOG.isLoggable(Level.FINER)) {
+      LOG.entering("GroupCommDriverImpl", "getTaskConfiguration",
+          new Object[]{confSerializer.toString(partialTaskConf)});
+    }
     final JavaConfigurationBuilder jcb = Tang.Factory.getTang().newConfigurationBuilder(partialTaskConf);
     for (final CommunicationGroupDriver commGroupDriver : commGroupDrivers.values()) {
       final Configuration commGroupConf = commGroupDriver.getTaskConfiguration(partialTaskConf);
@@ -272,7 +277,9 @@ public final class GroupCommDriverImpl implements GroupCommServiceDriver {
       }
     }
     final Configuration retVal = jcb.build();
-    LOG.exiting("GroupCommDriverImpl", "getTaskConfiguration", confSerializer.toString(retVal));
+    if (LOG.isLoggable(Level.FINER)) {
+      LOG.exiting("GroupCommDriverImpl", "getTaskConfiguration", confSerializer.toString(retVal));
+    }
     return retVal;
   }
 
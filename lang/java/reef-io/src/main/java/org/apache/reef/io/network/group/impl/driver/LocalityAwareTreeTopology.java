@@ -0,0 +1,373 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.driver;
+
+import org.apache.reef.driver.catalog.NodeDescriptor;
+import org.apache.reef.driver.catalog.RackDescriptor;
+import org.apache.reef.driver.parameters.DriverIdentifier;
+import org.apache.reef.io.network.group.api.config.OperatorSpec;
+import org.apache.reef.io.network.group.api.driver.TaskNode;
+import org.apache.reef.io.network.group.api.driver.LocalityAwareTopology;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.parameters.*;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.EStage;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.logging.Logger;
+
+/**
+ * Implements a tree topology that places tasks according to their location.
+ * Tasks running on the same host are aggregated below a host leader, host leaders of the same rack
+ * below a rack leader, and rack leaders below the root, so that each level of the tree is a tree
+ * with the specified fan-out and most tree edges stay within a host or a rack.
+ * The root task leads its own host and rack. The first task added on a host or rack becomes its leader.
+ * When a task is removed, the last task added below the same leader takes over its position, so that
+ * the subtree of a removed leader is led by a task of the same host or rack.
+ * Tasks added without a location are treated as running on one unknown host.
+ */
+public final class LocalityAwareTreeTopology implements LocalityAwareTopology {
+
+  private static final Logger LOG = Logger.getLogger(LocalityAwareTreeTopology.class.getName());
+
+  private static final String UNKNOWN_LOCATION = "";
+
+  private final EStage<GroupCommunicationMessage> senderStage;
+  private final Class<? extends Name<String>> groupName;
+  private final Class<? extends Name<String>> operName;
+  private final String driverId;
+  private String rootId;
+  private OperatorSpec operatorSpec;
+
+  private TaskNode root;
+  private final int fanOut;
+
+  private final ConcurrentMap<String, TaskNode> nodes = new ConcurrentSkipListMap<>();
+  private final Map<String, String> hostOfTask = new HashMap<>();
+  private final Map<String, String> rackOfTask = new HashMap<>();
+
+  /**
+   * Trees of tasks aggregated below the root, below each rack leader and below each host leader.
+   */
+  private FanOutTree rootTree;
+  private final Map<String, FanOutTree> rackTrees = new HashMap<>();
+  private final Map<String, FanOutTree> hostTrees = new HashMap<>();
+
+  private final TreeTopologyHelper helper;
+
+  @Inject
+  private LocalityAwareTreeTopology(
+      @Parameter(GroupCommSenderStage.class) final EStage<GroupCommunicationMessage> senderStage,
+      @Parameter(CommGroupNameClass.class) final Class<? extends Name<String>> groupName,
+      @Parameter(OperatorNameClass.class) final Class<? extends Name<String>> operatorName,
+      @Parameter(DriverIdentifier.class) final String driverId,
+      @Parameter(TreeTopologyFanOut.class) final int fanOut) {
+    this.senderStage = senderStage;
+    this.groupName = groupName;
+    this.operName = operatorName;
+    this.driverId = driverId;
+    this.fanOut = fanOut;
+    this.helper = new TreeTopologyHelper(senderStage, groupName, operatorName, driverId);
+    LOG.config(getQualifiedName() + "Locality aware Tree Topology running with a fan-out of " + fanOut);
+  }
+
+  @Override
+  @SuppressWarnings("checkstyle:hiddenfield")
+  public void setRootTask(final String rootId) {
+    LOG.entering("LocalityAwareTreeTopology", "setRootTask", new Object[]{getQualifiedName(), rootId});
+    this.rootId = rootId;
+    LOG.exiting("LocalityAwareTreeTopology", "setRootTask", getQualifiedName() + rootId);
+  }
+
+  @Override
+  public String getRootId() {
+    return rootId;
+  }
+
+  @Override
+  public boolean isRootPresent() {
+    return root != null;
+  }
+
+  @Override
+  public void setOperatorSpecification(final OperatorSpec spec) {
+    LOG.entering("LocalityAwareTreeTopology", "setOperSpec", new Object[]{getQualifiedName(), spec});
+    this.operatorSpec = spec;
+    LOG.exiting("LocalityAwareTreeTopology", "setOperSpec", getQualifiedName() + spec);
+  }
+
+  @Override
+  public Configuration getTaskConfiguration(final String taskId) {
+    LOG.entering("LocalityAwareTreeTopology", "getTaskConfig", new Object[]{getQualifiedName(), taskId});
+    final TaskNode taskNode = nodes.get(taskId);
+    if (taskNode == null) {
+      throw new RuntimeException(getQualifiedName() + taskId + " does not exist");
+    }
+
+    final Configuration retConf = helper.getTaskConfiguration(operatorSpec, taskId, getNodeVersion(taskId));
+    LOG.exiting("LocalityAwareTreeTopology", "getTaskConfig", getQualifiedName() + taskId);
+    return retConf;
+  }
+
+  @Override
+  public int getNodeVersion(final String taskId) {
+    LOG.entering("LocalityAwareTreeTopology", "getNodeVersion", new Object[]{getQualifiedName(), taskId});
+    final TaskNode node = nodes.get(taskId);
+    if (node == null) {
+      throw new RuntimeException(getQualifiedName() + taskId + " is not available on the nodes map");
+    }
+    final int version = node.getVersion();
+    LOG.exiting("LocalityAwareTreeTopology", "getNodeVersion", getQualifiedName() + " " + taskId + " " + version);
+    return version;
+  }
+
+  @Override
+  public void removeTask(final String taskId) {
+    LOG.entering("LocalityAwareTreeTopology", "removeTask", new Object[]{getQualifiedName(), taskId});
+    final TaskNode node = nodes.remove(taskId);
+    if (node == null) {
+      LOG.fine("Trying to remove a non-existent node in the task graph");
+      LOG.exiting("LocalityAwareTreeTopology", "removeTask", getQualifiedName());
+      return;
+    }
+    if (taskId.equals(rootId)) {
+      unsetRootNode();
+    } else {
+      if (root != null) {
+        detachTaskNode(node);
+      }
+      hostOfTask.remove(taskId);
+      rackOfTask.remove(taskId);
+    }
+    LOG.exiting("LocalityAwareTreeTopology", "removeTask", getQualifiedName() + taskId);
+  }
+
+  @Override
+  public void addTask(final String taskId) {
+    addTask(taskId, UNKNOWN_LOCATION, UNKNOWN_LOCATION);
+  }
+
+  @Override
+  public void addTask(final String taskId, final NodeDescriptor nodeDescriptor) {
+    final RackDescriptor rackDescriptor = nodeDescriptor.getRackDescriptor();
+    addTask(taskId, nodeDescriptor.getInetSocketAddress().getHostString(),
+        rackDescriptor == null ? UNKNOWN_LOCATION : rackDescriptor.getName());
+  }
+
+  private void addTask(final String taskId, final String hostName, final String rackName) {
+    LOG.entering("LocalityAwareTreeTopology", "addTask",
+        new Object[]{getQualifiedName(), taskId, hostName, rackName});
+    if (nodes.containsKey(taskId)) {
+      LOG.fine("Got a request to add a task that is already in the graph. " +
+          "We need to block this request till the delete finishes. ***CAUTION***");
+    }
+
+    hostOfTask.put(taskId, hostName);
+    rackOfTask.put(taskId, rackName);
+    if (taskId.equals(rootId)) {
+      setRootNode(taskId);
+    } else {
+      final TaskNode node = new TaskNodeImpl(senderStage, groupName, operName, taskId, driverId, false);
+      if (root != null) {
+        placeTaskNode(node);
+      }
+      nodes.put(taskId, node);
+    }
+    LOG.exiting("LocalityAwareTreeTopology", "addTask", getQualifiedName() + taskId);
+  }
+
+  /**
+   * Attach a node below the leader of its host. If it is the first task on its host, it becomes the host
+   * leader and is attached below the leader of its rack. If it is also the first task on its rack, it becomes
+   * the rack leader and is attached below the root.
+   */
+  private void placeTaskNode(final TaskNode node) {
+    LOG.entering("LocalityAwareTreeTopology", "placeTaskNode", new Object[]{getQualifiedName(), node});
+    final String taskId = node.getTaskId();
+    final String hostName = hostOfTask.get(taskId);
+    final String rackName = rackOfTask.get(taskId);
+
+    final FanOutTree hostTree = hostTrees.get(hostName);
+    if (hostTree != null) {
+      hostTree.add(node);
+    } else {
+      hostTrees.put(hostName, new FanOutTree(node, fanOut));
+      final FanOutTree rackTree = rackTrees.get(rackName);
+      if (rackTree != null) {
+        rackTree.add(node);
+      } else {
+        rackTrees.put(rackName, new FanOutTree(node, fanOut));
+        rootTree.add(node);
+      }
+    }
+    LOG.exiting("LocalityAwareTreeTopology", "placeTaskNode", getQualifiedName() + node);
+  }
+
+  /**
+   * Detach the node of a removed task from the tree. If it led its host, the last task added on the host
+   * takes over its position; if no other task runs on the host and it led its rack, the last host leader
+   * added on the rack does. Otherwise, the last node added below the same leader takes over its position.
+   */
+  private void detachTaskNode(final TaskNode node) {
+    LOG.entering("LocalityAwareTreeTopology", "detachTaskNode", new Object[]{getQualifiedName(), node});
+    final String taskId = node.getTaskId();
+    final String hostName = hostOfTask.get(taskId);
+    final String rackName = rackOfTask.get(taskId);
+    final TaskNode parent = node.getParent();
+    if (parent != null) {
+      parent.removeChild(node);
+      node.setParent(null);
+    }
+
+    final FanOutTree hostTree = hostTrees.get(hostName);
+    final FanOutTree rackTree = rackTrees.get(rackName);
+    if (!hostTree.isLeader(node)) {
+      hostTree.remove(node);
+    } else {
+      final TaskNode hostLeader = hostTree.remove(node);
+      if (hostLeader != null) {
+        final boolean ledRack = rackTree.isLeader(node);
+        rackTree.replace(node, hostLeader);
+        if (ledRack) {
+          rootTree.replace(node, hostLeader);
+        }
+      } else {
+        hostTrees.remove(hostName);
+        if (!rackTree.isLeader(node)) {
+          rackTree.remove(node);
+        } else {
+          final TaskNode rackLeader = rackTree.remove(node);
+          if (rackLeader != null) {
+            rootTree.replace(node, rackLeader);
+          } else {
+            rackTrees.remove(rackName);
+            rootTree.remove(node);
+          }
+        }
+      }
+    }
+    LOG.exiting("LocalityAwareTreeTopology", "detachTaskNode", getQualifiedName() + node);
+  }
+
+  private void setRootNode(final String newRootId) {
+    LOG.entering("LocalityAwareTreeTopology", "setRootNode", new Object[]{getQualifiedName(), newRootId});
+    this.root = new TaskNodeImpl(senderStage, groupName, operName, newRootId, driverId, true);
+    this.rootTree = new FanOutTree(root, fanOut);
+    this.rackTrees.clear();
+    this.hostTrees.clear();
+    this.rackTrees.put(rackOfTask.get(newRootId), new FanOutTree(root, fanOut));
+    this.hostTrees.put(hostOfTask.get(newRootId), new FanOutTree(root, fanOut));
+
+    for (final Map.Entry<String, TaskNode> nodeEntry : nodes.entrySet()) {
+      placeTaskNode(nodeEntry.getValue());
+    }
+    nodes.put(newRootId, root);
+    LOG.exiting("LocalityAwareTreeTopology", "setRootNode", getQualifiedName() + newRootId);
+  }
+
+  private void unsetRootNode() {
+    LOG.entering("LocalityAwareTreeTopology", "unsetRootNode", getQualifiedName());
+    root = null;
+    rootTree = null;
+    rackTrees.clear();
+    hostTrees.clear();
+
+    for (final TaskNode node : nodes.values()) {
+      node.setParent(null);
+      for (final TaskNode child : copyOfChildren(node)) {
+        node.removeChild(child);
+      }
+    }
+    LOG.exiting("LocalityAwareTreeTopology", "unsetRootNode", getQualifiedName());
+  }
+
+  private static List<TaskNode> copyOfChildren(final TaskNode node) {
+    final List<TaskNode> children = new ArrayList<>(node.getNumberOfChildren());
+    for (final TaskNode child : node.getChildren()) {
+      children.add(child);
+    }
+    return children;
+  }
+
+  @Override
+  public void onFailedTask(final String taskId) {
+    LOG.entering("LocalityAwareTreeTopology", "onFailedTask", new Object[]{getQualifiedName(), taskId});
+    final TaskNode taskNode = nodes.get(taskId);
+    if (taskNode == null) {
+      throw new RuntimeException(getQualifiedName() + taskId + " does not exist");
+    }
+    taskNode.onFailedTask();
+    LOG.exiting("LocalityAwareTreeTopology", "onFailedTask", getQualifiedName() + taskId);
+  }
+
+  @Override
+  public void onRunningTask(final String taskId) {
+    LOG.entering("LocalityAwareTreeTopology", "onRunningTask", new Object[]{getQualifiedName(), taskId});
+    final TaskNode taskNode = nodes.get(taskId);
+    if (taskNode == null) {
+      throw new RuntimeException(getQualifiedName() + taskId + " does not exist");
+    }
+    taskNode.onRunningTask();
+    LOG.exiting("LocalityAwareTreeTopology", "onRunningTask", getQualifiedName() + taskId);
+  }
+
+  @Override
+  public void onReceiptOfMessage(final GroupCommunicationMessage msg) {
+    LOG.entering("LocalityAwareTreeTopology", "onReceiptOfMessage", new Object[]{getQualifiedName(), msg});
+    switch (msg.getType()) {
+    case TopologyChanges:
+      onTopologyChanges(msg);
+      break;
+    case UpdateTopology:
+      onUpdateTopology(msg);
+      break;
+
+    default:
+      nodes.get(msg.getSrcid()).onReceiptOfAcknowledgement(msg);
+      break;
+    }
+    LOG.exiting("LocalityAwareTreeTopology", "onReceiptOfMessage", getQualifiedName() + msg);
+  }
+
+  private void onUpdateTopology(final GroupCommunicationMessage msg) {
+    LOG.entering("LocalityAwareTreeTopology", "onUpdateTopology", new Object[]{getQualifiedName(), msg});
+    final String dstId = msg.getSrcid();
+    helper.onUpdateTopology(dstId, getNodeVersion(dstId), root, nodes.values());
+    LOG.exiting("LocalityAwareTreeTopology", "onUpdateTopology", getQualifiedName() + msg);
+  }
+
+  private void onTopologyChanges(final GroupCommunicationMessage msg) {
+    LOG.entering("LocalityAwareTreeTopology", "onTopologyChanges", new Object[]{getQualifiedName(), msg});
+    final String dstId = msg.getSrcid();
+    helper.onTopologyChanges(dstId, getNodeVersion(dstId), nodes.values());
+    LOG.exiting("LocalityAwareTreeTopology", "onTopologyChanges", getQualifiedName() + msg);
+  }
+
+  private String getQualifiedName() {
+    return helper.getQualifiedName();
+  }
+}
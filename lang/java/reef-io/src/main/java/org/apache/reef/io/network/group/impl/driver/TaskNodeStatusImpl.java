@@ -30,6 +30,7 @@ import org.apache.reef.tang.annotations.Name;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class TaskNodeStatusImpl implements TaskNodeStatus {
@@ -84,7 +85,9 @@ public class TaskNodeStatusImpl implements TaskNodeStatus {
       LOG.finest(getQualifiedName() + "Empty status map.");
       node.checkAndSendTopologySetupMessage();
     } else {
-      LOG.finest(getQualifiedName() + "Status map non-empty" + statusMap);
+      if (LOG.isLoggable(Level.FINEST)) {
+        LOG.finest(getQualifiedName() + "Status map non-empty" + statusMap);
+      }
     }
     LOG.exiting("TaskNodeStatusImpl", "chkAndSendTopoSetup", getQualifiedName() + msgDealt);
   }
@@ -117,8 +120,10 @@ public class TaskNodeStatusImpl implements TaskNodeStatus {
     LOG.entering("TaskNodeStatusImpl", "expectAckFor", new Object[]{getQualifiedName(), msgType, srcId});
     LOG.finest(getQualifiedName() + "Adding " + srcId + " to sources");
     statusMap.add(msgType, srcId);
-    LOG.exiting("TaskNodeStatusImpl", "expectAckFor",
-        getQualifiedName() + "Sources from which ACKs for " + msgType + " are expected: " + statusMap.get(msgType));
+    if (LOG.isLoggable(Level.FINER)) {
+      LOG.exiting("TaskNodeStatusImpl", "expectAckFor",
+          getQualifiedName() + "Sources from which ACKs for " + msgType + " are expected: " + statusMap.get(msgType));
+    }
   }
 
   @Override
@@ -19,37 +19,17 @@
 package org.apache.reef.io.network.group.impl.driver;
 
 import org.apache.reef.driver.parameters.DriverIdentifier;
-import org.apache.reef.io.network.group.api.operators.GroupCommOperator;
-import org.apache.reef.io.network.group.api.GroupChanges;
 import org.apache.reef.io.network.group.api.config.OperatorSpec;
 import org.apache.reef.io.network.group.api.driver.TaskNode;
 import org.apache.reef.io.network.group.api.driver.Topology;
-import org.apache.reef.io.network.group.impl.GroupChangesCodec;
-import org.apache.reef.io.network.group.impl.GroupChangesImpl;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
-import org.apache.reef.io.network.group.impl.config.BroadcastOperatorSpec;
-import org.apache.reef.io.network.group.impl.config.GatherOperatorSpec;
-import org.apache.reef.io.network.group.impl.config.ReduceOperatorSpec;
-import org.apache.reef.io.network.group.impl.config.ScatterOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.parameters.*;
-import org.apache.reef.io.network.group.impl.operators.*;
-import org.apache.reef.io.network.group.impl.utils.Utils;
-import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
-import org.apache.reef.io.serialization.Codec;
 import org.apache.reef.tang.Configuration;
-import org.apache.reef.tang.JavaConfigurationBuilder;
-import org.apache.reef.tang.Tang;
 import org.apache.reef.tang.annotations.Name;
 import org.apache.reef.tang.annotations.Parameter;
-import org.apache.reef.tang.formats.AvroConfigurationSerializer;
-import org.apache.reef.tang.formats.ConfigurationSerializer;
 import org.apache.reef.wake.EStage;
-import org.apache.reef.wake.EventHandler;
-import org.apache.reef.wake.impl.SingleThreadStage;
 
 import javax.inject.Inject;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
@@ -75,7 +55,7 @@ public final class TreeTopology implements Topology {
   private final int fanOut;
 
   private final ConcurrentMap<String, TaskNode> nodes = new ConcurrentSkipListMap<>();
-  private final ConfigurationSerializer confSer = new AvroConfigurationSerializer();
+  private final TreeTopologyHelper helper;
 
   @Inject
   private TreeTopology(@Parameter(GroupCommSenderStage.class) final EStage<GroupCommunicationMessage> senderStage,
@@ -88,6 +68,7 @@ public final class TreeTopology implements Topology {
     this.operName = operatorName;
     this.driverId = driverId;
     this.fanOut = fanOut;
+    this.helper = new TreeTopologyHelper(senderStage, groupName, operatorName, driverId);
     LOG.config(getQualifiedName() + "Tree Topology running with a fan-out of " + fanOut);
   }
 
@@ -129,42 +110,8 @@ public final class TreeTopology implements Topology {
       throw new RuntimeException(getQualifiedName() + taskId + " does not exist");
     }
 
-    final int version = getNodeVersion(taskId);
-    final JavaConfigurationBuilder jcb = Tang.Factory.getTang().newConfigurationBuilder();
-    jcb.bindNamedParameter(DataCodec.class, operatorSpec.getDataCodecClass());
-    jcb.bindNamedParameter(TaskVersion.class, Integer.toString(version));
-    if (operatorSpec instanceof BroadcastOperatorSpec) {
-      final BroadcastOperatorSpec broadcastOperatorSpec = (BroadcastOperatorSpec) operatorSpec;
-      if (taskId.equals(broadcastOperatorSpec.getSenderId())) {
-        jcb.bindImplementation(GroupCommOperator.class, BroadcastSender.class);
-      } else {
-        jcb.bindImplementation(GroupCommOperator.class, BroadcastReceiver.class);
-      }
-    } else if (operatorSpec instanceof ReduceOperatorSpec) {
-      final ReduceOperatorSpec reduceOperatorSpec = (ReduceOperatorSpec) operatorSpec;
-      jcb.bindNamedParameter(ReduceFunctionParam.class, reduceOperatorSpec.getRedFuncClass());
-      if (taskId.equals(reduceOperatorSpec.getReceiverId())) {
-        jcb.bindImplementation(GroupCommOperator.class, ReduceReceiver.class);
-      } else {
-        jcb.bindImplementation(GroupCommOperator.class, ReduceSender.class);
-      }
-    } else if (operatorSpec instanceof ScatterOperatorSpec) {
-      final ScatterOperatorSpec scatterOperatorSpec = (ScatterOperatorSpec) operatorSpec;
-      if (taskId.equals(scatterOperatorSpec.getSenderId())) {
-        jcb.bindImplementation(GroupCommOperator.class, ScatterSender.class);
-      } else {
-        jcb.bindImplementation(GroupCommOperator.class, ScatterReceiver.class);
-      }
-    } else if (operatorSpec instanceof GatherOperatorSpec) {
-      final GatherOperatorSpec gatherOperatorSpec = (GatherOperatorSpec) operatorSpec;
-      if (taskId.equals(gatherOperatorSpec.getReceiverId())) {
-        jcb.bindImplementation(GroupCommOperator.class, GatherReceiver.class);
-      } else {
-        jcb.bindImplementation(GroupCommOperator.class, GatherSender.class);
-      }
-    }
-    final Configuration retConf = jcb.build();
-    LOG.exiting("TreeTopology", "getTaskConfig", getQualifiedName() + confSer.toString(retConf));
+    final Configuration retConf = helper.getTaskConfiguration(operatorSpec, taskId, getNodeVersion(taskId));
+    LOG.exiting("TreeTopology", "getTaskConfig", getQualifiedName() + taskId);
     return retConf;
   }
 
@@ -313,59 +260,19 @@ public final class TreeTopology implements Topology {
 
   private void onUpdateTopology(final GroupCommunicationMessage msg) {
     LOG.entering("TreeTopology", "onUpdateTopology", new Object[]{getQualifiedName(), msg});
-    LOG.fine(getQualifiedName() + "Update affected parts of Topology");
     final String dstId = msg.getSrcid();
-    final int version = getNodeVersion(dstId);
-
-    LOG.finest(getQualifiedName() + "Creating NodeTopologyUpdateWaitStage to wait on nodes to be updated");
-    final EventHandler<List<TaskNode>> topoUpdateWaitHandler = new TopologyUpdateWaitHandler(senderStage, groupName,
-        operName, driverId, 0,
-        dstId, version,
-        getQualifiedName(), TopologySerializer.encode(root));
-    final EStage<List<TaskNode>> nodeTopologyUpdateWaitStage = new SingleThreadStage<>("NodeTopologyUpdateWaitStage",
-        topoUpdateWaitHandler,
-        nodes.size());
-
-    final List<TaskNode> toBeUpdatedNodes = new ArrayList<>(nodes.size());
-    LOG.finest(getQualifiedName() + "Checking which nodes need to be updated");
-    for (final TaskNode node : nodes.values()) {
-      if (node.isRunning() && node.hasChanges() && node.resetTopologySetupSent()) {
-        toBeUpdatedNodes.add(node);
-      }
-    }
-    for (final TaskNode node : toBeUpdatedNodes) {
-      node.updatingTopology();
-      LOG.fine(getQualifiedName() + "Asking " + node + " to UpdateTopology");
-      senderStage.onNext(Utils.bldVersionedGCM(groupName, operName,
-          ReefNetworkGroupCommProtos.GroupCommMessage.Type.UpdateTopology, driverId, 0, node.getTaskId(),
-          node.getVersion(), Utils.EMPTY_BYTE_ARR));
-    }
-    nodeTopologyUpdateWaitStage.onNext(toBeUpdatedNodes);
+    helper.onUpdateTopology(dstId, getNodeVersion(dstId), root, nodes.values());
     LOG.exiting("TreeTopology", "onUpdateTopology", getQualifiedName() + msg);
   }
 
   private void onTopologyChanges(final GroupCommunicationMessage msg) {
     LOG.entering("TreeTopology", "onTopologyChanges", new Object[]{getQualifiedName(), msg});
-    LOG.fine(getQualifiedName() + "Check TopologyChanges");
     final String dstId = msg.getSrcid();
-    boolean hasTopologyChanged = false;
-    LOG.finest(getQualifiedName() + "Checking which nodes need to be updated");
-    for (final TaskNode node : nodes.values()) {
-      if (!node.isRunning() || node.hasChanges()) {
-        hasTopologyChanged = true;
-        break;
-      }
-    }
-    final GroupChanges changes = new GroupChangesImpl(hasTopologyChanged);
-    final Codec<GroupChanges> changesCodec = new GroupChangesCodec();
-    LOG.fine(getQualifiedName() + "TopologyChanges: " + changes);
-    senderStage.onNext(Utils.bldVersionedGCM(groupName, operName,
-        ReefNetworkGroupCommProtos.GroupCommMessage.Type.TopologyChanges, driverId, 0, dstId, getNodeVersion(dstId),
-        changesCodec.encode(changes)));
+    helper.onTopologyChanges(dstId, getNodeVersion(dstId), nodes.values());
     LOG.exiting("TreeTopology", "onTopologyChanges", getQualifiedName() + msg);
   }
 
   private String getQualifiedName() {
-    return Utils.simpleName(groupName) + ":" + Utils.simpleName(operName) + " - ";
+    return helper.getQualifiedName();
   }
 }
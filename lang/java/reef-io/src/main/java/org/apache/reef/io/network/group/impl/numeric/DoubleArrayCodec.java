@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.numeric;
+
+import org.apache.reef.io.serialization.Codec;
+
+import javax.inject.Inject;
+import java.nio.ByteBuffer;
+
+/**
+ * Codec for {@code double[]}.
+ * The encoding is the array length followed by the values, both in big-endian byte order,
+ * which is the format {@link DoubleArraySumFunction} reads when combining encoded values.
+ */
+public final class DoubleArrayCodec implements Codec<double[]> {
+
+  @Inject
+  public DoubleArrayCodec() {
+  }
+
+  @Override
+  public byte[] encode(final double[] obj) {
+    final ByteBuffer buffer = ByteBuffer.allocate(Integer.SIZE / Byte.SIZE + obj.length * (Double.SIZE / Byte.SIZE));
+    buffer.putInt(obj.length);
+    buffer.asDoubleBuffer().put(obj);
+    return buffer.array();
+  }
+
+  @Override
+  public double[] decode(final byte[] buf) {
+    final ByteBuffer buffer = ByteBuffer.wrap(buf);
+    final double[] retVal = new double[buffer.getInt()];
+    buffer.asDoubleBuffer().get(retVal);
+    return retVal;
+  }
+}
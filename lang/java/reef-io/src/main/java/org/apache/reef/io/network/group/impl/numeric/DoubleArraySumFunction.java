@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.numeric;
+
+import org.apache.reef.io.network.group.api.operators.Reduce.InPlaceReduceFunction;
+import org.apache.reef.io.serialization.Codec;
+
+import javax.inject.Inject;
+import java.nio.ByteBuffer;
+
+/**
+ * Element-wise sum of {@code double[]} values that folds children's values into one accumulator.
+ * Encoded values, as produced by {@link DoubleArrayCodec}, are bulk-copied into a scratch buffer
+ * that is reused across reduce operations and added with a plain indexed loop.
+ * The scratch buffer is kept per thread, so an instance can be shared by operators that reduce concurrently.
+ */
+public final class DoubleArraySumFunction implements InPlaceReduceFunction<double[]> {
+
+  private final ThreadLocal<double[]> scratch = new ThreadLocal<double[]>() {
+    @Override
+    protected double[] initialValue() {
+      return new double[0];
+    }
+  };
+
+  @Inject
+  public DoubleArraySumFunction() {
+  }
+
+  @Override
+  public double[] apply(final Iterable<double[]> elements) {
+    double[] accumulator = null;
+    for (final double[] element : elements) {
+      accumulator = accumulator == null ? element.clone() : combine(accumulator, element);
+    }
+    return accumulator;
+  }
+
+  @Override
+  public double[] combine(final double[] accumulator, final double[] element) {
+    checkLength(accumulator.length, element.length);
+    add(accumulator, element, element.length);
+    return accumulator;
+  }
+
+  @Override
+  public boolean isEncodedBy(final Codec<double[]> dataCodec) {
+    return dataCodec instanceof DoubleArrayCodec;
+  }
+
+  @Override
+  public double[] combineEncoded(final double[] accumulator, final byte[] encodedElement) {
+    final ByteBuffer buffer = ByteBuffer.wrap(encodedElement);
+    final int length = buffer.getInt();
+    if (accumulator == null) {
+      final double[] retVal = new double[length];
+      buffer.asDoubleBuffer().get(retVal);
+      return retVal;
+    }
+
+    checkLength(accumulator.length, length);
+    double[] values = scratch.get();
+    if (values.length < length) {
+      values = new double[length];
+      scratch.set(values);
+    }
+    buffer.asDoubleBuffer().get(values, 0, length);
+    add(accumulator, values, length);
+    return accumulator;
+  }
+
+  private static void add(final double[] accumulator, final double[] values, final int length) {
+    for (int i = 0; i < length; i++) {
+      accumulator[i] += values[i];
+    }
+  }
+
+  private static void checkLength(final int expected, final int actual) {
+    if (expected != actual) {
+      throw new IllegalArgumentException("Cannot sum arrays of different lengths " + expected + " and " + actual);
+    }
+  }
+}
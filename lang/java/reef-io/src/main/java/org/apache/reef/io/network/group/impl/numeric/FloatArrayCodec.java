@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.numeric;
+
+import org.apache.reef.io.serialization.Codec;
+
+import javax.inject.Inject;
+import java.nio.ByteBuffer;
+
+/**
+ * Codec for {@code float[]}.
+ * The encoding is the array length followed by the values, both in big-endian byte order,
+ * which is the format {@link FloatArraySumFunction} reads when combining encoded values.
+ */
+public final class FloatArrayCodec implements Codec<float[]> {
+
+  @Inject
+  public FloatArrayCodec() {
+  }
+
+  @Override
+  public byte[] encode(final float[] obj) {
+    final ByteBuffer buffer = ByteBuffer.allocate(Integer.SIZE / Byte.SIZE + obj.length * (Float.SIZE / Byte.SIZE));
+    buffer.putInt(obj.length);
+    buffer.asFloatBuffer().put(obj);
+    return buffer.array();
+  }
+
+  @Override
+  public float[] decode(final byte[] buf) {
+    final ByteBuffer buffer = ByteBuffer.wrap(buf);
+    final float[] retVal = new float[buffer.getInt()];
+    buffer.asFloatBuffer().get(retVal);
+    return retVal;
+  }
+}
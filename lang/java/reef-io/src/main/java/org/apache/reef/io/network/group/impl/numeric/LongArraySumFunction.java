@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.numeric;
+
+import org.apache.reef.io.network.group.api.operators.Reduce.InPlaceReduceFunction;
+import org.apache.reef.io.serialization.Codec;
+
+import javax.inject.Inject;
+import java.nio.ByteBuffer;
+
+/**
+ * Element-wise sum of {@code long[]} values that folds children's values into one accumulator.
+ * Encoded values, as produced by {@link LongArrayCodec}, are bulk-copied into a scratch buffer
+ * that is reused across reduce operations and added with a plain indexed loop.
+ * The scratch buffer is kept per thread, so an instance can be shared by operators that reduce concurrently.
+ */
+public final class LongArraySumFunction implements InPlaceReduceFunction<long[]> {
+
+  private final ThreadLocal<long[]> scratch = new ThreadLocal<long[]>() {
+    @Override
+    protected long[] initialValue() {
+      return new long[0];
+    }
+  };
+
+  @Inject
+  public LongArraySumFunction() {
+  }
+
+  @Override
+  public long[] apply(final Iterable<long[]> elements) {
+    long[] accumulator = null;
+    for (final long[] element : elements) {
+      accumulator = accumulator == null ? element.clone() : combine(accumulator, element);
+    }
+    return accumulator;
+  }
+
+  @Override
+  public long[] combine(final long[] accumulator, final long[] element) {
+    checkLength(accumulator.length, element.length);
+    add(accumulator, element, element.length);
+    return accumulator;
+  }
+
+  @Override
+  public boolean isEncodedBy(final Codec<long[]> dataCodec) {
+    return dataCodec instanceof LongArrayCodec;
+  }
+
+  @Override
+  public long[] combineEncoded(final long[] accumulator, final byte[] encodedElement) {
+    final ByteBuffer buffer = ByteBuffer.wrap(encodedElement);
+    final int length = buffer.getInt();
+    if (accumulator == null) {
+      final long[] retVal = new long[length];
+      buffer.asLongBuffer().get(retVal);
+      return retVal;
+    }
+
+    checkLength(accumulator.length, length);
+    long[] values = scratch.get();
+    if (values.length < length) {
+      values = new long[length];
+      scratch.set(values);
+    }
+    buffer.asLongBuffer().get(values, 0, length);
+    add(accumulator, values, length);
+    return accumulator;
+  }
+
+  private static void add(final long[] accumulator, final long[] values, final int length) {
+    for (int i = 0; i < length; i++) {
+      accumulator[i] += values[i];
+    }
+  }
+
+  private static void checkLength(final int expected, final int actual) {
+    if (expected != actual) {
+      throw new IllegalArgumentException("Cannot sum arrays of different lengths " + expected + " and " + actual);
+    }
+  }
+}
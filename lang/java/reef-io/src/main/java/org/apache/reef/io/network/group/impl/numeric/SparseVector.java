@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.numeric;
+
+import java.util.Arrays;
+
+/**
+ * A vector of doubles that stores only its non-zero entries, as parallel arrays of
+ * strictly increasing indices and their values.
+ * The vector is mutable so that {@link SparseVectorSumFunction} can merge into it in place.
+ */
+public final class SparseVector {
+
+  private int dimension;
+  private int[] indices;
+  private double[] values;
+  private int numNonZeros;
+
+  /**
+   * Create a vector with copies of the given entries.
+   *
+   * @param dimension the dimension of the vector
+   * @param indices strictly increasing indices of the entries, all smaller than {@code dimension}
+   * @param values values of the entries
+   */
+  public SparseVector(final int dimension, final int[] indices, final double[] values) {
+    if (indices.length != values.length) {
+      throw new IllegalArgumentException("Got " + indices.length + " indices but " + values.length + " values");
+    }
+    for (int i = 0; i < indices.length; i++) {
+      if (indices[i] < 0 || indices[i] >= dimension || i > 0 && indices[i] <= indices[i - 1]) {
+        throw new IllegalArgumentException("Index " + indices[i] + " at position " + i
+            + " is out of order or out of range for dimension " + dimension);
+      }
+    }
+    this.dimension = dimension;
+    this.indices = indices.clone();
+    this.values = values.clone();
+    this.numNonZeros = indices.length;
+  }
+
+  /**
+   * Create an empty vector of the given dimension.
+   */
+  public SparseVector(final int dimension) {
+    this(dimension, new int[0], new double[0], 0);
+  }
+
+  /**
+   * Create a vector that uses the given arrays, whose first {@code numNonZeros} entries are valid, without copying.
+   */
+  private SparseVector(final int dimension, final int[] indices, final double[] values, final int numNonZeros) {
+    this.dimension = dimension;
+    this.indices = indices;
+    this.values = values;
+    this.numNonZeros = numNonZeros;
+  }
+
+  /**
+   * Create a sparse vector from the non-zero entries of a dense array.
+   */
+  public static SparseVector fromDense(final double[] dense) {
+    int count = 0;
+    for (final double value : dense) {
+      if (value != 0) {
+        count++;
+      }
+    }
+    final SparseVector retVal = new SparseVector(dense.length);
+    retVal.reset(dense.length, count);
+    for (int i = 0; i < dense.length; i++) {
+      if (dense[i] != 0) {
+        retVal.indices[retVal.numNonZeros] = i;
+        retVal.values[retVal.numNonZeros] = dense[i];
+        retVal.numNonZeros++;
+      }
+    }
+    return retVal;
+  }
+
+  /**
+   * @return a dense array holding the values of this vector
+   */
+  public double[] toDense() {
+    final double[] retVal = new double[dimension];
+    for (int i = 0; i < numNonZeros; i++) {
+      retVal[indices[i]] = values[i];
+    }
+    return retVal;
+  }
+
+  /**
+   * @return a copy of this vector that does not share its entries
+   */
+  public SparseVector copy() {
+    return new SparseVector(dimension, Arrays.copyOf(indices, numNonZeros), Arrays.copyOf(values, numNonZeros),
+        numNonZeros);
+  }
+
+  public int getDimension() {
+    return dimension;
+  }
+
+  /**
+   * @return the number of stored entries
+   */
+  public int getNumNonZeros() {
+    return numNonZeros;
+  }
+
+  /**
+   * @return the index of the i-th stored entry
+   */
+  public int getIndex(final int i) {
+    checkPosition(i);
+    return indices[i];
+  }
+
+  /**
+   * @return the value of the i-th stored entry
+   */
+  public double getValue(final int i) {
+    checkPosition(i);
+    return values[i];
+  }
+
+  /**
+   * @return the value at {@code index} of the vector
+   */
+  public double get(final int index) {
+    final int position = Arrays.binarySearch(indices, 0, numNonZeros, index);
+    return position < 0 ? 0 : values[position];
+  }
+
+  int[] getIndices() {
+    return indices;
+  }
+
+  double[] getValues() {
+    return values;
+  }
+
+  /**
+   * Replace the entries of this vector by the first {@code count} entries of the given arrays.
+   */
+  void setEntries(final int[] newIndices, final double[] newValues, final int count) {
+    this.indices = newIndices;
+    this.values = newValues;
+    this.numNonZeros = count;
+  }
+
+  /**
+   * Clear this vector and make sure it has room for {@code capacity} entries,
+   * reusing its arrays when they are large enough.
+   */
+  void reset(final int newDimension, final int capacity) {
+    this.dimension = newDimension;
+    if (indices.length < capacity) {
+      indices = new int[capacity];
+      values = new double[capacity];
+    }
+    numNonZeros = 0;
+  }
+
+  /**
+   * Append an entry whose index is larger than those of all entries of this vector.
+   * The vector must have room for it.
+   */
+  void append(final int index, final double value) {
+    indices[numNonZeros] = index;
+    values[numNonZeros] = value;
+    numNonZeros++;
+  }
+
+  private void checkPosition(final int i) {
+    if (i < 0 || i >= numNonZeros) {
+      throw new IndexOutOfBoundsException("Entry " + i + " of " + numNonZeros);
+    }
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final SparseVector that = (SparseVector) o;
+    if (dimension != that.dimension || numNonZeros != that.numNonZeros) {
+      return false;
+    }
+    for (int i = 0; i < numNonZeros; i++) {
+      if (indices[i] != that.indices[i] || Double.compare(values[i], that.values[i]) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = dimension;
+    for (int i = 0; i < numNonZeros; i++) {
+      final long bits = Double.doubleToLongBits(values[i]);
+      result = 31 * result + indices[i];
+      result = 31 * result + (int) (bits ^ (bits >>> 32));
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("SparseVector(").append(dimension).append(")[");
+    for (int i = 0; i < numNonZeros; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(indices[i]).append(':').append(values[i]);
+    }
+    return sb.append(']').toString();
+  }
+}
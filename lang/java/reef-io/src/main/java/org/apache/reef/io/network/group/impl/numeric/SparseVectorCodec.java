@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.numeric;
+
+import org.apache.reef.io.serialization.Codec;
+
+import javax.inject.Inject;
+import java.nio.ByteBuffer;
+
+/**
+ * Codec for {@link SparseVector}.
+ * The encoding starts with the dimension and the number of entries. A sparse vector is written as its
+ * indices followed by its values, which costs 12 bytes per entry. Once the vector is dense enough that
+ * writing every value is smaller, i.e. past a density of 2/3, the number of entries is written as
+ * {@code -1} and followed by all {@code dimension} values instead.
+ * All numbers are in big-endian byte order.
+ */
+public final class SparseVectorCodec implements Codec<SparseVector> {
+
+  private static final int INT_BYTES = Integer.SIZE / Byte.SIZE;
+  private static final int DOUBLE_BYTES = Double.SIZE / Byte.SIZE;
+  private static final int DENSE = -1;
+
+  @Inject
+  public SparseVectorCodec() {
+  }
+
+  @Override
+  public byte[] encode(final SparseVector obj) {
+    final int dimension = obj.getDimension();
+    final int numNonZeros = obj.getNumNonZeros();
+    final long sparseSize = (long) numNonZeros * (INT_BYTES + DOUBLE_BYTES);
+    final long denseSize = (long) dimension * DOUBLE_BYTES;
+
+    if (sparseSize < denseSize) {
+      final ByteBuffer buffer = ByteBuffer.allocate((int) (2 * INT_BYTES + sparseSize));
+      buffer.putInt(dimension);
+      buffer.putInt(numNonZeros);
+      buffer.asIntBuffer().put(obj.getIndices(), 0, numNonZeros);
+      buffer.position(buffer.position() + numNonZeros * INT_BYTES);
+      buffer.asDoubleBuffer().put(obj.getValues(), 0, numNonZeros);
+      return buffer.array();
+    } else {
+      final ByteBuffer buffer = ByteBuffer.allocate((int) (2 * INT_BYTES + denseSize));
+      buffer.putInt(dimension);
+      buffer.putInt(DENSE);
+      buffer.asDoubleBuffer().put(obj.toDense());
+      return buffer.array();
+    }
+  }
+
+  @Override
+  public SparseVector decode(final byte[] buf) {
+    final SparseVector retVal = new SparseVector(0);
+    decodeInto(buf, retVal);
+    return retVal;
+  }
+
+  /**
+   * Decode an encoded vector into {@code target}, reusing its arrays when they are large enough.
+   * Zero values of a dense encoding are not stored.
+   */
+  static void decodeInto(final byte[] buf, final SparseVector target) {
+    final ByteBuffer buffer = ByteBuffer.wrap(buf);
+    final int dimension = buffer.getInt();
+    final int numEntries = buffer.getInt();
+
+    if (numEntries != DENSE) {
+      target.reset(dimension, numEntries);
+      buffer.asIntBuffer().get(target.getIndices(), 0, numEntries);
+      buffer.position(buffer.position() + numEntries * INT_BYTES);
+      buffer.asDoubleBuffer().get(target.getValues(), 0, numEntries);
+      target.setEntries(target.getIndices(), target.getValues(), numEntries);
+    } else {
+      target.reset(dimension, dimension);
+      for (int i = 0; i < dimension; i++) {
+        final double value = buffer.getDouble();
+        if (value != 0) {
+          target.append(i, value);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.numeric;
+
+import org.apache.reef.io.network.group.api.operators.Reduce.InPlaceReduceFunction;
+import org.apache.reef.io.serialization.Codec;
+
+import javax.inject.Inject;
+
+/**
+ * Sum of {@link SparseVector} values that merges the entries of children's values into one accumulator,
+ * so that combining costs time proportional to the number of non-zero entries and inner nodes of the
+ * reduce tree never densify their partial sums.
+ * Merged entries are written to buffers kept by this function, which are then swapped with the arrays
+ * of the accumulator, so buffers are reused across merges. Encoded values, as produced by
+ * {@link SparseVectorCodec}, are decoded into a reused scratch vector.
+ * The buffers are kept per thread, so an instance can be shared by operators that reduce concurrently.
+ */
+public final class SparseVectorSumFunction implements InPlaceReduceFunction<SparseVector> {
+
+  private final ThreadLocal<Buffers> buffers = new ThreadLocal<Buffers>() {
+    @Override
+    protected Buffers initialValue() {
+      return new Buffers();
+    }
+  };
+
+  @Inject
+  public SparseVectorSumFunction() {
+  }
+
+  @Override
+  public SparseVector apply(final Iterable<SparseVector> elements) {
+    SparseVector accumulator = null;
+    for (final SparseVector element : elements) {
+      accumulator = accumulator == null ? element.copy() : combine(accumulator, element);
+    }
+    return accumulator;
+  }
+
+  @Override
+  public SparseVector combine(final SparseVector accumulator, final SparseVector element) {
+    if (accumulator.getDimension() != element.getDimension()) {
+      throw new IllegalArgumentException("Cannot sum vectors of different dimensions "
+          + accumulator.getDimension() + " and " + element.getDimension());
+    }
+    merge(accumulator, element);
+    return accumulator;
+  }
+
+  @Override
+  public boolean isEncodedBy(final Codec<SparseVector> dataCodec) {
+    return dataCodec instanceof SparseVectorCodec;
+  }
+
+  @Override
+  public SparseVector combineEncoded(final SparseVector accumulator, final byte[] encodedElement) {
+    if (accumulator == null) {
+      return new SparseVectorCodec().decode(encodedElement);
+    }
+    final SparseVector scratch = buffers.get().scratch;
+    SparseVectorCodec.decodeInto(encodedElement, scratch);
+    return combine(accumulator, scratch);
+  }
+
+  private void merge(final SparseVector accumulator, final SparseVector element) {
+    final int accCount = accumulator.getNumNonZeros();
+    final int elemCount = element.getNumNonZeros();
+    if (elemCount == 0) {
+      return;
+    }
+    final int capacity = accCount + elemCount;
+    final Buffers buf = buffers.get();
+    if (buf.mergedIndices.length < capacity) {
+      buf.mergedIndices = new int[capacity];
+      buf.mergedValues = new double[capacity];
+    }
+    final int[] mergedIndices = buf.mergedIndices;
+    final double[] mergedValues = buf.mergedValues;
+
+    final int[] accIndices = accumulator.getIndices();
+    final double[] accValues = accumulator.getValues();
+    final int[] elemIndices = element.getIndices();
+    final double[] elemValues = element.getValues();
+    int i = 0;
+    int j = 0;
+    int count = 0;
+    while (i < accCount && j < elemCount) {
+      if (accIndices[i] < elemIndices[j]) {
+        mergedIndices[count] = accIndices[i];
+        mergedValues[count++] = accValues[i++];
+      } else if (accIndices[i] > elemIndices[j]) {
+        mergedIndices[count] = elemIndices[j];
+        mergedValues[count++] = elemValues[j++];
+      } else {
+        mergedIndices[count] = accIndices[i];
+        mergedValues[count++] = accValues[i++] + elemValues[j++];
+      }
+    }
+    for (; i < accCount; i++, count++) {
+      mergedIndices[count] = accIndices[i];
+      mergedValues[count] = accValues[i];
+    }
+    for (; j < elemCount; j++, count++) {
+      mergedIndices[count] = elemIndices[j];
+      mergedValues[count] = elemValues[j];
+    }
+
+    accumulator.setEntries(mergedIndices, mergedValues, count);
+    buf.mergedIndices = accIndices;
+    buf.mergedValues = accValues;
+  }
+
+  /**
+   * The buffers of one thread.
+   */
+  private static final class Buffers {
+    private int[] mergedIndices = new int[0];
+    private double[] mergedValues = new double[0];
+    private final SparseVector scratch = new SparseVector(0);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.operators;
+
+import org.apache.reef.io.network.group.api.operators.GroupCommCallback;
+import org.apache.reef.wake.impl.DefaultThreadFactory;
+
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the asynchronous operations of a single group communication operator.
+ * An operator's topology can serve only one operation at a time, so operations of the same operator
+ * run one after another in submission order, while each operator has its own executor so that
+ * operations of different operators of a communication group can be in flight at the same time.
+ * The executor thread is created on demand and exits when the operator has been idle for a while.
+ */
+public final class AsyncOperationExecutor {
+
+  private static final Logger LOG = Logger.getLogger(AsyncOperationExecutor.class.getName());
+
+  private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 10;
+
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * @param operatorName name of the operator, used to name the executor thread
+   */
+  public AsyncOperationExecutor(final String operatorName) {
+    this.executor = new ThreadPoolExecutor(1, 1, IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(), new DefaultThreadFactory(operatorName + "-async"));
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Queue an operation for execution after all previously submitted operations have completed.
+   *
+   * @param operation the blocking operation to run
+   * @param callback callback to notify when the operation completes; may be null
+   * @return a future that holds the result of the operation
+   */
+  public <T> Future<T> submit(final Callable<T> operation, final GroupCommCallback<T> callback) {
+    final FutureTask<T> task = new FutureTask<T>(operation) {
+      @Override
+      protected void done() {
+        if (callback == null || isCancelled()) {
+          return;
+        }
+        try {
+          callback.onSuccess(get());
+        } catch (final ExecutionException e) {
+          callback.onFailure(e.getCause());
+        } catch (final InterruptedException e) {
+          callback.onFailure(e);
+        } catch (final RuntimeException e) {
+          LOG.log(Level.WARNING, "Callback of asynchronous group communication operation threw an exception", e);
+        }
+      }
+    };
+    executor.execute(task);
+    return task;
+  }
+}
@@ -22,6 +22,7 @@ import org.apache.reef.driver.task.TaskConfigurationOptions;
 import org.apache.reef.exception.evaluator.NetworkException;
 import org.apache.reef.io.network.exception.ParentDeadException;
 import org.apache.reef.io.network.group.api.operators.Broadcast;
+import org.apache.reef.io.network.group.api.operators.GroupCommCallback;
 import org.apache.reef.io.network.group.impl.config.parameters.*;
 import org.apache.reef.io.network.impl.NetworkService;
 import org.apache.reef.io.network.group.api.task.CommGroupNetworkHandler;
@@ -38,6 +39,8 @@ import org.apache.reef.wake.EventHandler;
 
 import javax.inject.Inject;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
@@ -47,6 +50,7 @@ public class BroadcastSender<T> implements Broadcast.Sender<T>, EventHandler<Gro
 
   private final Class<? extends Name<String>> groupName;
   private final Class<? extends Name<String>> operName;
+  private final AsyncOperationExecutor asyncExecutor;
   private final CommGroupNetworkHandler commGroupNetworkHandler;
   private final Codec<T> dataCodec;
   private final NetworkService<GroupCommunicationMessage> netService;
@@ -75,6 +79,7 @@ public class BroadcastSender<T> implements Broadcast.Sender<T>, EventHandler<Gro
     LOG.finest(operName + "has CommGroupHandler-" + commGroupNetworkHandler.toString());
     this.groupName = Utils.getClass(groupName);
     this.operName = Utils.getClass(operName);
+    this.asyncExecutor = new AsyncOperationExecutor(Utils.simpleName(this.operName));
     this.dataCodec = dataCodec;
     this.commGroupNetworkHandler = commGroupNetworkHandler;
     this.netService = netService;
@@ -133,4 +138,14 @@ public class BroadcastSender<T> implements Broadcast.Sender<T>, EventHandler<Gro
     LOG.exiting("BroadcastSender", "send", this);
   }
 
+  @Override
+  public Future<Void> sendAsync(final T element, final GroupCommCallback<Void> callback) {
+    return asyncExecutor.submit(new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        send(element);
+        return null;
+      }
+    }, callback);
+  }
 }
@@ -20,7 +20,9 @@ package org.apache.reef.io.network.group.impl.operators;
 
 import org.apache.reef.driver.task.TaskConfigurationOptions;
 import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.Tuple;
 import org.apache.reef.io.network.exception.ParentDeadException;
+import org.apache.reef.io.network.group.api.operators.GroupCommCallback;
 import org.apache.reef.io.network.group.api.operators.Gather;
 import org.apache.reef.io.network.group.api.task.CommGroupNetworkHandler;
 import org.apache.reef.io.network.group.api.task.CommunicationGroupServiceClient;
@@ -28,6 +30,7 @@ import org.apache.reef.io.network.group.api.task.OperatorTopology;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
 import org.apache.reef.io.network.group.impl.config.parameters.*;
 import org.apache.reef.io.network.group.impl.task.OperatorTopologyImpl;
+import org.apache.reef.io.network.group.impl.utils.GatherDecoder;
 import org.apache.reef.io.network.group.impl.utils.Utils;
 import org.apache.reef.io.network.impl.NetworkService;
 import org.apache.reef.io.serialization.Codec;
@@ -37,10 +40,9 @@ import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.Identifier;
 
 import javax.inject.Inject;
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -51,7 +53,9 @@ public class GatherReceiver<T> implements Gather.Receiver<T>, EventHandler<Group
 
   private final Class<? extends Name<String>> groupName;
   private final Class<? extends Name<String>> operName;
+  private final AsyncOperationExecutor asyncExecutor;
   private final Codec<T> dataCodec;
+  private final GatherDecoder<T> gatherDecoder;
   private final OperatorTopology topology;
   private final CommunicationGroupServiceClient commGroupClient;
   private final AtomicBoolean init = new AtomicBoolean(false);
@@ -71,7 +75,9 @@ public class GatherReceiver<T> implements Gather.Receiver<T>, EventHandler<Group
     this.version = version;
     this.groupName = Utils.getClass(groupName);
     this.operName = Utils.getClass(operName);
+    this.asyncExecutor = new AsyncOperationExecutor(Utils.simpleName(this.operName));
     this.dataCodec = dataCodec;
+    this.gatherDecoder = new GatherDecoder<>(dataCodec);
     this.topology = new OperatorTopologyImpl(this.groupName, this.operName,
                                              selfId, driverId, new Sender(netService), version);
     this.commGroupClient = commGroupClient;
@@ -148,8 +154,33 @@ public class GatherReceiver<T> implements Gather.Receiver<T>, EventHandler<Group
     return retList;
   }
 
+  @Override
+  public void receive(final EventHandler<Tuple<String, T>> elementHandler)
+      throws NetworkException, InterruptedException {
+    LOG.entering("GatherReceiver", "receive", elementHandler);
+    receiveElements(elementHandler);
+    LOG.exiting("GatherReceiver", "receive");
+  }
+
   private Map<String, T> receiveMapOfTaskIdToData() {
     LOG.entering("GatherReceiver", "receiveMapOfTaskIdToData");
+    final Map<String, T> mapOfTaskIdToData = new HashMap<>();
+    receiveElements(new EventHandler<Tuple<String, T>>() {
+      @Override
+      public void onNext(final Tuple<String, T> element) {
+        mapOfTaskIdToData.put(element.getKey(), element.getValue());
+      }
+    });
+    LOG.exiting("GatherReceiver", "receiveMapOfTaskIdToData");
+    return mapOfTaskIdToData;
+  }
+
+  /**
+   * Decode the message of every child as soon as it arrives,
+   * instead of concatenating all messages and decoding them at the end.
+   */
+  private void receiveElements(final EventHandler<Tuple<String, T>> elementHandler) {
+    LOG.entering("GatherReceiver", "receiveElements");
     // I am root.
     LOG.fine("I am " + this);
 
@@ -159,31 +190,31 @@ public class GatherReceiver<T> implements Gather.Receiver<T>, EventHandler<Group
       LOG.fine(this + " Communication group initialized.");
     }
 
-    final Map<String, T> mapOfTaskIdToData = new HashMap<>();
     try {
       LOG.fine(this + " Waiting for children.");
-      final byte[] gatheredDataFromChildren = topology.recvFromChildren();
-
       LOG.fine("Using " + dataCodec.getClass().getSimpleName() + " as codec.");
-      try (final ByteArrayInputStream bstream = new ByteArrayInputStream(gatheredDataFromChildren);
-           final DataInputStream dstream = new DataInputStream(bstream)) {
-        while (dstream.available() > 0) {
-          final String identifier = dstream.readUTF();
-          final int dataLength = dstream.readInt();
-          final byte[] data = new byte[dataLength];
-          dstream.readFully(data);
-          mapOfTaskIdToData.put(identifier, dataCodec.decode(data));
+      topology.recvFromChildren(new EventHandler<byte[]>() {
+        @Override
+        public void onNext(final byte[] childData) {
+          gatherDecoder.decode(childData, elementHandler);
         }
-        LOG.fine(this + " Successfully received gathered data.");
-      }
+      });
+      LOG.fine(this + " Successfully received gathered data.");
 
     } catch (final ParentDeadException e) {
       throw new RuntimeException("ParentDeadException", e);
-    } catch (final IOException e) {
-      throw new RuntimeException("IOException", e);
     }
 
-    LOG.exiting("GatherReceiver", "receiveMapOfTaskIdToData");
-    return mapOfTaskIdToData;
+    LOG.exiting("GatherReceiver", "receiveElements");
+  }
+
+  @Override
+  public Future<List<T>> receiveAsync(final GroupCommCallback<List<T>> callback) {
+    return asyncExecutor.submit(new Callable<List<T>>() {
+      @Override
+      public List<T> call() throws Exception {
+        return receive();
+      }
+    }, callback);
   }
 }
@@ -21,6 +21,7 @@ package org.apache.reef.io.network.group.impl.operators;
 import org.apache.reef.driver.task.TaskConfigurationOptions;
 import org.apache.reef.exception.evaluator.NetworkException;
 import org.apache.reef.io.network.exception.ParentDeadException;
+import org.apache.reef.io.network.group.api.operators.GroupCommCallback;
 import org.apache.reef.io.network.group.api.operators.Gather;
 import org.apache.reef.io.network.group.api.task.CommGroupNetworkHandler;
 import org.apache.reef.io.network.group.api.task.CommunicationGroupServiceClient;
@@ -40,6 +41,8 @@ import javax.inject.Inject;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
@@ -49,6 +52,7 @@ public class GatherSender<T> implements Gather.Sender<T>, EventHandler<GroupComm
 
   private final Class<? extends Name<String>> groupName;
   private final Class<? extends Name<String>> operName;
+  private final AsyncOperationExecutor asyncExecutor;
   private final Codec<T> dataCodec;
   private final NetworkService<GroupCommunicationMessage> netService;
   private final OperatorTopology topology;
@@ -70,6 +74,7 @@ public class GatherSender<T> implements Gather.Sender<T>, EventHandler<GroupComm
     this.version = version;
     this.groupName = Utils.getClass(groupName);
     this.operName = Utils.getClass(operName);
+    this.asyncExecutor = new AsyncOperationExecutor(Utils.simpleName(this.operName));
     this.dataCodec = dataCodec;
     this.netService = netService;
     this.topology = new OperatorTopologyImpl(this.groupName, this.operName,
@@ -127,8 +132,6 @@ public class GatherSender<T> implements Gather.Sender<T>, EventHandler<GroupComm
     }
 
     try {
-      LOG.finest(this + " Waiting for children.");
-      final byte[] gatheredData = topology.recvFromChildren();
       final byte[] encodedMyData = dataCodec.encode(myData);
 
       try (final ByteArrayOutputStream bstream = new ByteArrayOutputStream();
@@ -136,7 +139,14 @@ public class GatherSender<T> implements Gather.Sender<T>, EventHandler<GroupComm
         dstream.writeUTF(netService.getMyId().toString());
         dstream.writeInt(encodedMyData.length);
         dstream.write(encodedMyData);
-        dstream.write(gatheredData);
+
+        LOG.finest(this + " Waiting for children.");
+        topology.recvFromChildren(new EventHandler<byte[]>() {
+          @Override
+          public void onNext(final byte[] childData) {
+            bstream.write(childData, 0, childData.length);
+          }
+        });
         final byte[] mergedData = bstream.toByteArray();
 
         LOG.fine(this + " Sending merged value to parent.");
@@ -149,4 +159,15 @@ public class GatherSender<T> implements Gather.Sender<T>, EventHandler<GroupComm
     }
     LOG.exiting("GatherSender", "send");
   }
+
+  @Override
+  public Future<Void> sendAsync(final T element, final GroupCommCallback<Void> callback) {
+    return asyncExecutor.submit(new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        send(element);
+        return null;
+      }
+    }, callback);
+  }
 }
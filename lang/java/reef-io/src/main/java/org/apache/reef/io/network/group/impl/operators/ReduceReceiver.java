@@ -21,6 +21,7 @@ package org.apache.reef.io.network.group.impl.operators;
 import org.apache.reef.driver.task.TaskConfigurationOptions;
 import org.apache.reef.exception.evaluator.NetworkException;
 import org.apache.reef.io.network.exception.ParentDeadException;
+import org.apache.reef.io.network.group.api.operators.GroupCommCallback;
 import org.apache.reef.io.network.group.api.operators.Reduce;
 import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
 import org.apache.reef.io.network.impl.NetworkService;
@@ -40,6 +41,8 @@ import org.apache.reef.wake.Identifier;
 import javax.inject.Inject;
 
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
@@ -49,6 +52,7 @@ public class ReduceReceiver<T> implements Reduce.Receiver<T>, EventHandler<Group
 
   private final Class<? extends Name<String>> groupName;
   private final Class<? extends Name<String>> operName;
+  private final AsyncOperationExecutor asyncExecutor;
   private final CommGroupNetworkHandler commGroupNetworkHandler;
   private final Codec<T> dataCodec;
   private final NetworkService<GroupCommunicationMessage> netService;
@@ -79,6 +83,7 @@ public class ReduceReceiver<T> implements Reduce.Receiver<T>, EventHandler<Group
     LOG.finest(operName + " has CommGroupHandler-" + commGroupNetworkHandler.toString());
     this.groupName = Utils.getClass(groupName);
     this.operName = Utils.getClass(operName);
+    this.asyncExecutor = new AsyncOperationExecutor(Utils.simpleName(this.operName));
     this.dataCodec = dataCodec;
     this.reduceFunction = reduceFunction;
     this.commGroupNetworkHandler = commGroupNetworkHandler;
@@ -150,4 +155,13 @@ public class ReduceReceiver<T> implements Reduce.Receiver<T>, EventHandler<Group
     return reduceFunction;
   }
 
+  @Override
+  public Future<T> reduceAsync(final GroupCommCallback<T> callback) {
+    return asyncExecutor.submit(new Callable<T>() {
+      @Override
+      public T call() throws Exception {
+        return reduce();
+      }
+    }, callback);
+  }
 }
@@ -21,6 +21,7 @@ package org.apache.reef.io.network.group.impl.operators;
 import org.apache.reef.driver.task.TaskConfigurationOptions;
 import org.apache.reef.exception.evaluator.NetworkException;
 import org.apache.reef.io.network.exception.ParentDeadException;
+import org.apache.reef.io.network.group.api.operators.GroupCommCallback;
 import org.apache.reef.io.network.group.api.operators.Reduce;
 import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
 import org.apache.reef.io.network.impl.NetworkService;
@@ -40,6 +41,8 @@ import org.apache.reef.wake.EventHandler;
 import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -50,6 +53,7 @@ public class ReduceSender<T> implements Reduce.Sender<T>, EventHandler<GroupComm
 
   private final Class<? extends Name<String>> groupName;
   private final Class<? extends Name<String>> operName;
+  private final AsyncOperationExecutor asyncExecutor;
   private final CommGroupNetworkHandler commGroupNetworkHandler;
   private final Codec<T> dataCodec;
   private final NetworkService<GroupCommunicationMessage> netService;
@@ -85,6 +89,7 @@ public class ReduceSender<T> implements Reduce.Sender<T>, EventHandler<GroupComm
     this.version = version;
     this.groupName = Utils.getClass(groupName);
     this.operName = Utils.getClass(operName);
+    this.asyncExecutor = new AsyncOperationExecutor(Utils.simpleName(this.operName));
     this.dataCodec = dataCodec;
     this.reduceFunction = reduceFunction;
     this.commGroupNetworkHandler = commGroupNetworkHandler;
@@ -138,12 +143,19 @@ public class ReduceSender<T> implements Reduce.Sender<T>, EventHandler<GroupComm
     // Wait for children to send
     try {
       final T reducedValueOfChildren = topology.recvFromChildren(reduceFunction, dataCodec);
-      final List<T> vals = new ArrayList<>(2);
-      vals.add(myData);
-      if (reducedValueOfChildren != null) {
-        vals.add(reducedValueOfChildren);
+      final T reducedValue;
+      if (reduceFunction instanceof Reduce.InPlaceReduceFunction) {
+        // The accumulator of the children's values is owned by this operator, so myData is folded into it.
+        reducedValue = reducedValueOfChildren == null ? myData
+            : ((Reduce.InPlaceReduceFunction<T>) reduceFunction).combine(reducedValueOfChildren, myData);
+      } else {
+        final List<T> vals = new ArrayList<>(2);
+        vals.add(myData);
+        if (reducedValueOfChildren != null) {
+          vals.add(reducedValueOfChildren);
+        }
+        reducedValue = reduceFunction.apply(vals);
       }
-      final T reducedValue = reduceFunction.apply(vals);
       topology.sendToParent(dataCodec.encode(reducedValue), ReefNetworkGroupCommProtos.GroupCommMessage.Type.Reduce);
     } catch (final ParentDeadException e) {
       throw new RuntimeException("ParentDeadException", e);
@@ -155,4 +167,15 @@ public class ReduceSender<T> implements Reduce.Sender<T>, EventHandler<GroupComm
   public ReduceFunction<T> getReduceFunction() {
     return reduceFunction;
   }
+
+  @Override
+  public Future<Void> sendAsync(final T element, final GroupCommCallback<Void> callback) {
+    return asyncExecutor.submit(new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        send(element);
+        return null;
+      }
+    }, callback);
+  }
 }
@@ -21,6 +21,7 @@ package org.apache.reef.io.network.group.impl.operators;
 import org.apache.reef.driver.task.TaskConfigurationOptions;
 import org.apache.reef.exception.evaluator.NetworkException;
 import org.apache.reef.io.network.exception.ParentDeadException;
+import org.apache.reef.io.network.group.api.operators.GroupCommCallback;
 import org.apache.reef.io.network.group.api.operators.Scatter;
 import org.apache.reef.io.network.group.api.task.CommGroupNetworkHandler;
 import org.apache.reef.io.network.group.api.task.CommunicationGroupServiceClient;
@@ -41,6 +42,8 @@ import org.apache.reef.wake.EventHandler;
 import javax.inject.Inject;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
@@ -50,6 +53,7 @@ public final class ScatterReceiver<T> implements Scatter.Receiver<T>, EventHandl
 
   private final Class<? extends Name<String>> groupName;
   private final Class<? extends Name<String>> operName;
+  private final AsyncOperationExecutor asyncExecutor;
   private final Codec<T> dataCodec;
   private final OperatorTopology topology;
   private final AtomicBoolean init = new AtomicBoolean(false);
@@ -72,6 +76,7 @@ public final class ScatterReceiver<T> implements Scatter.Receiver<T>, EventHandl
     this.version = version;
     this.groupName = Utils.getClass(groupName);
     this.operName = Utils.getClass(operName);
+    this.asyncExecutor = new AsyncOperationExecutor(Utils.simpleName(this.operName));
     this.dataCodec = dataCodec;
     this.scatterDecoder = scatterDecoder;
     this.topology = new OperatorTopologyImpl(this.groupName, this.operName,
@@ -157,4 +162,14 @@ public final class ScatterReceiver<T> implements Scatter.Receiver<T>, EventHandl
       throw new RuntimeException("ParentDeadException", e);
     }
   }
+
+  @Override
+  public Future<List<T>> receiveAsync(final GroupCommCallback<List<T>> callback) {
+    return asyncExecutor.submit(new Callable<List<T>>() {
+      @Override
+      public List<T> call() throws Exception {
+        return receive();
+      }
+    }, callback);
+  }
 }
@@ -21,6 +21,7 @@ package org.apache.reef.io.network.group.impl.operators;
 import org.apache.reef.driver.task.TaskConfigurationOptions;
 import org.apache.reef.exception.evaluator.NetworkException;
 import org.apache.reef.io.network.exception.ParentDeadException;
+import org.apache.reef.io.network.group.api.operators.GroupCommCallback;
 import org.apache.reef.io.network.group.api.operators.Scatter;
 import org.apache.reef.io.network.group.api.task.CommGroupNetworkHandler;
 import org.apache.reef.io.network.group.api.task.CommunicationGroupServiceClient;
@@ -43,6 +44,8 @@ import javax.inject.Inject;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
@@ -52,6 +55,7 @@ public final class ScatterSender<T> implements Scatter.Sender<T>, EventHandler<G
 
   private final Class<? extends Name<String>> groupName;
   private final Class<? extends Name<String>> operName;
+  private final AsyncOperationExecutor asyncExecutor;
   private final Codec<T> dataCodec;
   private final OperatorTopology topology;
   private final AtomicBoolean init = new AtomicBoolean(false);
@@ -74,6 +78,7 @@ public final class ScatterSender<T> implements Scatter.Sender<T>, EventHandler<G
     this.version = version;
     this.groupName = Utils.getClass(groupName);
     this.operName = Utils.getClass(operName);
+    this.asyncExecutor = new AsyncOperationExecutor(Utils.simpleName(this.operName));
     this.dataCodec = dataCodec;
     this.scatterEncoder = scatterEncoder;
     this.topology = new OperatorTopologyImpl(this.groupName, this.operName,
@@ -196,4 +201,15 @@ public final class ScatterSender<T> implements Scatter.Sender<T>, EventHandler<G
 
     LOG.exiting("ScatterSender", "send");
   }
+
+  @Override
+  public Future<Void> sendAsync(final List<T> elements, final GroupCommCallback<Void> callback) {
+    return asyncExecutor.submit(new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        send(elements);
+        return null;
+      }
+    }, callback);
+  }
 }
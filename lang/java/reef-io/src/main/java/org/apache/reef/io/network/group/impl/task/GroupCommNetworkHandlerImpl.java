@@ -21,12 +21,12 @@ package org.apache.reef.io.network.group.impl.task;
 import org.apache.reef.io.network.Message;
 import org.apache.reef.io.network.group.api.task.GroupCommNetworkHandler;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.utils.Utils;
 import org.apache.reef.tang.annotations.Name;
 import org.apache.reef.wake.EventHandler;
 
 import javax.inject.Inject;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
@@ -45,16 +45,9 @@ public class GroupCommNetworkHandlerImpl implements GroupCommNetworkHandler {
   @Override
   public void onNext(final Message<GroupCommunicationMessage> mesg) {
     LOG.entering("GroupCommNetworkHandlerImpl", "onNext", mesg);
-    final Iterator<GroupCommunicationMessage> iter = mesg.getData().iterator();
-    final GroupCommunicationMessage msg = iter.hasNext() ? iter.next() : null;
-    if (msg != null) {
-      try {
-        final Class<? extends Name<String>> groupName =
-            (Class<? extends Name<String>>) Class.forName(msg.getGroupname());
-        commGroupHandlers.get(groupName).onNext(msg);
-      } catch (final ClassNotFoundException e) {
-        throw new RuntimeException("GroupName not found", e);
-      }
+    // the driver batches control messages to the same task into one network message
+    for (final GroupCommunicationMessage msg : mesg.getData()) {
+      commGroupHandlers.get(Utils.getClass(msg.getGroupname())).onNext(msg);
     }
     LOG.exiting("GroupCommNetworkHandlerImpl", "onNext", mesg);
   }
@@ -257,6 +257,15 @@ public class OperatorTopologyImpl implements OperatorTopology {
     return retVal;
   }
 
+  @Override
+  public void recvFromChildren(final EventHandler<byte[]> childDataHandler) throws ParentDeadException {
+    LOG.entering("OperatorTopologyImpl", "recvFromChildren", new Object[]{getQualifiedName(), childDataHandler});
+    refreshEffectiveTopology();
+    assert effectiveTopology != null;
+    effectiveTopology.recvFromChildren(childDataHandler);
+    LOG.exiting("OperatorTopologyImpl", "recvFromChildren", getQualifiedName());
+  }
+
   /**
    * Only refreshes the effective topology with deletion msgs from.
    * deletionDeltas queue
@@ -18,8 +18,8 @@
  */
 package org.apache.reef.io.network.group.impl.task;
 
-import org.apache.commons.lang.ArrayUtils;
 import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.network.group.api.operators.Reduce.InPlaceReduceFunction;
 import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
 import org.apache.reef.io.network.group.api.task.NodeStruct;
 import org.apache.reef.io.network.group.api.task.OperatorTopologyStruct;
@@ -29,6 +29,7 @@ import org.apache.reef.io.network.group.impl.utils.Utils;
 import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
 import org.apache.reef.io.serialization.Codec;
 import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.wake.EventHandler;
 
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
@@ -336,6 +337,12 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
   public <T> T recvFromChildren(final ReduceFunction<T> redFunc, final Codec<T> dataCodec) {
     LOG.entering("OperatorTopologyStructImpl", "recvFromChildren", new Object[]{getQualifiedName(), redFunc,
         dataCodec});
+    if (redFunc instanceof InPlaceReduceFunction) {
+      final T retVal = recvFromChildrenInPlace((InPlaceReduceFunction<T>) redFunc, dataCodec);
+      LOG.exiting("OperatorTopologyStructImpl", "recvFromChildren", getQualifiedName());
+      return retVal;
+    }
+
     final List<T> retLst = new ArrayList<>(2);
     for (final NodeStruct child : children) {
       childrenToRcvFrom.add(child.getId());
@@ -362,21 +369,80 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
     return retVal;
   }
 
+  /**
+   * Receive data from all children and fold every child's value into a single accumulator.
+   * The encoded values are folded directly if the reduce function understands the data codec,
+   * otherwise they are decoded with the data codec first.
+   *
+   * @param redFunc in-place reduce function to combine the values with
+   * @param dataCodec the data codec of the operator
+   * @return the combined value, or null if no child sent a value
+   */
+  private <T> T recvFromChildrenInPlace(final InPlaceReduceFunction<T> redFunc, final Codec<T> dataCodec) {
+    final boolean combineEncoded = redFunc.isEncodedBy(dataCodec);
+    for (final NodeStruct child : children) {
+      childrenToRcvFrom.add(child.getId());
+    }
+
+    T accumulator = null;
+    while (!childrenToRcvFrom.isEmpty()) {
+      LOG.finest(getQualifiedName() + "Waiting for some child to send data");
+      final NodeStruct child = nodesWithDataTakeUnsafe();
+      final byte[] retVal = recvFromNodeCheckBigMsg(child,
+          ReefNetworkGroupCommProtos.GroupCommMessage.Type.Reduce);
+
+      if (retVal != null) {
+        if (combineEncoded) {
+          accumulator = redFunc.combineEncoded(accumulator, retVal);
+        } else {
+          final T value = dataCodec.decode(retVal);
+          accumulator = accumulator == null ? value : redFunc.combine(accumulator, value);
+        }
+      }
+      childrenToRcvFrom.remove(child.getId());
+    }
+    return accumulator;
+  }
+
   /**
    * Receive data from all children as a single byte array.
    * Messages from children are simply byte-concatenated.
-   * This method is currently used only by the Gather operator.
+   * The messages are kept as separate segments while receiving and are copied
+   * into the result only once, after all children have reported.
    *
    * @return gathered data as a byte array
    */
   @Override
   public byte[] recvFromChildren() {
     LOG.entering("OperatorTopologyStructImpl", "recvFromChildren", getQualifiedName());
+    final List<byte[]> segments = new ArrayList<>(children.size());
+    recvFromChildren(new EventHandler<byte[]>() {
+      @Override
+      public void onNext(final byte[] childData) {
+        segments.add(childData);
+      }
+    });
+
+    final byte[] retVal = Utils.concat(segments);
+    LOG.exiting("OperatorTopologyStructImpl", "recvFromChildren", getQualifiedName());
+    return retVal;
+  }
+
+  /**
+   * Receive data from all children, passing the message of each child to
+   * {@code childDataHandler} in the order the children report.
+   * This method is currently used only by the Gather operator.
+   *
+   * @param childDataHandler handler that is invoked once for every message received from a child
+   */
+  @Override
+  public void recvFromChildren(final EventHandler<byte[]> childDataHandler) {
+    LOG.entering("OperatorTopologyStructImpl", "recvFromChildren", new Object[]{getQualifiedName(),
+        childDataHandler});
     for (final NodeStruct child : children) {
       childrenToRcvFrom.add(child.getId());
     }
 
-    byte[] retVal = new byte[0];
     while (!childrenToRcvFrom.isEmpty()) {
       LOG.finest(getQualifiedName() + "Waiting for some child to send data");
       final NodeStruct child = nodesWithDataTakeUnsafe();
@@ -384,13 +450,12 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
           ReefNetworkGroupCommProtos.GroupCommMessage.Type.Gather);
 
       if (receivedVal != null) {
-        retVal = ArrayUtils.addAll(retVal, receivedVal);
+        childDataHandler.onNext(receivedVal);
       }
       childrenToRcvFrom.remove(child.getId());
     }
 
     LOG.exiting("OperatorTopologyStructImpl", "recvFromChildren", getQualifiedName());
-    return retVal;
   }
 
   private boolean removedDeadMsg(final String msgSrcId, final int msgSrcVersion) {
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.utils;
+
+import org.apache.reef.io.Tuple;
+import org.apache.reef.io.network.impl.StreamingCodec;
+import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.wake.EventHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * Decode messages that were created by {@code GatherSender}, one child message at a time.
+ * A message is a sequence of (task identifier, encoded data length, encoded data) records.
+ * If the data codec is also a {@link StreamingCodec}, elements are decoded directly from the message
+ * instead of being copied into an intermediate byte array first.
+ */
+public final class GatherDecoder<T> {
+
+  private final Codec<T> dataCodec;
+
+  public GatherDecoder(final Codec<T> dataCodec) {
+    this.dataCodec = dataCodec;
+  }
+
+  /**
+   * Decode all elements contained in {@code data}, passing each one to {@code elementHandler}
+   * together with the identifier of the task that sent it.
+   *
+   * @param data a message received from a child during gather
+   * @param elementHandler handler that is invoked once for every decoded element
+   */
+  public void decode(final byte[] data, final EventHandler<Tuple<String, T>> elementHandler) {
+    try (final DataInputStream dstream = new DataInputStream(new ByteArrayInputStream(data))) {
+      while (dstream.available() > 0) {
+        final String identifier = dstream.readUTF();
+        final int dataLength = dstream.readInt();
+        elementHandler.onNext(new Tuple<>(identifier, decodeElement(dstream, identifier, dataLength)));
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException("IOException", e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private T decodeElement(final DataInputStream dstream, final String identifier, final int dataLength)
+      throws IOException {
+    if (dataCodec instanceof StreamingCodec) {
+      final int availableBefore = dstream.available();
+      final T element = ((StreamingCodec<T>) dataCodec).decodeFromStream(dstream);
+      final int unread = dataLength - (availableBefore - dstream.available());
+      if (unread > 0) {
+        dstream.skipBytes(unread);
+      } else if (unread < 0) {
+        throw new IOException("The codec read " + -unread + " bytes past the " + dataLength +
+            " bytes of the element of " + identifier);
+      }
+      return element;
+    }
+
+    final byte[] encodedElement = new byte[dataLength];
+    dstream.readFully(encodedElement);
+    return dataCodec.decode(encodedElement);
+  }
+}
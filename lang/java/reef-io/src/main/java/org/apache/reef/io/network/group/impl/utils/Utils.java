@@ -24,6 +24,9 @@ import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
 import org.apache.reef.tang.annotations.Name;
 
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Utility class for group communications.
@@ -32,6 +35,13 @@ public final class Utils {
 
   public static final byte[] EMPTY_BYTE_ARR = new byte[0];
 
+  /**
+   * Group and operator names are looked up and printed for every control message,
+   * so resolved classes and simple names are cached.
+   */
+  private static final ConcurrentMap<String, Class<? extends Name<String>>> CLASS_CACHE = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<Class<?>, String> SIMPLE_NAME_CACHE = new ConcurrentHashMap<>();
+
   public static GroupCommunicationMessage bldVersionedGCM(final Class<? extends Name<String>> groupName,
                                                           final Class<? extends Name<String>> operName,
                                                           final ReefNetworkGroupCommProtos.GroupCommMessage.Type
@@ -44,8 +54,14 @@ public final class Utils {
   }
 
   public static Class<? extends Name<String>> getClass(final String className) {
+    final Class<? extends Name<String>> cachedClass = CLASS_CACHE.get(className);
+    if (cachedClass != null) {
+      return cachedClass;
+    }
     try {
-      return (Class<? extends Name<String>>) Class.forName(className);
+      final Class<? extends Name<String>> clazz = (Class<? extends Name<String>>) Class.forName(className);
+      CLASS_CACHE.putIfAbsent(className, clazz);
+      return clazz;
     } catch (final ClassNotFoundException e) {
       throw new RuntimeException("Unable to find class " + className, e);
     }
@@ -53,7 +69,12 @@ public final class Utils {
 
   public static String simpleName(final Class<?> className) {
     if (className != null) {
-      return className.getSimpleName();
+      String simpleName = SIMPLE_NAME_CACHE.get(className);
+      if (simpleName == null) {
+        simpleName = className.getSimpleName();
+        SIMPLE_NAME_CACHE.putIfAbsent(className, simpleName);
+      }
+      return simpleName;
     } else {
       return "NULL";
     }
@@ -81,6 +102,27 @@ public final class Utils {
     }
   }
 
+  /**
+   * Concatenate byte array segments into a single byte array, copying every segment exactly once.
+   *
+   * @param segments byte arrays to concatenate, in order
+   * @return a byte array holding the contents of all segments
+   */
+  public static byte[] concat(final List<byte[]> segments) {
+    int totalLength = 0;
+    for (final byte[] segment : segments) {
+      totalLength += segment.length;
+    }
+
+    final byte[] retVal = new byte[totalLength];
+    int offset = 0;
+    for (final byte[] segment : segments) {
+      System.arraycopy(segment, 0, retVal, offset, segment.length);
+      offset += segment.length;
+    }
+    return retVal;
+  }
+
   /**
    * Empty private constructor to prohibit instantiation of utility class.
    */
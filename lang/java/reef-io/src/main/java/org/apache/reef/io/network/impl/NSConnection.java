@@ -110,6 +110,13 @@ class NSConnection<T> implements Connection<T> {
     this.link.write(new NSMessage<T>(this.srcId, this.destId, messages));
   }
 
+  /**
+   * Does nothing: each message is written to the link right away.
+   */
+  @Override
+  public void flush() {
+  }
+
   /**
    * Closes the connection and unregisters it from the service.
    */
@@ -34,6 +34,24 @@ final class NetworkConnection<T> implements Connection<T> {
   private final Identifier destId;
   private final AtomicBoolean closed;
   private final NetworkConnectionFactory<T> connFactory;
+  private final int batchSize;
+  /**
+   * Identifier of the (connection factory, source, destination) header of the messages of this connection.
+   */
+  private final int headerId;
+
+  /**
+   * Whether the header has been defined on the current link. Guarded by this.
+   */
+  private boolean headerDefined;
+  /**
+   * Messages written but not sent yet, or null if there are none. Guarded by this.
+   */
+  private List<T> pendingBatch;
+  /**
+   * Number of batches sent so far, used to skip timer flushes of batches that were already sent. Guarded by this.
+   */
+  private long numBatches;
 
   /**
    * Constructs a connection for destination identifier of NetworkConnectionService.
@@ -46,35 +64,103 @@ final class NetworkConnection<T> implements Connection<T> {
     this.connFactory = connFactory;
     this.destId = destId;
     this.closed = new AtomicBoolean();
+    this.batchSize = connFactory.getBatchSize();
+    this.headerId = connFactory.newHeaderId();
   }
 
   @Override
-  public void open() throws NetworkException {
+  public synchronized void open() throws NetworkException {
     link = connFactory.openLink(destId);
+    headerDefined = false;
+  }
+
+  @Override
+  public synchronized void write(final List<T> messageList) {
+    // keep the order of messages that are still waiting in the buffer
+    sendPendingBatch();
+    send(messageList);
+  }
+
+  /**
+   * Writes a message to the connection.
+   * If batching is enabled, the message is buffered and sent together with the other messages written
+   * to this connection, once the batch is full, the batch delay has passed or the connection is flushed.
+   * @param message a message
+   */
+  @Override
+  public synchronized void write(final T message) {
+    if (batchSize > 1) {
+      if (pendingBatch == null) {
+        pendingBatch = new ArrayList<>(batchSize);
+        pendingBatch.add(message);
+        scheduleFlush(numBatches);
+      } else {
+        pendingBatch.add(message);
+        if (pendingBatch.size() >= batchSize) {
+          sendPendingBatch();
+        }
+      }
+    } else {
+      final List<T> messageList = new ArrayList<>(1);
+      messageList.add(message);
+      send(messageList);
+    }
   }
 
   @Override
-  public void write(final List<T> messageList) {
+  public synchronized void flush() {
+    sendPendingBatch();
+  }
+
+  private void scheduleFlush(final long batchNumber) {
+    connFactory.scheduleFlush(new Runnable() {
+      @Override
+      public void run() {
+        synchronized (NetworkConnection.this) {
+          if (numBatches == batchNumber) {
+            sendPendingBatch();
+          }
+        }
+      }
+    });
+  }
+
+  private void sendPendingBatch() {
+    if (pendingBatch != null) {
+      final List<T> batch = pendingBatch;
+      pendingBatch = null;
+      numBatches++;
+      send(batch);
+    }
+  }
+
+  /**
+   * Sends messages over the link. Messages are encoded and written to the link while holding the lock
+   * of this connection, so the message defining the header reaches the receiver before the messages
+   * referring to it.
+   */
+  private void send(final List<T> messageList) {
     final NetworkConnectionServiceMessage<T> nsMessage = new NetworkConnectionServiceMessage<>(
         connFactory.getConnectionFactoryId().toString(),
         connFactory.getLocalEndPointId(),
         destId,
-        messageList);
+        messageList,
+        headerId,
+        !headerDefined);
     link.write(nsMessage);
-  }
-
-  @Override
-  public void write(final T message) {
-    final List<T> messageList = new ArrayList<>(1);
-    messageList.add(message);
-    write(messageList);
+    headerDefined = true;
   }
 
   @Override
   public void close() {
     if (closed.compareAndSet(false, true)) {
       connFactory.removeConnection(this.destId);
-      link = null;
+      synchronized (this) {
+        if (link != null) {
+          sendPendingBatch();
+        }
+        link = null;
+      }
     }
   }
 
@@ -43,6 +43,7 @@ final class NetworkConnectionFactory<T> implements ConnectionFactory<T> {
   private final LinkListener<Message<T>> eventListener;
   private final Identifier localEndPointId;
   private final NetworkConnectionServiceImpl networkService;
+  private final boolean isStreamingCodec;
 
   NetworkConnectionFactory(
       final NetworkConnectionServiceImpl networkService,
@@ -55,6 +56,7 @@ final class NetworkConnectionFactory<T> implements ConnectionFactory<T> {
     this.connectionMap = new ConcurrentHashMap<>();
     this.connectionFactoryId = connectionFactoryId;
     this.eventCodec = eventCodec;
+    this.isStreamingCodec = eventCodec instanceof StreamingCodec;
     this.eventHandler = eventHandler;
     this.eventListener = eventListener;
     this.localEndPointId = localEndPointId;
@@ -80,6 +82,27 @@ final class NetworkConnectionFactory<T> implements ConnectionFactory<T> {
     return networkService.openLink(connectionFactoryId, remoteId);
   }
 
+  int newHeaderId() {
+    return networkService.newHeaderId();
+  }
+
+  int getBatchSize() {
+    return networkService.getBatchSize();
+  }
+
+  void scheduleFlush(final Runnable flushTask) {
+    networkService.scheduleFlush(flushTask);
+  }
+
+  /**
+   * Sends the messages buffered by the connections of this factory.
+   */
+  void flushConnections() {
+    for (final Connection<T> connection : connectionMap.values()) {
+      connection.flush();
+    }
+  }
+
   @Override
   public Identifier getConnectionFactoryId() {
     return connectionFactoryId;
@@ -105,4 +128,8 @@ final class NetworkConnectionFactory<T> implements ConnectionFactory<T> {
   Codec<T> getCodec() {
     return eventCodec;
   }
+
+  boolean isStreamingCodec() {
+    return isStreamingCodec;
+  }
 }
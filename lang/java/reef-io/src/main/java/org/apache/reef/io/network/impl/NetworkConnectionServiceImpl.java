@@ -24,6 +24,8 @@ import org.apache.reef.io.network.ConnectionFactory;
 import org.apache.reef.io.network.Message;
 import org.apache.reef.io.network.NetworkConnectionService;
 import org.apache.reef.io.network.exception.NetworkRuntimeException;
+import org.apache.reef.io.network.impl.config.NetworkConnectionServiceBatchDelay;
+import org.apache.reef.io.network.impl.config.NetworkConnectionServiceBatchSize;
 import org.apache.reef.io.network.impl.config.NetworkConnectionServiceIdFactory;
 import org.apache.reef.io.network.impl.config.NetworkConnectionServicePort;
 import org.apache.reef.io.network.naming.NameResolver;
@@ -32,6 +34,7 @@ import org.apache.reef.wake.EStage;
 import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.Identifier;
 import org.apache.reef.wake.IdentifierFactory;
+import org.apache.reef.wake.impl.DefaultThreadFactory;
 import org.apache.reef.wake.impl.SingleThreadStage;
 import org.apache.reef.wake.remote.Codec;
 import org.apache.reef.wake.remote.impl.TransportEvent;
@@ -39,13 +42,19 @@ import org.apache.reef.wake.remote.transport.Link;
 import org.apache.reef.wake.remote.transport.LinkListener;
 import org.apache.reef.wake.remote.transport.Transport;
 import org.apache.reef.wake.remote.transport.TransportFactory;
+import org.apache.reef.wake.remote.transport.netty.NettyMessagingTransport;
 
 import javax.inject.Inject;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -76,7 +85,7 @@ public final class NetworkConnectionServiceImpl implements NetworkConnectionServ
   /**
    * A network connection service message codec.
    */
-  private final Codec<NetworkConnectionServiceMessage> nsCodec;
+  private final NetworkConnectionServiceMessageCodec nsCodec;
   /**
    * A network connection service link listener.
    */
@@ -89,6 +98,22 @@ public final class NetworkConnectionServiceImpl implements NetworkConnectionServ
    * A stage unregistering identifiers from nameServer.
    */
   private final EStage<Identifier> nameServiceUnregisteringStage;
+  /**
+   * Maximum number of messages a connection buffers before sending them as one envelope.
+   */
+  private final int batchSize;
+  /**
+   * Maximum time in milliseconds a buffered message waits before its batch is sent.
+   */
+  private final long batchDelay;
+  /**
+   * A timer flushing partially filled batches. Null if batching is disabled.
+   */
+  private final ScheduledExecutorService batchFlusher;
+  /**
+   * A counter generating the identifiers of message headers sent by connections.
+   */
+  private final AtomicInteger headerIdCounter;
   /**
    * A boolean flag that indicates whether the NetworkConnectionService is closed.
    */
@@ -102,6 +127,8 @@ public final class NetworkConnectionServiceImpl implements NetworkConnectionServ
   private NetworkConnectionServiceImpl(
       @Parameter(NetworkConnectionServiceIdFactory.class) final IdentifierFactory idFactory,
       @Parameter(NetworkConnectionServicePort.class) final int nsPort,
+      @Parameter(NetworkConnectionServiceBatchSize.class) final int batchSize,
+      @Parameter(NetworkConnectionServiceBatchDelay.class) final long batchDelay,
       final TransportFactory transportFactory,
       final NameResolver nameResolver) {
     this.idFactory = idFactory;
@@ -113,6 +140,14 @@ public final class NetworkConnectionServiceImpl implements NetworkConnectionServ
     this.nameResolver = nameResolver;
     this.transport = transportFactory.newInstance(nsPort, recvHandler, recvHandler,
         new NetworkConnectionServiceExceptionHandler());
+    if (transport instanceof NettyMessagingTransport) {
+      ((NettyMessagingTransport) transport).registerLinkClosedHandler(new EventHandler<SocketAddress>() {
+        @Override
+        public void onNext(final SocketAddress remoteAddress) {
+          nsCodec.onLinkClosed(remoteAddress);
+        }
+      });
+    }
 
     this.nameServiceRegisteringStage = new SingleThreadStage<>(
         "NameServiceRegisterer", new EventHandler<Tuple<Identifier, InetSocketAddress>>() {
@@ -144,6 +179,15 @@ public final class NetworkConnectionServiceImpl implements NetworkConnectionServ
           }
         }, 5);
 
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size should be positive, but was " + batchSize);
+    }
+    this.batchSize = batchSize;
+    this.batchDelay = batchDelay;
+    this.batchFlusher = batchSize > 1 ?
+        new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory("NetworkConnectionServiceBatchFlusher")) : null;
+
+    this.headerIdCounter = new AtomicInteger();
     this.isClosed = new AtomicBoolean();
   }
 
@@ -182,6 +226,7 @@ public final class NetworkConnectionServiceImpl implements NetworkConnectionServ
       throw new NetworkRuntimeException("ConnectionFactory " + connectionFactoryId + " was already registered.");
     }
 
+    nsCodec.onConnectionFactoryChanged(id);
     LOG.log(Level.INFO, "ConnectionFactory {0} was registered", id);
 
     return connectionFactory;
@@ -192,6 +237,7 @@ public final class NetworkConnectionServiceImpl implements NetworkConnectionServ
     final String id = connFactoryId.toString();
     final NetworkConnectionFactory connFactory = connFactoryMap.remove(id);
     if (connFactory != null) {
+      nsCodec.onConnectionFactoryChanged(id);
       LOG.log(Level.INFO, "ConnectionFactory {0} was unregistered", id);
 
       final Identifier localId = getEndPointIdWithConnectionFactoryId(
@@ -224,6 +270,33 @@ public final class NetworkConnectionServiceImpl implements NetworkConnectionServ
   }
 
 
+  /**
+   * @return a new identifier for the message header of a connection, unique within this service
+   */
+  int newHeaderId() {
+    return headerIdCounter.getAndIncrement();
+  }
+
+  /**
+   * @return the maximum number of messages a connection buffers, or 1 if batching is disabled.
+   */
+  int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Schedules a flush of the given connection after the batch delay.
+   * @param flushTask a task sending the batch buffered by a connection
+   */
+  void scheduleFlush(final Runnable flushTask) {
+    try {
+      batchFlusher.schedule(flushTask, batchDelay, TimeUnit.MILLISECONDS);
+    } catch (final RejectedExecutionException e) {
+      // the service is shutting down: send the batch right away
+      flushTask.run();
+    }
+  }
+
   private Identifier getEndPointIdWithConnectionFactoryId(
       final Identifier connectionFactoryId, final Identifier endPointId) {
     final String identifier = connectionFactoryId.toString() + DELIMITER + endPointId.toString();
@@ -247,6 +320,12 @@ public final class NetworkConnectionServiceImpl implements NetworkConnectionServ
   public void close() throws Exception {
     if (isClosed.compareAndSet(false, true)) {
       LOG.log(Level.FINE, "Shutting down");
+      if (this.batchFlusher != null) {
+        this.batchFlusher.shutdownNow();
+        for (final NetworkConnectionFactory connFactory : connFactoryMap.values()) {
+          connFactory.flushConnections();
+        }
+      }
       this.nameServiceRegisteringStage.close();
       this.nameServiceUnregisteringStage.close();
       this.nameResolver.close();
@@ -36,6 +36,8 @@ final class NetworkConnectionServiceMessage<T> implements Message<T> {
   private final String connFactoryId;
   private final Identifier srcId;
   private final Identifier destId;
+  private final int headerId;
+  private final boolean headerDefinition;
 
   /**
    * Constructs a network connection service message.
@@ -50,10 +52,33 @@ final class NetworkConnectionServiceMessage<T> implements Message<T> {
       final Identifier srcId,
       final Identifier destId,
       final List<T> messages) {
+    this(connFactoryId, srcId, destId, messages, -1, false);
+  }
+
+  /**
+   * Constructs a network connection service message to be sent over a link.
+   *
+   * @param connFactoryId the connection factory identifier
+   * @param srcId      the source identifier of NetworkConnectionService
+   * @param destId   the destination identifier of NetworkConnectionService
+   * @param messages  the list of messages
+   * @param headerId the identifier of the (connection factory, source, destination) header on the link
+   * @param headerDefinition whether the message defines the header on the link, which is the case for the
+   *                         first message sent with the header
+   */
+  NetworkConnectionServiceMessage(
+      final String connFactoryId,
+      final Identifier srcId,
+      final Identifier destId,
+      final List<T> messages,
+      final int headerId,
+      final boolean headerDefinition) {
     this.connFactoryId = connFactoryId;
     this.srcId = srcId;
     this.destId = destId;
     this.messages = messages;
+    this.headerId = headerId;
+    this.headerDefinition = headerDefinition;
   }
 
   void setRemoteAddress(final SocketAddress remoteAddress) {
@@ -90,6 +115,14 @@ final class NetworkConnectionServiceMessage<T> implements Message<T> {
     return srcId;
   }
 
+  int getHeaderId() {
+    return headerId;
+  }
+
+  boolean isHeaderDefinition() {
+    return headerDefinition;
+  }
+
   @Override
   public List<T> getData() {
     return messages;
@@ -18,11 +18,15 @@
  */
 package org.apache.reef.io.network.impl;
 
+import org.apache.reef.io.network.exception.NetworkRuntimeException;
 import org.apache.reef.wake.Identifier;
 import org.apache.reef.wake.IdentifierFactory;
 import org.apache.reef.wake.remote.Codec;
+import org.apache.reef.wake.remote.Encoder;
 
 import java.io.*;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -34,19 +38,45 @@ import java.util.logging.Logger;
 /**
  * DefaultNetworkMessageCodec implementation.
  * This codec encodes/decodes NetworkConnectionServiceMessageImpl according to the type <T>.
+ *
+ * The (connection factory id, source id, destination id) header of a message is sent only once per connection.
+ * The first message of a connection defines the header under an integer identifier, and the following messages
+ * refer to the header by that identifier:
+ * <pre>
+ *   int: -(headerId + 1) for a definition, followed by the three ids as UTF strings, or headerId for a reference
+ *   int: the number of data, followed by the encoded data
+ * </pre>
+ * A connection sends its messages in order over a single link, and the receiver decodes the messages of a link
+ * in order, so a definition always precedes the references to it.
+ * Since a message can only be decoded together with the link it was received from, this is an {@link Encoder}
+ * for the transport, and messages are decoded with {@link #decode(byte[], SocketAddress)}.
+ * The headers defined by a link are dropped when the link is closed.
  */
-final class NetworkConnectionServiceMessageCodec implements Codec<NetworkConnectionServiceMessage> {
+final class NetworkConnectionServiceMessageCodec implements Encoder<NetworkConnectionServiceMessage> {
   private static final Logger LOG = Logger.getLogger(NetworkConnectionServiceMessageCodec.class.getName());
 
+  private static final int INT_SIZE = Integer.SIZE / Byte.SIZE;
+
+  /**
+   * A buffer per thread that messages are encoded into, reused so that encoding does not grow a new buffer
+   * for every message.
+   */
+  private static final ThreadLocal<EncodingBuffer> ENCODING_BUFFER = new ThreadLocal<EncodingBuffer>() {
+    @Override
+    protected EncodingBuffer initialValue() {
+      return new EncodingBuffer();
+    }
+  };
+
   private final IdentifierFactory factory;
   /**
    * Contains entries of (id of connection factory, instance of connection factory).
    */
   private final Map<String, NetworkConnectionFactory> connFactoryMap;
   /**
-   * Contains entries of (instance of codec, boolean whether the codec is streaming or not).
+   * Contains entries of (remote address of a link, headers defined by the messages received from the link).
    */
-  private final ConcurrentMap<Codec, Boolean> isStreamingCodecMap;
+  private final ConcurrentMap<SocketAddress, ConcurrentMap<Integer, Header>> headerMap;
 
   /**
    * Constructs a network connection service message codec.
@@ -56,7 +86,7 @@ final class NetworkConnectionServiceMessageCodec implements Codec<NetworkConnect
       final Map<String, NetworkConnectionFactory> connFactoryMap) {
     this.factory = factory;
     this.connFactoryMap = connFactoryMap;
-    this.isStreamingCodecMap = new ConcurrentHashMap<>();
+    this.headerMap = new ConcurrentHashMap<>();
   }
 
   /**
@@ -66,62 +96,78 @@ final class NetworkConnectionServiceMessageCodec implements Codec<NetworkConnect
    */
   @Override
   public byte[] encode(final NetworkConnectionServiceMessage obj) {
-    final Codec codec = connFactoryMap.get(obj.getConnectionFactoryId()).getCodec();
-    Boolean isStreamingCodec = isStreamingCodecMap.get(codec);
-    if (isStreamingCodec == null) {
-      isStreamingCodec = codec instanceof StreamingCodec;
-      isStreamingCodecMap.putIfAbsent(codec, isStreamingCodec);
-    }
+    final NetworkConnectionFactory connFactory = connFactoryMap.get(obj.getConnectionFactoryId());
+    final Codec codec = connFactory.getCodec();
+    final EncodingBuffer buffer = ENCODING_BUFFER.get();
 
-    try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-      try (final DataOutputStream daos = new DataOutputStream(baos)) {
+    try {
+      buffer.reset();
+      final DataOutputStream daos = buffer.getDataOutputStream();
+      if (obj.isHeaderDefinition()) {
+        daos.writeInt(-(obj.getHeaderId() + 1));
         daos.writeUTF(obj.getConnectionFactoryId());
         daos.writeUTF(obj.getSrcId().toString());
         daos.writeUTF(obj.getDestId().toString());
-        daos.writeInt(obj.getData().size());
+      } else {
+        daos.writeInt(obj.getHeaderId());
+      }
+      daos.writeInt(obj.getData().size());
 
-        if (isStreamingCodec) {
-          for (final Object rec : obj.getData()) {
-            ((StreamingCodec) codec).encodeToStream(rec, daos);
-          }
-        } else {
-          final Iterable dataList = obj.getData();
-          for (final Object message : dataList) {
-            final byte[] bytes = codec.encode(message);
-            daos.writeInt(bytes.length);
-            daos.write(bytes);
-          }
+      if (connFactory.isStreamingCodec()) {
+        for (final Object rec : obj.getData()) {
+          ((StreamingCodec) codec).encodeToStream(rec, daos);
         }
-        return baos.toByteArray();
+        return buffer.toByteArray();
+      } else {
+        return encodeData(buffer, codec, obj.getData());
       }
     } catch (final IOException e) {
       throw new RuntimeException("IOException", e);
+    } finally {
+      buffer.trim();
+    }
+  }
+
+  /**
+   * Encodes the data of a message with a non-streaming codec.
+   * The encoded data is copied once, into a byte array of the exact size of the message.
+   */
+  private static byte[] encodeData(final EncodingBuffer header, final Codec codec, final List dataList) {
+    final byte[][] encodedData = new byte[dataList.size()][];
+    int size = header.size();
+    for (int i = 0; i < encodedData.length; i++) {
+      encodedData[i] = codec.encode(dataList.get(i));
+      size += INT_SIZE + encodedData[i].length;
+    }
+
+    final ByteBuffer result = ByteBuffer.allocate(size);
+    header.writeTo(result);
+    for (final byte[] bytes : encodedData) {
+      result.putInt(bytes.length);
+      result.put(bytes);
     }
+    return result.array();
   }
 
   /**
-   * Decodes a network connection service message from bytes.
+   * Decodes a network connection service message received from a link.
    *
    * @param data bytes
+   * @param remoteAddress the remote address of the link that the message was received from
    * @return a message
    */
-  @Override
-  public NetworkConnectionServiceMessage decode(final byte[] data) {
+  NetworkConnectionServiceMessage decode(final byte[] data, final SocketAddress remoteAddress) {
     try (final ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
       try (final DataInputStream dais = new DataInputStream(bais)) {
-        final String connFactoryId = dais.readUTF();
-        final Identifier srcId = factory.getNewInstance(dais.readUTF());
-        final Identifier destId = factory.getNewInstance(dais.readUTF());
+        final Header header = readHeader(dais, remoteAddress);
         final int size = dais.readInt();
         final List list = new ArrayList(size);
-        final Codec codec = connFactoryMap.get(connFactoryId).getCodec();
-        Boolean isStreamingCodec = isStreamingCodecMap.get(codec);
-        if (isStreamingCodec == null) {
-          isStreamingCodec = codec instanceof StreamingCodec;
-          isStreamingCodecMap.putIfAbsent(codec, isStreamingCodec);
+        if (header.connFactory == null) {
+          throw new NetworkRuntimeException("ConnectionFactory " + header.connFactoryId + " is not registered");
         }
+        final Codec codec = header.connFactory.getCodec();
 
-        if (isStreamingCodec) {
+        if (header.connFactory.isStreamingCodec()) {
           for (int i = 0; i < size; i++) {
             list.add(((StreamingCodec) codec).decodeFromStream(dais));
           }
@@ -137,9 +183,9 @@ final class NetworkConnectionServiceMessageCodec implements Codec<NetworkConnect
         }
 
         return new NetworkConnectionServiceMessage(
-            connFactoryId,
-            srcId,
-            destId,
+            header.connFactoryId,
+            header.srcId,
+            header.destId,
             list
         );
       }
@@ -148,4 +194,109 @@ final class NetworkConnectionServiceMessageCodec implements Codec<NetworkConnect
     }
   }
 
+  /**
+   * Drops the headers defined by a link. Called when the link is closed.
+   *
+   * @param remoteAddress the remote address of the link
+   */
+  void onLinkClosed(final SocketAddress remoteAddress) {
+    if (headerMap.remove(remoteAddress) != null) {
+      LOG.log(Level.FINER, "Dropped the message headers of the closed link from {0}", remoteAddress);
+    }
+  }
+
+  /**
+   * Binds the cached headers of a connection factory to the factory currently registered under its id,
+   * or to none if it was unregistered. Senders keep referring to headers they defined before the
+   * factory was registered again, so the headers are kept and only the factory is replaced.
+   *
+   * @param connFactoryId the id of a connection factory that was registered or unregistered
+   */
+  void onConnectionFactoryChanged(final String connFactoryId) {
+    final NetworkConnectionFactory connFactory = connFactoryMap.get(connFactoryId);
+    for (final ConcurrentMap<Integer, Header> linkHeaders : headerMap.values()) {
+      for (final Map.Entry<Integer, Header> entry : linkHeaders.entrySet()) {
+        final Header header = entry.getValue();
+        if (header.connFactoryId.equals(connFactoryId)) {
+          linkHeaders.replace(entry.getKey(), header,
+              new Header(connFactoryId, header.srcId, header.destId, connFactory));
+        }
+      }
+    }
+  }
+
+  private Header readHeader(final DataInputStream dais, final SocketAddress remoteAddress) throws IOException {
+    ConcurrentMap<Integer, Header> linkHeaders = headerMap.get(remoteAddress);
+    if (linkHeaders == null) {
+      headerMap.putIfAbsent(remoteAddress, new ConcurrentHashMap<Integer, Header>());
+      linkHeaders = headerMap.get(remoteAddress);
+    }
+
+    final int headerId = dais.readInt();
+    if (headerId < 0) {
+      final String connFactoryId = dais.readUTF();
+      final Header header = new Header(
+          connFactoryId,
+          factory.getNewInstance(dais.readUTF()),
+          factory.getNewInstance(dais.readUTF()),
+          connFactoryMap.get(connFactoryId));
+      linkHeaders.put(-headerId - 1, header);
+      return header;
+    }
+
+    final Header header = linkHeaders.get(headerId);
+    if (header == null) {
+      throw new RuntimeException("Header " + headerId + " from " + remoteAddress + " was not defined");
+    }
+    return header;
+  }
+
+  /**
+   * A reusable output buffer. Buffers that grew beyond MAX_RETAINED_SIZE for a large message are
+   * not kept, so that idle threads do not hold on to large arrays.
+   */
+  private static final class EncodingBuffer extends ByteArrayOutputStream {
+    private static final int INITIAL_SIZE = 1024;
+    private static final int MAX_RETAINED_SIZE = 1024 * 1024;
+
+    private final DataOutputStream dataOutputStream;
+
+    EncodingBuffer() {
+      super(INITIAL_SIZE);
+      this.dataOutputStream = new DataOutputStream(this);
+    }
+
+    DataOutputStream getDataOutputStream() {
+      return dataOutputStream;
+    }
+
+    void writeTo(final ByteBuffer target) {
+      target.put(buf, 0, count);
+    }
+
+    void trim() {
+      if (buf.length > MAX_RETAINED_SIZE) {
+        buf = new byte[INITIAL_SIZE];
+        count = 0;
+      }
+    }
+  }
+
+  /**
+   * A decoded message header with its identifiers and the connection factory it refers to.
+   */
+  private static final class Header {
+    private final String connFactoryId;
+    private final Identifier srcId;
+    private final Identifier destId;
+    private final NetworkConnectionFactory connFactory;
+
+    Header(final String connFactoryId, final Identifier srcId, final Identifier destId,
+           final NetworkConnectionFactory connFactory) {
+      this.connFactoryId = connFactoryId;
+      this.srcId = srcId;
+      this.destId = destId;
+      this.connFactory = connFactory;
+    }
+  }
 }
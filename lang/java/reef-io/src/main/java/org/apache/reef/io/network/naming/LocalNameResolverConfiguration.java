@@ -19,7 +19,9 @@
 
 package org.apache.reef.io.network.naming;
 
+import org.apache.reef.io.network.naming.parameters.NameResolverCacheSize;
 import org.apache.reef.io.network.naming.parameters.NameResolverCacheTimeout;
+import org.apache.reef.io.network.naming.parameters.NameResolverNegativeCacheTimeout;
 import org.apache.reef.io.network.naming.parameters.NameResolverRetryCount;
 import org.apache.reef.io.network.naming.parameters.NameResolverRetryTimeout;
 import org.apache.reef.tang.formats.ConfigurationModule;
@@ -36,6 +38,16 @@ public final class LocalNameResolverConfiguration extends ConfigurationModuleBui
    */
   public static final OptionalParameter<Long> CACHE_TIMEOUT = new OptionalParameter<>();
 
+  /**
+   * The maximum number of cached lookups.
+   */
+  public static final OptionalParameter<Integer> CACHE_SIZE = new OptionalParameter<>();
+
+  /**
+   * The timeout of caching a failed lookup.
+   */
+  public static final OptionalParameter<Long> NEGATIVE_CACHE_TIMEOUT = new OptionalParameter<>();
+
   /**
    * The timeout of retrying connection.
    */
@@ -48,6 +60,8 @@ public final class LocalNameResolverConfiguration extends ConfigurationModuleBui
 
   public static final ConfigurationModule CONF = new LocalNameResolverConfiguration()
       .bindNamedParameter(NameResolverCacheTimeout.class, CACHE_TIMEOUT)
+      .bindNamedParameter(NameResolverCacheSize.class, CACHE_SIZE)
+      .bindNamedParameter(NameResolverNegativeCacheTimeout.class, NEGATIVE_CACHE_TIMEOUT)
       .bindNamedParameter(NameResolverRetryTimeout.class, RETRY_TIMEOUT)
       .bindNamedParameter(NameResolverRetryCount.class, RETRY_COUNT)
       .bindImplementation(NameResolver.class, LocalNameResolverImpl.class)
@@ -20,7 +20,9 @@ package org.apache.reef.io.network.naming;
 
 import org.apache.reef.exception.evaluator.NetworkException;
 import org.apache.reef.io.network.naming.exception.NamingException;
+import org.apache.reef.io.network.naming.parameters.NameResolverCacheSize;
 import org.apache.reef.io.network.naming.parameters.NameResolverCacheTimeout;
+import org.apache.reef.io.network.naming.parameters.NameResolverNegativeCacheTimeout;
 import org.apache.reef.io.network.naming.parameters.NameResolverRetryCount;
 import org.apache.reef.io.network.naming.parameters.NameResolverRetryTimeout;
 import org.apache.reef.tang.annotations.Parameter;
@@ -30,6 +32,7 @@ import org.apache.reef.wake.Identifier;
 import javax.inject.Inject;
 import java.net.InetSocketAddress;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -65,10 +68,12 @@ public final class LocalNameResolverImpl implements NameResolver {
   private LocalNameResolverImpl(
       final NameServer nameServer,
       @Parameter(NameResolverCacheTimeout.class) final long timeout,
+      @Parameter(NameResolverNegativeCacheTimeout.class) final long negativeTimeout,
+      @Parameter(NameResolverCacheSize.class) final int cacheSize,
       @Parameter(NameResolverRetryCount.class) final int retryCount,
       @Parameter(NameResolverRetryTimeout.class) final int retryTimeout) {
     this.nameServer = nameServer;
-    this.cache = new NameCache(timeout);
+    this.cache = new NameCache(timeout, negativeTimeout, cacheSize);
     this.retryCount = retryCount;
     this.retryTimeout = retryTimeout;
   }
@@ -81,6 +86,7 @@ public final class LocalNameResolverImpl implements NameResolver {
   @Override
   public synchronized void unregister(final Identifier id) throws NetworkException {
     nameServer.unregister(id);
+    cache.invalidate(id);
   }
 
   @Override
@@ -89,35 +95,34 @@ public final class LocalNameResolverImpl implements NameResolver {
 
   @Override
   public InetSocketAddress lookup(final Identifier id) throws Exception {
-    return cache.get(id, new Callable<InetSocketAddress>() {
-      @Override
-      public InetSocketAddress call() throws Exception {
-        final int origRetryCount = LocalNameResolverImpl.this.retryCount;
-        int retriesLeft = origRetryCount;
-        while (true) {
-          try {
+    // Retries wait outside of the cache loader, so that the other lookups of the identifier are not blocked
+    final int origRetryCount = this.retryCount;
+    int retriesLeft = origRetryCount;
+    while (true) {
+      try {
+        return cache.get(id, new Callable<InetSocketAddress>() {
+          @Override
+          public InetSocketAddress call() throws Exception {
             final InetSocketAddress addr = nameServer.lookup(id);
             if (addr == null) {
-              throw new NullPointerException("The lookup of the address in the nameServer returned null for id " + id);
+              throw new NamingException("Cannot find " + id + " from the name server");
             } else {
               return addr;
             }
-          } catch (final NullPointerException e) {
-            if (retriesLeft <= 0) {
-              throw new NamingException("Cannot find " + id + " from the name server", e);
-            } else {
-              final int retTimeout = LocalNameResolverImpl.this.retryTimeout
-                  * (origRetryCount - retriesLeft + 1);
-              LOG.log(Level.WARNING,
-                  "Caught Naming Exception while looking up " + id
-                      + " with Name Server. Will retry " + retriesLeft
-                      + " time(s) after waiting for " + retTimeout + " msec.");
-              Thread.sleep(retTimeout);
-              --retriesLeft;
-            }
           }
+        });
+      } catch (final ExecutionException e) {
+        if (!(e.getCause() instanceof NamingException) || retriesLeft <= 0) {
+          throw e;
         }
+        final int retTimeout = this.retryTimeout * (origRetryCount - retriesLeft + 1);
+        LOG.log(Level.WARNING,
+            "Caught Naming Exception while looking up " + id
+                + " with Name Server. Will retry " + retriesLeft
+                + " time(s) after waiting for " + retTimeout + " msec.");
+        Thread.sleep(retTimeout);
+        --retriesLeft;
       }
-    });
+    }
   }
 }
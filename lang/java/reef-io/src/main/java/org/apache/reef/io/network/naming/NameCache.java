@@ -18,29 +18,63 @@
  */
 package org.apache.reef.io.network.naming;
 
+import org.apache.reef.io.network.naming.parameters.NameResolverCacheSize;
+import org.apache.reef.io.network.naming.parameters.NameResolverNegativeCacheTimeout;
+import org.apache.reef.util.cache.BoundedCacheImpl;
 import org.apache.reef.util.cache.Cache;
-import org.apache.reef.util.cache.CacheImpl;
+import org.apache.reef.util.cache.CacheStats;
 import org.apache.reef.util.cache.SystemTime;
 import org.apache.reef.wake.Identifier;
+import org.apache.reef.wake.impl.DefaultThreadFactory;
 
 import java.net.InetSocketAddress;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Naming cache implementation.
+ * A failed lookup is cached for a short time, so that concurrent lookups of an identifier
+ * that is not registered yet do not all go to the name server.
+ * An address that is looked up again close to its timeout is refreshed in the background,
+ * so that lookups of frequently used identifiers do not block on the name server.
  */
 public class NameCache implements Cache<Identifier, InetSocketAddress> {
 
-  private final Cache<Identifier, InetSocketAddress> cache;
+  /**
+   * The fraction of the timeout after which a lookup refreshes the address.
+   */
+  private static final double REFRESH_AHEAD_RATIO = 0.75;
+  private static final long REFRESH_THREAD_KEEP_ALIVE_MILLIS = 1000;
+
+  private final BoundedCacheImpl<Identifier, InetSocketAddress> cache;
 
   /**
-   * Constructs a naming cache.
+   * Constructs a naming cache with the default maximum size and negative timeout.
    *
    * @param timeout a cache entry timeout after write
    */
   public NameCache(final long timeout) {
-    cache = new CacheImpl<>(new SystemTime(), timeout);
+    this(timeout, Long.parseLong(NameResolverNegativeCacheTimeout.DEFAULT_VALUE),
+        Integer.parseInt(NameResolverCacheSize.DEFAULT_VALUE));
+  }
+
+  /**
+   * Constructs a naming cache.
+   *
+   * @param timeout a cache entry timeout after write
+   * @param negativeTimeout a timeout of a failed lookup after write, or 0 to not cache failed lookups
+   * @param maximumSize the maximum number of cached identifiers
+   */
+  public NameCache(final long timeout, final long negativeTimeout, final int maximumSize) {
+    // The refresher thread terminates when idle, so that the cache does not need to be closed
+    final ThreadPoolExecutor refresher = new ThreadPoolExecutor(0, 1,
+        REFRESH_THREAD_KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+        new DefaultThreadFactory("NameCacheRefresher"));
+    cache = new BoundedCacheImpl<>(new SystemTime(), timeout, negativeTimeout, maximumSize,
+        Math.max(1, (long) (timeout * REFRESH_AHEAD_RATIO)), refresher);
   }
 
   /**
@@ -67,4 +101,11 @@ public class NameCache implements Cache<Identifier, InetSocketAddress> {
     cache.invalidate(key);
   }
 
+  /**
+   * @return a snapshot of the hit, miss and eviction statistics of the cache
+   */
+  public CacheStats getStats() {
+    return cache.getStats();
+  }
+
 }
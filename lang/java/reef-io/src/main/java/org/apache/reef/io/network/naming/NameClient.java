@@ -18,11 +18,14 @@
  */
 package org.apache.reef.io.network.naming;
 
+import org.apache.reef.io.naming.NameAssignment;
 import org.apache.reef.io.network.naming.exception.NamingRuntimeException;
 import org.apache.reef.io.network.naming.parameters.*;
+import org.apache.reef.io.network.naming.serialization.NamingBulkRegisterResponse;
 import org.apache.reef.io.network.naming.serialization.NamingLookupResponse;
 import org.apache.reef.io.network.naming.serialization.NamingMessage;
 import org.apache.reef.io.network.naming.serialization.NamingRegisterResponse;
+import org.apache.reef.io.network.naming.serialization.NamingWatchUpdate;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.Identifier;
@@ -37,6 +40,7 @@ import org.apache.reef.wake.remote.transport.TransportFactory;
 import javax.inject.Inject;
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.logging.Level;
@@ -58,6 +62,8 @@ public final class NameClient implements NameResolver {
      * @param serverAddr a server address
      * @param serverPort a server port number
      * @param timeout timeout in ms
+     * @param negativeTimeout timeout of a failed lookup in the cache in ms
+     * @param cacheSize the maximum number of cached identifiers
      * @param factory an identifier factory
      * @param retryCount the number of retries
      * @param retryTimeout retry timeout
@@ -69,6 +75,8 @@ public final class NameClient implements NameResolver {
       @Parameter(NameResolverNameServerAddr.class) final String serverAddr,
       @Parameter(NameResolverNameServerPort.class) final int serverPort,
       @Parameter(NameResolverCacheTimeout.class) final long timeout,
+      @Parameter(NameResolverNegativeCacheTimeout.class) final long negativeTimeout,
+      @Parameter(NameResolverCacheSize.class) final int cacheSize,
       @Parameter(NameResolverIdentifierFactory.class) final IdentifierFactory factory,
       @Parameter(NameResolverRetryCount.class) final int retryCount,
       @Parameter(NameResolverRetryTimeout.class) final int retryTimeout,
@@ -76,15 +84,20 @@ public final class NameClient implements NameResolver {
       final TransportFactory tpFactory) {
 
     final BlockingQueue<NamingLookupResponse> replyLookupQueue = new LinkedBlockingQueue<>();
-    final BlockingQueue<NamingRegisterResponse> replyRegisterQueue = new LinkedBlockingQueue<>();
+    final BlockingQueue<NamingMessage> replyRegisterQueue = new LinkedBlockingQueue<>();
     final Codec<NamingMessage> codec = NamingCodecFactory.createFullCodec(factory);
 
     this.transport = tpFactory.newInstance(localAddressProvider.getLocalAddress(), 0,
         new SyncStage<>(new NamingClientEventHandler(
-            new NamingResponseHandler(replyLookupQueue, replyRegisterQueue), codec)),
+            new NamingResponseHandler(replyLookupQueue, replyRegisterQueue, new EventHandler<NamingWatchUpdate>() {
+              @Override
+              public void onNext(final NamingWatchUpdate update) {
+                lookupClient.onWatchUpdate(update);
+              }
+            }), codec)),
         null, retryCount, retryTimeout);
 
-    this.lookupClient = new NameLookupClient(serverAddr, serverPort, timeout, factory,
+    this.lookupClient = new NameLookupClient(serverAddr, serverPort, timeout, negativeTimeout, cacheSize, factory,
         retryCount, retryTimeout, replyLookupQueue, this.transport);
 
     this.registryClient = new NameRegistryClient(serverAddr, serverPort, timeout,
@@ -104,6 +117,15 @@ public final class NameClient implements NameResolver {
     this.registryClient.register(id, addr);
   }
 
+  /**
+   * Registers (identifier, address) mappings with a single request.
+   *
+   * @param nas name assignments
+   */
+  public void register(final List<NameAssignment> nas) throws Exception {
+    this.registryClient.register(nas);
+  }
+
   /**
    * Unregisters an identifier.
    *
@@ -136,6 +158,37 @@ public final class NameClient implements NameResolver {
     return this.lookupClient.remoteLookup(id);
   }
 
+  /**
+   * Retrieves addresses for identifiers remotely, with a single request.
+   *
+   * @param ids identifiers
+   * @return name assignments of the identifiers that are registered
+   * @throws Exception
+   */
+  public List<NameAssignment> remoteLookup(final Iterable<Identifier> ids) throws Exception {
+    return this.lookupClient.remoteLookup(ids);
+  }
+
+  /**
+   * Watches identifiers, so that the name server pushes their address changes to this client.
+   *
+   * @param ids identifiers
+   * @throws IOException
+   */
+  public void watch(final Iterable<Identifier> ids) throws IOException {
+    this.lookupClient.watch(ids);
+  }
+
+  /**
+   * Stops watching identifiers.
+   *
+   * @param ids identifiers
+   * @throws IOException
+   */
+  public void unwatch(final Iterable<Identifier> ids) throws IOException {
+    this.lookupClient.unwatch(ids);
+  }
+
   /**
    * Closes resources.
    */
@@ -186,12 +239,15 @@ class NamingResponseHandler implements EventHandler<NamingMessage> {
   private static final Logger LOG = Logger.getLogger(NamingResponseHandler.class.getName());
 
   private final BlockingQueue<NamingLookupResponse> replyLookupQueue;
-  private final BlockingQueue<NamingRegisterResponse> replyRegisterQueue;
+  private final BlockingQueue<NamingMessage> replyRegisterQueue;
+  private final EventHandler<NamingWatchUpdate> watchUpdateHandler;
 
   NamingResponseHandler(final BlockingQueue<NamingLookupResponse> replyLookupQueue,
-                        final BlockingQueue<NamingRegisterResponse> replyRegisterQueue) {
+                        final BlockingQueue<NamingMessage> replyRegisterQueue,
+                        final EventHandler<NamingWatchUpdate> watchUpdateHandler) {
     this.replyLookupQueue = replyLookupQueue;
     this.replyRegisterQueue = replyRegisterQueue;
+    this.watchUpdateHandler = watchUpdateHandler;
   }
 
   @Override
@@ -200,10 +256,12 @@ class NamingResponseHandler implements EventHandler<NamingMessage> {
       if (!replyLookupQueue.offer((NamingLookupResponse) value)) {
         LOG.log(Level.FINEST, "Element {0} was not added to the queue", value);
       }
-    } else if (value instanceof NamingRegisterResponse) {
-      if (!replyRegisterQueue.offer((NamingRegisterResponse) value)) {
+    } else if (value instanceof NamingRegisterResponse || value instanceof NamingBulkRegisterResponse) {
+      if (!replyRegisterQueue.offer(value)) {
         LOG.log(Level.FINEST, "Element {0} was not added to the queue", value);
       }
+    } else if (value instanceof NamingWatchUpdate) {
+      watchUpdateHandler.onNext((NamingWatchUpdate) value);
     } else {
       throw new NamingRuntimeException("Unknown naming response message");
     }
@@ -21,15 +21,20 @@ package org.apache.reef.io.network.naming;
 import org.apache.reef.io.naming.NameAssignment;
 import org.apache.reef.io.naming.NamingLookup;
 import org.apache.reef.io.network.naming.exception.NamingException;
+import org.apache.reef.io.network.naming.parameters.NameResolverCacheSize;
 import org.apache.reef.io.network.naming.parameters.NameResolverCacheTimeout;
 import org.apache.reef.io.network.naming.parameters.NameResolverIdentifierFactory;
 import org.apache.reef.io.network.naming.parameters.NameResolverNameServerAddr;
 import org.apache.reef.io.network.naming.parameters.NameResolverNameServerPort;
+import org.apache.reef.io.network.naming.parameters.NameResolverNegativeCacheTimeout;
 import org.apache.reef.io.network.naming.parameters.NameResolverRetryCount;
 import org.apache.reef.io.network.naming.parameters.NameResolverRetryTimeout;
 import org.apache.reef.io.network.naming.serialization.NamingLookupRequest;
 import org.apache.reef.io.network.naming.serialization.NamingLookupResponse;
 import org.apache.reef.io.network.naming.serialization.NamingMessage;
+import org.apache.reef.io.network.naming.serialization.NamingUnwatchRequest;
+import org.apache.reef.io.network.naming.serialization.NamingWatchRequest;
+import org.apache.reef.io.network.naming.serialization.NamingWatchUpdate;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.util.cache.Cache;
 import org.apache.reef.wake.EventHandler;
@@ -46,12 +51,18 @@ import org.apache.reef.wake.remote.transport.TransportFactory;
 import org.apache.reef.wake.remote.transport.netty.LoggingLinkListener;
 
 import javax.inject.Inject;
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -71,6 +82,14 @@ public final class NameLookupClient implements Stage, NamingLookup {
   private final Cache<Identifier, InetSocketAddress> cache;
   private final int retryCount;
   private final int retryTimeout;
+  /**
+   * Addresses of the watched identifiers, kept up to date by the name server.
+   */
+  private final ConcurrentMap<Identifier, InetSocketAddress> watchedAddrMap;
+  /**
+   * Identifiers this client watches. Updates about other identifiers are stale and ignored.
+   */
+  private final Set<Identifier> watchedIds = Collections.newSetFromMap(new ConcurrentHashMap<Identifier, Boolean>());
 
 
   /**
@@ -79,6 +98,8 @@ public final class NameLookupClient implements Stage, NamingLookup {
    * @param serverAddr a server address
    * @param serverPort a server port number
    * @param timeout    request timeout in ms
+   * @param negativeTimeout a timeout of a failed lookup in the cache in ms
+   * @param cacheSize  the maximum number of cached identifiers
    * @param factory    an identifier factory
    * @param retryCount a count of retrying lookup
    * @param retryTimeout retry timeout
@@ -88,6 +109,8 @@ public final class NameLookupClient implements Stage, NamingLookup {
   NameLookupClient(final String serverAddr,
                           final int serverPort,
                           final long timeout,
+                          final long negativeTimeout,
+                          final int cacheSize,
                           final IdentifierFactory factory,
                           final int retryCount,
                           final int retryTimeout,
@@ -95,12 +118,13 @@ public final class NameLookupClient implements Stage, NamingLookup {
                           final Transport transport) {
     this.serverSocketAddr = new InetSocketAddress(serverAddr, serverPort);
     this.timeout = timeout;
-    this.cache = new NameCache(timeout);
+    this.cache = new NameCache(timeout, negativeTimeout, cacheSize);
     this.codec = NamingCodecFactory.createFullCodec(factory);
     this.replyQueue = replyQueue;
     this.retryCount = retryCount;
     this.retryTimeout = retryTimeout;
     this.transport = transport;
+    this.watchedAddrMap = new ConcurrentHashMap<>();
   }
 
   /**
@@ -109,6 +133,8 @@ public final class NameLookupClient implements Stage, NamingLookup {
     * @param serverAddr a server address
     * @param serverPort a server port number
     * @param timeout    request timeout in ms
+    * @param negativeTimeout a timeout of a failed lookup in the cache in ms
+    * @param cacheSize  the maximum number of cached identifiers
     * @param factory    an identifier factory
     * @param tpFactory  a transport factory
     */
@@ -117,6 +143,8 @@ public final class NameLookupClient implements Stage, NamingLookup {
             @Parameter(NameResolverNameServerAddr.class) final String serverAddr,
             @Parameter(NameResolverNameServerPort.class) final int serverPort,
             @Parameter(NameResolverCacheTimeout.class) final long timeout,
+            @Parameter(NameResolverNegativeCacheTimeout.class) final long negativeTimeout,
+            @Parameter(NameResolverCacheSize.class) final int cacheSize,
             @Parameter(NameResolverIdentifierFactory.class) final IdentifierFactory factory,
             @Parameter(NameResolverRetryCount.class) final int retryCount,
             @Parameter(NameResolverRetryTimeout.class) final int retryTimeout,
@@ -124,13 +152,19 @@ public final class NameLookupClient implements Stage, NamingLookup {
             final TransportFactory tpFactory) {
     this.serverSocketAddr = new InetSocketAddress(serverAddr, serverPort);
     this.timeout = timeout;
-    this.cache = new NameCache(timeout);
+    this.cache = new NameCache(timeout, negativeTimeout, cacheSize);
     this.codec = NamingCodecFactory.createLookupCodec(factory);
     this.replyQueue = new LinkedBlockingQueue<>();
+    this.watchedAddrMap = new ConcurrentHashMap<>();
 
     this.transport = tpFactory.newInstance(localAddressProvider.getLocalAddress(), 0,
             new SyncStage<>(new NamingLookupClientHandler(
-                    new NamingLookupResponseHandler(this.replyQueue), this.codec)),
+                    new NamingLookupResponseHandler(this.replyQueue), new EventHandler<NamingWatchUpdate>() {
+                      @Override
+                      public void onNext(final NamingWatchUpdate update) {
+                        onWatchUpdate(update);
+                      }
+                    }, this.codec)),
             null, retryCount, retryTimeout);
 
     this.retryCount = retryCount;
@@ -146,33 +180,36 @@ public final class NameLookupClient implements Stage, NamingLookup {
   @Override
   public InetSocketAddress lookup(final Identifier id) throws Exception {
 
-    return cache.get(id, new Callable<InetSocketAddress>() {
+    final InetSocketAddress watchedAddr = watchedAddrMap.get(id);
+    if (watchedAddr != null) {
+      return watchedAddr;
+    }
 
-      @Override
-      public InetSocketAddress call() throws Exception {
-        final int origRetryCount = NameLookupClient.this.retryCount;
-        int retriesLeft = origRetryCount;
-        while (true) {
-          try {
+    // Retries wait outside of the cache loader, so that the other lookups of the identifier
+    // get the failure, which is cached for a short time, instead of waiting for the retries.
+    final int origRetryCount = this.retryCount;
+    int retriesLeft = origRetryCount;
+    while (true) {
+      try {
+        return cache.get(id, new Callable<InetSocketAddress>() {
+          @Override
+          public InetSocketAddress call() throws Exception {
             return remoteLookup(id);
-          } catch (final NamingException e) {
-            if (retriesLeft <= 0) {
-              throw e;
-            } else {
-              final int currentRetryTimeout = NameLookupClient.this.retryTimeout
-                  * (origRetryCount - retriesLeft + 1);
-              LOG.log(Level.WARNING,
-                  "Caught Naming Exception while looking up " + id
-                      + " with Name Server. Will retry " + retriesLeft
-                      + " time(s) after waiting for " + currentRetryTimeout + " msec.");
-              Thread.sleep(currentRetryTimeout);
-              --retriesLeft;
-            }
           }
+        });
+      } catch (final ExecutionException e) {
+        if (!(e.getCause() instanceof NamingException) || retriesLeft <= 0) {
+          throw e;
         }
+        final int currentRetryTimeout = this.retryTimeout * (origRetryCount - retriesLeft + 1);
+        LOG.log(Level.WARNING,
+            "Caught Naming Exception while looking up " + id
+                + " with Name Server. Will retry " + retriesLeft
+                + " time(s) after waiting for " + currentRetryTimeout + " msec.");
+        Thread.sleep(currentRetryTimeout);
+        --retriesLeft;
       }
-
-    });
+    }
   }
 
   /**
@@ -183,14 +220,29 @@ public final class NameLookupClient implements Stage, NamingLookup {
    * @throws Exception
    */
   public InetSocketAddress remoteLookup(final Identifier id) throws Exception {
+    final List<NameAssignment> list = remoteLookup(Arrays.asList(id));
+    if (list.isEmpty()) {
+      throw new NamingException("Cannot find " + id + " from the name server");
+    } else {
+      return list.get(0).getAddress();
+    }
+  }
+
+  /**
+   * Retrieves addresses for identifiers remotely, with a single request.
+   *
+   * @param ids identifiers
+   * @return name assignments of the identifiers that are registered
+   * @throws Exception
+   */
+  public List<NameAssignment> remoteLookup(final Iterable<Identifier> ids) throws Exception {
     // the lookup is not thread-safe, because concurrent replies may
     // be read by the wrong thread.
     // TODO: better fix uses a map of id's after REEF-198
     synchronized (this) {
 
-      LOG.log(Level.INFO, "Looking up {0} on NameServer {1}", new Object[]{id, serverSocketAddr});
+      LOG.log(Level.INFO, "Looking up {0} on NameServer {1}", new Object[]{ids, serverSocketAddr});
 
-      final List<Identifier> ids = Arrays.asList(id);
       final Link<NamingMessage> link = transport.open(serverSocketAddr, codec,
           new LoggingLinkListener<NamingMessage>());
       link.write(new NamingLookupRequest(ids));
@@ -206,12 +258,61 @@ public final class NameLookupClient implements Stage, NamingLookup {
         }
       }
 
-      final List<NameAssignment> list = resp.getNameAssignments();
-      if (list.isEmpty()) {
-        throw new NamingException("Cannot find " + id + " from the name server");
-      } else {
-        return list.get(0).getAddress();
+      if (resp == null) {
+        throw new NamingException("Timed out looking up " + ids + " from the name server");
       }
+      return resp.getNameAssignments();
+    }
+  }
+
+  /**
+   * Watches identifiers. The name server pushes their addresses to this client whenever they are
+   * registered or unregistered, so lookups of watched identifiers do not go to the name server.
+   *
+   * @param ids identifiers
+   * @throws IOException
+   */
+  public void watch(final Iterable<Identifier> ids) throws IOException {
+    LOG.log(Level.FINE, "Watching {0} on NameServer {1}", new Object[]{ids, serverSocketAddr});
+    final Link<NamingMessage> link = transport.open(serverSocketAddr, codec,
+        new LoggingLinkListener<NamingMessage>());
+    for (final Identifier id : ids) {
+      watchedIds.add(id);
+    }
+    link.write(new NamingWatchRequest(ids));
+  }
+
+  /**
+   * Stops watching identifiers. Their lookups go to the name server again.
+   *
+   * @param ids identifiers
+   * @throws IOException
+   */
+  public void unwatch(final Iterable<Identifier> ids) throws IOException {
+    LOG.log(Level.FINE, "Unwatching {0} on NameServer {1}", new Object[]{ids, serverSocketAddr});
+    for (final Identifier id : ids) {
+      watchedIds.remove(id);
+      watchedAddrMap.remove(id);
+    }
+    final Link<NamingMessage> link = transport.open(serverSocketAddr, codec,
+        new LoggingLinkListener<NamingMessage>());
+    link.write(new NamingUnwatchRequest(ids));
+  }
+
+  /**
+   * Applies an update of watched identifiers pushed by the name server.
+   *
+   * @param update a naming watch update
+   */
+  void onWatchUpdate(final NamingWatchUpdate update) {
+    for (final NameAssignment na : update.getNameAssignments()) {
+      if (watchedIds.contains(na.getIdentifier())) {
+        watchedAddrMap.put(na.getIdentifier(), na.getAddress());
+      }
+    }
+    for (final Identifier id : update.getRemovedIdentifiers()) {
+      watchedAddrMap.remove(id);
+      cache.invalidate(id);
     }
   }
 
@@ -231,16 +332,25 @@ public final class NameLookupClient implements Stage, NamingLookup {
 class NamingLookupClientHandler implements EventHandler<TransportEvent> {
 
   private final EventHandler<NamingLookupResponse> handler;
+  private final EventHandler<NamingWatchUpdate> watchUpdateHandler;
   private final Codec<NamingMessage> codec;
 
-  NamingLookupClientHandler(final EventHandler<NamingLookupResponse> handler, final Codec<NamingMessage> codec) {
+  NamingLookupClientHandler(final EventHandler<NamingLookupResponse> handler,
+                            final EventHandler<NamingWatchUpdate> watchUpdateHandler,
+                            final Codec<NamingMessage> codec) {
     this.handler = handler;
+    this.watchUpdateHandler = watchUpdateHandler;
     this.codec = codec;
   }
 
   @Override
   public void onNext(final TransportEvent value) {
-    handler.onNext((NamingLookupResponse) codec.decode(value.getData()));
+    final NamingMessage message = codec.decode(value.getData());
+    if (message instanceof NamingWatchUpdate) {
+      watchUpdateHandler.onNext((NamingWatchUpdate) message);
+    } else {
+      handler.onNext((NamingLookupResponse) message);
+    }
   }
 
 }
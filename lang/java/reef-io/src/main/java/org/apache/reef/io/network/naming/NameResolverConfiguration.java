@@ -50,6 +50,16 @@ public final class NameResolverConfiguration extends ConfigurationModuleBuilder
    */
   public static final OptionalParameter<Long> CACHE_TIMEOUT = new OptionalParameter<>();
 
+  /**
+   * The maximum number of cached lookups.
+   */
+  public static final OptionalParameter<Integer> CACHE_SIZE = new OptionalParameter<>();
+
+  /**
+   * The timeout of caching a failed lookup.
+   */
+  public static final OptionalParameter<Long> NEGATIVE_CACHE_TIMEOUT = new OptionalParameter<>();
+
   /**
    * The timeout of retrying connection.
    */
@@ -65,6 +75,8 @@ public final class NameResolverConfiguration extends ConfigurationModuleBuilder
       .bindNamedParameter(NameResolverNameServerAddr.class, NAME_SERVER_HOSTNAME)
       .bindNamedParameter(NameResolverIdentifierFactory.class, IDENTIFIER_FACTORY)
       .bindNamedParameter(NameResolverCacheTimeout.class, CACHE_TIMEOUT)
+      .bindNamedParameter(NameResolverCacheSize.class, CACHE_SIZE)
+      .bindNamedParameter(NameResolverNegativeCacheTimeout.class, NEGATIVE_CACHE_TIMEOUT)
       .bindNamedParameter(NameResolverRetryTimeout.class, RETRY_TIMEOUT)
       .bindNamedParameter(NameResolverRetryCount.class, RETRY_COUNT)
       .build();
@@ -47,6 +47,13 @@ public interface NameServer extends Stage {
    */
   void register(final Identifier id, final InetSocketAddress addr);
 
+  /**
+   * Registers (identifier, address) mappings locally.
+   *
+   * @param nas name assignments
+   */
+  void register(final List<NameAssignment> nas);
+
   /**
    * Unregisters an identifier locally.
    *
@@ -33,13 +33,19 @@ import org.apache.reef.wake.remote.Codec;
 import org.apache.reef.wake.remote.RemoteConfiguration;
 import org.apache.reef.wake.remote.address.LocalAddressProvider;
 import org.apache.reef.wake.remote.impl.TransportEvent;
+import org.apache.reef.wake.remote.transport.Link;
 import org.apache.reef.wake.remote.transport.Transport;
 import org.apache.reef.wake.remote.transport.netty.NettyMessagingTransport;
 import org.apache.reef.webserver.ReefEventStateManager;
 
 import javax.inject.Inject;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -51,7 +57,26 @@ public final class NameServerImpl implements NameServer {
   private static final Logger LOG = Logger.getLogger(NameServer.class.getName());
 
   private final Transport transport;
-  private final Map<Identifier, InetSocketAddress> idToAddrMap;
+  private final ConcurrentMap<Identifier, InetSocketAddress> idToAddrMap;
+  /**
+   * Links to the clients watching an identifier, by the remote address of the client.
+   */
+  private final ConcurrentMap<Identifier, ConcurrentMap<SocketAddress, Link<byte[]>>> idToWatcherMap;
+  /**
+   * Orders the changes of watchers against the changes of registrations, so that a client starting to watch
+   * gets either the address before a change followed by an update, or the address after the change.
+   * Registrations take the read lock, so they do not wait for each other.
+   * Lookups also add their clients under the read lock, so that a client is not added to a map of clients
+   * being dropped because their link closed.
+   */
+  private final ReadWriteLock watchLock = new ReentrantReadWriteLock();
+  /**
+   * Links to the clients that looked up an identifier, by the remote address of the client.
+   * These clients are told to invalidate their cached address when the identifier is unregistered
+   * or registered with another address.
+   */
+  private final ConcurrentMap<Identifier, ConcurrentMap<SocketAddress, Link<byte[]>>> idToLookupClientMap;
+  private final Codec<NamingMessage> codec;
   private final ReefEventStateManager reefEventStateManager;
   private final int port;
   private final LocalAddressProvider localAddressProvider;
@@ -72,7 +97,7 @@ public final class NameServerImpl implements NameServer {
 
     this.localAddressProvider = localAddressProvider;
     this.reefEventStateManager = null;
-    final Codec<NamingMessage> codec = NamingCodecFactory.createFullCodec(factory);
+    this.codec = NamingCodecFactory.createFullCodec(factory);
     final EventHandler<NamingMessage> handler = createEventHandler(codec);
 
     injector.bindVolatileParameter(RemoteConfiguration.HostAddress.class, localAddressProvider.getLocalAddress());
@@ -81,13 +106,22 @@ public final class NameServerImpl implements NameServer {
         new SyncStage<>(new NamingServerHandler(handler, codec)));
 
     try {
-      this.transport = injector.getInstance(NettyMessagingTransport.class);
+      final NettyMessagingTransport nettyTransport = injector.getInstance(NettyMessagingTransport.class);
+      nettyTransport.registerLinkClosedHandler(new EventHandler<SocketAddress>() {
+        @Override
+        public void onNext(final SocketAddress remoteAddress) {
+          onLinkClosed(remoteAddress);
+        }
+      });
+      this.transport = nettyTransport;
     } catch (final InjectionException e) {
       throw new RuntimeException(e);
     }
 
     this.port = transport.getListeningPort();
-    this.idToAddrMap = Collections.synchronizedMap(new HashMap<Identifier, InetSocketAddress>());
+    this.idToAddrMap = new ConcurrentHashMap<>();
+    this.idToWatcherMap = new ConcurrentHashMap<>();
+    this.idToLookupClientMap = new ConcurrentHashMap<>();
 
     LOG.log(Level.FINE, "NameServer starting, listening at port {0}", this.port);
   }
@@ -99,7 +133,10 @@ public final class NameServerImpl implements NameServer {
 
     clazzToHandlerMap.put(NamingLookupRequest.class, new NamingLookupRequestHandler(this, codec));
     clazzToHandlerMap.put(NamingRegisterRequest.class, new NamingRegisterRequestHandler(this, codec));
+    clazzToHandlerMap.put(NamingBulkRegisterRequest.class, new NamingBulkRegisterRequestHandler(this, codec));
     clazzToHandlerMap.put(NamingUnregisterRequest.class, new NamingUnregisterRequestHandler(this));
+    clazzToHandlerMap.put(NamingWatchRequest.class, new NamingWatchRequestHandler(this));
+    clazzToHandlerMap.put(NamingUnwatchRequest.class, new NamingUnwatchRequestHandler(this));
     final EventHandler<NamingMessage> handler = new MultiEventHandler<>(clazzToHandlerMap);
 
     return handler;
@@ -128,8 +165,44 @@ public final class NameServerImpl implements NameServer {
    */
   @Override
   public void register(final Identifier id, final InetSocketAddress addr) {
-    LOG.log(Level.FINE, "id: " + id + " addr: " + addr);
-    idToAddrMap.put(id, addr);
+    LOG.log(Level.FINE, "id: {0} addr: {1}", new Object[]{id, addr});
+    final InetSocketAddress prevAddr;
+    watchLock.readLock().lock();
+    try {
+      prevAddr = idToAddrMap.put(id, addr);
+      notifyWatchers(Collections.<NameAssignment>singletonList(new NameAssignmentTuple(id, addr)),
+          Collections.<Identifier>emptyList());
+    } finally {
+      watchLock.readLock().unlock();
+    }
+    if (prevAddr != null && !prevAddr.equals(addr)) {
+      invalidateLookups(Collections.singletonList(id));
+    }
+  }
+
+  /**
+   * Registers (identifier, address) mappings locally.
+   * The clients watching any of the identifiers get a single update per client.
+   *
+   * @param nas name assignments
+   */
+  @Override
+  public void register(final List<NameAssignment> nas) {
+    LOG.log(Level.FINE, "{0} name assignments", nas.size());
+    final List<Identifier> changedIds = new ArrayList<>();
+    watchLock.readLock().lock();
+    try {
+      for (final NameAssignment na : nas) {
+        final InetSocketAddress prevAddr = idToAddrMap.put(na.getIdentifier(), na.getAddress());
+        if (prevAddr != null && !prevAddr.equals(na.getAddress())) {
+          changedIds.add(na.getIdentifier());
+        }
+      }
+      notifyWatchers(nas, Collections.<Identifier>emptyList());
+    } finally {
+      watchLock.readLock().unlock();
+    }
+    invalidateLookups(changedIds);
   }
 
   /**
@@ -139,8 +212,205 @@ public final class NameServerImpl implements NameServer {
    */
   @Override
   public void unregister(final Identifier id) {
-    LOG.log(Level.FINE, "id: " + id);
-    idToAddrMap.remove(id);
+    LOG.log(Level.FINE, "id: {0}", id);
+    final boolean removed;
+    watchLock.readLock().lock();
+    try {
+      removed = idToAddrMap.remove(id) != null;
+      if (removed) {
+        notifyWatchers(Collections.<NameAssignment>emptyList(), Collections.singletonList(id));
+      }
+    } finally {
+      watchLock.readLock().unlock();
+    }
+    if (removed) {
+      invalidateLookups(Collections.singletonList(id));
+    }
+  }
+
+  /**
+   * Adds a client watching identifiers, and sends it their current addresses.
+   *
+   * @param ids identifiers
+   * @param link the link to the client
+   */
+  void watch(final Iterable<Identifier> ids, final Link<byte[]> link) {
+    watchLock.writeLock().lock();
+    try {
+      for (final Identifier id : ids) {
+        addLink(idToWatcherMap, id, link);
+      }
+      link.write(codec.encode(new NamingWatchUpdate(lookup(ids), Collections.<Identifier>emptyList())));
+    } finally {
+      watchLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes a client watching identifiers.
+   *
+   * @param ids identifiers
+   * @param link the link to the client
+   */
+  void unwatch(final Iterable<Identifier> ids, final Link<byte[]> link) {
+    watchLock.writeLock().lock();
+    try {
+      for (final Identifier id : ids) {
+        removeLink(idToWatcherMap, id, link.getRemoteAddress());
+      }
+    } finally {
+      watchLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Forgets the watchers and lookup clients on a closed link.
+   *
+   * @param remoteAddress the remote address of the link
+   */
+  private void onLinkClosed(final SocketAddress remoteAddress) {
+    watchLock.writeLock().lock();
+    try {
+      for (final Identifier id : idToWatcherMap.keySet()) {
+        removeLink(idToWatcherMap, id, remoteAddress);
+      }
+      for (final Identifier id : idToLookupClientMap.keySet()) {
+        removeLink(idToLookupClientMap, id, remoteAddress);
+      }
+    } finally {
+      watchLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @return the number of clients watching an identifier
+   */
+  int getNumWatchers(final Identifier id) {
+    final Map<SocketAddress, Link<byte[]>> watchers = idToWatcherMap.get(id);
+    return watchers == null ? 0 : watchers.size();
+  }
+
+  /**
+   * @return the number of clients to tell when an identifier is no longer at the address they looked up
+   */
+  int getNumLookupClients(final Identifier id) {
+    final Map<SocketAddress, Link<byte[]>> lookupClients = idToLookupClientMap.get(id);
+    return lookupClients == null ? 0 : lookupClients.size();
+  }
+
+  /**
+   * Finds addresses for identifiers on behalf of a client, and remembers the client
+   * so that it is told when an address it may have cached is no longer valid.
+   *
+   * @param ids identifiers
+   * @param link the link to the client
+   * @return a list of name assignments
+   */
+  List<NameAssignment> lookup(final Iterable<Identifier> ids, final Link<byte[]> link) {
+    final List<NameAssignment> nas = lookup(ids);
+    watchLock.readLock().lock();
+    try {
+      for (final NameAssignment na : nas) {
+        addLink(idToLookupClientMap, na.getIdentifier(), link);
+      }
+    } finally {
+      watchLock.readLock().unlock();
+    }
+    return nas;
+  }
+
+  private static void addLink(final ConcurrentMap<Identifier, ConcurrentMap<SocketAddress, Link<byte[]>>> idToLinkMap,
+                              final Identifier id, final Link<byte[]> link) {
+    ConcurrentMap<SocketAddress, Link<byte[]>> links = idToLinkMap.get(id);
+    if (links == null) {
+      idToLinkMap.putIfAbsent(id, new ConcurrentHashMap<SocketAddress, Link<byte[]>>());
+      links = idToLinkMap.get(id);
+    }
+    links.put(link.getRemoteAddress(), link);
+  }
+
+  private static void removeLink(
+      final ConcurrentMap<Identifier, ConcurrentMap<SocketAddress, Link<byte[]>>> idToLinkMap,
+      final Identifier id, final SocketAddress remoteAddress) {
+    final ConcurrentMap<SocketAddress, Link<byte[]>> links = idToLinkMap.get(id);
+    if (links != null && links.remove(remoteAddress) != null && links.isEmpty()) {
+      idToLinkMap.remove(id, links);
+    }
+  }
+
+  /**
+   * Sends registered and unregistered identifiers to the clients watching them, one update per client.
+   */
+  private void notifyWatchers(final List<NameAssignment> nas, final List<Identifier> removedIds) {
+    if (idToWatcherMap.isEmpty()) {
+      return;
+    }
+
+    final Map<SocketAddress, Link<byte[]>> links = new HashMap<>();
+    final Map<SocketAddress, NamingWatchUpdate> updates = new HashMap<>();
+    for (final NameAssignment na : nas) {
+      for (final Link<byte[]> link : getWatchers(na.getIdentifier())) {
+        getUpdate(updates, links, link).getNameAssignments().add(na);
+      }
+    }
+    for (final Identifier id : removedIds) {
+      for (final Link<byte[]> link : getWatchers(id)) {
+        getUpdate(updates, links, link).getRemovedIdentifiers().add(id);
+      }
+    }
+
+    sendUpdates(updates, links);
+  }
+
+  /**
+   * Sends the removal of identifiers to the clients that looked them up, one update per client.
+   * The clients watching an identifier already get its changes, and are skipped.
+   */
+  private void invalidateLookups(final List<Identifier> ids) {
+    if (idToLookupClientMap.isEmpty()) {
+      return;
+    }
+
+    final Map<SocketAddress, Link<byte[]>> links = new HashMap<>();
+    final Map<SocketAddress, NamingWatchUpdate> updates = new HashMap<>();
+    for (final Identifier id : ids) {
+      final Map<SocketAddress, Link<byte[]>> lookupClients = idToLookupClientMap.remove(id);
+      if (lookupClients == null) {
+        continue;
+      }
+      final Map<SocketAddress, Link<byte[]>> watchers = idToWatcherMap.get(id);
+      for (final Link<byte[]> link : lookupClients.values()) {
+        if (watchers == null || !watchers.containsKey(link.getRemoteAddress())) {
+          getUpdate(updates, links, link).getRemovedIdentifiers().add(id);
+        }
+      }
+    }
+
+    sendUpdates(updates, links);
+  }
+
+  private void sendUpdates(final Map<SocketAddress, NamingWatchUpdate> updates,
+                           final Map<SocketAddress, Link<byte[]>> links) {
+    for (final Map.Entry<SocketAddress, NamingWatchUpdate> entry : updates.entrySet()) {
+      links.get(entry.getKey()).write(codec.encode(entry.getValue()));
+    }
+  }
+
+  private Collection<Link<byte[]>> getWatchers(final Identifier id) {
+    final Map<SocketAddress, Link<byte[]>> watchers = idToWatcherMap.get(id);
+    return watchers == null ? Collections.<Link<byte[]>>emptyList() : watchers.values();
+  }
+
+  private static NamingWatchUpdate getUpdate(final Map<SocketAddress, NamingWatchUpdate> updates,
+                                             final Map<SocketAddress, Link<byte[]>> links,
+                                             final Link<byte[]> link) {
+    NamingWatchUpdate update = updates.get(link.getRemoteAddress());
+    if (update == null) {
+      update = new NamingWatchUpdate(new ArrayList<NameAssignment>(), new ArrayList<Identifier>());
+      updates.put(link.getRemoteAddress(), update);
+      links.put(link.getRemoteAddress(), link);
+    }
+    return update;
   }
 
   /**
@@ -167,7 +437,9 @@ public final class NameServerImpl implements NameServer {
     final List<NameAssignment> nas = new ArrayList<>();
     for (final Identifier id : identifiers) {
       final InetSocketAddress addr = idToAddrMap.get(id);
-      LOG.log(Level.FINEST, "id : {0} addr: {1}", new Object[]{id, addr});
+      if (LOG.isLoggable(Level.FINEST)) {
+        LOG.log(Level.FINEST, "id : {0} addr: {1}", new Object[]{id, addr});
+      }
       if (addr != null) {
         nas.add(new NameAssignmentTuple(id, addr));
       }
@@ -210,17 +482,17 @@ class NamingLookupRequestHandler implements EventHandler<NamingLookupRequest> {
   private static final Logger LOG = Logger.getLogger(NamingLookupRequestHandler.class.getName());
 
 
-  private final NameServer server;
+  private final NameServerImpl server;
   private final Codec<NamingMessage> codec;
 
-  NamingLookupRequestHandler(final NameServer server, final Codec<NamingMessage> codec) {
+  NamingLookupRequestHandler(final NameServerImpl server, final Codec<NamingMessage> codec) {
     this.server = server;
     this.codec = codec;
   }
 
   @Override
   public void onNext(final NamingLookupRequest value) {
-    final List<NameAssignment> nas = server.lookup(value.getIdentifiers());
+    final List<NameAssignment> nas = server.lookup(value.getIdentifiers(), value.getLink());
     final byte[] resp = codec.encode(new NamingLookupResponse(nas));
     value.getLink().write(resp);
   }
@@ -250,6 +522,61 @@ class NamingRegisterRequestHandler implements EventHandler<NamingRegisterRequest
   }
 }
 
+/**
+ * Naming bulk register request handler.
+ */
+class NamingBulkRegisterRequestHandler implements EventHandler<NamingBulkRegisterRequest> {
+
+  private final NameServer server;
+  private final Codec<NamingMessage> codec;
+
+  NamingBulkRegisterRequestHandler(final NameServer server, final Codec<NamingMessage> codec) {
+    this.server = server;
+    this.codec = codec;
+  }
+
+  @Override
+  public void onNext(final NamingBulkRegisterRequest value) {
+    server.register(value.getNameAssignments());
+    final byte[] resp = codec.encode(new NamingBulkRegisterResponse(value.getNameAssignments().size()));
+    value.getLink().write(resp);
+  }
+}
+
+/**
+ * Naming watch request handler.
+ */
+class NamingWatchRequestHandler implements EventHandler<NamingWatchRequest> {
+
+  private final NameServerImpl server;
+
+  NamingWatchRequestHandler(final NameServerImpl server) {
+    this.server = server;
+  }
+
+  @Override
+  public void onNext(final NamingWatchRequest value) {
+    server.watch(value.getIdentifiers(), value.getLink());
+  }
+}
+
+/**
+ * Naming unwatch request handler.
+ */
+class NamingUnwatchRequestHandler implements EventHandler<NamingUnwatchRequest> {
+
+  private final NameServerImpl server;
+
+  NamingUnwatchRequestHandler(final NameServerImpl server) {
+    this.server = server;
+  }
+
+  @Override
+  public void onNext(final NamingUnwatchRequest value) {
+    server.unwatch(value.getIdentifiers(), value.getLink());
+  }
+}
+
 /**
  * Naming unregister request handler.
  */
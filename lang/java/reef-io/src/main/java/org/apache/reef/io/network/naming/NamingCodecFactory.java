@@ -42,6 +42,9 @@ final class NamingCodecFactory {
         = new HashMap<>();
     clazzToCodecMap.put(NamingLookupRequest.class, new NamingLookupRequestCodec(factory));
     clazzToCodecMap.put(NamingLookupResponse.class, new NamingLookupResponseCodec(factory));
+    clazzToCodecMap.put(NamingWatchRequest.class, new NamingWatchRequestCodec(factory));
+    clazzToCodecMap.put(NamingUnwatchRequest.class, new NamingUnwatchRequestCodec(factory));
+    clazzToCodecMap.put(NamingWatchUpdate.class, new NamingWatchUpdateCodec(factory));
     final Codec<NamingMessage> codec = new MultiCodec<>(clazzToCodecMap);
     return codec;
   }
@@ -58,6 +61,8 @@ final class NamingCodecFactory {
     clazzToCodecMap.put(NamingRegisterRequest.class, new NamingRegisterRequestCodec(factory));
     clazzToCodecMap.put(NamingRegisterResponse.class,
         new NamingRegisterResponseCodec(new NamingRegisterRequestCodec(factory)));
+    clazzToCodecMap.put(NamingBulkRegisterRequest.class, new NamingBulkRegisterRequestCodec(factory));
+    clazzToCodecMap.put(NamingBulkRegisterResponse.class, new NamingBulkRegisterResponseCodec());
     clazzToCodecMap.put(NamingUnregisterRequest.class, new NamingUnregisterRequestCodec(factory));
     final Codec<NamingMessage> codec = new MultiCodec<>(clazzToCodecMap);
     return codec;
@@ -77,7 +82,12 @@ final class NamingCodecFactory {
     clazzToCodecMap.put(NamingRegisterRequest.class, new NamingRegisterRequestCodec(factory));
     clazzToCodecMap.put(NamingRegisterResponse.class,
         new NamingRegisterResponseCodec(new NamingRegisterRequestCodec(factory)));
+    clazzToCodecMap.put(NamingBulkRegisterRequest.class, new NamingBulkRegisterRequestCodec(factory));
+    clazzToCodecMap.put(NamingBulkRegisterResponse.class, new NamingBulkRegisterResponseCodec());
     clazzToCodecMap.put(NamingUnregisterRequest.class, new NamingUnregisterRequestCodec(factory));
+    clazzToCodecMap.put(NamingWatchRequest.class, new NamingWatchRequestCodec(factory));
+    clazzToCodecMap.put(NamingUnwatchRequest.class, new NamingUnwatchRequestCodec(factory));
+    clazzToCodecMap.put(NamingWatchUpdate.class, new NamingWatchUpdateCodec(factory));
     final Codec<NamingMessage> codec = new MultiCodec<>(clazzToCodecMap);
     return codec;
   }
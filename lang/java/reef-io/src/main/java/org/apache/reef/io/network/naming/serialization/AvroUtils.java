@@ -21,9 +21,16 @@ package org.apache.reef.io.network.naming.serialization;
 import org.apache.avro.io.*;
 import org.apache.avro.specific.SpecificDatumReader;
 import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.reef.io.naming.NameAssignment;
+import org.apache.reef.io.network.naming.NameAssignmentTuple;
+import org.apache.reef.io.network.naming.avro.AvroNamingAssignment;
+import org.apache.reef.wake.IdentifierFactory;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Utilities for AVRO.
@@ -65,4 +72,37 @@ final class AvroUtils {
       throw new RuntimeException("Failed to deserialize an avro object", e);
     }
   }
+
+  /**
+   * Converts name assignments to their avro representation.
+   * The host is taken as given, so that encoding does not trigger a reverse DNS lookup.
+   */
+  static List<AvroNamingAssignment> toAvroNamingAssignments(final List<NameAssignment> nameAssignments) {
+    final List<AvroNamingAssignment> assignments = new ArrayList<>(nameAssignments.size());
+    for (final NameAssignment nameAssignment : nameAssignments) {
+      assignments.add(AvroNamingAssignment.newBuilder()
+          .setId(nameAssignment.getIdentifier().toString())
+          .setHost(nameAssignment.getAddress().getHostString())
+          .setPort(nameAssignment.getAddress().getPort())
+          .build());
+    }
+    return assignments;
+  }
+
+  /**
+   * Converts name assignments from their avro representation.
+   */
+  static List<NameAssignment> fromAvroNamingAssignments(final List<AvroNamingAssignment> assignments,
+                                                        final IdentifierFactory factory) {
+    final List<NameAssignment> nas = new ArrayList<>(assignments.size());
+    for (final AvroNamingAssignment tuple : assignments) {
+      nas.add(
+          new NameAssignmentTuple(
+              factory.getNewInstance(tuple.getId().toString()),
+              new InetSocketAddress(tuple.getHost().toString(), tuple.getPort())
+          )
+      );
+    }
+    return nas;
+  }
 }
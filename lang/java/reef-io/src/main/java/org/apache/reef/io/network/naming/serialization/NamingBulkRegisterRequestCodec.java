@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.naming.serialization;
+
+import org.apache.reef.io.network.naming.avro.AvroNamingBulkRegisterRequest;
+import org.apache.reef.wake.IdentifierFactory;
+import org.apache.reef.wake.remote.Codec;
+
+import javax.inject.Inject;
+
+/**
+ * Naming bulk registration request codec.
+ */
+public final class NamingBulkRegisterRequestCodec implements Codec<NamingBulkRegisterRequest> {
+
+  private final IdentifierFactory factory;
+
+  /**
+   * Constructs a naming bulk registration request codec.
+   *
+   * @param factory the identifier factory
+   */
+  @Inject
+  public NamingBulkRegisterRequestCodec(final IdentifierFactory factory) {
+    this.factory = factory;
+  }
+
+  /**
+   * Encodes the name assignments to bytes.
+   *
+   * @param obj the naming bulk registration request
+   * @return a byte array
+   */
+  @Override
+  public byte[] encode(final NamingBulkRegisterRequest obj) {
+    return AvroUtils.toBytes(
+        AvroNamingBulkRegisterRequest.newBuilder()
+            .setTuples(AvroUtils.toAvroNamingAssignments(obj.getNameAssignments()))
+            .build(),
+        AvroNamingBulkRegisterRequest.class);
+  }
+
+  /**
+   * Decodes the bytes to name assignments.
+   *
+   * @param buf the byte array
+   * @return a naming bulk registration request
+   */
+  @Override
+  public NamingBulkRegisterRequest decode(final byte[] buf) {
+    final AvroNamingBulkRegisterRequest req = AvroUtils.fromBytes(buf, AvroNamingBulkRegisterRequest.class);
+    return new NamingBulkRegisterRequest(AvroUtils.fromAvroNamingAssignments(req.getTuples(), factory));
+  }
+}
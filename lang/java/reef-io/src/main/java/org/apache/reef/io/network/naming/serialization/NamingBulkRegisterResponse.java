@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.naming.serialization;
+
+/**
+ * Naming bulk registration response.
+ */
+public final class NamingBulkRegisterResponse extends NamingMessage {
+  private final int numRegistered;
+
+  /**
+   * Constructs a naming bulk registration response.
+   *
+   * @param numRegistered the number of name assignments registered
+   */
+  public NamingBulkRegisterResponse(final int numRegistered) {
+    this.numRegistered = numRegistered;
+  }
+
+  /**
+   * Gets the number of name assignments registered.
+   *
+   * @return the number of name assignments registered
+   */
+  public int getNumRegistered() {
+    return numRegistered;
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.naming.serialization;
+
+import org.apache.reef.io.network.naming.avro.AvroNamingBulkRegisterResponse;
+import org.apache.reef.wake.remote.Codec;
+
+import javax.inject.Inject;
+
+/**
+ * Naming bulk registration response codec.
+ */
+public final class NamingBulkRegisterResponseCodec implements Codec<NamingBulkRegisterResponse> {
+
+  @Inject
+  public NamingBulkRegisterResponseCodec() {
+  }
+
+  /**
+   * Encodes a naming bulk registration response to bytes.
+   *
+   * @param obj the naming bulk registration response
+   * @return a byte array
+   */
+  @Override
+  public byte[] encode(final NamingBulkRegisterResponse obj) {
+    return AvroUtils.toBytes(
+        AvroNamingBulkRegisterResponse.newBuilder().setNumRegistered(obj.getNumRegistered()).build(),
+        AvroNamingBulkRegisterResponse.class);
+  }
+
+  /**
+   * Decodes a naming bulk registration response from the bytes.
+   *
+   * @param buf the byte array
+   * @return a naming bulk registration response
+   */
+  @Override
+  public NamingBulkRegisterResponse decode(final byte[] buf) {
+    final AvroNamingBulkRegisterResponse resp = AvroUtils.fromBytes(buf, AvroNamingBulkRegisterResponse.class);
+    return new NamingBulkRegisterResponse(resp.getNumRegistered());
+  }
+}
@@ -19,15 +19,12 @@
 package org.apache.reef.io.network.naming.serialization;
 
 import org.apache.reef.io.naming.NameAssignment;
-import org.apache.reef.io.network.naming.NameAssignmentTuple;
 import org.apache.reef.io.network.naming.avro.AvroNamingAssignment;
 import org.apache.reef.io.network.naming.avro.AvroNamingLookupResponse;
 import org.apache.reef.wake.IdentifierFactory;
 import org.apache.reef.wake.remote.Codec;
 
 import javax.inject.Inject;
-import java.net.InetSocketAddress;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -55,14 +52,7 @@ public final class NamingLookupResponseCodec implements Codec<NamingLookupRespon
    */
   @Override
   public byte[] encode(final NamingLookupResponse obj) {
-    final List<AvroNamingAssignment> assignments = new ArrayList<>(obj.getNameAssignments().size());
-    for (final NameAssignment nameAssignment : obj.getNameAssignments()) {
-      assignments.add(AvroNamingAssignment.newBuilder()
-          .setId(nameAssignment.getIdentifier().toString())
-          .setHost(nameAssignment.getAddress().getHostName())
-          .setPort(nameAssignment.getAddress().getPort())
-          .build());
-    }
+    final List<AvroNamingAssignment> assignments = AvroUtils.toAvroNamingAssignments(obj.getNameAssignments());
     return AvroUtils.toBytes(
         AvroNamingLookupResponse.newBuilder().setTuples(assignments).build(), AvroNamingLookupResponse.class
     );
@@ -78,15 +68,7 @@ public final class NamingLookupResponseCodec implements Codec<NamingLookupRespon
   @Override
   public NamingLookupResponse decode(final byte[] buf) {
     final AvroNamingLookupResponse avroResponse = AvroUtils.fromBytes(buf, AvroNamingLookupResponse.class);
-    final List<NameAssignment> nas = new ArrayList<>(avroResponse.getTuples().size());
-    for (final AvroNamingAssignment tuple : avroResponse.getTuples()) {
-      nas.add(
-          new NameAssignmentTuple(
-              factory.getNewInstance(tuple.getId().toString()),
-              new InetSocketAddress(tuple.getHost().toString(), tuple.getPort())
-          )
-      );
-    }
+    final List<NameAssignment> nas = AvroUtils.fromAvroNamingAssignments(avroResponse.getTuples(), factory);
     return new NamingLookupResponse(nas);
   }
 
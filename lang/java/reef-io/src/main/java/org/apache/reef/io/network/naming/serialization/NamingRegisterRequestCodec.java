@@ -51,7 +51,7 @@ public class NamingRegisterRequestCodec implements Codec<NamingRegisterRequest>
   public byte[] encode(final NamingRegisterRequest obj) {
     final AvroNamingRegisterRequest result = AvroNamingRegisterRequest.newBuilder()
         .setId(obj.getNameAssignment().getIdentifier().toString())
-        .setHost(obj.getNameAssignment().getAddress().getHostName())
+        .setHost(obj.getNameAssignment().getAddress().getHostString())
         .setPort(obj.getNameAssignment().getAddress().getPort())
         .build();
     return AvroUtils.toBytes(result, AvroNamingRegisterRequest.class);
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.naming.serialization;
+
+import org.apache.reef.io.network.naming.avro.AvroNamingUnwatchRequest;
+import org.apache.reef.wake.Identifier;
+import org.apache.reef.wake.IdentifierFactory;
+import org.apache.reef.wake.remote.Codec;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Naming unwatch request codec.
+ */
+public final class NamingUnwatchRequestCodec implements Codec<NamingUnwatchRequest> {
+
+  private final IdentifierFactory factory;
+
+  /**
+   * Constructs a naming unwatch request codec.
+   *
+   * @param factory the identifier factory
+   */
+  @Inject
+  public NamingUnwatchRequestCodec(final IdentifierFactory factory) {
+    this.factory = factory;
+  }
+
+  /**
+   * Encodes the identifiers to bytes.
+   *
+   * @param obj the naming unwatch request
+   * @return a byte array
+   */
+  @Override
+  public byte[] encode(final NamingUnwatchRequest obj) {
+    final List<CharSequence> ids = new ArrayList<>();
+    for (final Identifier id : obj.getIdentifiers()) {
+      ids.add(id.toString());
+    }
+    return AvroUtils.toBytes(AvroNamingUnwatchRequest.newBuilder().setIds(ids).build(), AvroNamingUnwatchRequest.class);
+  }
+
+  /**
+   * Decodes the bytes to a naming unwatch request.
+   *
+   * @param buf the byte array
+   * @return a naming unwatch request
+   */
+  @Override
+  public NamingUnwatchRequest decode(final byte[] buf) {
+    final AvroNamingUnwatchRequest req = AvroUtils.fromBytes(buf, AvroNamingUnwatchRequest.class);
+
+    final List<Identifier> ids = new ArrayList<>(req.getIds().size());
+    for (final CharSequence s : req.getIds()) {
+      ids.add(factory.getNewInstance(s.toString()));
+    }
+    return new NamingUnwatchRequest(ids);
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.naming.serialization;
+
+import org.apache.reef.io.naming.NameAssignment;
+import org.apache.reef.wake.Identifier;
+
+import java.util.List;
+
+/**
+ * Naming watch update, pushed by the name server to the clients watching the identifiers it contains.
+ */
+public final class NamingWatchUpdate extends NamingMessage {
+  private final List<NameAssignment> nas;
+  private final List<Identifier> removedIds;
+
+  /**
+   * Constructs a naming watch update.
+   *
+   * @param nas the name assignments that were registered
+   * @param removedIds the identifiers that were unregistered
+   */
+  public NamingWatchUpdate(final List<NameAssignment> nas, final List<Identifier> removedIds) {
+    this.nas = nas;
+    this.removedIds = removedIds;
+  }
+
+  /**
+   * Gets the name assignments that were registered.
+   *
+   * @return name assignments
+   */
+  public List<NameAssignment> getNameAssignments() {
+    return nas;
+  }
+
+  /**
+   * Gets the identifiers that were unregistered.
+   *
+   * @return identifiers
+   */
+  public List<Identifier> getRemovedIdentifiers() {
+    return removedIds;
+  }
+}
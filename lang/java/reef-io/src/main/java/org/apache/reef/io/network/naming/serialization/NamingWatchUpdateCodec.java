@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.naming.serialization;
+
+import org.apache.reef.io.network.naming.avro.AvroNamingWatchUpdate;
+import org.apache.reef.wake.Identifier;
+import org.apache.reef.wake.IdentifierFactory;
+import org.apache.reef.wake.remote.Codec;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Naming watch update codec.
+ */
+public final class NamingWatchUpdateCodec implements Codec<NamingWatchUpdate> {
+
+  private final IdentifierFactory factory;
+
+  /**
+   * Constructs a naming watch update codec.
+   *
+   * @param factory the identifier factory
+   */
+  @Inject
+  public NamingWatchUpdateCodec(final IdentifierFactory factory) {
+    this.factory = factory;
+  }
+
+  /**
+   * Encodes the update to bytes.
+   *
+   * @param obj the naming watch update
+   * @return a byte array
+   */
+  @Override
+  public byte[] encode(final NamingWatchUpdate obj) {
+    final List<CharSequence> removedIds = new ArrayList<>(obj.getRemovedIdentifiers().size());
+    for (final Identifier id : obj.getRemovedIdentifiers()) {
+      removedIds.add(id.toString());
+    }
+    return AvroUtils.toBytes(
+        AvroNamingWatchUpdate.newBuilder()
+            .setTuples(AvroUtils.toAvroNamingAssignments(obj.getNameAssignments()))
+            .setRemovedIds(removedIds)
+            .build(),
+        AvroNamingWatchUpdate.class);
+  }
+
+  /**
+   * Decodes the bytes to a naming watch update.
+   *
+   * @param buf the byte array
+   * @return a naming watch update
+   */
+  @Override
+  public NamingWatchUpdate decode(final byte[] buf) {
+    final AvroNamingWatchUpdate update = AvroUtils.fromBytes(buf, AvroNamingWatchUpdate.class);
+
+    final List<Identifier> removedIds = new ArrayList<>(update.getRemovedIds().size());
+    for (final CharSequence s : update.getRemovedIds()) {
+      removedIds.add(factory.getNewInstance(s.toString()));
+    }
+    return new NamingWatchUpdate(AvroUtils.fromAvroNamingAssignments(update.getTuples(), factory), removedIds);
+  }
+}
@@ -20,7 +20,10 @@ package org.apache.reef.io.network;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.network.impl.config.NetworkConnectionServiceBatchDelay;
+import org.apache.reef.io.network.impl.config.NetworkConnectionServiceBatchSize;
 import org.apache.reef.io.network.util.*;
+import org.apache.reef.tang.Configuration;
 import org.apache.reef.tang.Tang;
 import org.apache.reef.tang.exceptions.InjectionException;
 import org.apache.reef.wake.Identifier;
@@ -36,6 +39,9 @@ import java.util.concurrent.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 /**
  * Default Network connection service test.
  */
@@ -99,6 +105,66 @@ public class NetworkConnectionServiceTest {
     runMessagingNetworkConnectionService(new StreamingStringCodec());
   }
 
+  private static Configuration getBatchingConfiguration(final int batchSize, final long batchDelay) {
+    return Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(NetworkConnectionServiceBatchSize.class, Integer.toString(batchSize))
+        .bindNamedParameter(NetworkConnectionServiceBatchDelay.class, Long.toString(batchDelay))
+        .build();
+  }
+
+  /**
+   * NetworkConnectionService messaging test with batching enabled.
+   * The number of messages is not a multiple of the batch size, so the last batch is sent by the flush timer.
+   */
+  @Test
+  public void testBatchedMessagingNetworkConnectionService() throws Exception {
+    LOG.log(Level.FINEST, name.getMethodName());
+    final int numMessages = 2003;
+    final Monitor monitor = new Monitor();
+    try (final NetworkMessagingTestService messagingTestService =
+             new NetworkMessagingTestService(localAddress, getBatchingConfiguration(64, 10))) {
+      final NetworkMessagingTestService.MessageHandler<String> receiverHandler =
+          messagingTestService.registerTestConnectionFactory(groupCommClientId, numMessages, monitor,
+              new StreamingStringCodec());
+
+      try (final Connection<String> conn = messagingTestService.getConnectionFromSenderToReceiver(groupCommClientId)) {
+        conn.open();
+        for (int count = 0; count < numMessages; ++count) {
+          conn.write("hello" + count);
+        }
+        monitor.mwait();
+      }
+      assertTrue("Messages were not batched: " + receiverHandler.getMessageCount() + " messages received",
+          receiverHandler.getMessageCount() < numMessages);
+    }
+  }
+
+  /**
+   * Test that an explicit flush sends a partially filled batch without waiting for the flush timer.
+   */
+  @Test
+  public void testFlushBatchedNetworkConnectionService() throws Exception {
+    LOG.log(Level.FINEST, name.getMethodName());
+    final int numMessages = 10;
+    final Monitor monitor = new Monitor();
+    try (final NetworkMessagingTestService messagingTestService =
+             new NetworkMessagingTestService(localAddress, getBatchingConfiguration(1000, 600000))) {
+      final NetworkMessagingTestService.MessageHandler<String> receiverHandler =
+          messagingTestService.registerTestConnectionFactory(groupCommClientId, numMessages, monitor,
+              new StringCodec());
+
+      try (final Connection<String> conn = messagingTestService.getConnectionFromSenderToReceiver(groupCommClientId)) {
+        conn.open();
+        for (int count = 0; count < numMessages; ++count) {
+          conn.write("hello" + count);
+        }
+        conn.flush();
+        monitor.mwait();
+      }
+      assertEquals("The batch was not sent as one message", 1, receiverHandler.getMessageCount());
+    }
+  }
+
   public void runNetworkConnServiceWithMultipleConnFactories(final Codec<String> stringCodec,
                                                              final Codec<Integer> integerCodec)
       throws Exception {
@@ -19,27 +19,47 @@
 package org.apache.reef.io.network.group.impl.driver;
 
 import org.apache.reef.driver.evaluator.FailedEvaluator;
+import org.apache.reef.driver.parameters.DriverIdentifier;
 import org.apache.reef.driver.task.FailedTask;
 import org.apache.reef.driver.task.RunningTask;
 import org.apache.reef.driver.task.TaskConfiguration;
+import org.apache.reef.io.network.Connection;
+import org.apache.reef.io.network.ConnectionFactory;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
 import org.apache.reef.io.network.group.impl.config.BroadcastOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.ReduceOperatorSpec;
+import org.apache.reef.io.network.group.impl.config.parameters.GroupCommFailedEvalHandler;
+import org.apache.reef.io.network.group.impl.config.parameters.GroupCommFailedTaskHandler;
+import org.apache.reef.io.network.group.impl.config.parameters.GroupCommRunningTaskHandler;
+import org.apache.reef.io.network.group.impl.config.parameters.GroupCommSenderStage;
 import org.apache.reef.io.network.group.impl.utils.BroadcastingEventHandler;
+import org.apache.reef.io.network.group.impl.utils.Utils;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos.GroupCommMessage.Type;
+import org.apache.reef.io.network.util.StringIdentifierFactory;
 import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
 import org.apache.reef.tang.annotations.Name;
 import org.apache.reef.tang.annotations.NamedParameter;
 import org.apache.reef.tang.formats.AvroConfigurationSerializer;
 import org.apache.reef.task.Task;
 import org.apache.reef.wake.EStage;
 import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.Identifier;
+import org.apache.reef.wake.impl.SingleThreadStage;
 import org.apache.reef.wake.impl.SyncStage;
+import org.apache.reef.wake.impl.ThreadPoolStage;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
@@ -238,6 +258,259 @@ public final class CommunicationGroupDriverImplTest {
 
   }
 
+  /**
+   * Checks startup and recovery of a simulated topology of 5,000 tasks.
+   * Control msgs are sent the way GroupCommDriverImpl sends them: by a CtrlMsgSender on a thread pool stage.
+   * Simulated tasks acknowledge every neighbor update they receive, from another thread as the network would.
+   */
+  @Test
+  public void testStartupAndRecoveryAtScale() throws Exception {
+    final int numTasks = 5000;
+    final int numFailures = 50;
+    final String rootTaskId = "task0";
+    final GroupCommMessageHandler groupCommMessageHandler = new GroupCommMessageHandler();
+    final AtomicInteger numCtrlMsgs = new AtomicInteger(0);
+
+    try (final SimulatedTasks simulatedTasks = new SimulatedTasks(rootTaskId, groupCommMessageHandler,
+             new CountDownLatch(2 * numTasks), new CountDownLatch(2 * numFailures));
+         final ThreadPoolStage<GroupCommunicationMessage> senderStage = new ThreadPoolStage<>("SrcCtrlMsgSender",
+             new EventHandler<GroupCommunicationMessage>() {
+               private final CtrlMsgSender ctrlMsgSender =
+                   new CtrlMsgSender(new StringIdentifierFactory(), simulatedTasks);
+
+               @Override
+               public void onNext(final GroupCommunicationMessage msg) {
+                 numCtrlMsgs.incrementAndGet();
+                 simulatedTasks.onSending(msg);
+                 ctrlMsgSender.onNext(msg);
+               }
+             }, 5)) {
+
+      final Injector injector = Tang.Factory.getTang().newInjector();
+      injector.bindVolatileParameter(GroupCommSenderStage.class, senderStage);
+      injector.bindVolatileParameter(DriverIdentifier.class, "DriverId");
+      injector.bindVolatileParameter(GroupCommRunningTaskHandler.class, new BroadcastingEventHandler<RunningTask>());
+      injector.bindVolatileParameter(GroupCommFailedTaskHandler.class, new BroadcastingEventHandler<FailedTask>());
+      injector.bindVolatileParameter(GroupCommFailedEvalHandler.class,
+          new BroadcastingEventHandler<FailedEvaluator>());
+      injector.bindVolatileInstance(GroupCommMessageHandler.class, groupCommMessageHandler);
+      final CommunicationGroupDriverImpl communicationGroupDriver = (CommunicationGroupDriverImpl) injector
+          .getInstance(CommunicationGroupDriverFactory.class)
+          .getNewInstance(GroupName.class, TreeTopology.class, numTasks, 10);
+
+      communicationGroupDriver
+          .addBroadcast(BroadcastOperatorName.class,
+              BroadcastOperatorSpec.newBuilder().setSenderId(rootTaskId).build())
+          .addReduce(ReduceOperatorName.class,
+              ReduceOperatorSpec.newBuilder().setReceiverId(rootTaskId).build());
+
+      for (int index = 0; index < numTasks; index++) {
+        communicationGroupDriver.addTask(taskConfiguration("task" + index));
+      }
+      for (int index = 0; index < numTasks; index++) {
+        communicationGroupDriver.runTask("task" + index);
+      }
+      assertTrue("topology set up on all tasks", simulatedTasks.topologySetupLatch.await(60, TimeUnit.SECONDS));
+      assertTrue("startup latency is reported", communicationGroupDriver.getMetrics().getStartupLatencyMs() >= 0);
+
+      for (int index = 1; index <= numFailures; index++) {
+        final String taskId = "task" + index * (numTasks / numFailures - 1);
+        communicationGroupDriver.failTask(taskId);
+        communicationGroupDriver.removeTask(taskId);
+        communicationGroupDriver.addTask(taskConfiguration(taskId));
+        communicationGroupDriver.runTask(taskId);
+      }
+      assertTrue("topology set up on all recovered tasks",
+          simulatedTasks.recoveredSetupLatch.await(60, TimeUnit.SECONDS));
+      assertEquals("number of recoveries", numFailures, communicationGroupDriver.getMetrics().getNumRecoveries());
+      // 2 acks per connection for each of the 2 operations
+      assertTrue("control msgs from tasks are counted",
+          communicationGroupDriver.getMetrics().getControlMsgMeter().getCount() >= 4 * (numTasks - 1));
+
+      final long deadline = System.currentTimeMillis() + 10000;
+      while (simulatedTasks.numMsgsReceived.get() < numCtrlMsgs.get() && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals("every control msg is delivered once", numCtrlMsgs.get(), simulatedTasks.numMsgsReceived.get());
+      assertTrue("msgs queued for the root while it was being sent to are batched",
+          simulatedTasks.numBatches.get() > 0);
+      assertEquals("number of network msgs", numCtrlMsgs.get() - simulatedTasks.numBatchedMsgs.get()
+          + simulatedTasks.numBatches.get(), simulatedTasks.numNetworkMsgs.get());
+    }
+  }
+
+  /**
+   * Check that failed tasks that are never replaced do not accumulate in the metrics.
+   */
+  @Test
+  public void testUnrecoveredFailuresAreBounded() {
+    final CommunicationGroupMetrics metrics = new CommunicationGroupMetrics("GroupName");
+    for (int index = 0; index < CommunicationGroupMetrics.MAX_PENDING_RECOVERIES + 10; index++) {
+      metrics.onTaskFailed("task" + index);
+    }
+    assertEquals("number of tracked failures",
+        CommunicationGroupMetrics.MAX_PENDING_RECOVERIES, metrics.getNumPendingRecoveries());
+
+    metrics.onTaskRunning("task0");
+    assertEquals("the oldest failures are dropped", 0, metrics.getNumRecoveries());
+    metrics.onTaskRunning("task10");
+    assertEquals("number of recoveries", 1, metrics.getNumRecoveries());
+  }
+
+  private static Configuration taskConfiguration(final String taskId) {
+    return TaskConfiguration.CONF
+        .set(TaskConfiguration.IDENTIFIER, taskId)
+        .set(TaskConfiguration.TASK, DummyTask.class)
+        .build();
+  }
+
+  /**
+   * Tasks that acknowledge the neighbor updates written to their connections.
+   * The first write to the root is held until another sender thread waits to send to the root,
+   * so that the msgs queued for the root meanwhile are sent in one batch.
+   * Acks reach the driver from a single receiving thread which, like a network connection,
+   * waits while the driver's queue for the group is full.
+   */
+  private static final class SimulatedTasks implements ConnectionFactory<GroupCommunicationMessage>, AutoCloseable {
+
+    private final String rootTaskId;
+    private final SingleThreadStage<GroupCommunicationMessage> ackStage;
+    private final CountDownLatch topologySetupLatch;
+    private final CountDownLatch recoveredSetupLatch;
+    private final Set<Thread> rootSenders = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+    private final AtomicBoolean rootWritten = new AtomicBoolean(false);
+    private final AtomicInteger numMsgsReceived = new AtomicInteger(0);
+    private final AtomicInteger numNetworkMsgs = new AtomicInteger(0);
+    private final AtomicInteger numBatches = new AtomicInteger(0);
+    private final AtomicInteger numBatchedMsgs = new AtomicInteger(0);
+
+    SimulatedTasks(final String rootTaskId, final GroupCommMessageHandler groupCommMessageHandler,
+                   final CountDownLatch topologySetupLatch, final CountDownLatch recoveredSetupLatch) {
+      this.rootTaskId = rootTaskId;
+      this.ackStage = new SingleThreadStage<>(new EventHandler<GroupCommunicationMessage>() {
+        @Override
+        public void onNext(final GroupCommunicationMessage ack) {
+          while (true) {
+            try {
+              groupCommMessageHandler.onNext(ack);
+              return;
+            } catch (final IllegalStateException e) {
+              // the queue for the group is full
+              Thread.yield();
+            }
+          }
+        }
+      }, 100 * 1000);
+      this.topologySetupLatch = topologySetupLatch;
+      this.recoveredSetupLatch = recoveredSetupLatch;
+    }
+
+    void onSending(final GroupCommunicationMessage msg) {
+      if (rootTaskId.equals(msg.getDestid())) {
+        rootSenders.add(Thread.currentThread());
+      }
+    }
+
+    @Override
+    public Connection<GroupCommunicationMessage> newConnection(final Identifier destId) {
+      return new Connection<GroupCommunicationMessage>() {
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void write(final GroupCommunicationMessage message) {
+          onWrite(destId.toString());
+          numNetworkMsgs.incrementAndGet();
+          acknowledge(message);
+        }
+
+        @Override
+        public void write(final List<GroupCommunicationMessage> messages) {
+          onWrite(destId.toString());
+          numNetworkMsgs.incrementAndGet();
+          numBatches.incrementAndGet();
+          numBatchedMsgs.addAndGet(messages.size());
+          for (final GroupCommunicationMessage message : messages) {
+            acknowledge(message);
+          }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+      };
+    }
+
+    @Override
+    public void close() throws Exception {
+      ackStage.close();
+    }
+
+    @Override
+    public Identifier getConnectionFactoryId() {
+      return new StringIdentifierFactory().getNewInstance("SimulatedTasks");
+    }
+
+    @Override
+    public Identifier getLocalEndPointId() {
+      return new StringIdentifierFactory().getNewInstance("DriverId");
+    }
+
+    /**
+     * Holds the first write to the root until another sender thread is blocked on the root's queue.
+     */
+    private void onWrite(final String destId) {
+      if (!rootTaskId.equals(destId) || !rootWritten.compareAndSet(false, true)) {
+        return;
+      }
+      final long deadline = System.currentTimeMillis() + 10000;
+      while (System.currentTimeMillis() < deadline) {
+        for (final Thread sender : rootSenders) {
+          if (sender != Thread.currentThread() && sender.getState() == Thread.State.BLOCKED) {
+            return;
+          }
+        }
+        Thread.yield();
+      }
+    }
+
+    private void acknowledge(final GroupCommunicationMessage msg) {
+      numMsgsReceived.incrementAndGet();
+      final Type ackType;
+      switch (msg.getType()) {
+      case ParentAdd:
+        ackType = Type.ParentAdded;
+        break;
+      case ChildAdd:
+        ackType = Type.ChildAdded;
+        break;
+      case ParentDead:
+        ackType = Type.ParentRemoved;
+        break;
+      case ChildDead:
+        ackType = Type.ChildRemoved;
+        break;
+      case TopologySetup:
+        if (topologySetupLatch.getCount() > 0) {
+          topologySetupLatch.countDown();
+        } else {
+          recoveredSetupLatch.countDown();
+        }
+        return;
+      default:
+        return;
+      }
+      ackStage.onNext(new GroupCommunicationMessage(msg.getGroupname(), msg.getOperatorname(),
+          ackType, msg.getDestid(), msg.getVersion(), msg.getSrcid(), msg.getSrcVersion(),
+          new byte[][]{Utils.EMPTY_BYTE_ARR}));
+    }
+  }
+
   private final class DummyTask implements Task {
     @Override
     public byte[] call(final byte[] memento) throws Exception {
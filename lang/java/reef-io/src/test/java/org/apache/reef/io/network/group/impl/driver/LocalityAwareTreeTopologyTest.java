@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.driver;
+
+import org.apache.reef.driver.catalog.NodeDescriptor;
+import org.apache.reef.driver.catalog.RackDescriptor;
+import org.apache.reef.driver.parameters.DriverIdentifier;
+import org.apache.reef.io.network.group.api.driver.LocalityAwareTopology;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.BroadcastOperatorSpec;
+import org.apache.reef.io.network.group.impl.config.parameters.*;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
+import org.apache.reef.io.serialization.SerializableCodec;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EStage;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.SyncStage;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link LocalityAwareTreeTopology}.
+ */
+public final class LocalityAwareTreeTopologyTest {
+
+  private static final String ROOT_ID = "root";
+
+  /**
+   * Parent of each task, as announced by the driver through ParentAdd and ChildAdd messages.
+   */
+  private final Map<String, String> parentOf = new HashMap<>();
+
+  private LocalityAwareTopology topology;
+
+  @Before
+  public void setUp() throws InjectionException {
+    final EStage<GroupCommunicationMessage> senderStage =
+        new SyncStage<>(new EventHandler<GroupCommunicationMessage>() {
+          @Override
+          public void onNext(final GroupCommunicationMessage msg) {
+            if (msg.getType() == ReefNetworkGroupCommProtos.GroupCommMessage.Type.ParentAdd) {
+              parentOf.put(msg.getDestid(), msg.getSrcid());
+            } else if (msg.getType() == ReefNetworkGroupCommProtos.GroupCommMessage.Type.ChildAdd) {
+              parentOf.put(msg.getSrcid(), msg.getDestid());
+            }
+          }
+        });
+
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(GroupCommSenderStage.class, senderStage);
+    injector.bindVolatileParameter(CommGroupNameClass.class, GroupName.class);
+    injector.bindVolatileParameter(OperatorNameClass.class, BroadcastOperatorName.class);
+    injector.bindVolatileParameter(DriverIdentifier.class, "DriverId");
+    injector.bindVolatileParameter(TreeTopologyFanOut.class, 2);
+    topology = injector.getInstance(LocalityAwareTreeTopology.class);
+    topology.setRootTask(ROOT_ID);
+    topology.setOperatorSpecification(BroadcastOperatorSpec.newBuilder()
+        .setSenderId(ROOT_ID)
+        .setDataCodecClass(SerializableCodec.class)
+        .build());
+  }
+
+  /**
+   * Check that tasks are grouped below leaders of their host and rack, even when added before the root.
+   */
+  @Test
+  public void testTasksAreGroupedByLocation() {
+    addAndRun("a1", "host0", "rack0");
+    addAndRun(ROOT_ID, "host0", "rack0");
+    addAndRun("a2", "host0", "rack0");
+    addAndRun("a3", "host0", "rack0");
+    addAndRun("b1", "host1", "rack0");
+    addAndRun("c1", "host2", "rack1");
+    addAndRun("b2", "host1", "rack0");
+    addAndRun("c2", "host3", "rack1");
+    addAndRun("c3", "host2", "rack1");
+
+    assertEquals("tasks on the host of the root", ROOT_ID, parentOf.get("a1"));
+    assertEquals("tasks on the host of the root", ROOT_ID, parentOf.get("a2"));
+    assertEquals("fan-out is bounded within a host", "a1", parentOf.get("a3"));
+    assertEquals("host leader on the rack of the root", ROOT_ID, parentOf.get("b1"));
+    assertEquals("rack leader", ROOT_ID, parentOf.get("c1"));
+    assertEquals("task on the host of a host leader", "b1", parentOf.get("b2"));
+    assertEquals("host leader on the rack of a rack leader", "c1", parentOf.get("c2"));
+    assertEquals("task on the host of a rack leader", "c1", parentOf.get("c3"));
+    assertEquals("number of tasks with a parent", 8, parentOf.size());
+  }
+
+  /**
+   * Check that the last task on the host of a removed host leader takes over its position,
+   * and that the task is placed anew when it is added again.
+   */
+  @Test
+  public void testRemovedHostLeaderIsReplaced() {
+    addAndRun(ROOT_ID, "host0", "rack0");
+    addAndRun("b1", "host1", "rack0");
+    addAndRun("b2", "host1", "rack0");
+    addAndRun("b3", "host1", "rack0");
+
+    topology.onFailedTask("b1");
+    topology.removeTask("b1");
+    assertEquals("new host leader", ROOT_ID, parentOf.get("b3"));
+    assertEquals("task below the new host leader", "b3", parentOf.get("b2"));
+
+    addAndRun("b1", "host1", "rack0");
+    assertEquals("re-added task", "b3", parentOf.get("b1"));
+  }
+
+  /**
+   * Check that the last host leader on the rack of a removed rack leader takes over its position,
+   * if no other task runs on the host of the rack leader.
+   */
+  @Test
+  public void testRemovedRackLeaderIsReplaced() {
+    addAndRun(ROOT_ID, "host0", "rack0");
+    addAndRun("c1", "host2", "rack1");
+    addAndRun("c2", "host3", "rack1");
+    addAndRun("c3", "host4", "rack1");
+    addAndRun("d1", "host4", "rack1");
+
+    topology.onFailedTask("c1");
+    topology.removeTask("c1");
+    assertEquals("new rack leader", ROOT_ID, parentOf.get("c3"));
+    assertEquals("host leader below the new rack leader", "c3", parentOf.get("c2"));
+    assertEquals("task on the host of the new rack leader", "c3", parentOf.get("d1"));
+  }
+
+  /**
+   * Check that a task whose node has no rack is placed like a task on an unknown rack.
+   */
+  @Test
+  public void testTaskWithoutRack() {
+    addAndRun(ROOT_ID, "host0", "rack0");
+    final NodeDescriptor nodeDescriptor = mock(NodeDescriptor.class);
+    when(nodeDescriptor.getInetSocketAddress()).thenReturn(InetSocketAddress.createUnresolved("host1", 0));
+    topology.addTask("e1", nodeDescriptor);
+    topology.onRunningTask("e1");
+    assertEquals("rack leader of the unknown rack", ROOT_ID, parentOf.get("e1"));
+  }
+
+  /**
+   * Check that tasks without a location are kept together below the root.
+   */
+  @Test
+  public void testTasksWithoutLocation() {
+    topology.addTask(ROOT_ID);
+    topology.onRunningTask(ROOT_ID);
+    for (final String taskId : new String[]{"t1", "t2", "t3", "t4"}) {
+      topology.addTask(taskId);
+      topology.onRunningTask(taskId);
+    }
+
+    assertEquals(ROOT_ID, parentOf.get("t1"));
+    assertEquals(ROOT_ID, parentOf.get("t2"));
+    assertEquals("t1", parentOf.get("t3"));
+    assertEquals("t1", parentOf.get("t4"));
+  }
+
+  private void addAndRun(final String taskId, final String hostName, final String rackName) {
+    final RackDescriptor rackDescriptor = mock(RackDescriptor.class);
+    when(rackDescriptor.getName()).thenReturn(rackName);
+    final NodeDescriptor nodeDescriptor = mock(NodeDescriptor.class);
+    when(nodeDescriptor.getInetSocketAddress()).thenReturn(InetSocketAddress.createUnresolved(hostName, 0));
+    when(nodeDescriptor.getRackDescriptor()).thenReturn(rackDescriptor);
+    topology.addTask(taskId, nodeDescriptor);
+    topology.onRunningTask(taskId);
+  }
+
+  @NamedParameter()
+  private final class GroupName implements Name<String> {
+  }
+
+  @NamedParameter()
+  private final class BroadcastOperatorName implements Name<String> {
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.numeric;
+
+import org.apache.reef.io.serialization.SerializableCodec;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the numeric array codecs and their in-place sum functions.
+ */
+public final class ArraySumFunctionTest {
+
+  /**
+   * Test that encoded values are folded into the accumulator in place and match {@code apply}.
+   */
+  @Test
+  public void testDoubleArraySum() {
+    final DoubleArrayCodec codec = new DoubleArrayCodec();
+    final DoubleArraySumFunction sum = new DoubleArraySumFunction();
+    final double[] value1 = {1.0, 2.0, 3.0};
+    final double[] value2 = {0.5, -2.0, 10.0};
+
+    assertArrayEquals(value1, codec.decode(codec.encode(value1)), 0.0);
+
+    final double[] accumulator = sum.combineEncoded(null, codec.encode(value1));
+    assertSame(accumulator, sum.combineEncoded(accumulator, codec.encode(value2)));
+    assertArrayEquals(new double[]{1.5, 0.0, 13.0}, accumulator, 0.0);
+    assertArrayEquals(accumulator, sum.apply(Arrays.asList(value1, value2)), 0.0);
+
+    assertSame(accumulator, sum.combine(accumulator, value1));
+    assertArrayEquals(new double[]{2.5, 2.0, 16.0}, accumulator, 0.0);
+    assertArrayEquals("combine must not modify the element", new double[]{1.0, 2.0, 3.0}, value1, 0.0);
+  }
+
+  /**
+   * Test that the scratch buffer is reused correctly for values of different lengths across reductions.
+   */
+  @Test
+  public void testFloatArraySumReusesScratch() {
+    final FloatArrayCodec codec = new FloatArrayCodec();
+    final FloatArraySumFunction sum = new FloatArraySumFunction();
+
+    float[] accumulator = sum.combineEncoded(null, codec.encode(new float[]{1f, 2f, 3f, 4f}));
+    accumulator = sum.combineEncoded(accumulator, codec.encode(new float[]{1f, 1f, 1f, 1f}));
+    assertArrayEquals(new float[]{2f, 3f, 4f, 5f}, accumulator, 0f);
+
+    accumulator = sum.combineEncoded(null, codec.encode(new float[]{1f, 2f}));
+    accumulator = sum.combineEncoded(accumulator, codec.encode(new float[]{3f, 4f}));
+    assertArrayEquals(new float[]{4f, 6f}, accumulator, 0f);
+  }
+
+  /**
+   * Test the long array sum and that values of different lengths are rejected.
+   */
+  @Test
+  public void testLongArraySum() {
+    final LongArrayCodec codec = new LongArrayCodec();
+    final LongArraySumFunction sum = new LongArraySumFunction();
+
+    final long[] accumulator = sum.combineEncoded(null, codec.encode(new long[]{Long.MAX_VALUE - 1, 7L}));
+    sum.combineEncoded(accumulator, codec.encode(new long[]{1L, -7L}));
+    assertArrayEquals(new long[]{Long.MAX_VALUE, 0L}, accumulator);
+
+    try {
+      sum.combineEncoded(accumulator, codec.encode(new long[]{1L}));
+      fail("Summing arrays of different lengths should fail");
+    } catch (final IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  /**
+   * Test that one instance can be used by several threads at the same time, each with values of its own.
+   */
+  @Test
+  public void testSharedByThreads() throws InterruptedException {
+    final DoubleArraySumFunction sum = new DoubleArraySumFunction();
+    final DoubleArrayCodec codec = new DoubleArrayCodec();
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      final int dimension = 100 * (t + 1);
+      final double value = t + 1;
+      final byte[] encodedValues = codec.encode(filled(dimension, value));
+      threads[t] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            for (int i = 0; i < 1000; i++) {
+              double[] accumulator = sum.combineEncoded(null, encodedValues);
+              for (int j = 0; j < 9; j++) {
+                accumulator = sum.combineEncoded(accumulator, encodedValues);
+              }
+              assertArrayEquals(filled(dimension, 10 * value), accumulator, 0.0);
+            }
+          } catch (final Throwable e) {
+            failure.compareAndSet(null, e);
+          }
+        }
+      });
+      threads[t].start();
+    }
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+    assertNull(failure.get());
+  }
+
+  /**
+   * Test that the sum functions only fold encoded values of their own codec.
+   */
+  @Test
+  public void testIsEncodedBy() {
+    assertTrue(new DoubleArraySumFunction().isEncodedBy(new DoubleArrayCodec()));
+    assertFalse(new DoubleArraySumFunction().isEncodedBy(new SerializableCodec<double[]>()));
+    assertTrue(new FloatArraySumFunction().isEncodedBy(new FloatArrayCodec()));
+    assertFalse(new FloatArraySumFunction().isEncodedBy(new SerializableCodec<float[]>()));
+    assertTrue(new LongArraySumFunction().isEncodedBy(new LongArrayCodec()));
+    assertFalse(new LongArraySumFunction().isEncodedBy(new SerializableCodec<long[]>()));
+  }
+
+  private static double[] filled(final int length, final double value) {
+    final double[] retVal = new double[length];
+    Arrays.fill(retVal, value);
+    return retVal;
+  }
+}
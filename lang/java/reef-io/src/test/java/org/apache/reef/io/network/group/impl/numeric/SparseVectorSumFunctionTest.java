@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.numeric;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SparseVectorCodec} and {@link SparseVectorSumFunction}.
+ */
+public final class SparseVectorSumFunctionTest {
+
+  /**
+   * Test that sparse vectors are encoded compactly and switch to the dense encoding past the density threshold.
+   */
+  @Test
+  public void testCodecSwitchesToDense() {
+    final SparseVectorCodec codec = new SparseVectorCodec();
+
+    final SparseVector sparse = new SparseVector(1000, new int[]{3, 500, 999}, new double[]{1.0, -2.0, 3.5});
+    final byte[] sparseEncoding = codec.encode(sparse);
+    assertEquals("header and 12 bytes per entry", 8 + 3 * 12, sparseEncoding.length);
+    assertEquals(sparse, codec.decode(sparseEncoding));
+
+    final double[] denseValues = {1.0, 0.0, 2.0, 3.0, 4.0, 0.0};
+    final SparseVector dense = SparseVector.fromDense(denseValues);
+    assertEquals(4, dense.getNumNonZeros());
+    final byte[] denseEncoding = codec.encode(dense);
+    assertEquals("header and 8 bytes per value", 8 + 6 * 8, denseEncoding.length);
+    assertEquals(dense, codec.decode(denseEncoding));
+    assertArrayEquals(denseValues, codec.decode(denseEncoding).toDense(), 0.0);
+
+    final SparseVector empty = new SparseVector(0);
+    assertEquals(empty, codec.decode(codec.encode(empty)));
+  }
+
+  /**
+   * Test that encoded values are merged into the accumulator in place and match {@code apply}.
+   */
+  @Test
+  public void testSparseVectorSum() {
+    final SparseVectorCodec codec = new SparseVectorCodec();
+    final SparseVectorSumFunction sum = new SparseVectorSumFunction();
+    final SparseVector value1 = new SparseVector(10, new int[]{0, 4, 7}, new double[]{1.0, 2.0, 3.0});
+    final SparseVector value2 = new SparseVector(10, new int[]{2, 4, 9}, new double[]{5.0, -2.0, 1.0});
+    final SparseVector value3 = new SparseVector(10, new int[]{1}, new double[]{6.0});
+
+    final SparseVector accumulator = sum.combineEncoded(null, codec.encode(value1));
+    assertSame(accumulator, sum.combineEncoded(accumulator, codec.encode(value2)));
+    assertSame(accumulator, sum.combineEncoded(accumulator, codec.encode(value3)));
+    assertArrayEquals(new double[]{1.0, 6.0, 5.0, 0.0, 0.0, 0.0, 0.0, 3.0, 0.0, 1.0}, accumulator.toDense(), 0.0);
+    assertEquals(accumulator, sum.apply(Arrays.asList(value1, value2, value3)));
+
+    assertSame(accumulator, sum.combine(accumulator, value1));
+    assertEquals(2.0, accumulator.get(4), 0.0);
+    assertEquals(6.0, accumulator.get(7), 0.0);
+    assertEquals("combine must not modify the element",
+        new SparseVector(10, new int[]{0, 4, 7}, new double[]{1.0, 2.0, 3.0}), value1);
+  }
+
+  /**
+   * Test that vectors of different dimensions are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testDimensionMismatch() {
+    new SparseVectorSumFunction().combine(new SparseVector(3), new SparseVector(4));
+  }
+
+  /**
+   * Test that merging never writes to the arrays a vector was created from.
+   */
+  @Test
+  public void testCallerArraysAreNotModified() {
+    final SparseVectorSumFunction sum = new SparseVectorSumFunction();
+    final int[] indices = {0, 1, 2, 3};
+    final double[] values = {1.0, 2.0, 3.0, 4.0};
+    final SparseVector accumulator = new SparseVector(5, indices, values);
+    sum.combine(accumulator, new SparseVector(5, new int[]{4}, new double[]{5.0}));
+    // A merge into another accumulator that needs less room than the arrays of the first one had.
+    final SparseVector other = new SparseVector(5, new int[]{0}, new double[]{1.0});
+    sum.combine(other, new SparseVector(5, new int[]{1}, new double[]{1.0}));
+
+    assertArrayEquals(new double[]{1.0, 2.0, 3.0, 4.0, 5.0}, accumulator.toDense(), 0.0);
+    assertArrayEquals(new double[]{1.0, 1.0, 0.0, 0.0, 0.0}, other.toDense(), 0.0);
+    assertArrayEquals(new int[]{0, 1, 2, 3}, indices);
+    assertArrayEquals(new double[]{1.0, 2.0, 3.0, 4.0}, values, 0.0);
+  }
+
+  /**
+   * Test that one instance can be used by several threads at the same time.
+   */
+  @Test
+  public void testSharedByThreads() throws InterruptedException {
+    final SparseVectorSumFunction sum = new SparseVectorSumFunction();
+    final SparseVectorCodec codec = new SparseVectorCodec();
+    final int dimension = 100;
+    final byte[] encodedOnes = codec.encode(SparseVector.fromDense(filled(dimension, 1.0)));
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            for (int i = 0; i < 100; i++) {
+              SparseVector accumulator = sum.combineEncoded(null, encodedOnes);
+              for (int j = 0; j < 9; j++) {
+                accumulator = sum.combineEncoded(accumulator, encodedOnes);
+              }
+              assertArrayEquals(filled(dimension, 10.0), accumulator.toDense(), 0.0);
+            }
+          } catch (final Throwable e) {
+            failure.compareAndSet(null, e);
+          }
+        }
+      });
+      threads[t].start();
+    }
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+    assertNull(failure.get());
+  }
+
+  private static double[] filled(final int length, final double value) {
+    final double[] retVal = new double[length];
+    Arrays.fill(retVal, value);
+    return retVal;
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.operators;
+
+import org.apache.reef.io.network.group.api.operators.GroupCommCallback;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@code AsyncOperationExecutor}.
+ */
+public final class AsyncOperationExecutorTest {
+
+  /**
+   * Test that several operations can be in flight and run one at a time in submission order.
+   */
+  @Test
+  public void testOperationsRunInOrder() throws Exception {
+    final AsyncOperationExecutor executor = new AsyncOperationExecutor("TestOperator");
+    final List<Integer> executionOrder = Collections.synchronizedList(new ArrayList<Integer>());
+    final CountDownLatch firstOperationBlocked = new CountDownLatch(1);
+
+    final List<Future<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      final int index = i;
+      futures.add(executor.submit(new Callable<Integer>() {
+        @Override
+        public Integer call() throws Exception {
+          if (index == 0) {
+            firstOperationBlocked.await();
+          }
+          executionOrder.add(index);
+          return index;
+        }
+      }, null));
+    }
+
+    assertFalse(futures.get(9).isDone());
+    firstOperationBlocked.countDown();
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(Integer.valueOf(i), futures.get(i).get(10, TimeUnit.SECONDS));
+      assertEquals(Integer.valueOf(i), executionOrder.get(i));
+    }
+  }
+
+  /**
+   * Test that callbacks are notified of both results and failures.
+   */
+  @Test
+  public void testCallbacks() throws Exception {
+    final AsyncOperationExecutor executor = new AsyncOperationExecutor("TestOperator");
+    final AtomicReference<String> result = new AtomicReference<>();
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final CountDownLatch callbacksCalled = new CountDownLatch(2);
+    final GroupCommCallback<String> callback = new GroupCommCallback<String>() {
+      @Override
+      public void onSuccess(final String value) {
+        result.set(value);
+        callbacksCalled.countDown();
+      }
+
+      @Override
+      public void onFailure(final Throwable cause) {
+        failure.set(cause);
+        callbacksCalled.countDown();
+      }
+    };
+
+    executor.submit(new Callable<String>() {
+      @Override
+      public String call() {
+        return "done";
+      }
+    }, callback);
+    final Future<String> failed = executor.submit(new Callable<String>() {
+      @Override
+      public String call() {
+        throw new IllegalStateException("failed");
+      }
+    }, callback);
+
+    assertTrue(callbacksCalled.await(10, TimeUnit.SECONDS));
+    assertEquals("done", result.get());
+    assertTrue(failure.get() instanceof IllegalStateException);
+    try {
+      failed.get();
+      fail("Future of a failed operation should throw");
+    } catch (final ExecutionException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.utils;
+
+import org.apache.reef.io.Tuple;
+import org.apache.reef.io.network.impl.StreamingCodec;
+import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.io.serialization.SerializableCodec;
+import org.apache.reef.wake.EventHandler;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@code GatherDecoder} and {@code Utils.concat}.
+ */
+public final class GatherDecoderTest {
+
+  /**
+   * Test that elements of several child messages are decoded in order, with a plain codec.
+   */
+  @Test
+  public void testDecodeWithCodec() throws IOException {
+    final Codec<Integer> codec = new SerializableCodec<>();
+    assertDecodedInOrder(codec);
+  }
+
+  /**
+   * Test that elements are decoded directly from the message when the codec is a {@code StreamingCodec}.
+   */
+  @Test
+  public void testDecodeWithStreamingCodec() throws IOException {
+    assertDecodedInOrder(new StreamingIntCodec());
+  }
+
+  /**
+   * Test that a {@code StreamingCodec} that reads past the end of an element fails on that element,
+   * instead of the next element being decoded from the wrong offset.
+   */
+  @Test
+  public void testStreamingCodecReadingPastElement() throws IOException {
+    final byte[] childMsg = encodeGatherMsg(new StreamingIntCodec(), 0, 2);
+    final GatherDecoder<Integer> decoder = new GatherDecoder<>(new StreamingIntCodec(1));
+    try {
+      decoder.decode(childMsg, new EventHandler<Tuple<String, Integer>>() {
+        @Override
+        public void onNext(final Tuple<String, Integer> element) {
+          fail("No element should be decoded, got " + element);
+        }
+      });
+      fail("Decoding should fail");
+    } catch (final RuntimeException e) {
+      assertTrue(e.getCause() instanceof IOException);
+      assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains("Task-0"));
+    }
+  }
+
+  /**
+   * Test that {@code Utils.concat} produces the same bytes as concatenating the segments one by one.
+   */
+  @Test
+  public void testConcat() {
+    final List<byte[]> segments = Arrays.asList(new byte[]{1, 2}, new byte[0], new byte[]{3}, new byte[]{4, 5, 6});
+    assertEquals(Arrays.toString(new byte[]{1, 2, 3, 4, 5, 6}), Arrays.toString(Utils.concat(segments)));
+    assertEquals(0, Utils.concat(new ArrayList<byte[]>()).length);
+  }
+
+  private static void assertDecodedInOrder(final Codec<Integer> codec) throws IOException {
+    final byte[] childMsg1 = encodeGatherMsg(codec, 0, 3);
+    final byte[] childMsg2 = encodeGatherMsg(codec, 3, 5);
+
+    final GatherDecoder<Integer> decoder = new GatherDecoder<>(codec);
+    final List<Tuple<String, Integer>> decoded = new ArrayList<>();
+    final EventHandler<Tuple<String, Integer>> handler = new EventHandler<Tuple<String, Integer>>() {
+      @Override
+      public void onNext(final Tuple<String, Integer> element) {
+        decoded.add(element);
+      }
+    };
+    decoder.decode(childMsg1, handler);
+    assertEquals(3, decoded.size());
+    decoder.decode(Utils.concat(Arrays.asList(childMsg2, Utils.EMPTY_BYTE_ARR)), handler);
+
+    assertEquals(5, decoded.size());
+    for (int index = 0; index < 5; index++) {
+      assertEquals("Task-" + index, decoded.get(index).getKey());
+      assertEquals(Integer.valueOf(index * 10), decoded.get(index).getValue());
+    }
+  }
+
+  /**
+   * Encode elements in the same format {@code GatherSender} uses.
+   */
+  private static byte[] encodeGatherMsg(final Codec<Integer> codec, final int from, final int to)
+      throws IOException {
+    try (final ByteArrayOutputStream bstream = new ByteArrayOutputStream();
+         final DataOutputStream dstream = new DataOutputStream(bstream)) {
+      for (int index = from; index < to; index++) {
+        final byte[] encoded = codec.encode(index * 10);
+        dstream.writeUTF("Task-" + index);
+        dstream.writeInt(encoded.length);
+        dstream.write(encoded);
+      }
+      return bstream.toByteArray();
+    }
+  }
+
+  /**
+   * A codec that can be used both as a plain and as a streaming codec.
+   */
+  private static final class StreamingIntCodec implements Codec<Integer>, StreamingCodec<Integer> {
+
+    private final int bytesReadPastElement;
+
+    StreamingIntCodec() {
+      this(0);
+    }
+
+    /**
+     * @param bytesReadPastElement the number of bytes that decodeFromStream reads after each element.
+     */
+    StreamingIntCodec(final int bytesReadPastElement) {
+      this.bytesReadPastElement = bytesReadPastElement;
+    }
+
+    @Override
+    public byte[] encode(final Integer obj) {
+      return ByteBuffer.allocate(4).putInt(obj).array();
+    }
+
+    @Override
+    public Integer decode(final byte[] buf) {
+      throw new UnsupportedOperationException("Elements should be decoded from the stream");
+    }
+
+    @Override
+    public void encodeToStream(final Integer obj, final DataOutputStream stream) {
+      try {
+        stream.writeInt(obj);
+      } catch (final IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public Integer decodeFromStream(final DataInputStream stream) {
+      try {
+        final int value = stream.readInt();
+        stream.skipBytes(this.bytesReadPastElement);
+        return value;
+      } catch (final IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+}
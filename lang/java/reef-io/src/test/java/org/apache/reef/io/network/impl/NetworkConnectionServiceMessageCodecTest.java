@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.impl;
+
+import org.apache.reef.io.network.exception.NetworkRuntimeException;
+import org.apache.reef.io.network.util.StringCodec;
+import org.apache.reef.io.network.util.StringIdentifierFactory;
+import org.apache.reef.wake.IdentifierFactory;
+import org.apache.reef.wake.remote.Codec;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link NetworkConnectionServiceMessageCodec}.
+ */
+public final class NetworkConnectionServiceMessageCodecTest {
+
+  private static final String CONN_FACTORY_ID = "connFactory";
+  private static final int HEADER_ID = 7;
+
+  private final IdentifierFactory idFactory = new StringIdentifierFactory();
+  private final Map<String, NetworkConnectionFactory> connFactoryMap = new ConcurrentHashMap<>();
+  private final NetworkConnectionServiceMessageCodec codec =
+      new NetworkConnectionServiceMessageCodec(idFactory, connFactoryMap);
+  private final SocketAddress remoteAddress = new InetSocketAddress("localhost", 10000);
+
+  /**
+   * Check that messages refer to the header defined by the first message of their link.
+   */
+  @Test
+  public void testHeaderIsDefinedOnce() {
+    connFactoryMap.put(CONN_FACTORY_ID, newConnFactory(new StringCodec()));
+    final byte[] definition = codec.encode(newMessage("first", true));
+    final byte[] reference = codec.encode(newMessage("second", false));
+
+    codec.decode(definition, remoteAddress);
+    final NetworkConnectionServiceMessage message = codec.decode(reference, remoteAddress);
+    assertEquals("connection factory id", CONN_FACTORY_ID, message.getConnectionFactoryId());
+    assertEquals("source id", "src", message.getSrcId().toString());
+    assertEquals("destination id", "dest", message.getDestId().toString());
+    assertEquals("data", Collections.singletonList("second"), message.getData());
+  }
+
+  /**
+   * Check that the headers defined by a link are dropped when the link is closed.
+   */
+  @Test
+  public void testHeadersAreDroppedWhenLinkCloses() {
+    connFactoryMap.put(CONN_FACTORY_ID, newConnFactory(new StringCodec()));
+    codec.decode(codec.encode(newMessage("first", true)), remoteAddress);
+
+    codec.onLinkClosed(remoteAddress);
+    try {
+      codec.decode(codec.encode(newMessage("second", false)), remoteAddress);
+      fail("The header of a closed link should not be known");
+    } catch (final RuntimeException e) {
+      // expected
+    }
+  }
+
+  /**
+   * Check that cached headers refer to the connection factory registered again under their id.
+   */
+  @Test
+  public void testHeadersFollowReregisteredConnectionFactory() {
+    connFactoryMap.put(CONN_FACTORY_ID, newConnFactory(new StringCodec()));
+    codec.decode(codec.encode(newMessage("first", true)), remoteAddress);
+    final byte[] reference = codec.encode(newMessage("second", false));
+
+    connFactoryMap.remove(CONN_FACTORY_ID);
+    codec.onConnectionFactoryChanged(CONN_FACTORY_ID);
+    try {
+      codec.decode(reference, remoteAddress);
+      fail("Messages to an unregistered connection factory should not be decoded");
+    } catch (final NetworkRuntimeException e) {
+      // expected
+    }
+
+    connFactoryMap.put(CONN_FACTORY_ID, newConnFactory(new UpperCaseStringCodec()));
+    codec.onConnectionFactoryChanged(CONN_FACTORY_ID);
+    assertEquals("data decoded by the new connection factory", Collections.singletonList("SECOND"),
+        codec.decode(reference, remoteAddress).getData());
+  }
+
+  private NetworkConnectionServiceMessage<String> newMessage(final String data, final boolean headerDefinition) {
+    return new NetworkConnectionServiceMessage<>(CONN_FACTORY_ID, idFactory.getNewInstance("src"),
+        idFactory.getNewInstance("dest"), Collections.singletonList(data), HEADER_ID, headerDefinition);
+  }
+
+  private NetworkConnectionFactory<String> newConnFactory(final Codec<String> stringCodec) {
+    return new NetworkConnectionFactory<>(null, idFactory.getNewInstance(CONN_FACTORY_ID), stringCodec,
+        null, null, idFactory.getNewInstance("dest"));
+  }
+
+  private static final class UpperCaseStringCodec implements Codec<String> {
+    private final StringCodec stringCodec = new StringCodec();
+
+    @Override
+    public byte[] encode(final String obj) {
+      return stringCodec.encode(obj);
+    }
+
+    @Override
+    public String decode(final byte[] buf) {
+      return stringCodec.decode(buf).toUpperCase();
+    }
+  }
+}
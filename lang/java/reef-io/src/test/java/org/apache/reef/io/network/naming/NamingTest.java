@@ -35,9 +35,7 @@ import org.junit.Test;
 import org.junit.rules.TestName;
 
 import java.net.InetSocketAddress;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -396,6 +394,253 @@ public class NamingTest {
     }
   }
 
+  /**
+   * Concurrent bulk registration and bulk lookup of 10000 identifiers through NameClients.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testBulkRegistrationAtScale() throws Exception {
+
+    LOG.log(Level.FINEST, this.name.getMethodName());
+
+    final int numClients = 4;
+    final int numIdsPerClient = 2500;
+    final int batchSize = 500;
+    final String localAddress = localAddressProvider.getLocalAddress();
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(NameServerParameters.NameServerIdentifierFactory.class, this.factory);
+    injector.bindVolatileInstance(LocalAddressProvider.class, this.localAddressProvider);
+    try (final NameServer server = injector.getInstance(NameServer.class)) {
+      this.port = server.getPort();
+      final Configuration nameResolverConf = getNameResolverConfiguration(localAddress);
+
+      final List<Identifier> allIds = new ArrayList<>(numClients * numIdsPerClient);
+      final ExecutorService e = Executors.newFixedThreadPool(numClients);
+      final List<Future<?>> futures = new ArrayList<>(numClients);
+      final long start = System.currentTimeMillis();
+      for (int c = 0; c < numClients; c++) {
+        final List<NameAssignment> nas = new ArrayList<>(numIdsPerClient);
+        for (int i = 0; i < numIdsPerClient; i++) {
+          final Identifier id = this.factory.getNewInstance("task" + c + "_" + i);
+          nas.add(new NameAssignmentTuple(id, new InetSocketAddress(localAddress, 10000 + i)));
+          allIds.add(id);
+        }
+        futures.add(e.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            try (final NameClient client =
+                     Tang.Factory.getTang().newInjector(nameResolverConf).getInstance(NameClient.class)) {
+              for (int i = 0; i < nas.size(); i += batchSize) {
+                client.register(nas.subList(i, Math.min(i + batchSize, nas.size())));
+              }
+            }
+            return null;
+          }
+        }));
+      }
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+      e.shutdown();
+      LOG.log(Level.INFO, "Registered {0} ids in {1} ms",
+          new Object[]{allIds.size(), System.currentTimeMillis() - start});
+
+      try (final NameClient client =
+               Tang.Factory.getTang().newInjector(nameResolverConf).getInstance(NameClient.class)) {
+        final List<NameAssignment> nas = client.remoteLookup(allIds);
+        Assert.assertEquals(allIds.size(), nas.size());
+      }
+    }
+  }
+
+  /**
+   * Watched identifiers are updated by the NameServer instead of being served from the cache until it expires.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testNameClientWatch() throws Exception {
+
+    LOG.log(Level.FINEST, this.name.getMethodName());
+
+    final String localAddress = localAddressProvider.getLocalAddress();
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(NameServerParameters.NameServerIdentifierFactory.class, this.factory);
+    injector.bindVolatileInstance(LocalAddressProvider.class, this.localAddressProvider);
+    try (final NameServer server = injector.getInstance(NameServer.class)) {
+      this.port = server.getPort();
+
+      final Identifier id = this.factory.getNewInstance("task1");
+      final InetSocketAddress addr1 = new InetSocketAddress(localAddress, 7001);
+      final InetSocketAddress addr2 = new InetSocketAddress(localAddress, 7002);
+      server.register(id, addr1);
+
+      try (final NameClient client = Tang.Factory.getTang().newInjector(getNameResolverConfiguration(localAddress))
+          .getInstance(NameClient.class)) {
+        // the address is now cached for TTL
+        Assert.assertEquals(addr1, client.lookup(id));
+
+        client.watch(Arrays.asList(id));
+        server.register(id, addr2);
+
+        final long deadline = System.currentTimeMillis() + TTL / 2;
+        while (!addr2.equals(client.lookup(id))) {
+          Assert.assertTrue("The watch update did not arrive", System.currentTimeMillis() < deadline);
+          Thread.sleep(10);
+        }
+      }
+    }
+  }
+
+  /**
+   * The NameServer forgets a watcher when it unwatches and when its link is closed.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testNameClientUnwatch() throws Exception {
+
+    LOG.log(Level.FINEST, this.name.getMethodName());
+
+    final String localAddress = localAddressProvider.getLocalAddress();
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(NameServerParameters.NameServerIdentifierFactory.class, this.factory);
+    injector.bindVolatileInstance(LocalAddressProvider.class, this.localAddressProvider);
+    try (final NameServerImpl server = injector.getInstance(NameServerImpl.class)) {
+      this.port = server.getPort();
+
+      final Identifier id = this.factory.getNewInstance("task1");
+      final InetSocketAddress addr1 = new InetSocketAddress(localAddress, 7001);
+      final InetSocketAddress addr2 = new InetSocketAddress(localAddress, 7002);
+      server.register(id, addr1);
+
+      try (final NameClient client = Tang.Factory.getTang().newInjector(getNameResolverConfiguration(localAddress))
+          .getInstance(NameClient.class)) {
+        client.watch(Arrays.asList(id));
+        waitForWatchers(server, id, 1);
+        Assert.assertEquals(addr1, client.lookup(id));
+
+        client.unwatch(Arrays.asList(id));
+        waitForWatchers(server, id, 0);
+        // the lookup goes to the NameServer again
+        server.register(id, addr2);
+        Assert.assertEquals(addr2, client.lookup(id));
+
+        client.watch(Arrays.asList(id));
+        waitForWatchers(server, id, 1);
+      }
+      waitForWatchers(server, id, 0);
+    }
+  }
+
+  /**
+   * The NameServer forgets the clients that looked up an identifier when their link is closed.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testNameClientLookupClientPruning() throws Exception {
+
+    LOG.log(Level.FINEST, this.name.getMethodName());
+
+    final String localAddress = localAddressProvider.getLocalAddress();
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(NameServerParameters.NameServerIdentifierFactory.class, this.factory);
+    injector.bindVolatileInstance(LocalAddressProvider.class, this.localAddressProvider);
+    try (final NameServerImpl server = injector.getInstance(NameServerImpl.class)) {
+      this.port = server.getPort();
+
+      final Identifier id = this.factory.getNewInstance("task1");
+      server.register(id, new InetSocketAddress(localAddress, 7001));
+
+      try (final NameClient client = Tang.Factory.getTang().newInjector(getNameResolverConfiguration(localAddress))
+          .getInstance(NameClient.class)) {
+        client.lookup(id);
+        Assert.assertEquals(1, server.getNumLookupClients(id));
+      }
+
+      final long deadline = System.currentTimeMillis() + TTL / 2;
+      while (server.getNumLookupClients(id) != 0) {
+        Assert.assertTrue("The closed lookup client was not pruned", System.currentTimeMillis() < deadline);
+        Thread.sleep(10);
+      }
+    }
+  }
+
+  private static void waitForWatchers(final NameServerImpl server, final Identifier id, final int numWatchers)
+      throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + TTL / 2;
+    while (server.getNumWatchers(id) != numWatchers) {
+      Assert.assertTrue("Expected " + numWatchers + " watchers of " + id + " but got " + server.getNumWatchers(id),
+          System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * A cached address is invalidated by the NameServer when its identifier is registered with another address,
+   * and a lookup of an identifier that is not registered yet succeeds once it is registered.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testNameClientLookupInvalidation() throws Exception {
+
+    LOG.log(Level.FINEST, this.name.getMethodName());
+
+    final String localAddress = localAddressProvider.getLocalAddress();
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(NameServerParameters.NameServerIdentifierFactory.class, this.factory);
+    injector.bindVolatileInstance(LocalAddressProvider.class, this.localAddressProvider);
+    try (final NameServer server = injector.getInstance(NameServer.class)) {
+      this.port = server.getPort();
+
+      final Identifier id1 = this.factory.getNewInstance("task1");
+      final Identifier id2 = this.factory.getNewInstance("task2");
+      final InetSocketAddress addr1 = new InetSocketAddress(localAddress, 7001);
+      final InetSocketAddress addr2 = new InetSocketAddress(localAddress, 7002);
+      server.register(id1, addr1);
+
+      try (final NameClient client = Tang.Factory.getTang().newInjector(getNameResolverConfiguration(localAddress))
+          .getInstance(NameClient.class)) {
+        // the address is now cached for TTL
+        Assert.assertEquals(addr1, client.lookup(id1));
+
+        server.register(id1, addr2);
+
+        final long deadline = System.currentTimeMillis() + TTL / 2;
+        while (!addr2.equals(client.lookup(id1))) {
+          Assert.assertTrue("The invalidation did not arrive", System.currentTimeMillis() < deadline);
+          Thread.sleep(10);
+        }
+
+        // the retries of the lookup wait outside of the cache, so they see the registration
+        final ExecutorService e = Executors.newSingleThreadExecutor();
+        final Future<InetSocketAddress> lookup = e.submit(new Callable<InetSocketAddress>() {
+          @Override
+          public InetSocketAddress call() throws Exception {
+            return client.lookup(id2);
+          }
+        });
+        Thread.sleep(RETRY_TIMEOUT);
+        server.register(id2, addr1);
+        Assert.assertEquals(addr1, lookup.get());
+        e.shutdown();
+      }
+    }
+  }
+
+  private Configuration getNameResolverConfiguration(final String localAddress) {
+    return NameResolverConfiguration.CONF
+        .set(NameResolverConfiguration.NAME_SERVER_HOSTNAME, localAddress)
+        .set(NameResolverConfiguration.NAME_SERVICE_PORT, this.port)
+        .set(NameResolverConfiguration.CACHE_TIMEOUT, TTL)
+        .set(NameResolverConfiguration.RETRY_TIMEOUT, RETRY_TIMEOUT)
+        .set(NameResolverConfiguration.RETRY_COUNT, RETRY_COUNT)
+        .build();
+  }
+
   private boolean isEqual(final Map<Identifier, InetSocketAddress> map1,
                           final Map<Identifier, InetSocketAddress> map2) {
 
@@ -55,6 +55,15 @@ public final class NetworkMessagingTestService implements AutoCloseable {
   private final NameResolver senderResolver;
 
   public NetworkMessagingTestService(final String localAddress) throws InjectionException {
+    this(localAddress, Tang.Factory.getTang().newConfigurationBuilder().build());
+  }
+
+  /**
+   * @param localAddress the address of the name server
+   * @param senderConf additional configuration of the sender's NetworkConnectionService
+   */
+  public NetworkMessagingTestService(final String localAddress, final Configuration senderConf)
+      throws InjectionException {
     // name server
     final Injector injector = Tang.Factory.getTang().newInjector();
     this.nameServer = injector.getInstance(NameServer.class);
@@ -72,22 +81,27 @@ public final class NetworkMessagingTestService implements AutoCloseable {
 
     // network service for sender
     LOG.log(Level.FINEST, "=== Test network connection service sender start");
-    final Injector injectorSender = injector.forkInjector(netConf);
+    final Injector injectorSender = injector.forkInjector(netConf, senderConf);
     senderNetworkConnService = injectorSender.getInstance(NetworkConnectionService.class);
     this.senderResolver = injectorSender.getInstance(NameResolver.class);
   }
 
-  public <T> void registerTestConnectionFactory(final Identifier connFactoryId,
-                                                final int numMessages, final Monitor monitor,
-                                                final Codec<T> codec) throws NetworkException {
+  /**
+   * @return the handler of the messages received by the receiver.
+   */
+  public <T> MessageHandler<T> registerTestConnectionFactory(final Identifier connFactoryId,
+                                                             final int numMessages, final Monitor monitor,
+                                                             final Codec<T> codec) throws NetworkException {
     final Identifier receiverEndPointId = factory.getNewInstance("receiver");
     final Identifier senderEndPointId = factory.getNewInstance("sender");
+    final MessageHandler<T> receiverHandler =
+        new MessageHandler<T>(monitor, numMessages, senderEndPointId, receiverEndPointId);
     receiverNetworkConnService.registerConnectionFactory(connFactoryId, codec,
-        new MessageHandler<T>(monitor, numMessages, senderEndPointId, receiverEndPointId),
-        new TestListener<T>(), receiverEndPointId);
+        receiverHandler, new TestListener<T>(), receiverEndPointId);
     senderNetworkConnService.registerConnectionFactory(connFactoryId, codec,
         new MessageHandler<T>(monitor, numMessages, receiverEndPointId, senderEndPointId),
         new TestListener<T>(), senderEndPointId);
+    return receiverHandler;
   }
 
   public <T> Connection<T> getConnectionFromSenderToReceiver(final Identifier connFactoryId) {
@@ -111,6 +125,7 @@ public final class NetworkMessagingTestService implements AutoCloseable {
     private final Identifier expectedSrcId;
     private final Identifier expectedDestId;
     private AtomicInteger count = new AtomicInteger(0);
+    private final AtomicInteger messageCount = new AtomicInteger(0);
 
     public MessageHandler(final Monitor monitor,
                           final int expected,
@@ -124,23 +139,34 @@ public final class NetworkMessagingTestService implements AutoCloseable {
 
     @Override
     public void onNext(final Message<T> value) {
-      count.incrementAndGet();
-      LOG.log(Level.FINE, "Count: {0}", count.get());
       LOG.log(Level.FINE,
           "OUT: {0} received {1} from {2} to {3}",
           new Object[]{value, value.getSrcId(), value.getDestId()});
 
+      messageCount.incrementAndGet();
+      // a message may carry a batch of data, so count the data rather than the messages
+      int numData = 0;
       for (final T obj : value.getData()) {
         LOG.log(Level.FINE, "OUT: data: {0}", obj);
+        numData++;
       }
+      final int newCount = count.addAndGet(numData);
+      LOG.log(Level.FINE, "Count: {0}", newCount);
 
       assert value.getSrcId().equals(expectedSrcId);
       assert value.getDestId().equals(expectedDestId);
 
-      if (count.get() == expected) {
+      if (newCount == expected) {
         monitor.mnotify();
       }
     }
+
+    /**
+     * @return the number of messages received, each of which may carry a batch of data.
+     */
+    public int getMessageCount() {
+      return messageCount.get();
+    }
   }
 
   public static final class TestListener<T> implements LinkListener<Message<T>> {
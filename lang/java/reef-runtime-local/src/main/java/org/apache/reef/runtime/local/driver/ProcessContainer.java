@@ -106,7 +106,9 @@ public final class ProcessContainer implements Container {
         final Path linkTargetPath = Files.readSymbolicLink(sourceFile.toPath());
         Files.createSymbolicLink(destinationFile.toPath(), linkTargetPath);
       } else {
-        Files.copy(sourceFile.toPath(), destinationFile.toPath(), java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+        // Keep the modification times: a class data sharing archive of the classpath is only valid for them.
+        Files.copy(sourceFile.toPath(), destinationFile.toPath(), java.nio.file.StandardCopyOption.REPLACE_EXISTING,
+            java.nio.file.StandardCopyOption.COPY_ATTRIBUTES);
       }
     }
   }
@@ -157,24 +157,33 @@ public final class ResourceManager {
   void onResourceLaunchRequest(
       final ResourceLaunchEvent launchRequest) {
 
+    final Container c;
     synchronized (this.theContainers) {
+      c = this.theContainers.get(launchRequest.getIdentifier());
+    }
 
-      final Container c = this.theContainers.get(launchRequest.getIdentifier());
+    // Only the folder of this container is written, so several Evaluators can be launched at the same time.
+    try (final LoggingScope lb = this.loggingScopeFactory
+        .getNewLoggingScope("ResourceManager.onResourceLaunchRequest:evaluatorConfigurationFile")) {
+      // Add the global files and libraries.
+      c.addGlobalFiles(this.fileNames.getGlobalFolder());
+      c.addLocalFiles(getLocalFiles(launchRequest));
 
-      try (final LoggingScope lb = this.loggingScopeFactory
-          .getNewLoggingScope("ResourceManager.onResourceLaunchRequest:evaluatorConfigurationFile")) {
-        // Add the global files and libraries.
-        c.addGlobalFiles(this.fileNames.getGlobalFolder());
-        c.addLocalFiles(getLocalFiles(launchRequest));
+      // Make the configuration file of the evaluator.
+      final File evaluatorConfigurationFile = new File(c.getFolder(), fileNames.getEvaluatorConfigurationPath());
 
-        // Make the configuration file of the evaluator.
-        final File evaluatorConfigurationFile = new File(c.getFolder(), fileNames.getEvaluatorConfigurationPath());
+      try {
+        this.configurationSerializer.toFile(launchRequest.getEvaluatorConf(), evaluatorConfigurationFile);
+      } catch (final IOException | BindException e) {
+        throw new RuntimeException("Unable to write configuration.", e);
+      }
+    }
+
+    synchronized (this.theContainers) {
 
-        try {
-          this.configurationSerializer.toFile(launchRequest.getEvaluatorConf(), evaluatorConfigurationFile);
-        } catch (final IOException | BindException e) {
-          throw new RuntimeException("Unable to write configuration.", e);
-        }
+      if (this.theContainers.get(launchRequest.getIdentifier()) != c) {
+        LOG.log(Level.WARNING, "Not launching container {0}, which was released in the meantime.", c);
+        return;
       }
 
       try (final LoggingScope lc = this.loggingScopeFactory
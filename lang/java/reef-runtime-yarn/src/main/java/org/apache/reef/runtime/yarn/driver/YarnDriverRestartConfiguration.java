@@ -25,10 +25,12 @@ import org.apache.reef.annotations.audience.Public;
 import org.apache.reef.driver.restart.DriverRuntimeRestartManager;
 import org.apache.reef.runtime.common.driver.DriverRuntimeRestartConfiguration;
 import org.apache.reef.runtime.common.driver.EvaluatorPreserver;
+import org.apache.reef.runtime.yarn.driver.parameters.CompactEvaluatorLog;
 import org.apache.reef.runtime.yarn.driver.parameters.YarnEvaluatorPreserver;
 import org.apache.reef.tang.formats.ConfigurationModule;
 import org.apache.reef.tang.formats.ConfigurationModuleBuilder;
 import org.apache.reef.tang.formats.OptionalImpl;
+import org.apache.reef.tang.formats.OptionalParameter;
 
 /**
  * Use this ConfigurationModule to configure YARN-specific Restart options for the driver.
@@ -44,11 +46,17 @@ public final class YarnDriverRestartConfiguration extends ConfigurationModuleBui
    */
   public static final OptionalImpl<EvaluatorPreserver> EVALUATOR_PRESERVER = new OptionalImpl<>();
 
+  /**
+   * Whether the DFS Evaluator Preserver writes a binary log that it compacts from time to time. Defaults to false.
+   */
+  public static final OptionalParameter<Boolean> COMPACT_EVALUATOR_LOG = new OptionalParameter<>();
+
   /**
    * This event is fired in place of the ON_DRIVER_STARTED when the Driver is in fact restarted after failure.
    */
   public static final ConfigurationModule CONF = new YarnDriverRestartConfiguration()
       .bindNamedParameter(YarnEvaluatorPreserver.class, EVALUATOR_PRESERVER)
+      .bindNamedParameter(CompactEvaluatorLog.class, COMPACT_EVALUATOR_LOG)
       .bindImplementation(DriverRuntimeRestartManager.class, YarnDriverRuntimeRestartManager.class)
       .merge(DriverRuntimeRestartConfiguration.CONF)
       .build();
@@ -0,0 +1,514 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.yarn.driver.restart;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.util.CloseableIterable;
+
+import java.io.*;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * The DFS evaluator logger that writes a binary, checksummed log and compacts it from time to time.
+ * <p>
+ * The log is a series of generations. A generation starts with a snapshot of the Evaluators alive at its start,
+ * {@code <log>.<generation>.snapshot}, followed by segments of the entries written since,
+ * {@code <log>.<generation>.<segment>}. Once a generation has enough entries, the Evaluators alive are written
+ * to the snapshot of the next generation, and the files of the previous generations are deleted.
+ * A snapshot is written to a temporary file and renamed once complete, so it is either complete or missing.
+ * Temporary files left behind by a Driver that died while compacting are deleted when the log is opened for writing
+ * and on each compaction.
+ * <p>
+ * Entries are written in frames: the length of the entries, the entries, and their CRC32. A frame that is
+ * incomplete or does not match its checksum, e.g. because the Driver died while writing it, ends its segment.
+ * A segment may also lack a complete header, if the Driver died or failed to write right after creating it:
+ * it is empty, as no frame is acknowledged before the header is synced.
+ * <p>
+ * The entries written concurrently are written together in one frame and synced once (group commit).
+ * If the FS supports append, a segment stays open and each frame is synced with hsync().
+ * Otherwise each frame is written to a new segment, which is closed right away.
+ * A segment that failed to be written is given up, so that the next frame starts a new segment instead of
+ * following a partial frame.
+ * A new Driver starts a new generation, so that it never writes to the files of the previous one.
+ */
+@Private
+public final class DFSEvaluatorLogCompactingReaderWriter implements DFSEvaluatorLogReaderWriter {
+
+  private static final Logger LOG = Logger.getLogger(DFSEvaluatorLogCompactingReaderWriter.class.getName());
+
+  private static final int MAGIC = 0x52454C47; // "RELG"
+  private static final byte VERSION = 1;
+  private static final byte ADD = 1;
+  private static final byte REMOVE = 2;
+  private static final String SNAPSHOT_SUFFIX = "snapshot";
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+
+  /**
+   * Number of entries in a generation after which the log is compacted, if it has more entries than
+   * twice the number of Evaluators alive.
+   */
+  static final int DEFAULT_COMPACTION_THRESHOLD = 1024;
+
+  /**
+   * Number of segments in a generation after which the log is compacted.
+   */
+  private static final int MAX_SEGMENTS = 64;
+
+  private final FileSystem fileSystem;
+  private final Path changeLogPath;
+  private final boolean appendSupported;
+  private final int compactionThreshold;
+  private final Pattern fileNamePattern;
+  private final Pattern temporaryFileNamePattern;
+
+  /**
+   * The entries waiting to be written, and the frame they will be written in.
+   */
+  private Batch openBatch = new Batch();
+
+  /**
+   * True while a thread writes a batch. Only that thread touches the fields below.
+   */
+  private boolean writing = false;
+
+  private boolean initialized = false;
+  private final Set<String> aliveEvaluators = new HashSet<>();
+  private int generation = 0;
+  private int nextSegment = 0;
+  private int entriesInGeneration = 0;
+  private FSDataOutputStream segment = null;
+
+  private boolean fsClosed = false;
+
+  DFSEvaluatorLogCompactingReaderWriter(final FileSystem fileSystem,
+                                        final Path changeLogPath,
+                                        final boolean appendSupported) {
+    this(fileSystem, changeLogPath, appendSupported, DEFAULT_COMPACTION_THRESHOLD);
+  }
+
+  DFSEvaluatorLogCompactingReaderWriter(final FileSystem fileSystem,
+                                        final Path changeLogPath,
+                                        final boolean appendSupported,
+                                        final int compactionThreshold) {
+    this.fileSystem = fileSystem;
+    this.changeLogPath = changeLogPath;
+    this.appendSupported = appendSupported;
+    this.compactionThreshold = compactionThreshold;
+    this.fileNamePattern =
+        Pattern.compile(Pattern.quote(changeLogPath.getName()) + "\\.(\\d+)\\.(" + SNAPSHOT_SUFFIX + "|\\d+)");
+    this.temporaryFileNamePattern = Pattern.compile(Pattern.quote(changeLogPath.getName()) + "\\.\\d+\\." +
+        SNAPSHOT_SUFFIX + Pattern.quote(TEMPORARY_SUFFIX));
+  }
+
+  /**
+   * Writes a formatted entry (addition or removal) for an Evaluator ID into the DFS evaluator log.
+   * Returns once the entry is synced, together with the entries written by other threads in the meantime.
+   * @param formattedEntry The formatted entry (entry with evaluator ID and addition/removal information).
+   * @throws IOException when the entry cannot be written.
+   */
+  @Override
+  public void writeToEvaluatorLog(final String formattedEntry) throws IOException {
+    final String entry = formattedEntry.trim();
+    final byte type;
+    if (entry.startsWith(DFSEvaluatorPreserver.ADD_FLAG)) {
+      type = ADD;
+    } else if (entry.startsWith(DFSEvaluatorPreserver.REMOVE_FLAG)) {
+      type = REMOVE;
+    } else {
+      throw new IllegalArgumentException("Unknown evaluator log entry: " + formattedEntry);
+    }
+
+    final Batch batch;
+    synchronized (this) {
+      batch = this.openBatch;
+      batch.add(type, entry.substring(1));
+      // Wait for the batch to be written by another thread, or for our turn to write it.
+      while (!batch.done && this.writing) {
+        try {
+          this.wait();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while writing to the evaluator log");
+        }
+      }
+      if (!batch.done) {
+        this.writing = true;
+        this.openBatch = new Batch();
+      }
+    }
+
+    if (!batch.done) {
+      IOException failure = null;
+      try {
+        this.write(batch);
+      } catch (final IOException e) {
+        failure = e;
+      }
+      synchronized (this) {
+        batch.done = true;
+        batch.failure = failure;
+        this.writing = false;
+        this.notifyAll();
+      }
+    }
+
+    if (batch.failure != null) {
+      throw new IOException("Unable to write to the evaluator log", batch.failure);
+    }
+  }
+
+  /**
+   * Reads the Evaluators alive according to the latest generation of the log.
+   * @return an addition entry for each Evaluator alive.
+   */
+  @Override
+  public synchronized CloseableIterable<String> readFromEvaluatorLog() throws IOException {
+    final List<String> entries = new ArrayList<>();
+    for (final String evaluatorId : this.readAliveEvaluators(false)) {
+      entries.add(DFSEvaluatorPreserver.ADD_FLAG + evaluatorId);
+    }
+    return new CloseableIterable<String>() {
+      @Override
+      public Iterator<String> iterator() {
+        return entries.iterator();
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+  }
+
+  /**
+   * Writes the batch as one frame and compacts the log if needed. Called by one thread at a time.
+   */
+  private void write(final Batch batch) throws IOException {
+    if (!this.initialized) {
+      this.aliveEvaluators.addAll(this.readAliveEvaluators(true));
+      if (this.generation > 0 || this.nextSegment > 0) {
+        // Never write to the files of a previous Driver, which may have died while writing them.
+        this.compact();
+      } else {
+        this.deleteStaleFiles();
+      }
+      this.initialized = true;
+    }
+
+    final byte[] frame = batch.toFrame();
+    if (this.appendSupported) {
+      try {
+        if (this.segment == null) {
+          this.segment = this.createWithHeader(this.getSegmentPath(this.generation, this.nextSegment++));
+        }
+        this.segment.write(frame);
+        this.segment.hsync();
+      } catch (final IOException e) {
+        this.discardSegment();
+        throw e;
+      }
+    } else {
+      try (final FSDataOutputStream out =
+               this.createWithHeader(this.getSegmentPath(this.generation, this.nextSegment++))) {
+        out.write(frame);
+        out.hsync();
+      }
+    }
+
+    batch.applyTo(this.aliveEvaluators);
+    this.entriesInGeneration += batch.size();
+
+    if (this.nextSegment >= MAX_SEGMENTS || this.entriesInGeneration >= this.compactionThreshold &&
+        this.entriesInGeneration > 2 * this.aliveEvaluators.size()) {
+      try {
+        this.compact();
+      } catch (final IOException e) {
+        // The entries are synced already, the log will be compacted after the next write.
+        LOG.log(Level.WARNING, "Unable to compact the evaluator log", e);
+      }
+    }
+  }
+
+  /**
+   * Gives up the open segment after a failed write. Its frames up to the failed one are read back, the next frame
+   * is written to a new segment.
+   */
+  private void discardSegment() {
+    if (this.segment != null) {
+      try {
+        this.segment.close();
+      } catch (final IOException e) {
+        LOG.log(Level.WARNING, "Unable to close the evaluator log segment that failed to be written", e);
+      }
+      this.segment = null;
+    }
+  }
+
+  /**
+   * Starts a new generation with a snapshot of the Evaluators alive, and deletes the previous generations.
+   */
+  private void compact() throws IOException {
+    if (this.segment != null) {
+      this.segment.close();
+      this.segment = null;
+    }
+
+    final int newGeneration = this.generation + 1;
+    final Path snapshotPath = this.getSnapshotPath(newGeneration);
+    final Path temporaryPath = new Path(snapshotPath + TEMPORARY_SUFFIX);
+    final Batch snapshot = new Batch();
+    for (final String evaluatorId : this.aliveEvaluators) {
+      snapshot.add(ADD, evaluatorId);
+    }
+    try (final FSDataOutputStream out = this.createWithHeader(temporaryPath)) {
+      out.write(snapshot.toFrame());
+      out.hsync();
+    }
+    if (!this.fileSystem.rename(temporaryPath, snapshotPath)) {
+      throw new IOException("Unable to rename " + temporaryPath + " to " + snapshotPath);
+    }
+
+    LOG.log(Level.FINE, "Compacted {0} entries of generation {1} into a snapshot of {2} Evaluators",
+        new Object[] {this.entriesInGeneration, this.generation, this.aliveEvaluators.size()});
+    this.generation = newGeneration;
+    this.nextSegment = 0;
+    this.entriesInGeneration = 0;
+    this.deleteStaleFiles();
+  }
+
+  /**
+   * Deletes the files of the generations before the current one, and the temporary snapshots of failed compactions.
+   * Only the writer creates temporary snapshots, and it renames each one before it returns, so all of them are stale.
+   */
+  private void deleteStaleFiles() throws IOException {
+    for (final FileStatus file : this.listLogFiles()) {
+      final String fileName = file.getPath().getName();
+      final Matcher matcher = this.fileNamePattern.matcher(fileName);
+      final boolean stale = matcher.matches() && Integer.parseInt(matcher.group(1)) < this.generation ||
+          this.temporaryFileNamePattern.matcher(fileName).matches();
+      if (stale && !this.fileSystem.delete(file.getPath(), false)) {
+        LOG.log(Level.WARNING, "Unable to delete {0}", file.getPath());
+      }
+    }
+  }
+
+  /**
+   * Reads the latest generation of the log.
+   * @param resume whether to set generation and nextSegment to continue the latest generation.
+   */
+  private Set<String> readAliveEvaluators(final boolean resume) throws IOException {
+    // The latest generation is the one with the latest complete snapshot, or 0 if there is none.
+    int latestGeneration = 0;
+    final TreeMap<Integer, Path> segments = new TreeMap<>();
+    final List<FileStatus> files = this.listLogFiles();
+    for (final FileStatus file : files) {
+      final Matcher matcher = this.fileNamePattern.matcher(file.getPath().getName());
+      if (matcher.matches() && matcher.group(2).equals(SNAPSHOT_SUFFIX)) {
+        latestGeneration = Math.max(latestGeneration, Integer.parseInt(matcher.group(1)));
+      }
+    }
+    for (final FileStatus file : files) {
+      final Matcher matcher = this.fileNamePattern.matcher(file.getPath().getName());
+      if (matcher.matches() && !matcher.group(2).equals(SNAPSHOT_SUFFIX) &&
+          Integer.parseInt(matcher.group(1)) == latestGeneration) {
+        segments.put(Integer.parseInt(matcher.group(2)), file.getPath());
+      }
+    }
+
+    final Set<String> alive = new HashSet<>();
+    if (latestGeneration > 0) {
+      this.readFile(this.getSnapshotPath(latestGeneration), alive, false);
+    }
+    for (final Map.Entry<Integer, Path> segment : segments.entrySet()) {
+      this.readFile(segment.getValue(), alive, true);
+    }
+
+    if (resume) {
+      this.generation = latestGeneration;
+      this.nextSegment = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+    }
+    return alive;
+  }
+
+  /**
+   * Applies the entries of the file to the set of Evaluators alive, up to the first incomplete or corrupt frame.
+   * @param isSegment whether the file is a segment, which is empty if its header is missing or incomplete;
+   *                  a snapshot is renamed once complete, so its header must be complete.
+   */
+  private void readFile(final Path path, final Set<String> alive, final boolean isSegment) throws IOException {
+    try (final FSDataInputStream in = this.fileSystem.open(path)) {
+      final int magic;
+      final byte version;
+      try {
+        magic = in.readInt();
+        version = in.readByte();
+      } catch (final EOFException e) {
+        if (isSegment) {
+          LOG.log(Level.WARNING, "Ignoring {0}, whose header is incomplete", path);
+          return;
+        }
+        throw new IOException("Incomplete header in evaluator log file: " + path, e);
+      }
+      if (magic != MAGIC || version != VERSION) {
+        throw new IOException("Not an evaluator log file: " + path);
+      }
+      while (true) {
+        final int length;
+        try {
+          length = in.readInt();
+        } catch (final EOFException e) {
+          return;
+        }
+        final byte[] entries;
+        final long checksum;
+        try {
+          if (length < 0) {
+            throw new EOFException("Negative frame length " + length);
+          }
+          entries = new byte[length];
+          in.readFully(entries);
+          checksum = in.readLong();
+        } catch (final EOFException e) {
+          LOG.log(Level.WARNING, "Ignoring the incomplete end of " + path, e);
+          return;
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(entries);
+        if (crc.getValue() != checksum) {
+          LOG.log(Level.WARNING, "Ignoring the end of {0}, from a frame that does not match its checksum", path);
+          return;
+        }
+        applyEntries(entries, alive);
+      }
+    }
+  }
+
+  private static void applyEntries(final byte[] entries, final Set<String> alive) throws IOException {
+    final DataInputStream in = new DataInputStream(new ByteArrayInputStream(entries));
+    while (in.available() > 0) {
+      final byte type = in.readByte();
+      final String evaluatorId = in.readUTF();
+      if (type == ADD) {
+        alive.add(evaluatorId);
+      } else if (type == REMOVE) {
+        alive.remove(evaluatorId);
+      } else {
+        throw new IOException("Unknown evaluator log entry type " + type);
+      }
+    }
+  }
+
+  private List<FileStatus> listLogFiles() throws IOException {
+    final Path directory = this.changeLogPath.getParent();
+    if (!this.fileSystem.exists(directory)) {
+      return Collections.emptyList();
+    }
+    return Arrays.asList(this.fileSystem.listStatus(directory));
+  }
+
+  private FSDataOutputStream createWithHeader(final Path path) throws IOException {
+    final FSDataOutputStream out = this.fileSystem.create(path, true);
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    return out;
+  }
+
+  private Path getSnapshotPath(final int gen) {
+    return new Path(this.changeLogPath + "." + gen + "." + SNAPSHOT_SUFFIX);
+  }
+
+  private Path getSegmentPath(final int gen, final int segmentNumber) {
+    return new Path(this.changeLogPath + "." + gen + "." + segmentNumber);
+  }
+
+  /**
+   * Closes the open segment and the FileSystem, once the batch being written is synced.
+   * @throws Exception
+   */
+  @Override
+  public synchronized void close() throws Exception {
+    while (this.writing) {
+      this.wait();
+    }
+    if (this.segment != null) {
+      this.segment.close();
+      this.segment = null;
+    }
+    if (this.fileSystem != null && !this.fsClosed) {
+      this.fileSystem.close();
+      this.fsClosed = true;
+    }
+  }
+
+  /**
+   * Entries written together in one frame.
+   */
+  private static final class Batch {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(this.bytes);
+    private int size = 0;
+
+    private boolean done = false;
+    private IOException failure = null;
+
+    private void add(final byte type, final String evaluatorId) {
+      try {
+        this.out.writeByte(type);
+        this.out.writeUTF(evaluatorId);
+      } catch (final IOException e) {
+        throw new RuntimeException("Unable to encode an evaluator log entry", e);
+      }
+      ++this.size;
+    }
+
+    private int size() {
+      return this.size;
+    }
+
+    private void applyTo(final Set<String> alive) throws IOException {
+      applyEntries(this.bytes.toByteArray(), alive);
+    }
+
+    /**
+     * @return the frame: the length of the entries, the entries, and their CRC32.
+     */
+    private byte[] toFrame() throws IOException {
+      final byte[] entries = this.bytes.toByteArray();
+      final CRC32 crc = new CRC32();
+      crc.update(entries);
+      final ByteArrayOutputStream frame = new ByteArrayOutputStream(entries.length + 12);
+      final DataOutputStream frameOut = new DataOutputStream(frame);
+      frameOut.writeInt(entries.length);
+      frameOut.write(entries);
+      frameOut.writeLong(crc.getValue());
+      frameOut.flush();
+      return frame.toByteArray();
+    }
+  }
+}
@@ -0,0 +1,365 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.yarn.driver.restart;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.FilterFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.permission.FsPermission;
+import org.apache.hadoop.util.Progressable;
+import org.apache.reef.util.CloseableIterable;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for DFSEvaluatorLogCompactingReaderWriter, on the local FS.
+ */
+public final class DFSEvaluatorLogCompactingReaderWriterTest {
+
+  private static final String LOG_NAME = "evaluatorsChangesLog";
+
+  private File directory;
+  private Path changeLogPath;
+
+  @Before
+  public void setUp() throws IOException {
+    this.directory = Files.createTempDirectory("evaluatorLog").toFile();
+    this.changeLogPath = new Path(this.directory.getAbsolutePath(), LOG_NAME);
+  }
+
+  @After
+  public void tearDown() {
+    deleteRecursively(this.directory);
+  }
+
+  /**
+   * Test that a new writer recovers the Evaluators alive, with append.
+   */
+  @Test
+  public void testRecoveryWithAppend() throws Exception {
+    this.checkRecovery(true);
+  }
+
+  /**
+   * Test that a new writer recovers the Evaluators alive, without append.
+   */
+  @Test
+  public void testRecoveryWithoutAppend() throws Exception {
+    this.checkRecovery(false);
+  }
+
+  /**
+   * Test that the log is compacted into a snapshot, and that the files of older generations are deleted, with append.
+   */
+  @Test
+  public void testCompactionWithAppend() throws Exception {
+    this.checkCompaction(true);
+  }
+
+  /**
+   * Test that the log is compacted into a snapshot, and that the files of older generations are deleted,
+   * without append.
+   */
+  @Test
+  public void testCompactionWithoutAppend() throws Exception {
+    this.checkCompaction(false);
+  }
+
+  private void checkRecovery(final boolean appendSupported) throws Exception {
+    try (final DFSEvaluatorLogCompactingReaderWriter writer = this.newReaderWriter(appendSupported, 1024)) {
+      for (int i = 0; i < 5; i++) {
+        writer.writeToEvaluatorLog(DFSEvaluatorPreserver.ADD_FLAG + "e" + i + System.lineSeparator());
+      }
+      writer.writeToEvaluatorLog(DFSEvaluatorPreserver.REMOVE_FLAG + "e2" + System.lineSeparator());
+    }
+    Assert.assertEquals(expected("e0", "e1", "e3", "e4"), this.recover(appendSupported));
+
+    // The second Driver starts a new generation and removes the files of the first one.
+    try (final DFSEvaluatorLogCompactingReaderWriter writer = this.newReaderWriter(appendSupported, 1024)) {
+      Assert.assertEquals(expected("e0", "e1", "e3", "e4"), read(writer));
+      writer.writeToEvaluatorLog(DFSEvaluatorPreserver.REMOVE_FLAG + "e0");
+      writer.writeToEvaluatorLog(DFSEvaluatorPreserver.ADD_FLAG + "e5");
+    }
+    Assert.assertEquals(expected("e1", "e3", "e4", "e5"), this.recover(appendSupported));
+    for (final String fileName : this.listLogFiles()) {
+      Assert.assertTrue(fileName + " is not from the second generation", fileName.startsWith(LOG_NAME + ".1."));
+    }
+  }
+
+  private void checkCompaction(final boolean appendSupported) throws Exception {
+    try (final DFSEvaluatorLogCompactingReaderWriter writer = this.newReaderWriter(appendSupported, 10)) {
+      for (int i = 0; i < 100; i++) {
+        writer.writeToEvaluatorLog(DFSEvaluatorPreserver.ADD_FLAG + "e" + i);
+        if (i % 10 != 0) {
+          writer.writeToEvaluatorLog(DFSEvaluatorPreserver.REMOVE_FLAG + "e" + i);
+        }
+      }
+      // At most 10 Evaluators are alive, so a generation has a snapshot and at most 2 * 10 + 1 segments.
+      final List<String> fileNames = this.listLogFiles();
+      Assert.assertTrue("The log was not compacted: " + fileNames, fileNames.size() <= 22);
+      Assert.assertFalse("The first generation was not deleted: " + fileNames, fileNames.contains(LOG_NAME + ".0.0"));
+    }
+
+    final Set<String> expected = new HashSet<>();
+    for (int i = 0; i < 100; i += 10) {
+      expected.add("e" + i);
+    }
+    Assert.assertEquals(expected, this.recover(appendSupported));
+  }
+
+  /**
+   * Test that an incomplete frame at the end of a segment, e.g. from a Driver that died, is ignored.
+   */
+  @Test
+  public void testIncompleteFrame() throws Exception {
+    try (final DFSEvaluatorLogCompactingReaderWriter writer = this.newReaderWriter(false, 1024)) {
+      writer.writeToEvaluatorLog(DFSEvaluatorPreserver.ADD_FLAG + "e0");
+      writer.writeToEvaluatorLog(DFSEvaluatorPreserver.ADD_FLAG + "e1");
+    }
+    final File lastSegment = new File(this.directory, LOG_NAME + ".0.1");
+    Assert.assertTrue(lastSegment.exists());
+    final byte[] segment = Files.readAllBytes(lastSegment.toPath());
+    // The local FS checksums its files, so write the truncated segment through it.
+    final FileSystem fileSystem = FileSystem.newInstanceLocal(new Configuration());
+    try (final FSDataOutputStream out = fileSystem.create(new Path(lastSegment.getAbsolutePath()), true)) {
+      out.write(segment, 0, segment.length - 3);
+    } finally {
+      fileSystem.close();
+    }
+
+    Assert.assertEquals(expected("e0"), this.recover(false));
+  }
+
+  /**
+   * Test that a newest segment with an empty or incomplete header, from a Driver that died right after creating it,
+   * is read as an empty segment, and that the next Driver can write to the log.
+   */
+  @Test
+  public void testIncompleteHeader() throws Exception {
+    try (final DFSEvaluatorLogCompactingReaderWriter writer = this.newReaderWriter(false, 1024)) {
+      writer.writeToEvaluatorLog(DFSEvaluatorPreserver.ADD_FLAG + "e0");
+    }
+    this.writeLogFile(LOG_NAME + ".0.1", new byte[0]);
+    Assert.assertEquals(expected("e0"), this.recover(false));
+    this.writeLogFile(LOG_NAME + ".0.1", new byte[] {0x52, 0x45});
+    Assert.assertEquals(expected("e0"), this.recover(false));
+
+    try (final DFSEvaluatorLogCompactingReaderWriter writer = this.newReaderWriter(false, 1024)) {
+      writer.writeToEvaluatorLog(DFSEvaluatorPreserver.ADD_FLAG + "e1");
+    }
+    Assert.assertEquals(expected("e0", "e1"), this.recover(false));
+  }
+
+  /**
+   * Test that a failed write does not hide the entries written after it: the next frame starts a new segment
+   * instead of following the partial frame.
+   */
+  @Test
+  public void testFailedWrite() throws Exception {
+    final FailingFileSystem fileSystem = new FailingFileSystem();
+    try (final DFSEvaluatorLogCompactingReaderWriter writer =
+             new DFSEvaluatorLogCompactingReaderWriter(fileSystem, this.changeLogPath, true, 1024)) {
+      writer.writeToEvaluatorLog(DFSEvaluatorPreserver.ADD_FLAG + "e0");
+      fileSystem.failNextWrite = true;
+      try {
+        writer.writeToEvaluatorLog(DFSEvaluatorPreserver.ADD_FLAG + "e1");
+        Assert.fail("The write should have failed");
+      } catch (final IOException expected) {
+        // The frame of e1 is partially written.
+      }
+      writer.writeToEvaluatorLog(DFSEvaluatorPreserver.ADD_FLAG + "e2");
+    }
+    Assert.assertEquals(expected("e0", "e2"), this.recover(true));
+  }
+
+  /**
+   * Test that the temporary snapshot of a compaction that did not complete is deleted by the next writer.
+   */
+  @Test
+  public void testStaleTemporarySnapshot() throws Exception {
+    final String temporarySnapshot = LOG_NAME + ".1.snapshot.tmp";
+    this.writeLogFile(temporarySnapshot, new byte[] {0x52});
+    try (final DFSEvaluatorLogCompactingReaderWriter writer = this.newReaderWriter(false, 1024)) {
+      Assert.assertEquals(expected(), read(writer));
+      writer.writeToEvaluatorLog(DFSEvaluatorPreserver.ADD_FLAG + "e0");
+    }
+    Assert.assertFalse(this.listLogFiles().contains(temporarySnapshot));
+
+    this.writeLogFile(LOG_NAME + ".5.snapshot.tmp", new byte[] {0x52});
+    try (final DFSEvaluatorLogCompactingReaderWriter writer = this.newReaderWriter(false, 1024)) {
+      writer.writeToEvaluatorLog(DFSEvaluatorPreserver.ADD_FLAG + "e1");
+    }
+    for (final String fileName : this.listLogFiles()) {
+      Assert.assertFalse(fileName + " was not deleted", fileName.endsWith(".tmp"));
+    }
+    Assert.assertEquals(expected("e0", "e1"), this.recover(false));
+  }
+
+  /**
+   * Test that the entries written concurrently are all recovered.
+   */
+  @Test
+  public void testConcurrentWrites() throws Exception {
+    final int numThreads = 8;
+    final int numEvaluatorsPerThread = 50;
+    final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try (final DFSEvaluatorLogCompactingReaderWriter writer = this.newReaderWriter(false, 64)) {
+      final List<Future<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < numThreads; t++) {
+        final int thread = t;
+        futures.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws IOException {
+            for (int i = 0; i < numEvaluatorsPerThread; i++) {
+              writer.writeToEvaluatorLog(DFSEvaluatorPreserver.ADD_FLAG + "e" + thread + "-" + i);
+              if (i % 2 == 1) {
+                writer.writeToEvaluatorLog(DFSEvaluatorPreserver.REMOVE_FLAG + "e" + thread + "-" + i);
+              }
+            }
+            return null;
+          }
+        }));
+      }
+      for (final Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    final Set<String> expected = new HashSet<>();
+    for (int t = 0; t < numThreads; t++) {
+      for (int i = 0; i < numEvaluatorsPerThread; i += 2) {
+        expected.add("e" + t + "-" + i);
+      }
+    }
+    Assert.assertEquals(expected, this.recover(false));
+  }
+
+  private DFSEvaluatorLogCompactingReaderWriter newReaderWriter(final boolean appendSupported,
+                                                                final int compactionThreshold) throws IOException {
+    return new DFSEvaluatorLogCompactingReaderWriter(
+        FileSystem.newInstanceLocal(new Configuration()), this.changeLogPath, appendSupported, compactionThreshold);
+  }
+
+  /**
+   * Writes the file through the local FS, which checksums its files.
+   */
+  private void writeLogFile(final String fileName, final byte[] contents) throws IOException {
+    final FileSystem fileSystem = FileSystem.newInstanceLocal(new Configuration());
+    try (final FSDataOutputStream out = fileSystem.create(new Path(this.directory.getAbsolutePath(), fileName), true)) {
+      out.write(contents);
+    } finally {
+      fileSystem.close();
+    }
+  }
+
+  private Set<String> recover(final boolean appendSupported) throws Exception {
+    try (final DFSEvaluatorLogCompactingReaderWriter reader = this.newReaderWriter(appendSupported, 1024)) {
+      return read(reader);
+    }
+  }
+
+  private static Set<String> read(final DFSEvaluatorLogReaderWriter reader) throws Exception {
+    final Set<String> evaluatorIds = new HashSet<>();
+    try (final CloseableIterable<String> entries = reader.readFromEvaluatorLog()) {
+      for (final String entry : entries) {
+        Assert.assertTrue(entry.startsWith(DFSEvaluatorPreserver.ADD_FLAG));
+        evaluatorIds.add(entry.substring(DFSEvaluatorPreserver.ADD_FLAG.length()));
+      }
+    }
+    return evaluatorIds;
+  }
+
+  private List<String> listLogFiles() throws IOException {
+    final FileSystem fileSystem = FileSystem.newInstanceLocal(new Configuration());
+    try {
+      final List<String> fileNames = new ArrayList<>();
+      for (final FileStatus file : fileSystem.listStatus(this.changeLogPath.getParent())) {
+        fileNames.add(file.getPath().getName());
+      }
+      return fileNames;
+    } finally {
+      fileSystem.close();
+    }
+  }
+
+  /**
+   * The local FS, whose output streams write half of the next frame and fail, when asked to.
+   */
+  private static final class FailingFileSystem extends FilterFileSystem {
+
+    private volatile boolean failNextWrite = false;
+
+    FailingFileSystem() throws IOException {
+      super(FileSystem.newInstanceLocal(new Configuration()));
+    }
+
+    @Override
+    public FSDataOutputStream create(final Path f, final FsPermission permission, final boolean overwrite,
+                                     final int bufferSize, final short replication, final long blockSize,
+                                     final Progressable progress) throws IOException {
+      final FSDataOutputStream out =
+          super.create(f, permission, overwrite, bufferSize, replication, blockSize, progress);
+      return new FSDataOutputStream(new FilterOutputStream(out) {
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+          if (failNextWrite) {
+            failNextWrite = false;
+            out.write(b, off, len / 2);
+            out.flush();
+            throw new IOException("Injected write failure");
+          }
+          out.write(b, off, len);
+        }
+      }, null);
+    }
+  }
+
+  private static Set<String> expected(final String... evaluatorIds) {
+    return new HashSet<>(Arrays.asList(evaluatorIds));
+  }
+
+  private static void deleteRecursively(final File file) {
+    final File[] children = file.listFiles();
+    if (children != null) {
+      for (final File child : children) {
+        deleteRecursively(child);
+      }
+    }
+    if (!file.delete()) {
+      file.deleteOnExit();
+    }
+  }
+}
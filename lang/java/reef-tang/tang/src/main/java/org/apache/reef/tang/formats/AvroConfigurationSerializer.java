@@ -23,21 +23,13 @@ import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.io.*;
 import org.apache.avro.specific.SpecificDatumReader;
 import org.apache.avro.specific.SpecificDatumWriter;
-import org.apache.commons.lang.NotImplementedException;
-import org.apache.commons.lang.StringUtils;
 import org.apache.reef.tang.ClassHierarchy;
 import org.apache.reef.tang.Configuration;
 import org.apache.reef.tang.ConfigurationBuilder;
 import org.apache.reef.tang.Tang;
 import org.apache.reef.tang.exceptions.BindException;
-import org.apache.reef.tang.exceptions.ClassHierarchyException;
 import org.apache.reef.tang.formats.avro.AvroConfiguration;
 import org.apache.reef.tang.formats.avro.ConfigurationEntry;
-import org.apache.reef.tang.implementation.ConfigurationBuilderImpl;
-import org.apache.reef.tang.types.ClassNode;
-import org.apache.reef.tang.types.NamedParameterNode;
-import org.apache.reef.tang.types.Node;
-import org.apache.reef.tang.util.ReflectionUtilities;
 
 import javax.inject.Inject;
 
@@ -66,53 +58,13 @@ public final class AvroConfigurationSerializer implements ConfigurationSerialize
 
   private static void fromAvro(final AvroConfiguration avroConfiguration,
                                final ConfigurationBuilder configurationBuilder) throws BindException {
-    // TODO[JIRA REEF-402]: This method should implement list deserialization. Implement it when C# side is ready.
-    final Map<String, String> importedNames = new HashMap<>();
-
+    // TODO[JIRA REEF-402]: Implement list deserialization
+    // entry.getValue()'s type can be either string or array of string; here it is always a string.
+    final List<Map.Entry<String, String>> bindings = new ArrayList<>(avroConfiguration.getBindings().size());
     for (final ConfigurationEntry entry : avroConfiguration.getBindings()) {
-
-      final String longName = importedNames.get(entry.getKey().toString());
-      final String key;
-      if (null == longName) {
-        key = entry.getKey().toString();
-      } else {
-        key = longName;
-      }
-
-      // entry.getValue()'s type can be either string or array of string
-      final Object rawValue = entry.getValue();
-
-      try {
-        // TODO[JIRA REEF-402]: Implement list deserialization
-        // rawValue is String.
-        final String value = rawValue.toString();
-        if (key.equals(ConfigurationBuilderImpl.IMPORT)) {
-          configurationBuilder.getClassHierarchy().getNode(value);
-          final String[] tok = value.split(ReflectionUtilities.REGEXP);
-          final String lastTok = tok[tok.length - 1];
-          try {
-            configurationBuilder.getClassHierarchy().getNode(lastTok);
-            throw new IllegalArgumentException("Conflict on short name: " + lastTok);
-          } catch (final BindException e) {
-            final String oldValue = importedNames.put(lastTok, value);
-            if (oldValue != null) {
-              throw new IllegalArgumentException("Name conflict: "
-                  + lastTok + " maps to " + oldValue + " and " + value, e);
-            }
-          }
-        } else if (value.startsWith(ConfigurationBuilderImpl.INIT)) {
-          final String[] classes = value.substring(ConfigurationBuilderImpl.INIT.length(), value.length())
-              .replaceAll("^[\\s\\(]+", "")
-              .replaceAll("[\\s\\)]+$", "")
-              .split("[\\s\\-]+");
-          configurationBuilder.registerLegacyConstructor(key, classes);
-        } else {
-          configurationBuilder.bind(key, value);
-        }
-      } catch (final BindException | ClassHierarchyException e) {
-        throw new BindException("Failed to process configuration tuple: [" + key + "=" + rawValue + "]", e);
-      }
+      bindings.add(ConfigurationBindings.newBinding(entry.getKey().toString(), entry.getValue().toString()));
     }
+    ConfigurationBindings.addBindings(bindings, configurationBuilder);
   }
 
   private static AvroConfiguration avroFromFile(final File file) throws IOException {
@@ -137,58 +89,13 @@ public final class AvroConfigurationSerializer implements ConfigurationSerialize
   }
 
   public AvroConfiguration toAvro(final Configuration configuration) {
-    // TODO[JIRA REEF-402]: This method should implement list serialization. Implement it when C# side is ready.
-
     final List<ConfigurationEntry> configurationEntries = new ArrayList<>();
-
-    for (final ClassNode<?> opt : configuration.getBoundImplementations()) {
-      configurationEntries.add(ConfigurationEntry.newBuilder()
-          .setKey(opt.getFullName())
-          .setValue(configuration.getBoundImplementation(opt).getFullName())
-          .build());
-    }
-
-    for (final ClassNode<?> opt : configuration.getBoundConstructors()) {
-      configurationEntries.add(ConfigurationEntry.newBuilder()
-          .setKey(opt.getFullName())
-          .setValue(configuration.getBoundConstructor(opt).getFullName())
-          .build());
-    }
-    for (final NamedParameterNode<?> opt : configuration.getNamedParameters()) {
+    for (final Map.Entry<String, String> binding : ConfigurationBindings.toBindings(configuration)) {
       configurationEntries.add(ConfigurationEntry.newBuilder()
-          .setKey(opt.getFullName())
-          .setValue(configuration.getNamedParameter(opt))
+          .setKey(binding.getKey())
+          .setValue(binding.getValue())
           .build());
     }
-    for (final ClassNode<?> cn : configuration.getLegacyConstructors()) {
-      final String legacyConstructors = StringUtils.join(configuration.getLegacyConstructor(cn).getArgs(), "-");
-      configurationEntries.add(ConfigurationEntry.newBuilder()
-          .setKey(cn.getFullName())
-          .setValue("" + ConfigurationBuilderImpl.INIT + "(" + legacyConstructors + ")")
-          .build());
-    }
-    for (final NamedParameterNode<Set<?>> key : configuration.getBoundSets()) {
-      for (final Object value : configuration.getBoundSet(key)) {
-        final String val;
-        if (value instanceof String) {
-          val = (String) value;
-        } else if (value instanceof Node) {
-          val = ((Node) value).getFullName();
-        } else {
-          throw new IllegalStateException("The value bound to a given NamedParameterNode "
-                  + key + " is neither the set of class hierarchy nodes nor strings.");
-        }
-        configurationEntries.add(ConfigurationEntry.newBuilder()
-            .setKey(key.getFullName())
-            .setValue(val)
-            .build());
-      }
-    }
-    // TODO[JIRA REEF-402]: Implement list serialization
-    if (configuration.getBoundLists() != null && !configuration.getBoundLists().isEmpty()) {
-      throw new NotImplementedException("List serialization/deserialization is not supported");
-    }
-
     return AvroConfiguration.newBuilder().setLanguage(JAVA).setBindings(configurationEntries).build();
   }
 
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.formats;
+
+import org.apache.reef.tang.ClassHierarchy;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.ConfigurationBuilder;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.BindException;
+import org.apache.reef.tang.implementation.binary.InternedStringReader;
+import org.apache.reef.tang.implementation.binary.InternedStringWriter;
+
+import javax.inject.Inject;
+import javax.xml.bind.DatatypeConverter;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * (De-)Serializing Configuration to and from a compact binary form.
+ * <p>
+ * The bindings are stored like the AvroConfigurationSerializer stores them, but as binary with the class names
+ * interned, so that each is written once.  The String form is the Base64 encoding of the binary form.
+ * <p>
+ * A Configuration can also be written as a delta relative to a base Configuration that the reader already has,
+ * e.g. the previous Task configuration of a Context: only the bindings that were removed from or added to the
+ * base are written.  The reader passes the same base to fromByteArray() to get the full Configuration back.
+ * <p>
+ * The binary form is not understood by the C# side of REEF, so only use it between Java processes.
+ * This class is stateless and is therefore safe to reuse.
+ */
+public final class BinaryConfigurationSerializer implements ConfigurationSerializer {
+
+  private static final int MAGIC = 0x54434647; // "TCFG"
+  private static final byte FULL = 0;
+  private static final byte DELTA = 1;
+
+  @Inject
+  public BinaryConfigurationSerializer() {
+  }
+
+  @Override
+  public void toFile(final Configuration conf, final File file) throws IOException {
+    Files.write(file.toPath(), toByteArray(conf));
+  }
+
+  @Override
+  public void toTextFile(final Configuration conf, final File file) throws IOException {
+    Files.write(file.toPath(), toString(conf).getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @Override
+  public byte[] toByteArray(final Configuration conf) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(MAGIC);
+    out.writeByte(FULL);
+    writeBindings(ConfigurationBindings.toBindings(conf), new InternedStringWriter(out), out);
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Writes the Configuration as a delta relative to a base Configuration.
+   *
+   * @param conf the Configuration to be converted
+   * @param base the Configuration that the reader of the delta already has
+   * @return the bytes of the delta, to be read with fromByteArray(byte[], Configuration)
+   * @throws IOException if encoding fails to write
+   */
+  public byte[] toByteArray(final Configuration conf, final Configuration base) throws IOException {
+    final Set<Map.Entry<String, String>> baseBindings = new LinkedHashSet<>(ConfigurationBindings.toBindings(base));
+    final List<Map.Entry<String, String>> added = new ArrayList<>();
+    for (final Map.Entry<String, String> binding : ConfigurationBindings.toBindings(conf)) {
+      if (!baseBindings.remove(binding)) {
+        added.add(binding);
+      }
+    }
+    // What is left of the base bindings is not in conf.
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(MAGIC);
+    out.writeByte(DELTA);
+    final InternedStringWriter strings = new InternedStringWriter(out);
+    writeBindings(baseBindings, strings, out);
+    writeBindings(added, strings, out);
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  @Override
+  public String toString(final Configuration configuration) {
+    try {
+      return DatatypeConverter.printBase64Binary(toByteArray(configuration));
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public Configuration fromFile(final File file) throws IOException, BindException {
+    return fromByteArray(Files.readAllBytes(file.toPath()));
+  }
+
+  @Override
+  public Configuration fromFile(final File file, final ClassHierarchy classHierarchy)
+      throws IOException, BindException {
+    return fromByteArray(Files.readAllBytes(file.toPath()), classHierarchy);
+  }
+
+  @Override
+  public Configuration fromTextFile(final File file) throws IOException, BindException {
+    return fromString(new String(Files.readAllBytes(file.toPath()), StandardCharsets.US_ASCII).trim());
+  }
+
+  @Override
+  public Configuration fromTextFile(final File file, final ClassHierarchy classHierarchy) throws IOException {
+    try {
+      return fromString(new String(Files.readAllBytes(file.toPath()), StandardCharsets.US_ASCII).trim(),
+          classHierarchy);
+    } catch (final BindException e) {
+      throw new IOException("Unable to bind the configuration in " + file, e);
+    }
+  }
+
+  @Override
+  public Configuration fromByteArray(final byte[] theBytes) throws IOException, BindException {
+    return fromByteArray(theBytes, Tang.Factory.getTang().newConfigurationBuilder());
+  }
+
+  @Override
+  public Configuration fromByteArray(final byte[] theBytes, final ClassHierarchy classHierarchy)
+      throws IOException, BindException {
+    return fromByteArray(theBytes, Tang.Factory.getTang().newConfigurationBuilder(classHierarchy));
+  }
+
+  /**
+   * Loads a Configuration from a byte[] created with toByteArray(), or from a delta created with
+   * toByteArray(Configuration, Configuration).
+   *
+   * @param theBytes the bytes to deserialize.
+   * @param base     the base Configuration of the delta; ignored, and may be null, if theBytes hold a full
+   *                 Configuration.
+   * @return the Configuration stored.
+   * @throws IOException   if the byte[] can't be deserialized
+   * @throws BindException if the byte[] contains an illegal Configuration.
+   */
+  public Configuration fromByteArray(final byte[] theBytes, final Configuration base)
+      throws IOException, BindException {
+    final ConfigurationBuilder configurationBuilder = base == null ?
+        Tang.Factory.getTang().newConfigurationBuilder() :
+        Tang.Factory.getTang().newConfigurationBuilder(base.getClassHierarchy());
+    return fromByteArray(theBytes, base, configurationBuilder);
+  }
+
+  @Override
+  public Configuration fromString(final String theString) throws IOException, BindException {
+    return fromByteArray(decodeBase64(theString));
+  }
+
+  @Override
+  public Configuration fromString(final String theString, final ClassHierarchy classHierarchy)
+      throws IOException, BindException {
+    return fromByteArray(decodeBase64(theString), classHierarchy);
+  }
+
+  private Configuration fromByteArray(final byte[] theBytes, final ConfigurationBuilder configurationBuilder)
+      throws IOException, BindException {
+    return fromByteArray(theBytes, null, configurationBuilder);
+  }
+
+  /**
+   * @param base the base Configuration of a delta, or null if theBytes must hold a full Configuration.
+   */
+  private Configuration fromByteArray(final byte[] theBytes,
+                                      final Configuration base,
+                                      final ConfigurationBuilder configurationBuilder)
+      throws IOException, BindException {
+    final DataInputStream in = new DataInputStream(new ByteArrayInputStream(theBytes));
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a binary configuration");
+    }
+    final byte type = in.readByte();
+    final InternedStringReader strings = new InternedStringReader(in);
+    final List<Map.Entry<String, String>> bindings;
+    if (type == FULL) {
+      bindings = readBindings(strings, in);
+    } else if (type == DELTA) {
+      if (base == null) {
+        throw new IOException("Cannot read a configuration delta without its base configuration");
+      }
+      final List<Map.Entry<String, String>> removed = readBindings(strings, in);
+      bindings = ConfigurationBindings.toBindings(base);
+      bindings.removeAll(new HashSet<>(removed));
+      bindings.addAll(readBindings(strings, in));
+    } else {
+      throw new IOException("Unknown binary configuration type " + type);
+    }
+    ConfigurationBindings.addBindings(bindings, configurationBuilder);
+    return configurationBuilder.build();
+  }
+
+  private static void writeBindings(final Collection<Map.Entry<String, String>> bindings,
+                                    final InternedStringWriter strings,
+                                    final DataOutput out) throws IOException {
+    out.writeInt(bindings.size());
+    for (final Map.Entry<String, String> binding : bindings) {
+      strings.write(binding.getKey());
+      strings.write(binding.getValue());
+    }
+  }
+
+  private static List<Map.Entry<String, String>> readBindings(final InternedStringReader strings,
+                                                             final DataInput in) throws IOException {
+    final int size = in.readInt();
+    final List<Map.Entry<String, String>> bindings = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      final String key = strings.read();
+      bindings.add(ConfigurationBindings.newBinding(key, strings.read()));
+    }
+    return bindings;
+  }
+
+  private static byte[] decodeBase64(final String theString) throws IOException {
+    try {
+      return DatatypeConverter.parseBase64Binary(theString);
+    } catch (final IllegalArgumentException e) {
+      throw new IOException("Not a Base64 encoded binary configuration", e);
+    }
+  }
+}
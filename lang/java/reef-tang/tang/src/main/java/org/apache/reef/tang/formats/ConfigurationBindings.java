@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.formats;
+
+import org.apache.commons.lang.NotImplementedException;
+import org.apache.commons.lang.StringUtils;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.ConfigurationBuilder;
+import org.apache.reef.tang.exceptions.BindException;
+import org.apache.reef.tang.exceptions.ClassHierarchyException;
+import org.apache.reef.tang.implementation.ConfigurationBuilderImpl;
+import org.apache.reef.tang.types.ClassNode;
+import org.apache.reef.tang.types.NamedParameterNode;
+import org.apache.reef.tang.types.Node;
+import org.apache.reef.tang.util.ReflectionUtilities;
+
+import java.util.*;
+
+/**
+ * Converts Configurations to and from the list of key / value bindings that the serializers store.
+ */
+final class ConfigurationBindings {
+
+  private ConfigurationBindings() {
+  }
+
+  /**
+   * @param configuration the configuration to convert
+   * @return the bindings of the configuration, as pairs of full names and values
+   */
+  static List<Map.Entry<String, String>> toBindings(final Configuration configuration) {
+    // TODO[JIRA REEF-402]: This method should implement list serialization. Implement it when C# side is ready.
+
+    final List<Map.Entry<String, String>> bindings = new ArrayList<>();
+
+    for (final ClassNode<?> opt : configuration.getBoundImplementations()) {
+      bindings.add(newBinding(opt.getFullName(), configuration.getBoundImplementation(opt).getFullName()));
+    }
+    for (final ClassNode<?> opt : configuration.getBoundConstructors()) {
+      bindings.add(newBinding(opt.getFullName(), configuration.getBoundConstructor(opt).getFullName()));
+    }
+    for (final NamedParameterNode<?> opt : configuration.getNamedParameters()) {
+      bindings.add(newBinding(opt.getFullName(), configuration.getNamedParameter(opt)));
+    }
+    for (final ClassNode<?> cn : configuration.getLegacyConstructors()) {
+      final String legacyConstructors = StringUtils.join(configuration.getLegacyConstructor(cn).getArgs(), "-");
+      bindings.add(newBinding(cn.getFullName(), "" + ConfigurationBuilderImpl.INIT + "(" + legacyConstructors + ")"));
+    }
+    for (final NamedParameterNode<Set<?>> key : configuration.getBoundSets()) {
+      for (final Object value : configuration.getBoundSet(key)) {
+        final String val;
+        if (value instanceof String) {
+          val = (String) value;
+        } else if (value instanceof Node) {
+          val = ((Node) value).getFullName();
+        } else {
+          throw new IllegalStateException("The value bound to a given NamedParameterNode "
+                  + key + " is neither the set of class hierarchy nodes nor strings.");
+        }
+        bindings.add(newBinding(key.getFullName(), val));
+      }
+    }
+    // TODO[JIRA REEF-402]: Implement list serialization
+    if (configuration.getBoundLists() != null && !configuration.getBoundLists().isEmpty()) {
+      throw new NotImplementedException("List serialization/deserialization is not supported");
+    }
+    return bindings;
+  }
+
+  /**
+   * Add the given bindings to a ConfigurationBuilder.
+   *
+   * @param bindings             pairs of names and values, as produced by toBindings() or read from a file
+   * @param configurationBuilder the builder to add the bindings to
+   * @throws BindException if a binding is invalid
+   */
+  static void addBindings(final List<? extends Map.Entry<String, String>> bindings,
+                          final ConfigurationBuilder configurationBuilder) throws BindException {
+    // TODO[JIRA REEF-402]: This method should implement list deserialization. Implement it when C# side is ready.
+    final Map<String, String> importedNames = new HashMap<>();
+
+    for (final Map.Entry<String, String> entry : bindings) {
+
+      final String longName = importedNames.get(entry.getKey());
+      final String key;
+      if (null == longName) {
+        key = entry.getKey();
+      } else {
+        key = longName;
+      }
+
+      final String value = entry.getValue();
+      try {
+        if (key.equals(ConfigurationBuilderImpl.IMPORT)) {
+          configurationBuilder.getClassHierarchy().getNode(value);
+          final String[] tok = value.split(ReflectionUtilities.REGEXP);
+          final String lastTok = tok[tok.length - 1];
+          try {
+            configurationBuilder.getClassHierarchy().getNode(lastTok);
+            throw new IllegalArgumentException("Conflict on short name: " + lastTok);
+          } catch (final BindException e) {
+            final String oldValue = importedNames.put(lastTok, value);
+            if (oldValue != null) {
+              throw new IllegalArgumentException("Name conflict: "
+                  + lastTok + " maps to " + oldValue + " and " + value, e);
+            }
+          }
+        } else if (value.startsWith(ConfigurationBuilderImpl.INIT)) {
+          final String[] classes = value.substring(ConfigurationBuilderImpl.INIT.length(), value.length())
+              .replaceAll("^[\\s\\(]+", "")
+              .replaceAll("[\\s\\)]+$", "")
+              .split("[\\s\\-]+");
+          configurationBuilder.registerLegacyConstructor(key, classes);
+        } else {
+          configurationBuilder.bind(key, value);
+        }
+      } catch (final BindException | ClassHierarchyException e) {
+        throw new BindException("Failed to process configuration tuple: [" + key + "=" + value + "]", e);
+      }
+    }
+  }
+
+  static Map.Entry<String, String> newBinding(final String key, final String value) {
+    return new AbstractMap.SimpleImmutableEntry<>(key, value);
+  }
+}
@@ -20,15 +20,24 @@ package org.apache.reef.tang.implementation;
 
 import org.apache.reef.tang.*;
 import org.apache.reef.tang.exceptions.BindException;
+import org.apache.reef.tang.implementation.binary.BinaryClassHierarchy;
+import org.apache.reef.tang.implementation.binary.BinaryClassHierarchySerializer;
 import org.apache.reef.tang.implementation.java.ClassHierarchyImpl;
 import org.apache.reef.tang.implementation.java.InjectorImpl;
 import org.apache.reef.tang.implementation.java.JavaConfigurationBuilderImpl;
+import org.apache.reef.tang.util.ClassHierarchyGenerator;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class TangImpl implements Tang {
 
+  private static final Logger LOG = Logger.getLogger(TangImpl.class.getName());
+
   private static Map<SetValuedKey, JavaClassHierarchy> defaultClassHierarchy = new HashMap<>();
 
   /**
@@ -104,12 +113,66 @@ public class TangImpl implements Tang {
 
     JavaClassHierarchy ret = defaultClassHierarchy.get(key);
     if (ret == null) {
-      ret = new ClassHierarchyImpl(jars, parameterParsers);
+      ret = newClassHierarchy(jars, parameterParsers);
       defaultClassHierarchy.put(key, ret);
     }
     return ret;
   }
 
+  /**
+   * Create a class hierarchy that is seeded with the precomputed class hierarchies found on the classpath,
+   * so that the classes in them need not be registered by reflection.  Jars that are passed in explicitly
+   * are always reflected over.  If a precomputed class hierarchy cannot be read, is stale or does not fit
+   * the classpath, it is ignored and Tang falls back to reflection.
+   */
+  private static ClassHierarchyImpl newClassHierarchy(
+      final URL[] jars, final Class<? extends ExternalConstructor<?>>[] parameterParsers) {
+    final ClassHierarchyImpl ch = new ClassHierarchyImpl(jars, parameterParsers);
+    if (jars.length != 0) {
+      return ch;
+    }
+    final List<ClassHierarchy> precomputed = readPrecomputedClassHierarchies();
+    if (precomputed.isEmpty()) {
+      return ch;
+    }
+    try {
+      for (final ClassHierarchy p : precomputed) {
+        ch.addNodes(p);
+      }
+      return ch;
+    } catch (final RuntimeException e) {
+      LOG.log(Level.WARNING, "Ignoring precomputed class hierarchies that do not fit the classpath", e);
+      return new ClassHierarchyImpl(jars, parameterParsers);
+    }
+  }
+
+  private static List<ClassHierarchy> readPrecomputedClassHierarchies() {
+    final List<ClassHierarchy> result = new ArrayList<>();
+    final Enumeration<URL> resources;
+    try {
+      resources = TangImpl.class.getClassLoader().getResources(ClassHierarchyGenerator.RESOURCE_NAME);
+    } catch (final IOException e) {
+      LOG.log(Level.WARNING, "Unable to look up precomputed class hierarchies", e);
+      return result;
+    }
+    final BinaryClassHierarchySerializer serializer = new BinaryClassHierarchySerializer();
+    while (resources.hasMoreElements()) {
+      final URL url = resources.nextElement();
+      try (final InputStream in = url.openStream()) {
+        final BinaryClassHierarchy precomputed = serializer.fromStream(in);
+        if (!ClassHierarchyGenerator.isUpToDate(precomputed, TangImpl.class.getClassLoader())) {
+          LOG.log(Level.WARNING, "Ignoring stale precomputed class hierarchy {0}", url);
+          continue;
+        }
+        result.add(precomputed);
+        LOG.log(Level.FINE, "Loaded precomputed class hierarchy {0}", url);
+      } catch (final IOException | RuntimeException e) {
+        LOG.log(Level.WARNING, "Ignoring unreadable precomputed class hierarchy " + url, e);
+      }
+    }
+    return result;
+  }
+
   @Override
   public Injector newInjector(final Configuration confs) {
     try {
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.implementation.binary;
+
+import org.apache.reef.tang.ClassHierarchy;
+import org.apache.reef.tang.exceptions.NameResolutionException;
+import org.apache.reef.tang.types.ClassNode;
+import org.apache.reef.tang.types.Node;
+import org.apache.reef.tang.types.PackageNode;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A ClassHierarchy read by the BinaryClassHierarchySerializer.
+ */
+public final class BinaryClassHierarchy implements ClassHierarchy {
+  private final PackageNode namespace;
+  private final Map<String, Node> lookupTable = new HashMap<>();
+  private final Map<String, Long> classChecksums;
+
+  /**
+   * @param namespace the root of the nodes that were read
+   * @param implNames the full names of the known implementations of each class node
+   * @param classChecksums checksums of the class files the nodes were computed from, by class name
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  BinaryClassHierarchy(final PackageNode namespace, final Map<ClassNode<?>, List<String>> implNames,
+                       final Map<String, Long> classChecksums) {
+    this.namespace = namespace;
+    this.classChecksums = Collections.unmodifiableMap(classChecksums);
+    buildLookupTable(namespace);
+    for (final Map.Entry<ClassNode<?>, List<String>> entry : implNames.entrySet()) {
+      final ClassNode iface = entry.getKey();
+      for (final String implName : entry.getValue()) {
+        final Node impl = lookupTable.get(implName);
+        if (!(impl instanceof ClassNode)) {
+          throw new IllegalStateException("Class " + iface.getFullName()
+              + " refers to unknown implementation " + implName);
+        }
+        iface.putImpl((ClassNode) impl);
+      }
+    }
+  }
+
+  private void buildLookupTable(final Node n) {
+    for (final Node child : n.getChildren()) {
+      lookupTable.put(child.getFullName(), child);
+      buildLookupTable(child);
+    }
+  }
+
+  /**
+   * @return checksums of the class files the nodes were computed from, by class name.
+   * Empty if the writer did not record any.
+   */
+  public Map<String, Long> getClassChecksums() {
+    return classChecksums;
+  }
+
+  @Override
+  public Node getNode(final String fullName) throws NameResolutionException {
+    final Node matchedNode = lookupTable.get(fullName);
+    if (matchedNode == null) {
+      throw new NameResolutionException(fullName, "");
+    }
+    return matchedNode;
+  }
+
+  @Override
+  public boolean isImplementation(final ClassNode<?> inter, final ClassNode<?> impl) {
+    return impl.isImplementationOf(inter);
+  }
+
+  @Override
+  public ClassHierarchy merge(final ClassHierarchy ch) {
+    if (this == ch) {
+      return this;
+    }
+    throw new UnsupportedOperationException("Cannot merge binary class hierarchies");
+  }
+
+  @Override
+  public Node getNamespace() {
+    return namespace;
+  }
+}
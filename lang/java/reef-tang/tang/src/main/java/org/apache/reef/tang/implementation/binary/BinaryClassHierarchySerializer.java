@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.implementation.binary;
+
+import org.apache.reef.tang.ClassHierarchy;
+import org.apache.reef.tang.implementation.types.*;
+import org.apache.reef.tang.types.*;
+
+import javax.inject.Inject;
+import java.io.*;
+import java.util.*;
+
+/**
+ * Serialize and deserialize a ClassHierarchy to and from a compact binary form.
+ * <p>
+ * This is used for class hierarchies that are computed ahead of time and loaded when a JVM starts.
+ * Unlike the Avro and protocol buffer forms it does not need a schema to be parsed or generated
+ * classes to be loaded, which costs more than reflecting over a few hundred classes.  Strings are
+ * interned with an {@link InternedStringWriter}.
+ * The form is not meant to be exchanged between versions of Tang.
+ * It can carry checksums of the class files the hierarchy was computed from, so that a reader can tell
+ * whether the hierarchy is stale, see {@link BinaryClassHierarchy#getClassChecksums()}.
+ * This class is stateless and is therefore safe to reuse.
+ */
+public final class BinaryClassHierarchySerializer {
+
+  private static final int MAGIC = 0x54414e47; // "TANG"
+  private static final int VERSION = 2;
+
+  private static final byte PACKAGE_NODE = 0;
+  private static final byte CLASS_NODE = 1;
+  private static final byte NAMED_PARAMETER_NODE = 2;
+
+  @Inject
+  public BinaryClassHierarchySerializer() {
+  }
+
+  public byte[] toByteArray(final ClassHierarchy classHierarchy) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    toStream(classHierarchy, out);
+    return out.toByteArray();
+  }
+
+  public byte[] toByteArray(final ClassHierarchy classHierarchy, final Map<String, Long> classChecksums)
+      throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    toStream(classHierarchy, classChecksums, out);
+    return out.toByteArray();
+  }
+
+  public void toStream(final ClassHierarchy classHierarchy, final OutputStream out) throws IOException {
+    toStream(classHierarchy, Collections.<String, Long>emptyMap(), out);
+  }
+
+  /**
+   * Write a class hierarchy together with the checksums of the class files it was computed from.
+   *
+   * @param classHierarchy the class hierarchy
+   * @param classChecksums checksums of class files, by class name
+   * @param out the stream to write to
+   * @throws IOException if the stream cannot be written
+   */
+  public void toStream(final ClassHierarchy classHierarchy, final Map<String, Long> classChecksums,
+                       final OutputStream out) throws IOException {
+    final DataOutputStream dout = new DataOutputStream(new BufferedOutputStream(out));
+    dout.writeInt(MAGIC);
+    dout.writeInt(VERSION);
+    dout.writeInt(classChecksums.size());
+    for (final Map.Entry<String, Long> entry : classChecksums.entrySet()) {
+      dout.writeUTF(entry.getKey());
+      dout.writeLong(entry.getValue());
+    }
+    final NodeWriter writer = new NodeWriter(dout);
+    final Collection<Node> children = classHierarchy.getNamespace().getChildren();
+    dout.writeInt(children.size());
+    for (final Node child : children) {
+      writer.writeNode(child);
+    }
+    dout.flush();
+  }
+
+  public BinaryClassHierarchy fromByteArray(final byte[] theBytes) throws IOException {
+    return fromStream(new ByteArrayInputStream(theBytes));
+  }
+
+  public BinaryClassHierarchy fromStream(final InputStream in) throws IOException {
+    final DataInputStream din = new DataInputStream(new BufferedInputStream(in));
+    if (din.readInt() != MAGIC) {
+      throw new IOException("Not a binary class hierarchy");
+    }
+    final int version = din.readInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported binary class hierarchy version " + version);
+    }
+    final int numChecksums = din.readInt();
+    final Map<String, Long> classChecksums = new HashMap<>(numChecksums);
+    for (int i = 0; i < numChecksums; i++) {
+      classChecksums.put(din.readUTF(), din.readLong());
+    }
+    final PackageNode namespace = new PackageNodeImpl();
+    final NodeReader reader = new NodeReader(din);
+    final int children = din.readInt();
+    for (int i = 0; i < children; i++) {
+      reader.readNode(namespace);
+    }
+    return new BinaryClassHierarchy(namespace, reader.implNames, classChecksums);
+  }
+
+  private static final class NodeWriter {
+    private final DataOutputStream out;
+    private final InternedStringWriter strings;
+
+    NodeWriter(final DataOutputStream out) {
+      this.out = out;
+      this.strings = new InternedStringWriter(out);
+    }
+
+    void writeNode(final Node n) throws IOException {
+      if (n instanceof ClassNode) {
+        out.writeByte(CLASS_NODE);
+        writeNames(n);
+        final ClassNode<?> cn = (ClassNode<?>) n;
+        out.writeBoolean(cn.isUnit());
+        out.writeBoolean(cn.isInjectionCandidate());
+        out.writeBoolean(cn.isExternalConstructor());
+        writeString(cn.getDefaultImplementation());
+        final ConstructorDef<?>[] injectable = cn.getInjectableConstructors();
+        final ConstructorDef<?>[] all = cn.getAllConstructors();
+        final List<ConstructorDef<?>> others = new ArrayList<>(Arrays.asList(all));
+        others.removeAll(Arrays.asList(injectable));
+        out.writeInt(injectable.length);
+        for (final ConstructorDef<?> def : injectable) {
+          writeConstructorDef(def);
+        }
+        out.writeInt(others.size());
+        for (final ConstructorDef<?> def : others) {
+          writeConstructorDef(def);
+        }
+        final Set<? extends ClassNode<?>> impls = cn.getKnownImplementations();
+        out.writeInt(impls.size());
+        for (final ClassNode<?> impl : impls) {
+          writeString(impl.getFullName());
+        }
+      } else if (n instanceof NamedParameterNode) {
+        out.writeByte(NAMED_PARAMETER_NODE);
+        writeNames(n);
+        final NamedParameterNode<?> np = (NamedParameterNode<?>) n;
+        writeString(np.getFullArgName());
+        writeString(np.getSimpleArgName());
+        out.writeBoolean(np.isSet());
+        out.writeBoolean(np.isList());
+        writeString(np.getDocumentation());
+        writeString(np.getShortName());
+        final String[] defaults = np.getDefaultInstanceAsStrings();
+        out.writeInt(defaults.length);
+        for (final String d : defaults) {
+          writeString(d);
+        }
+      } else if (n instanceof PackageNode) {
+        out.writeByte(PACKAGE_NODE);
+        writeNames(n);
+      } else {
+        throw new IllegalStateException("Encountered unknown type of Node: " + n);
+      }
+      final Collection<Node> children = n.getChildren();
+      out.writeInt(children.size());
+      for (final Node child : children) {
+        writeNode(child);
+      }
+    }
+
+    private void writeNames(final Node n) throws IOException {
+      writeString(n.getName());
+      writeString(n.getFullName());
+    }
+
+    private void writeConstructorDef(final ConstructorDef<?> def) throws IOException {
+      writeString(def.getClassName());
+      final ConstructorArg[] args = def.getArgs();
+      out.writeInt(args.length);
+      for (final ConstructorArg arg : args) {
+        writeString(arg.getType());
+        writeString(arg.getNamedParameterName());
+        out.writeBoolean(arg.isInjectionFuture());
+      }
+    }
+
+    private void writeString(final String s) throws IOException {
+      strings.write(s);
+    }
+  }
+
+  private static final class NodeReader {
+    private final DataInputStream in;
+    private final InternedStringReader strings;
+    private final Map<ClassNode<?>, List<String>> implNames = new HashMap<>();
+
+    NodeReader(final DataInputStream in) {
+      this.in = in;
+      this.strings = new InternedStringReader(in);
+    }
+
+    void readNode(final Node parent) throws IOException {
+      final byte type = in.readByte();
+      final String name = readString();
+      final String fullName = readString();
+      final Node n;
+      if (type == CLASS_NODE) {
+        n = readClassNode(parent, name, fullName);
+      } else if (type == NAMED_PARAMETER_NODE) {
+        n = readNamedParameterNode(parent, name, fullName);
+      } else if (type == PACKAGE_NODE) {
+        n = new PackageNodeImpl(parent, name, fullName);
+      } else {
+        throw new IOException("Unknown node type " + type + " of " + fullName);
+      }
+      final int children = in.readInt();
+      for (int i = 0; i < children; i++) {
+        readNode(n);
+      }
+    }
+
+    private Node readNamedParameterNode(final Node parent, final String name, final String fullName)
+        throws IOException {
+      final String fullArgName = readString();
+      final String simpleArgName = readString();
+      final boolean isSet = in.readBoolean();
+      final boolean isList = in.readBoolean();
+      final String documentation = readString();
+      final String shortName = readString();
+      final String[] defaults = new String[in.readInt()];
+      for (int i = 0; i < defaults.length; i++) {
+        defaults[i] = readString();
+      }
+      return new NamedParameterNodeImpl<>(parent, name, fullName, fullArgName, simpleArgName, isSet, isList,
+          documentation, shortName, defaults);
+    }
+
+    private Node readClassNode(final Node parent, final String name, final String fullName) throws IOException {
+      final boolean isUnit = in.readBoolean();
+      final boolean isInjectionCandidate = in.readBoolean();
+      final boolean isExternalConstructor = in.readBoolean();
+      final String defaultImplementation = readString();
+      final List<ConstructorDef<Object>> injectable = new ArrayList<>();
+      final List<ConstructorDef<Object>> all = new ArrayList<>();
+      final int injectableCount = in.readInt();
+      for (int i = 0; i < injectableCount; i++) {
+        final ConstructorDef<Object> def = readConstructorDef(true);
+        injectable.add(def);
+        all.add(def);
+      }
+      final int otherCount = in.readInt();
+      for (int i = 0; i < otherCount; i++) {
+        all.add(readConstructorDef(false));
+      }
+      @SuppressWarnings("unchecked")
+      final ConstructorDef<Object>[] dummy = new ConstructorDef[0];
+      final ClassNode<Object> cn = new ClassNodeImpl<>(parent, name, fullName, isUnit, isInjectionCandidate,
+          isExternalConstructor, injectable.toArray(dummy), all.toArray(dummy), defaultImplementation);
+      final int implCount = in.readInt();
+      if (implCount > 0) {
+        final List<String> impls = new ArrayList<>(implCount);
+        for (int i = 0; i < implCount; i++) {
+          impls.add(readString());
+        }
+        implNames.put(cn, impls);
+      }
+      return cn;
+    }
+
+    private ConstructorDef<Object> readConstructorDef(final boolean isInjectable) throws IOException {
+      final String className = readString();
+      final ConstructorArg[] args = new ConstructorArg[in.readInt()];
+      for (int i = 0; i < args.length; i++) {
+        final String type = readString();
+        final String namedParameterName = readString();
+        args[i] = new ConstructorArgImpl(type, namedParameterName, in.readBoolean());
+      }
+      return new ConstructorDefImpl<>(className, args, isInjectable);
+    }
+
+    private String readString() throws IOException {
+      return strings.read();
+    }
+  }
+}
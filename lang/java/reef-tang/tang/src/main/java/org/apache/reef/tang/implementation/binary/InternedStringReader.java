@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.implementation.binary;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads strings written by an {@link InternedStringWriter}.
+ */
+public final class InternedStringReader {
+
+  private final DataInput in;
+  private final List<String> strings = new ArrayList<>();
+
+  public InternedStringReader(final DataInput in) {
+    this.in = in;
+  }
+
+  /**
+   * @return the next string, or null if null was written
+   * @throws IOException if the underlying input fails or does not hold interned strings
+   */
+  public String read() throws IOException {
+    final int index = in.readInt();
+    if (index == -1) {
+      return null;
+    } else if (index == strings.size()) {
+      final String s = in.readUTF();
+      strings.add(s);
+      return s;
+    } else if (index >= 0 && index < strings.size()) {
+      return strings.get(index);
+    }
+    throw new IOException("Bad string index " + index);
+  }
+}
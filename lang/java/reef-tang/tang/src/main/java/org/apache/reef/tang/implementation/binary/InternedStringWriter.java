@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.implementation.binary;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes strings so that each distinct string is written only once; later occurrences refer to it by index.
+ * Class names occur over and over in class hierarchies and configurations, so this keeps them compact.
+ * Read the strings back, in the same order, with an {@link InternedStringReader}.
+ */
+public final class InternedStringWriter {
+
+  private final DataOutput out;
+  private final Map<String, Integer> indices = new HashMap<>();
+
+  public InternedStringWriter(final DataOutput out) {
+    this.out = out;
+  }
+
+  /**
+   * Write -1 for null, the index of a string that was written before, or the next index followed by the string.
+   *
+   * @param s the string to write, may be null
+   * @throws IOException if the underlying output fails
+   */
+  public void write(final String s) throws IOException {
+    if (s == null) {
+      out.writeInt(-1);
+      return;
+    }
+    final Integer index = indices.get(s);
+    if (index != null) {
+      out.writeInt(index);
+    } else {
+      final int newIndex = indices.size();
+      indices.put(s, newIndex);
+      out.writeInt(newIndex);
+      out.writeUTF(s);
+    }
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.reef.tang.implementation.java;
 
 import org.apache.reef.tang.ClassHierarchy;
 import org.apache.reef.tang.ExternalConstructor;
+import org.apache.reef.tang.InjectionFuture;
 import org.apache.reef.tang.JavaClassHierarchy;
 import org.apache.reef.tang.annotations.Name;
 import org.apache.reef.tang.annotations.NamedParameter;
@@ -28,6 +29,9 @@ import org.apache.reef.tang.exceptions.ClassHierarchyException;
 import org.apache.reef.tang.exceptions.NameResolutionException;
 import org.apache.reef.tang.exceptions.ParseException;
 import org.apache.reef.tang.formats.ParameterParser;
+import org.apache.reef.tang.implementation.types.ClassNodeImpl;
+import org.apache.reef.tang.implementation.types.NamedParameterNodeImpl;
+import org.apache.reef.tang.implementation.types.PackageNodeImpl;
 import org.apache.reef.tang.types.*;
 import org.apache.reef.tang.util.MonotonicTreeMap;
 import org.apache.reef.tang.util.ReflectionUtilities;
@@ -36,6 +40,8 @@ import java.lang.reflect.Type;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class ClassHierarchyImpl implements JavaClassHierarchy {
   // TODO Want to add a "register namespace" method, but Java is not designed
@@ -72,6 +78,14 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
    * sanity check short names so that name clashes get resolved.
    */
   private final Map<String, NamedParameterNode<?>> shortNames = new MonotonicTreeMap<>();
+  /**
+   * A cache of the Java constructors of constructor definitions, so that injection does not
+   * resolve classes and constructors by reflection every time it instantiates a class.
+   * The key is the class name followed by the argument types, in declaration order, because
+   * ConstructorDef equality ignores the order of the arguments.
+   */
+  private final ConcurrentMap<List<String>, java.lang.reflect.Constructor<?>> constructors =
+      new ConcurrentHashMap<>();
 
   @SuppressWarnings("unchecked")
   public ClassHierarchyImpl() {
@@ -190,6 +204,46 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
     return ReflectionUtilities.classForName(name, loader);
   }
 
+  /**
+   * Obtain the accessible Java constructor of a constructor definition.
+   * The constructor is resolved once per definition and cached in this ClassHierarchy.
+   *
+   * @param <T> A type
+   * @param def The constructor definition.
+   * @return The Java constructor, accessible even if it is not public.
+   * @throws ClassNotFoundException if the class or an argument type could not be loaded.
+   * @throws NoSuchMethodException if the class does not declare the constructor.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> java.lang.reflect.Constructor<T> getConstructor(final ConstructorDef<T> def)
+      throws ClassNotFoundException, NoSuchMethodException {
+    final ConstructorArg[] args = def.getArgs();
+    final List<String> key = new ArrayList<>(args.length + 1);
+    key.add(def.getClassName());
+    for (final ConstructorArg arg : args) {
+      key.add(arg.isInjectionFuture() ? ReflectionUtilities.getFullName(InjectionFuture.class) : arg.getType());
+    }
+
+    final java.lang.reflect.Constructor<T> cachedCons = (java.lang.reflect.Constructor<T>) constructors.get(key);
+    if (cachedCons != null) {
+      return cachedCons;
+    }
+
+    final Class<T> clazz = (Class<T>) classForName(def.getClassName());
+    final Class<?>[] parameterTypes = new Class[args.length];
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].isInjectionFuture()) {
+        parameterTypes[i] = InjectionFuture.class;
+      } else {
+        parameterTypes[i] = classForName(args[i].getType());
+      }
+    }
+    final java.lang.reflect.Constructor<T> cons = clazz.getDeclaredConstructor(parameterTypes);
+    cons.setAccessible(true);
+    constructors.putIfAbsent(key, cons);
+    return cons;
+  }
+
   private <T, U> Node buildPathToNode(final Class<U> clazz)
       throws ClassHierarchyException {
     final String[] path = clazz.getName().split("\\$");
@@ -221,21 +275,25 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
             " defines default implementation for parsable type " + ReflectionUtilities.getFullName(argType));
       }
 
-      final String shortName = np.getShortName();
-      if (shortName != null) {
-        final NamedParameterNode<?> oldNode = shortNames.get(shortName);
-        if (oldNode != null) {
-          if (oldNode.getFullName().equals(np.getFullName())) {
-            throw new IllegalStateException("Tried to double bind "
-                + oldNode.getFullName() + " to short name " + shortName);
-          }
-          throw new ClassHierarchyException("Named parameters " + oldNode.getFullName()
-              + " and " + np.getFullName() + " have the same short name: "
-              + shortName);
+      registerShortName(np);
+      return np;
+    }
+  }
+
+  private void registerShortName(final NamedParameterNode<?> np) throws ClassHierarchyException {
+    final String shortName = np.getShortName();
+    if (shortName != null) {
+      final NamedParameterNode<?> oldNode = shortNames.get(shortName);
+      if (oldNode != null) {
+        if (oldNode.getFullName().equals(np.getFullName())) {
+          throw new IllegalStateException("Tried to double bind "
+              + oldNode.getFullName() + " to short name " + shortName);
         }
-        shortNames.put(shortName, np);
+        throw new ClassHierarchyException("Named parameters " + oldNode.getFullName()
+            + " and " + np.getFullName() + " have the same short name: "
+            + shortName);
       }
-      return np;
+      shortNames.put(shortName, np);
     }
   }
 
@@ -290,6 +348,12 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
   }
 
   private Node register(final String s) {
+    // Look the name up before loading the class, since precomputed nodes need no reflection.
+    try {
+      return getAlreadyBoundNode(s);
+    } catch (final NameResolutionException ignored) {
+      // node not bound yet
+    }
     final Class<?> c;
     try {
       c = classForName(s);
@@ -408,6 +472,84 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
     return n;
   }
 
+  /**
+   * Add the nodes of a class hierarchy that was computed ahead of time, e.g. by
+   * {@link org.apache.reef.tang.util.ClassHierarchyGenerator}.  Classes that are in it
+   * are then looked up by name instead of being registered by reflection.
+   * Nodes that this class hierarchy already knows are kept, and their known
+   * implementations are merged with the precomputed ones.
+   * <p>
+   * The precomputed hierarchy has to be generated from the same classes that
+   * this class hierarchy loads, see {@link org.apache.reef.tang.util.ClassHierarchyGenerator#isUpToDate}.
+   *
+   * @param precomputed the class hierarchy to copy the nodes of
+   * @throws ClassHierarchyException if a precomputed named parameter clashes with a known short name
+   */
+  public synchronized void addNodes(final ClassHierarchy precomputed) throws ClassHierarchyException {
+    final Node root = precomputed.getNamespace();
+    // Copy all the nodes first, so that the implementations can refer to any of them.
+    for (final Node child : root.getChildren()) {
+      copyNode(namespace, child);
+    }
+    for (final Node child : root.getChildren()) {
+      copyImplementations(child);
+    }
+  }
+
+  private void copyNode(final Node parent, final Node n) {
+    // The root node keys its children by their full name.
+    Node copy = parent.get(parent == namespace ? n.getFullName() : n.getName());
+    if (copy == null) {
+      if (n instanceof NamedParameterNode) {
+        final NamedParameterNode<?> np = (NamedParameterNode<?>) n;
+        // Some serialized forms cannot tell a missing short name from an empty one.
+        final String shortName = np.getShortName() == null || np.getShortName().isEmpty() ? null : np.getShortName();
+        final NamedParameterNode<?> npCopy = new NamedParameterNodeImpl<>(parent, np.getName(), np.getFullName(),
+            np.getFullArgName(), np.getSimpleArgName(), np.isSet(), np.isList(), np.getDocumentation(),
+            shortName, np.getDefaultInstanceAsStrings());
+        registerShortName(npCopy);
+        copy = npCopy;
+      } else if (n instanceof ClassNode) {
+        copy = copyClassNode(parent, (ClassNode<?>) n);
+      } else if (n instanceof PackageNode) {
+        copy = new PackageNodeImpl(parent, n.getName(), n.getFullName());
+      } else {
+        throw new IllegalStateException("Unknown node type " + n.getClass() + " of " + n.getFullName());
+      }
+    }
+    for (final Node child : n.getChildren()) {
+      copyNode(copy, child);
+    }
+  }
+
+  private <T> ClassNode<T> copyClassNode(final Node parent, final ClassNode<T> cn) {
+    return new ClassNodeImpl<>(parent, cn.getName(), cn.getFullName(), cn.isUnit(), cn.isInjectionCandidate(),
+        cn.isExternalConstructor(), cn.getInjectableConstructors(), cn.getAllConstructors(),
+        cn.getDefaultImplementation());
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private void copyImplementations(final Node n) {
+    if (n instanceof ClassNode) {
+      try {
+        final ClassNode iface = (ClassNode) getAlreadyBoundNode(n.getFullName());
+        final Set<ClassNode> knownImpls = iface.getKnownImplementations();
+        for (final Object impl : ((ClassNode) n).getKnownImplementations()) {
+          final ClassNode implCopy = (ClassNode) getAlreadyBoundNode(((ClassNode) impl).getFullName());
+          if (!knownImpls.contains(implCopy)) {
+            iface.putImpl(implCopy);
+          }
+        }
+      } catch (final NameResolutionException e) {
+        throw new IllegalStateException("Precomputed node " + n.getFullName()
+            + " refers to a class that it does not contain", e);
+      }
+    }
+    for (final Node child : n.getChildren()) {
+      copyImplementations(child);
+    }
+  }
+
   @Override
   public PackageNode getNamespace() {
     return namespace;
@@ -80,6 +80,13 @@ public class InjectorImpl implements Injector {
   private final ClassHierarchy namespace;
   private final JavaClassHierarchy javaNamespace;
   private final Set<InjectionFuture<?>> pendingFutures = new HashSet<>();
+  /**
+   * Injection plans built so far, shared by getInjectionPlan calls as the memo of buildInjectionPlan.
+   * The plans only depend on the configuration and on the volatile bindings, so they are dropped
+   * when a volatile instance or parameter is bound. Instances created by injection do not invalidate them,
+   * because injectFromPlan returns the cached instance of a class before looking at its plan.
+   */
+  private final Map<Node, InjectionPlan<?>> plans = new HashMap<>();
   private boolean concurrentModificationGuard = false;
   private Aspect aspect;
 
@@ -102,6 +109,14 @@ public class InjectorImpl implements Injector {
       throw new IllegalStateException(
           "Unexpected error copying configuration!", e);
     }
+    if (configurations.length == 0 && i.namespace == old.namespace) {
+      // Same configuration and volatile bindings, so the plans of the old injector still hold
+      for (final Map.Entry<Node, InjectionPlan<?>> entry : old.plans.entrySet()) {
+        if (entry.getValue() != BUILDING) {
+          i.plans.put(entry.getKey(), entry.getValue());
+        }
+      }
+    }
     for (final ClassNode<?> cn : old.instances.keySet()) {
       if (cn.getFullName().equals(ReflectionUtilities.getFullName(Injector.class))
           || cn.getFullName().equals(ReflectionUtilities.getFullName(InjectorImpl.class))) {
@@ -468,9 +483,14 @@ public class InjectorImpl implements Injector {
    * @throws NameResolutionException
    */
   public InjectionPlan<?> getInjectionPlan(final Node n) {
-    final Map<Node, InjectionPlan<?>> memo = new HashMap<>();
-    buildInjectionPlan(n, memo);
-    return memo.get(n);
+    try {
+      buildInjectionPlan(n, plans);
+    } catch (final RuntimeException e) {
+      // Drop the plans that were left BUILDING
+      plans.clear();
+      throw e;
+    }
+    return plans.get(n);
   }
 
   @Override
@@ -554,6 +574,10 @@ public class InjectorImpl implements Injector {
   private <T> java.lang.reflect.Constructor<T> getConstructor(
       final ConstructorDef<T> constructor) throws ClassNotFoundException,
       NoSuchMethodException, SecurityException {
+    if (javaNamespace instanceof ClassHierarchyImpl) {
+      // Tang's own class hierarchy caches the constructors it resolved
+      return ((ClassHierarchyImpl) javaNamespace).getConstructor(constructor);
+    }
     @SuppressWarnings("unchecked") final Class<T> clazz =
         (Class<T>) javaNamespace.classForName(constructor.getClassName());
     final ConstructorArg[] args = constructor.getArgs();
@@ -700,6 +724,7 @@ public class InjectorImpl implements Injector {
             + old + " new value is " + o);
       }
       instances.put(cn, o);
+      plans.clear();
     } else {
       throw new IllegalArgumentException("Expected Class but got " + cl
           + " (probably a named parameter).");
@@ -720,6 +745,7 @@ public class InjectorImpl implements Injector {
       }
       try {
         namedParameterInstances.put(np, o);
+        plans.clear();
       } catch (final IllegalArgumentException e) {
         throw new BindException(
             "Attempt to bind named parameter " + ReflectionUtilities.getFullName(cl) + " failed. "
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.util;
+
+import org.apache.reef.tang.annotations.DefaultImplementation;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.tang.annotations.Unit;
+import org.apache.reef.tang.implementation.binary.BinaryClassHierarchy;
+import org.apache.reef.tang.implementation.binary.BinaryClassHierarchySerializer;
+import org.apache.reef.tang.implementation.java.ClassHierarchyImpl;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Computes the class hierarchy of a set of classes ahead of time, so that Tang does not need to
+ * register them by reflection at runtime.
+ * <p>
+ * Usage: {@code ClassHierarchyGenerator <output file> <class directory or jar>...}
+ * <p>
+ * Every class in the given directories and jars that Tang would inject or configure (named parameters,
+ * classes with an {@code @Inject} constructor, {@code @DefaultImplementation} and {@code @Unit} classes) is
+ * registered together with the classes it refers to, and the result is written with the
+ * {@link BinaryClassHierarchySerializer}.  The classes they depend on have to be on the classpath of the
+ * generator.  If the output is packaged as {@link #RESOURCE_NAME}, e.g. by writing it to
+ * {@code target/classes/META-INF/tang/class-hierarchy.bin} before the jar is built, Tang's default class
+ * hierarchy is seeded with it at startup.
+ * <p>
+ * The output records a checksum of the class file of every class that was registered.  If any of those
+ * class files differs at startup, e.g. because the classes were rebuilt without regenerating the hierarchy,
+ * Tang ignores the stale hierarchy and registers the classes by reflection, see {@link #isUpToDate}.
+ */
+public final class ClassHierarchyGenerator {
+
+  /**
+   * The name of the classpath resource holding a precomputed class hierarchy.
+   */
+  public static final String RESOURCE_NAME = "META-INF/tang/class-hierarchy.bin";
+
+  private static final Logger LOG = Logger.getLogger(ClassHierarchyGenerator.class.getName());
+
+  private static final String CLASS_SUFFIX = ".class";
+
+  private final URL[] urls;
+  private final List<String> classNames = new ArrayList<>();
+  private final List<Class<?>> registeredClasses = new ArrayList<>();
+  private ClassHierarchyImpl classHierarchy;
+
+  /**
+   * @param classpath the class directories and jars to compute the class hierarchy of
+   */
+  public ClassHierarchyGenerator(final File... classpath) throws IOException {
+    this.urls = new URL[classpath.length];
+    for (int i = 0; i < classpath.length; i++) {
+      this.urls[i] = classpath[i].toURI().toURL();
+      if (classpath[i].isDirectory()) {
+        addDirectory(classpath[i], "");
+      } else {
+        addJar(classpath[i]);
+      }
+    }
+    this.classHierarchy = new ClassHierarchyImpl(this.urls);
+  }
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 2) {
+      throw new IllegalArgumentException("Usage: ClassHierarchyGenerator <output file> <class directory or jar>...");
+    }
+    final File[] classpath = new File[args.length - 1];
+    for (int i = 1; i < args.length; i++) {
+      classpath[i - 1] = new File(args[i]);
+    }
+    final File out = new File(args[0]);
+    final File dir = out.getAbsoluteFile().getParentFile();
+    if (!dir.isDirectory() && !dir.mkdirs()) {
+      throw new IOException("Unable to create directory " + dir);
+    }
+
+    final long start = System.currentTimeMillis();
+    final ClassHierarchyGenerator generator = new ClassHierarchyGenerator(classpath);
+    final int registered = generator.registerClasses();
+    try (final OutputStream os = new FileOutputStream(out)) {
+      new BinaryClassHierarchySerializer().toStream(generator.getClassHierarchy(), generator.getClassChecksums(), os);
+    }
+    LOG.log(Level.INFO, "Wrote the class hierarchy of {0} classes to {1} in {2} ms",
+        new Object[]{registered, out, System.currentTimeMillis() - start});
+  }
+
+  /**
+   * Register the classes that Tang would inject or configure, and everything they refer to.
+   * Classes that cannot be loaded or registered are skipped; Tang registers them by reflection
+   * at runtime, as usual.  A failed registration can leave some of its nodes behind, so the class
+   * hierarchy is rebuilt from the remaining classes until all of them register cleanly.
+   *
+   * @return the number of classes that were registered
+   */
+  public int registerClasses() {
+    List<Class<?>> candidates = new ArrayList<>();
+    for (final String name : classNames) {
+      try {
+        final Class<?> clazz = classHierarchy.classForName(name);
+        if (isTangClass(clazz)) {
+          candidates.add(clazz);
+        }
+      } catch (final ClassNotFoundException | LinkageError e) {
+        LOG.log(Level.FINE, "Skipping " + name, e);
+      }
+    }
+
+    while (true) {
+      final List<Class<?>> registered = new ArrayList<>(candidates.size());
+      for (final Class<?> clazz : candidates) {
+        try {
+          classHierarchy.getNode(clazz);
+          registered.add(clazz);
+        } catch (final LinkageError | RuntimeException e) {
+          LOG.log(Level.FINE, "Skipping " + clazz.getName(), e);
+        }
+      }
+      if (registered.size() == candidates.size()) {
+        registeredClasses.clear();
+        registeredClasses.addAll(registered);
+        return registered.size();
+      }
+      candidates = registered;
+      classHierarchy = new ClassHierarchyImpl(urls);
+    }
+  }
+
+  public ClassHierarchyImpl getClassHierarchy() {
+    return classHierarchy;
+  }
+
+  /**
+   * @return checksums of the class files of the registered classes, by class name
+   * @throws IOException if a class file cannot be read
+   */
+  public Map<String, Long> getClassChecksums() throws IOException {
+    final Map<String, Long> checksums = new HashMap<>(registeredClasses.size());
+    for (final Class<?> clazz : registeredClasses) {
+      checksums.put(clazz.getName(), getClassChecksum(clazz.getClassLoader(), clazz.getName()));
+    }
+    return checksums;
+  }
+
+  /**
+   * Check that the class files a precomputed class hierarchy was computed from have not changed.
+   *
+   * @param classHierarchy the precomputed class hierarchy
+   * @param loader the classloader that loads the classes of the hierarchy
+   * @return false if a class file is missing or differs from the one the hierarchy was computed from
+   */
+  public static boolean isUpToDate(final BinaryClassHierarchy classHierarchy, final ClassLoader loader) {
+    for (final Map.Entry<String, Long> entry : classHierarchy.getClassChecksums().entrySet()) {
+      try {
+        if (getClassChecksum(loader, entry.getKey()) != entry.getValue()) {
+          LOG.log(Level.FINE, "The class file of {0} changed", entry.getKey());
+          return false;
+        }
+      } catch (final IOException e) {
+        LOG.log(Level.FINE, "Unable to read the class file of " + entry.getKey(), e);
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long getClassChecksum(final ClassLoader loader, final String className) throws IOException {
+    final String resource = className.replace('.', '/') + CLASS_SUFFIX;
+    final ClassLoader classLoader = loader == null ? ClassLoader.getSystemClassLoader() : loader;
+    try (final InputStream in = classLoader.getResourceAsStream(resource)) {
+      if (in == null) {
+        throw new FileNotFoundException(resource);
+      }
+      final CRC32 crc = new CRC32();
+      final byte[] buf = new byte[4096];
+      int n;
+      while ((n = in.read(buf)) != -1) {
+        crc.update(buf, 0, n);
+      }
+      return crc.getValue();
+    }
+  }
+
+  private static boolean isTangClass(final Class<?> clazz) {
+    if (clazz.isAnnotationPresent(NamedParameter.class)
+        || clazz.isAnnotationPresent(DefaultImplementation.class)
+        || clazz.isAnnotationPresent(Unit.class)) {
+      return true;
+    }
+    for (final Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+      if (constructor.isAnnotationPresent(Inject.class)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void addDirectory(final File dir, final String prefix) {
+    final File[] files = dir.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (final File f : files) {
+      if (f.isDirectory()) {
+        addDirectory(f, prefix + f.getName() + "/");
+      } else {
+        addClassFile(prefix + f.getName());
+      }
+    }
+  }
+
+  private void addJar(final File jar) throws IOException {
+    try (final JarFile jarFile = new JarFile(jar)) {
+      final Enumeration<JarEntry> entries = jarFile.entries();
+      while (entries.hasMoreElements()) {
+        addClassFile(entries.nextElement().getName());
+      }
+    }
+  }
+
+  private void addClassFile(final String path) {
+    if (path.endsWith(CLASS_SUFFIX) && !path.endsWith("package-info" + CLASS_SUFFIX)) {
+      classNames.add(path.substring(0, path.length() - CLASS_SUFFIX.length()).replace('/', '.'));
+    }
+  }
+}
@@ -30,6 +30,8 @@ import org.apache.reef.tang.formats.AvroConfigurationSerializer;
 import org.apache.reef.tang.formats.ConfigurationModule;
 import org.apache.reef.tang.formats.ConfigurationModuleBuilder;
 import org.apache.reef.tang.formats.OptionalParameter;
+import org.apache.reef.tang.implementation.InjectionPlan;
+import org.apache.reef.tang.implementation.java.InjectorImpl;
 import org.apache.reef.tang.util.ReflectionUtilities;
 import org.junit.Assert;
 import org.junit.Before;
@@ -192,6 +194,27 @@ public class TestTang {
     tang.newInjector(cb.build()).getInstance(Interf.class);
   }
 
+  @Test
+  public void testInjectionPlanInvalidatedByVolatileBinding() throws BindException, InjectionException {
+    final Injector i = tang.newInjector();
+    Assert.assertEquals("default", i.getNamedInstance(OneNamedStringArg.A.class));
+    i.bindVolatileParameter(OneNamedStringArg.A.class, "volatile");
+    Assert.assertEquals("volatile", i.getNamedInstance(OneNamedStringArg.A.class));
+  }
+
+  @Test
+  public void testForkInjectorReusesInjectionPlans() throws BindException, InjectionException {
+    final InjectorImpl i = (InjectorImpl) tang.newInjector();
+    final InjectionPlan<OneNamedStringArg> plan = i.getInjectionPlan(OneNamedStringArg.class);
+    Assert.assertSame(plan, i.getInjectionPlan(OneNamedStringArg.class));
+
+    final InjectorImpl forked = (InjectorImpl) i.forkInjector();
+    Assert.assertSame(plan, forked.getInjectionPlan(OneNamedStringArg.class));
+    forked.bindVolatileParameter(OneNamedStringArg.A.class, "volatile");
+    Assert.assertEquals("volatile", forked.getInstance(OneNamedStringArg.class).s);
+    Assert.assertEquals("default", i.getInstance(OneNamedStringArg.class).s);
+  }
+
   @Test
   public void testOneNamedStringArgCantRebind() throws BindException,
       InjectionException {
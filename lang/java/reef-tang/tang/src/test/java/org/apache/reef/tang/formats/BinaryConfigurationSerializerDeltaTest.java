@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.formats;
+
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.JavaConfigurationBuilder;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.BindException;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.tang.test.ObjectTreeTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+/**
+ * Tests for Configuration deltas of the BinaryConfigurationSerializer.
+ */
+public class BinaryConfigurationSerializerDeltaTest {
+
+  private final BinaryConfigurationSerializer serializer = new BinaryConfigurationSerializer();
+
+  private static Configuration newConfiguration(final String shortNameDefault, final String noDefault)
+      throws BindException {
+    final JavaConfigurationBuilder cb = Tang.Factory.getTang().newConfigurationBuilder(
+        ObjectTreeTest.getConfigurationWithoutList());
+    cb.bindNamedParameter(NamedParameters.StringShortNameDefault.class, shortNameDefault);
+    if (noDefault != null) {
+      cb.bindNamedParameter(NamedParameters.StringNoShortNameNoDefault.class, noDefault);
+    }
+    return cb.build();
+  }
+
+  @Test
+  public void testDeltaRoundTrip() throws IOException, BindException, InjectionException {
+    final Configuration base = newConfiguration("a", null);
+    final Configuration conf = newConfiguration("b", "c");
+
+    final byte[] delta = serializer.toByteArray(conf, base);
+    Assert.assertTrue(delta.length < serializer.toByteArray(conf).length);
+
+    final Configuration after = serializer.fromByteArray(delta, base);
+    Assert.assertEquals(conf.getNamedParameters().size(), after.getNamedParameters().size());
+    Assert.assertEquals("b", Tang.Factory.getTang().newInjector(after)
+        .getNamedInstance(NamedParameters.StringShortNameDefault.class));
+    Assert.assertEquals("c", Tang.Factory.getTang().newInjector(after)
+        .getNamedInstance(NamedParameters.StringNoShortNameNoDefault.class));
+  }
+
+  @Test
+  public void testDeltaRemovesBindings() throws IOException, BindException, InjectionException {
+    final Configuration base = newConfiguration("a", "c");
+    final Configuration conf = newConfiguration("a", null);
+
+    final Configuration after = serializer.fromByteArray(serializer.toByteArray(conf, base), base);
+    Assert.assertEquals(conf.getNamedParameters().size(), after.getNamedParameters().size());
+    Assert.assertEquals("a", Tang.Factory.getTang().newInjector(after)
+        .getNamedInstance(NamedParameters.StringShortNameDefault.class));
+  }
+
+  @Test
+  public void testFullConfigurationIgnoresBase() throws IOException, BindException, InjectionException {
+    final Configuration base = newConfiguration("a", "c");
+    final Configuration conf = newConfiguration("b", null);
+
+    final Configuration after = serializer.fromByteArray(serializer.toByteArray(conf), base);
+    Assert.assertEquals(conf.getNamedParameters().size(), after.getNamedParameters().size());
+    Assert.assertEquals(conf.getNamedParameters().size(),
+        serializer.fromByteArray(serializer.toByteArray(conf), (Configuration) null).getNamedParameters().size());
+  }
+
+  @Test(expected = IOException.class)
+  public void testDeltaNeedsBase() throws IOException, BindException {
+    serializer.fromByteArray(serializer.toByteArray(newConfiguration("b", null), newConfiguration("a", null)),
+        (Configuration) null);
+  }
+}
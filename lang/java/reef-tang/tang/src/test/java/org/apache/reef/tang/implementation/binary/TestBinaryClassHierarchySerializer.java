@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.implementation.binary;
+
+import org.apache.reef.tang.ClassHierarchy;
+import org.apache.reef.tang.ClassHierarchySerializer;
+import org.apache.reef.tang.exceptions.NameResolutionException;
+import org.apache.reef.tang.implementation.java.ClassHierarchyImpl;
+import org.apache.reef.tang.types.ClassNode;
+import org.apache.reef.tang.types.NamedParameterNode;
+import org.apache.reef.tang.types.Node;
+import org.apache.reef.tang.types.PackageNode;
+import org.apache.reef.tang.util.ValidateConfiguration;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class TestBinaryClassHierarchySerializer {
+
+  private final BinaryClassHierarchySerializer serializer = new BinaryClassHierarchySerializer();
+
+  @Test
+  public void testRoundTrip() throws IOException, NameResolutionException {
+    final ClassHierarchyImpl ch = new ClassHierarchyImpl();
+    ch.getNode(ValidateConfiguration.class);
+    ch.getNode(ClassHierarchySerializer.class);
+
+    final ClassHierarchy copy = serializer.fromByteArray(serializer.toByteArray(ch));
+    Assert.assertTrue(copy.getNamespace() instanceof PackageNode);
+    Assert.assertEquals(ch.getNamespace().getChildren().size(), copy.getNamespace().getChildren().size());
+    for (final Node n : ch.getNamespace().getChildren()) {
+      assertSameNode(n, copy);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsOtherFormats() throws IOException {
+    serializer.fromByteArray(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+  }
+
+  private static void assertSameNode(final Node expected, final ClassHierarchy copy)
+      throws NameResolutionException {
+    final Node actual = copy.getNode(expected.getFullName());
+    Assert.assertEquals(expected.getName(), actual.getName());
+    Assert.assertEquals(expected.getChildren().size(), actual.getChildren().size());
+    if (expected instanceof ClassNode) {
+      final ClassNode<?> e = (ClassNode<?>) expected;
+      final ClassNode<?> a = (ClassNode<?>) actual;
+      Assert.assertEquals(e.isUnit(), a.isUnit());
+      Assert.assertEquals(e.isInjectionCandidate(), a.isInjectionCandidate());
+      Assert.assertEquals(e.isExternalConstructor(), a.isExternalConstructor());
+      Assert.assertEquals(e.getDefaultImplementation(), a.getDefaultImplementation());
+      Assert.assertEquals(new TreeSet<>(Arrays.asList(e.getInjectableConstructors())),
+          new TreeSet<>(Arrays.asList(a.getInjectableConstructors())));
+      Assert.assertEquals(new TreeSet<>(Arrays.asList(e.getAllConstructors())),
+          new TreeSet<>(Arrays.asList(a.getAllConstructors())));
+      Assert.assertEquals(implNames(e), implNames(a));
+    } else if (expected instanceof NamedParameterNode) {
+      final NamedParameterNode<?> e = (NamedParameterNode<?>) expected;
+      final NamedParameterNode<?> a = (NamedParameterNode<?>) actual;
+      Assert.assertEquals(e.getFullArgName(), a.getFullArgName());
+      Assert.assertEquals(e.getSimpleArgName(), a.getSimpleArgName());
+      Assert.assertEquals(e.isSet(), a.isSet());
+      Assert.assertEquals(e.isList(), a.isList());
+      Assert.assertEquals(e.getDocumentation(), a.getDocumentation());
+      Assert.assertEquals(e.getShortName(), a.getShortName());
+      Assert.assertArrayEquals(e.getDefaultInstanceAsStrings(), a.getDefaultInstanceAsStrings());
+    } else {
+      Assert.assertTrue(actual instanceof PackageNode);
+    }
+    for (final Node child : expected.getChildren()) {
+      assertSameNode(child, copy);
+    }
+  }
+
+  private static Set<String> implNames(final ClassNode<?> cn) {
+    final Set<String> names = new TreeSet<>();
+    for (final ClassNode<?> impl : cn.getKnownImplementations()) {
+      names.add(impl.getFullName());
+    }
+    return names;
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.implementation.java;
+
+import org.apache.reef.tang.ClassHierarchy;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.annotations.DefaultImplementation;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.tang.implementation.binary.BinaryClassHierarchySerializer;
+import org.apache.reef.tang.types.ClassNode;
+import org.apache.reef.tang.types.NamedParameterNode;
+import org.apache.reef.tang.types.Node;
+import org.apache.reef.tang.util.ClassHierarchyGenerator;
+import org.apache.reef.tang.util.ReflectionUtilities;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestPrecomputedClassHierarchy {
+
+  private final BinaryClassHierarchySerializer serializer = new BinaryClassHierarchySerializer();
+
+  private ClassHierarchy roundTrip(final ClassHierarchy ch) throws IOException {
+    return serializer.fromByteArray(serializer.toByteArray(ch));
+  }
+
+  @Test
+  public void testInjectFromPrecomputedNodes() throws IOException, InjectionException {
+    final ClassHierarchyImpl source = new ClassHierarchyImpl();
+    source.getNode(Fruit.class);
+    source.getNode(Apple.class);
+
+    final ClassHierarchyImpl ch = new ClassHierarchyImpl();
+    ch.addNodes(roundTrip(source));
+
+    final ClassNode<?> fruit = (ClassNode<?>) ch.getNode(Fruit.class);
+    Assert.assertEquals(ReflectionUtilities.getFullName(Apple.class), fruit.getDefaultImplementation());
+    Assert.assertTrue(((ClassNode<?>) ch.getNode(Apple.class)).isImplementationOf(fruit));
+    final NamedParameterNode<?> weight = (NamedParameterNode<?>) ch.getNode(Weight.class);
+    Assert.assertEquals(Integer.valueOf(42), ch.parseDefaultValue(weight));
+
+    final Configuration conf = Tang.Factory.getTang().newConfigurationBuilder(ch).build();
+    final Fruit f = Tang.Factory.getTang().newInjector(conf).getInstance(Fruit.class);
+    Assert.assertEquals(42, ((Apple) f).weight);
+  }
+
+  @Test
+  public void testNodesAreMerged() throws IOException {
+    final ClassHierarchyImpl source = new ClassHierarchyImpl();
+    source.getNode(Apple.class);
+    final ClassHierarchy precomputed = roundTrip(source);
+
+    final ClassHierarchyImpl ch = new ClassHierarchyImpl();
+    final Node pear = ch.getNode(Pear.class);
+    ch.addNodes(precomputed);
+    ch.addNodes(precomputed);
+
+    Assert.assertSame(pear, ch.getNode(Pear.class));
+    final ClassNode<?> fruit = (ClassNode<?>) ch.getNode(Fruit.class);
+    Assert.assertEquals(2, fruit.getKnownImplementations().size());
+    Assert.assertTrue(((ClassNode<?>) ch.getNode(Apple.class)).isImplementationOf(fruit));
+  }
+
+  @Test
+  public void testGenerator() throws IOException, URISyntaxException, InjectionException {
+    final File testClasses = new File(
+        TestPrecomputedClassHierarchy.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    final ClassHierarchyGenerator generator = new ClassHierarchyGenerator(testClasses);
+    Assert.assertTrue(generator.registerClasses() > 0);
+
+    final ClassHierarchyImpl ch = new ClassHierarchyImpl();
+    ch.addNodes(roundTrip(generator.getClassHierarchy()));
+    final Configuration conf = Tang.Factory.getTang().newConfigurationBuilder(ch).build();
+    final Fruit f = Tang.Factory.getTang().newInjector(conf).getInstance(Fruit.class);
+    Assert.assertEquals(42, ((Apple) f).weight);
+  }
+
+  @Test
+  public void testStaleHierarchyIsDetected() throws IOException, URISyntaxException {
+    final File testClasses = new File(
+        TestPrecomputedClassHierarchy.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    final ClassHierarchyGenerator generator = new ClassHierarchyGenerator(testClasses);
+    generator.registerClasses();
+    final Map<String, Long> checksums = generator.getClassChecksums();
+    Assert.assertTrue(checksums.containsKey(Apple.class.getName()));
+
+    final ClassLoader loader = TestPrecomputedClassHierarchy.class.getClassLoader();
+    final ClassHierarchy ch = generator.getClassHierarchy();
+    Assert.assertTrue(ClassHierarchyGenerator.isUpToDate(
+        serializer.fromByteArray(serializer.toByteArray(ch, checksums)), loader));
+
+    final Map<String, Long> changed = new HashMap<>(checksums);
+    changed.put(Apple.class.getName(), checksums.get(Apple.class.getName()) + 1);
+    Assert.assertFalse(ClassHierarchyGenerator.isUpToDate(
+        serializer.fromByteArray(serializer.toByteArray(ch, changed)), loader));
+
+    final Map<String, Long> removed = new HashMap<>(checksums);
+    removed.put("org.apache.reef.tang.NoSuchClass", 0L);
+    Assert.assertFalse(ClassHierarchyGenerator.isUpToDate(
+        serializer.fromByteArray(serializer.toByteArray(ch, removed)), loader));
+  }
+
+  @DefaultImplementation(Apple.class)
+  interface Fruit {
+  }
+
+  static final class Apple implements Fruit {
+    private final int weight;
+
+    @Inject
+    Apple(@Parameter(Weight.class) final int weight) {
+      this.weight = weight;
+    }
+  }
+
+  static final class Pear implements Fruit {
+    @Inject
+    Pear() {
+    }
+  }
+
+  @NamedParameter(default_value = "42")
+  static final class Weight implements Name<Integer> {
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tests.launchprofile;
+
+import org.apache.reef.driver.context.ActiveContext;
+import org.apache.reef.driver.context.ContextConfiguration;
+import org.apache.reef.driver.evaluator.AllocatedEvaluator;
+import org.apache.reef.driver.evaluator.EvaluatorRequestor;
+import org.apache.reef.driver.evaluator.JVMProcessFactory;
+import org.apache.reef.runtime.common.launch.JavaLaunchProfile;
+import org.apache.reef.tang.annotations.Unit;
+import org.apache.reef.tests.library.exceptions.DriverSideFailure;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.time.event.StartTime;
+
+import javax.inject.Inject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Driver for EvaluatorLaunchProfileTest: launches NUM_EVALUATORS Evaluators with the DEFAULT launch profile, then
+ * NUM_EVALUATORS more with the STARTUP profile, and compares the time from allocation to the first heartbeat of
+ * the Evaluators, i.e. until their context is active.
+ */
+@Unit
+public final class EvaluatorLaunchProfileDriver {
+
+  private static final Logger LOG = Logger.getLogger(EvaluatorLaunchProfileDriver.class.getName());
+
+  static final int NUM_EVALUATORS = 4;
+  static final int MEMORY = 256;
+
+  private final EvaluatorRequestor requestor;
+  private final JVMProcessFactory processFactory;
+
+  private final Map<String, Long> allocationTimes = new HashMap<>();
+  private JavaLaunchProfile profile = JavaLaunchProfile.DEFAULT;
+  private int activeContexts = 0;
+  private long totalStartTime = 0;
+
+  @Inject
+  private EvaluatorLaunchProfileDriver(final EvaluatorRequestor requestor, final JVMProcessFactory processFactory) {
+    this.requestor = requestor;
+    this.processFactory = processFactory;
+  }
+
+  private void requestEvaluators() {
+    this.requestor.submit(this.requestor.newRequest().setNumber(NUM_EVALUATORS).setMemory(MEMORY).build());
+  }
+
+  /**
+   * Handler for StartTime.
+   */
+  public final class StartHandler implements EventHandler<StartTime> {
+    @Override
+    public void onNext(final StartTime startTime) {
+      requestEvaluators();
+    }
+  }
+
+  /**
+   * Handler for AllocatedEvaluator.
+   */
+  public final class EvaluatorAllocatedHandler implements EventHandler<AllocatedEvaluator> {
+    @Override
+    public void onNext(final AllocatedEvaluator eval) {
+      final JavaLaunchProfile evaluatorProfile;
+      synchronized (EvaluatorLaunchProfileDriver.this) {
+        allocationTimes.put(eval.getId(), System.currentTimeMillis());
+        evaluatorProfile = profile;
+      }
+      eval.setProcess(processFactory.newEvaluatorProcess().setLaunchProfile(evaluatorProfile));
+      eval.submitContext(ContextConfiguration.CONF
+          .set(ContextConfiguration.IDENTIFIER, "LaunchProfileContext-" + eval.getId())
+          .build());
+    }
+  }
+
+  /**
+   * Handler for ActiveContext.
+   */
+  public final class ContextActiveHandler implements EventHandler<ActiveContext> {
+    @Override
+    public void onNext(final ActiveContext context) {
+      synchronized (EvaluatorLaunchProfileDriver.this) {
+        final Long allocationTime = allocationTimes.remove(context.getEvaluatorId());
+        if (allocationTime == null) {
+          throw new DriverSideFailure("Unexpected context on Evaluator " + context.getEvaluatorId());
+        }
+        totalStartTime += System.currentTimeMillis() - allocationTime;
+        ++activeContexts;
+
+        if (activeContexts == NUM_EVALUATORS) {
+          LOG.log(Level.INFO, "Evaluators with the {0} launch profile took {1} ms on average to their first heartbeat",
+              new Object[]{profile, totalStartTime / NUM_EVALUATORS});
+          if (profile == JavaLaunchProfile.DEFAULT) {
+            profile = JavaLaunchProfile.STARTUP;
+            activeContexts = 0;
+            totalStartTime = 0;
+            requestEvaluators();
+          }
+        }
+      }
+      context.close();
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tests.messaging.task;
+
+import org.apache.reef.driver.evaluator.AllocatedEvaluator;
+import org.apache.reef.driver.task.RunningTask;
+import org.apache.reef.driver.task.TaskConfiguration;
+import org.apache.reef.driver.task.TaskMessage;
+import org.apache.reef.tang.annotations.Unit;
+import org.apache.reef.tests.library.exceptions.DriverSideFailure;
+import org.apache.reef.wake.EventHandler;
+
+import javax.inject.Inject;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Driver for TaskMessageLatencyTest: measures how long the messages of TaskMessageLatencyTask take to arrive
+ * through TaskMessageChannel and through triggered heartbeats.
+ */
+@Unit
+public final class TaskMessageLatencyDriver {
+
+  private static final Logger LOG = Logger.getLogger(TaskMessageLatencyDriver.class.getName());
+
+  private final Map<String, List<Long>> latencies = new HashMap<>();
+  private RunningTask runningTask;
+
+  @Inject
+  private TaskMessageLatencyDriver() {
+    this.latencies.put(TaskMessageLatencyTask.CHANNEL_SOURCE_ID, new ArrayList<Long>());
+    this.latencies.put(TaskMessageLatencyTask.HEARTBEAT_SOURCE_ID, new ArrayList<Long>());
+  }
+
+  /**
+   * Handler for AllocatedEvaluator.
+   */
+  public final class EvaluatorAllocatedHandler implements EventHandler<AllocatedEvaluator> {
+    @Override
+    public void onNext(final AllocatedEvaluator eval) {
+      eval.submitTask(TaskConfiguration.CONF
+          .set(TaskConfiguration.IDENTIFIER, "TaskMessageLatencyTask")
+          .set(TaskConfiguration.TASK, TaskMessageLatencyTask.class)
+          .set(TaskConfiguration.ON_MESSAGE, TaskMessageLatencyTask.DriverMessageHandler.class)
+          .set(TaskConfiguration.ON_SEND_MESSAGE, TaskMessageLatencyTask.class)
+          .build());
+    }
+  }
+
+  /**
+   * Handler for RunningTask.
+   */
+  public final class TaskRunningHandler implements EventHandler<RunningTask> {
+    @Override
+    public void onNext(final RunningTask task) {
+      synchronized (TaskMessageLatencyDriver.this) {
+        runningTask = task;
+      }
+      task.send(new byte[0]);
+    }
+  }
+
+  /**
+   * Handler for TaskMessage.
+   */
+  public final class TaskMessageHandler implements EventHandler<TaskMessage> {
+    @Override
+    public void onNext(final TaskMessage msg) {
+      final long latency = System.currentTimeMillis() - ByteBuffer.wrap(msg.get()).getLong();
+      synchronized (TaskMessageLatencyDriver.this) {
+        final List<Long> sourceLatencies = latencies.get(msg.getMessageSourceID());
+        if (sourceLatencies == null || runningTask == null) {
+          throw new DriverSideFailure("Unexpected message from " + msg.getMessageSourceID());
+        }
+        sourceLatencies.add(latency);
+        for (final List<Long> values : latencies.values()) {
+          if (values.size() < TaskMessageLatencyTask.NUM_MESSAGES) {
+            return;
+          }
+        }
+        for (final Map.Entry<String, List<Long>> entry : latencies.entrySet()) {
+          long sum = 0;
+          long max = 0;
+          for (final long value : entry.getValue()) {
+            sum += value;
+            max = Math.max(max, value);
+          }
+          LOG.log(Level.INFO, "Task message latency through {0}: {1} messages, mean {2} ms, max {3} ms",
+              new Object[]{entry.getKey(), entry.getValue().size(), sum / entry.getValue().size(), max});
+        }
+        runningTask.send(new byte[0]);
+      }
+    }
+  }
+}
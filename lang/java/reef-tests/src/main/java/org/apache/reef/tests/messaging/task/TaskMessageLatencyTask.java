@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tests.messaging.task;
+
+import org.apache.reef.tang.annotations.Unit;
+import org.apache.reef.task.HeartBeatTriggerManager;
+import org.apache.reef.task.Task;
+import org.apache.reef.task.TaskMessage;
+import org.apache.reef.task.TaskMessageChannel;
+import org.apache.reef.task.TaskMessageSource;
+import org.apache.reef.task.events.DriverMessage;
+import org.apache.reef.util.Optional;
+import org.apache.reef.wake.EventHandler;
+
+import javax.inject.Inject;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Logger;
+
+/**
+ * A task that sends timestamped messages to the Driver, alternately through TaskMessageChannel and through
+ * TaskMessageSource and HeartBeatTriggerManager. It starts once the Driver knows it is running, and returns once
+ * the Driver confirms it received all messages.
+ */
+@Unit
+public final class TaskMessageLatencyTask implements Task, TaskMessageSource {
+
+  static final String CHANNEL_SOURCE_ID = "channel";
+  static final String HEARTBEAT_SOURCE_ID = "heartbeat";
+  static final int NUM_MESSAGES = 200;
+
+  /**
+   * The pause between messages in ms, so that the latencies don't include waiting for the previous message.
+   */
+  private static final int PAUSE = 10;
+
+  private static final Logger LOG = Logger.getLogger(TaskMessageLatencyTask.class.getName());
+
+  private final TaskMessageChannel taskMessageChannel;
+  private final HeartBeatTriggerManager heartBeatTriggerManager;
+  private final Queue<TaskMessage> heartbeatMessages = new ConcurrentLinkedQueue<>();
+  private final CountDownLatch driverReady = new CountDownLatch(1);
+  private final CountDownLatch allReceived = new CountDownLatch(1);
+
+  @Inject
+  private TaskMessageLatencyTask(final TaskMessageChannel taskMessageChannel,
+                                 final HeartBeatTriggerManager heartBeatTriggerManager) {
+    this.taskMessageChannel = taskMessageChannel;
+    this.heartBeatTriggerManager = heartBeatTriggerManager;
+  }
+
+  static byte[] now() {
+    return ByteBuffer.allocate(Long.SIZE / Byte.SIZE).putLong(System.currentTimeMillis()).array();
+  }
+
+  @Override
+  public byte[] call(final byte[] memento) throws InterruptedException {
+    this.driverReady.await();
+    for (int i = 0; i < NUM_MESSAGES; ++i) {
+      this.taskMessageChannel.send(TaskMessage.from(CHANNEL_SOURCE_ID, now()));
+      Thread.sleep(PAUSE);
+      this.heartbeatMessages.add(TaskMessage.from(HEARTBEAT_SOURCE_ID, now()));
+      this.heartBeatTriggerManager.triggerHeartBeat();
+      Thread.sleep(PAUSE);
+    }
+    LOG.info("Sent all messages. Waiting for the Driver to receive them.");
+    this.allReceived.await();
+    return null;
+  }
+
+  @Override
+  public Optional<TaskMessage> getMessage() {
+    return Optional.ofNullable(this.heartbeatMessages.poll());
+  }
+
+  /**
+   * Handler for DriverMessage, which the Driver sends once when the Task is running, and again once it received
+   * all messages.
+   */
+  public final class DriverMessageHandler implements EventHandler<DriverMessage> {
+    @Override
+    public void onNext(final DriverMessage driverMessage) {
+      if (driverReady.getCount() > 0) {
+        driverReady.countDown();
+      } else {
+        allReceived.countDown();
+      }
+    }
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tests.pipelining;
+
+import org.apache.reef.driver.TaskQueueable;
+import org.apache.reef.driver.context.ActiveContext;
+import org.apache.reef.driver.context.ContextConfiguration;
+import org.apache.reef.driver.evaluator.AllocatedEvaluator;
+import org.apache.reef.driver.evaluator.EvaluatorRequestor;
+import org.apache.reef.driver.task.CompletedTask;
+import org.apache.reef.driver.task.TaskConfiguration;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.annotations.Unit;
+import org.apache.reef.tests.library.exceptions.DriverSideFailure;
+import org.apache.reef.tests.library.tasks.NoopTask;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.time.event.StartTime;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Driver for TaskPipeliningTest: runs NUM_TASKS Tasks on a context by submitting each one once the previous one
+ * completed, then NUM_TASKS more by queueing them all at once, and compares the time both took.
+ * Then it requests one more Evaluator, which the pool satisfies.
+ */
+@Unit
+public final class TaskPipeliningDriver {
+
+  private static final Logger LOG = Logger.getLogger(TaskPipeliningDriver.class.getName());
+
+  static final int NUM_TASKS = 20;
+  static final int MEMORY = 128;
+
+  private static final String SUBMITTED_TASK_PREFIX = "SubmittedTask-";
+  private static final String QUEUED_TASK_PREFIX = "QueuedTask-";
+
+  private final EvaluatorRequestor requestor;
+
+  private int completedTasks = 0;
+  private long phaseStartTime;
+  private long requestTime;
+  private boolean contextSubmitted = false;
+
+  @Inject
+  private TaskPipeliningDriver(final EvaluatorRequestor requestor) {
+    this.requestor = requestor;
+  }
+
+  private static Configuration getTaskConfiguration(final String taskId) {
+    return TaskConfiguration.CONF
+        .set(TaskConfiguration.IDENTIFIER, taskId)
+        .set(TaskConfiguration.TASK, NoopTask.class)
+        .build();
+  }
+
+  private synchronized void requestEvaluator() {
+    this.requestTime = System.currentTimeMillis();
+    this.requestor.submit(this.requestor.newRequest().setNumber(1).setMemory(MEMORY).build());
+  }
+
+  /**
+   * Handler for StartTime.
+   */
+  public final class StartHandler implements EventHandler<StartTime> {
+    @Override
+    public void onNext(final StartTime startTime) {
+      requestEvaluator();
+    }
+  }
+
+  /**
+   * Handler for AllocatedEvaluator.
+   */
+  public final class EvaluatorAllocatedHandler implements EventHandler<AllocatedEvaluator> {
+    @Override
+    public void onNext(final AllocatedEvaluator eval) {
+      synchronized (TaskPipeliningDriver.this) {
+        LOG.log(Level.INFO, "Evaluator {0} allocated {1} ms after it was requested",
+            new Object[]{eval.getId(), System.currentTimeMillis() - requestTime});
+        if (contextSubmitted) {
+          eval.close();
+          return;
+        }
+        contextSubmitted = true;
+      }
+      eval.submitContext(ContextConfiguration.CONF
+          .set(ContextConfiguration.IDENTIFIER, "TaskPipeliningContext")
+          .build());
+    }
+  }
+
+  /**
+   * Handler for ActiveContext.
+   */
+  public final class ContextActiveHandler implements EventHandler<ActiveContext> {
+    @Override
+    public void onNext(final ActiveContext context) {
+      synchronized (TaskPipeliningDriver.this) {
+        phaseStartTime = System.currentTimeMillis();
+      }
+      context.submitTask(getTaskConfiguration(SUBMITTED_TASK_PREFIX + 0));
+    }
+  }
+
+  /**
+   * Handler for CompletedTask.
+   */
+  public final class TaskCompletedHandler implements EventHandler<CompletedTask> {
+    @Override
+    public void onNext(final CompletedTask task) {
+      final ActiveContext context = task.getActiveContext();
+      synchronized (TaskPipeliningDriver.this) {
+        final String expectedId = completedTasks < NUM_TASKS ?
+            SUBMITTED_TASK_PREFIX + completedTasks : QUEUED_TASK_PREFIX + (completedTasks - NUM_TASKS);
+        if (!expectedId.equals(task.getId())) {
+          throw new DriverSideFailure("Expected Task " + expectedId + " to complete, but got " + task.getId());
+        }
+        ++completedTasks;
+
+        if (completedTasks < NUM_TASKS) {
+          context.submitTask(getTaskConfiguration(SUBMITTED_TASK_PREFIX + completedTasks));
+        } else if (completedTasks == NUM_TASKS) {
+          final long now = System.currentTimeMillis();
+          LOG.log(Level.INFO, "{0} Tasks submitted one by one took {1} ms",
+              new Object[]{NUM_TASKS, now - phaseStartTime});
+          phaseStartTime = now;
+          final List<Configuration> taskConfs = new ArrayList<>(NUM_TASKS);
+          for (int i = 0; i < NUM_TASKS; ++i) {
+            taskConfs.add(getTaskConfiguration(QUEUED_TASK_PREFIX + i));
+          }
+          if (!(context instanceof TaskQueueable)) {
+            throw new DriverSideFailure("The context of Task " + task.getId() + " can't queue Tasks");
+          }
+          ((TaskQueueable) context).queueTasks(taskConfs);
+        } else if (completedTasks == 2 * NUM_TASKS) {
+          LOG.log(Level.INFO, "{0} queued Tasks took {1} ms",
+              new Object[]{NUM_TASKS, System.currentTimeMillis() - phaseStartTime});
+          context.close();
+          requestEvaluator();
+        }
+      }
+    }
+  }
+}
@@ -30,8 +30,11 @@ import org.apache.reef.tests.evaluatorsize.EvaluatorSizeTest;
 import org.apache.reef.tests.examples.ExamplesTestSuite;
 import org.apache.reef.tests.fail.FailTestSuite;
 import org.apache.reef.tests.files.FileResourceTest;
+import org.apache.reef.tests.launchprofile.EvaluatorLaunchProfileTest;
 import org.apache.reef.tests.messaging.driver.DriverMessagingTest;
+import org.apache.reef.tests.messaging.task.TaskMessageLatencyTest;
 import org.apache.reef.tests.messaging.task.TaskMessagingTest;
+import org.apache.reef.tests.pipelining.TaskPipeliningTest;
 import org.apache.reef.tests.statepassing.StatePassingTest;
 import org.apache.reef.tests.subcontexts.SubContextTest;
 import org.apache.reef.tests.taskresubmit.TaskResubmitTest;
@@ -51,6 +54,9 @@ import org.junit.runners.Suite;
     FileResourceTest.class,
     DriverMessagingTest.class,
     TaskMessagingTest.class,
+    TaskMessageLatencyTest.class,
+    TaskPipeliningTest.class,
+    EvaluatorLaunchProfileTest.class,
     StatePassingTest.class,
     SubContextTest.class,
     TaskResubmitTest.class,
@@ -0,0 +1,523 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.util.cache;
+
+import org.apache.reef.util.Optional;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Size-bounded implementation that supports expire-after-write.
+ *
+ * Eviction follows a segmented LRU policy: a newly loaded entry enters the probation segment
+ * and is promoted to the protected segment when it is read again. A burst of keys that are
+ * read only once therefore displaces other probation entries instead of the frequently used ones.
+ * When the cache holds more than maximumSize entries, the least recently used probation entry
+ * is evicted first.
+ *
+ * Expired entries are collected by a hashed timer wheel that is advanced on get calls,
+ * so a sweep only visits the buckets of the ticks that passed since the last sweep,
+ * instead of scanning the whole cache. A get never returns an entry after its timeout.
+ *
+ * If a refresh executor is given, a hit on an entry that was written more than refreshAfterMillis ago
+ * reloads the entry on the executor, while the current value keeps being returned.
+ *
+ * A failed load is removed, so that the next get loads the value again, unless failureTimeoutMillis
+ * is positive. Then the failure is cached as a negative entry, and gets rethrow it until it expires.
+ *
+ * The segments and the timer wheel are guarded by a single lock. A hit only records its access
+ * if the lock is free, so concurrent readers never wait for each other.
+ * Operations on a single key are linearizable, by the same argument as for {@link CacheImpl}.
+ */
+public final class BoundedCacheImpl<K, V> implements Cache<K, V> {
+  private static final Logger LOG = Logger.getLogger(BoundedCacheImpl.class.getName());
+
+  /**
+   * Number of buckets in the timer wheel. Must be a power of two.
+   */
+  private static final int WHEEL_SIZE = 64;
+  /**
+   * Number of ticks that make up a timeout, so that an entry is collected within one turn of the wheel.
+   */
+  private static final int TICKS_PER_TIMEOUT = WHEEL_SIZE / 2;
+  private static final double PROTECTED_RATIO = 0.8;
+
+  private final ConcurrentMap<K, Node<K, V>> internalMap;
+  private final CurrentTime currentTime;
+  private final long timeoutMillis;
+  private final long failureTimeoutMillis;
+  private final int maximumSize;
+  private final int maximumProtectedSize;
+  private final long refreshAfterMillis;
+  private final Executor refreshExecutor;
+  private final long tickMillis;
+
+  private final ReentrantLock policyLock;
+  private final Node<K, V> probationSegment;
+  private final Node<K, V> protectedSegment;
+  private final Node<K, V>[] wheel;
+  private int size;
+  private int protectedSize;
+  private long nextTick;
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong loadFailureCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+  private final AtomicLong expirationCount = new AtomicLong();
+  private final AtomicLong refreshCount = new AtomicLong();
+
+  /**
+   * Construct a size-bounded expire-after-write cache.
+   *
+   * @param currentTime   class that returns the current time for timeout purposes
+   * @param timeoutMillis a cache entry timeout after write
+   * @param maximumSize   the maximum number of entries
+   */
+  public BoundedCacheImpl(final CurrentTime currentTime,
+                          final long timeoutMillis,
+                          final int maximumSize) {
+    this(currentTime, timeoutMillis, maximumSize, Long.MAX_VALUE, null);
+  }
+
+  /**
+   * Construct a size-bounded expire-after-write cache that refreshes entries ahead of their timeout.
+   *
+   * @param currentTime        class that returns the current time for timeout purposes
+   * @param timeoutMillis      a cache entry timeout after write
+   * @param maximumSize        the maximum number of entries
+   * @param refreshAfterMillis the time after write from which a hit reloads the entry
+   * @param refreshExecutor    executor that reloads entries, or null to disable refresh-ahead
+   */
+  public BoundedCacheImpl(final CurrentTime currentTime,
+                          final long timeoutMillis,
+                          final int maximumSize,
+                          final long refreshAfterMillis,
+                          final Executor refreshExecutor) {
+    this(currentTime, timeoutMillis, 0, maximumSize, refreshAfterMillis, refreshExecutor);
+  }
+
+  /**
+   * Construct a size-bounded expire-after-write cache that refreshes entries ahead of their timeout
+   * and caches failed loads.
+   *
+   * @param currentTime          class that returns the current time for timeout purposes
+   * @param timeoutMillis        a cache entry timeout after write
+   * @param failureTimeoutMillis a timeout of a failed load after write, or 0 to not cache failed loads
+   * @param maximumSize          the maximum number of entries
+   * @param refreshAfterMillis   the time after write from which a hit reloads the entry
+   * @param refreshExecutor      executor that reloads entries, or null to disable refresh-ahead
+   */
+  @SuppressWarnings("unchecked")
+  public BoundedCacheImpl(final CurrentTime currentTime,
+                          final long timeoutMillis,
+                          final long failureTimeoutMillis,
+                          final int maximumSize,
+                          final long refreshAfterMillis,
+                          final Executor refreshExecutor) {
+    if (timeoutMillis <= 0) {
+      throw new IllegalArgumentException("timeoutMillis must be positive: " + timeoutMillis);
+    }
+    if (failureTimeoutMillis < 0) {
+      throw new IllegalArgumentException("failureTimeoutMillis must not be negative: " + failureTimeoutMillis);
+    }
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+    }
+    if (refreshAfterMillis <= 0) {
+      throw new IllegalArgumentException("refreshAfterMillis must be positive: " + refreshAfterMillis);
+    }
+    this.internalMap = new ConcurrentHashMap<>();
+    this.currentTime = currentTime;
+    this.timeoutMillis = timeoutMillis;
+    this.failureTimeoutMillis = failureTimeoutMillis;
+    this.maximumSize = maximumSize;
+    this.maximumProtectedSize = Math.max(1, (int) (maximumSize * PROTECTED_RATIO));
+    this.refreshAfterMillis = refreshAfterMillis;
+    this.refreshExecutor = refreshExecutor;
+    this.tickMillis = Math.max(1, timeoutMillis / TICKS_PER_TIMEOUT);
+
+    this.policyLock = new ReentrantLock();
+    this.probationSegment = new Node<>();
+    this.protectedSegment = new Node<>();
+    this.wheel = new Node[WHEEL_SIZE];
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      this.wheel[i] = new Node<>();
+    }
+    this.nextTick = currentTime.now() / tickMillis;
+  }
+
+  @Override
+  public V get(final K key, final Callable<V> valueFetcher) throws ExecutionException {
+    while (true) {
+      final Node<K, V> existingNode = internalMap.get(key);
+      if (existingNode == null) {
+        final Node<K, V> newNode = new Node<>(key, new WrappedValue<>(valueFetcher, currentTime));
+        if (internalMap.putIfAbsent(key, newNode) == null) {
+          return load(newNode);
+        }
+        // Another thread put a value in the meantime; retry with it
+        continue;
+      }
+
+      final WrappedValue<V> existingWrappedValue = existingNode.wrappedValue;
+      final Optional<V> existingValue = existingWrappedValue.getValue();
+      if (!existingValue.isPresent() && !existingWrappedValue.hasFailed()) {
+        // If value is being computed, wait for computation to complete
+        hitCount.incrementAndGet();
+        return existingWrappedValue.waitAndGet();
+      }
+
+      final long now = currentTime.now();
+      if (existingNode.expireTime <= now) {
+        if (internalMap.remove(key, existingNode)) {
+          expirationCount.incrementAndGet();
+        }
+        removeFromPolicy(existingNode);
+        continue;
+      }
+
+      hitCount.incrementAndGet();
+      if (!existingValue.isPresent()) {
+        // Rethrow the cached failure
+        return existingWrappedValue.waitAndGet();
+      }
+      afterRead(existingNode, now);
+      if (existingNode.refreshTime <= now) {
+        refresh(existingNode, valueFetcher);
+      }
+      return existingValue.get();
+    }
+  }
+
+  @Override
+  public void invalidate(final K key) {
+    final Node<K, V> node = internalMap.remove(key);
+    if (node != null) {
+      removeFromPolicy(node);
+    }
+  }
+
+  /**
+   * @return the number of entries, including the ones that are being loaded
+   */
+  public int size() {
+    return internalMap.size();
+  }
+
+  /**
+   * @return a snapshot of the statistics of this cache
+   */
+  public CacheStats getStats() {
+    return new CacheStats(hitCount.get(), missCount.get(), loadFailureCount.get(),
+        evictionCount.get(), expirationCount.get(), refreshCount.get());
+  }
+
+  /**
+   * Admit a new node to the probation segment and load its value.
+   * A failed load is scheduled to expire after failureTimeoutMillis, or removed if failures are not cached.
+   */
+  private V load(final Node<K, V> node) throws ExecutionException {
+    missCount.incrementAndGet();
+    policyLock.lock();
+    try {
+      if (!node.removed) {
+        linkLast(probationSegment, node);
+        size++;
+        evictEntries();
+      }
+      expireEntries(currentTime.now());
+    } finally {
+      policyLock.unlock();
+    }
+
+    final WrappedValue<V> wrappedValue = node.wrappedValue;
+    final V value;
+    try {
+      value = wrappedValue.loadAndGet();
+    } catch (final ExecutionException e) {
+      loadFailureCount.incrementAndGet();
+      if (failureTimeoutMillis > 0) {
+        policyLock.lock();
+        try {
+          schedule(node, wrappedValue.getWriteTime().get() + failureTimeoutMillis, Long.MAX_VALUE);
+        } finally {
+          policyLock.unlock();
+        }
+      } else {
+        internalMap.remove(node.key, node);
+        removeFromPolicy(node);
+      }
+      throw e;
+    }
+
+    policyLock.lock();
+    try {
+      schedule(node, wrappedValue.getWriteTime().get());
+    } finally {
+      policyLock.unlock();
+    }
+    return value;
+  }
+
+  /**
+   * Record an access to the node and run an expiration sweep, unless another thread holds the lock.
+   */
+  private void afterRead(final Node<K, V> node, final long now) {
+    if (!policyLock.tryLock()) {
+      return;
+    }
+    try {
+      if (!node.removed && node.prev != null) {
+        if (node.inProtectedSegment) {
+          unlink(node);
+          linkLast(protectedSegment, node);
+        } else {
+          promote(node);
+        }
+      }
+      expireEntries(now);
+    } finally {
+      policyLock.unlock();
+    }
+  }
+
+  /**
+   * Reload the value of the node on the refresh executor, unless a reload is already in progress.
+   * The current value is kept if the reload fails.
+   */
+  private void refresh(final Node<K, V> node, final Callable<V> valueFetcher) {
+    if (refreshExecutor == null || !node.refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      refreshExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            final WrappedValue<V> refreshedValue = new WrappedValue<>(valueFetcher, currentTime);
+            refreshedValue.loadAndGet();
+            policyLock.lock();
+            try {
+              if (!node.removed) {
+                node.wrappedValue = refreshedValue;
+                schedule(node, refreshedValue.getWriteTime().get());
+                refreshCount.incrementAndGet();
+              }
+            } finally {
+              policyLock.unlock();
+            }
+          } catch (final ExecutionException e) {
+            LOG.log(Level.FINE, "Failed to refresh the entry for " + node.key + ", keeping the current value", e);
+          } finally {
+            node.refreshing.set(false);
+          }
+        }
+      });
+    } catch (final RejectedExecutionException e) {
+      LOG.log(Level.FINE, "Refresh of the entry for {0} was rejected", node.key);
+      node.refreshing.set(false);
+    }
+  }
+
+  /**
+   * Must be called with policyLock held.
+   * Move a probation node to the protected segment, demoting the least recently used protected nodes
+   * back to probation if the protected segment is full.
+   */
+  private void promote(final Node<K, V> node) {
+    unlink(node);
+    linkLast(protectedSegment, node);
+    node.inProtectedSegment = true;
+    protectedSize++;
+
+    while (protectedSize > maximumProtectedSize) {
+      final Node<K, V> demoted = protectedSegment.next;
+      unlink(demoted);
+      linkLast(probationSegment, demoted);
+      demoted.inProtectedSegment = false;
+      protectedSize--;
+    }
+  }
+
+  /**
+   * Must be called with policyLock held.
+   * Evict least recently used nodes, from the probation segment first, until the cache is within its maximum size.
+   */
+  private void evictEntries() {
+    while (size > maximumSize) {
+      final Node<K, V> victim = probationSegment.next != probationSegment
+          ? probationSegment.next : protectedSegment.next;
+      internalMap.remove(victim.key, victim);
+      removeFromPolicy(victim);
+      evictionCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Must be called with policyLock held.
+   * Schedule the node to expire timeoutMillis after the write time, and to be refreshed if enabled.
+   */
+  private void schedule(final Node<K, V> node, final long writeTime) {
+    schedule(node, writeTime + timeoutMillis, refreshExecutor == null || refreshAfterMillis >= timeoutMillis
+        ? Long.MAX_VALUE : writeTime + refreshAfterMillis);
+  }
+
+  /**
+   * Must be called with policyLock held.
+   * Place the node in the timer wheel bucket of the given expiration time.
+   */
+  private void schedule(final Node<K, V> node, final long expireTime, final long refreshTime) {
+    if (node.removed) {
+      return;
+    }
+    node.expireTime = expireTime;
+    node.refreshTime = refreshTime;
+    if (node.wheelPrev != null) {
+      unlinkFromWheel(node);
+    }
+    linkLastToWheel(wheel[(int) ((node.expireTime / tickMillis) & (WHEEL_SIZE - 1))], node);
+  }
+
+  /**
+   * Must be called with policyLock held.
+   * Advance the timer wheel to now, removing the expired nodes of the buckets of the passed ticks.
+   * Nodes that are scheduled in a later turn of the wheel are kept.
+   */
+  private void expireEntries(final long now) {
+    final long nowTick = now / tickMillis;
+    final long lastTick = Math.min(nowTick, nextTick + WHEEL_SIZE);
+    for (long tick = nextTick; tick < lastTick; tick++) {
+      final Node<K, V> bucket = wheel[(int) (tick & (WHEEL_SIZE - 1))];
+      Node<K, V> node = bucket.wheelNext;
+      while (node != bucket) {
+        final Node<K, V> next = node.wheelNext;
+        if (node.expireTime <= now) {
+          if (internalMap.remove(node.key, node)) {
+            expirationCount.incrementAndGet();
+          }
+          removeFromPolicy(node);
+        }
+        node = next;
+      }
+    }
+    nextTick = Math.max(nextTick, nowTick);
+  }
+
+  /**
+   * Unlink the node from its segment and timer wheel bucket. The lock is reentrant,
+   * so this can also be called with policyLock held.
+   */
+  private void removeFromPolicy(final Node<K, V> node) {
+    policyLock.lock();
+    try {
+      if (node.removed) {
+        return;
+      }
+      node.removed = true;
+      if (node.prev != null) {
+        unlink(node);
+        size--;
+        if (node.inProtectedSegment) {
+          protectedSize--;
+        }
+      }
+      if (node.wheelPrev != null) {
+        unlinkFromWheel(node);
+      }
+    } finally {
+      policyLock.unlock();
+    }
+  }
+
+  private static <K, V> void linkLast(final Node<K, V> head, final Node<K, V> node) {
+    node.prev = head.prev;
+    node.next = head;
+    head.prev.next = node;
+    head.prev = node;
+  }
+
+  private static <K, V> void unlink(final Node<K, V> node) {
+    node.prev.next = node.next;
+    node.next.prev = node.prev;
+    node.prev = null;
+    node.next = null;
+  }
+
+  private static <K, V> void linkLastToWheel(final Node<K, V> bucket, final Node<K, V> node) {
+    node.wheelPrev = bucket.wheelPrev;
+    node.wheelNext = bucket;
+    bucket.wheelPrev.wheelNext = node;
+    bucket.wheelPrev = node;
+  }
+
+  private static <K, V> void unlinkFromWheel(final Node<K, V> node) {
+    node.wheelPrev.wheelNext = node.wheelNext;
+    node.wheelNext.wheelPrev = node.wheelPrev;
+    node.wheelPrev = null;
+    node.wheelNext = null;
+  }
+
+  /**
+   * A cache entry, linked into a segment and a timer wheel bucket.
+   * A node without a key is the head of a circular list.
+   * The links and the removed flag are guarded by policyLock.
+   */
+  private static final class Node<K, V> {
+    private final K key;
+    private final AtomicBoolean refreshing;
+
+    private volatile WrappedValue<V> wrappedValue;
+    private volatile long expireTime;
+    private volatile long refreshTime;
+
+    private Node<K, V> prev;
+    private Node<K, V> next;
+    private Node<K, V> wheelPrev;
+    private Node<K, V> wheelNext;
+    private boolean inProtectedSegment;
+    private boolean removed;
+
+    Node(final K key, final WrappedValue<V> wrappedValue) {
+      this.key = key;
+      this.wrappedValue = wrappedValue;
+      this.refreshing = new AtomicBoolean(false);
+      this.expireTime = Long.MAX_VALUE;
+      this.refreshTime = Long.MAX_VALUE;
+    }
+
+    Node() {
+      this(null, null);
+      this.prev = this;
+      this.next = this;
+      this.wheelPrev = this;
+      this.wheelNext = this;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.util.cache;
+
+/**
+ * A snapshot of the statistics of a cache.
+ */
+public final class CacheStats {
+  private final long hitCount;
+  private final long missCount;
+  private final long loadFailureCount;
+  private final long evictionCount;
+  private final long expirationCount;
+  private final long refreshCount;
+
+  /**
+   * Construct a snapshot of cache statistics.
+   *
+   * @param hitCount         number of gets that returned a cached or in-flight value
+   * @param missCount        number of gets that loaded a value
+   * @param loadFailureCount number of loads that failed
+   * @param evictionCount    number of entries evicted to keep the cache within its maximum size
+   * @param expirationCount  number of entries removed after their timeout
+   * @param refreshCount     number of entries reloaded ahead of their timeout
+   */
+  public CacheStats(final long hitCount,
+                    final long missCount,
+                    final long loadFailureCount,
+                    final long evictionCount,
+                    final long expirationCount,
+                    final long refreshCount) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.loadFailureCount = loadFailureCount;
+    this.evictionCount = evictionCount;
+    this.expirationCount = expirationCount;
+    this.refreshCount = refreshCount;
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  public long getLoadFailureCount() {
+    return loadFailureCount;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public long getExpirationCount() {
+    return expirationCount;
+  }
+
+  public long getRefreshCount() {
+    return refreshCount;
+  }
+
+  /**
+   * @return the ratio of gets that did not load a value, or 1.0 if there were no gets
+   */
+  public double getHitRate() {
+    final long requestCount = hitCount + missCount;
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+
+  @Override
+  public String toString() {
+    return "CacheStats{" +
+        "hits=" + hitCount +
+        ", misses=" + missCount +
+        ", loadFailures=" + loadFailureCount +
+        ", evictions=" + evictionCount +
+        ", expirations=" + expirationCount +
+        ", refreshes=" + refreshCount +
+        '}';
+  }
+}
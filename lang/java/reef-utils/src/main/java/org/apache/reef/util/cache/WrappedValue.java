@@ -26,13 +26,15 @@ import java.util.concurrent.ExecutionException;
 /**
  * A representation of a cached entry.
  * Contains a value and when it was written.
+ * If loading the value fails, the failure is handed to the threads waiting on it.
  */
 final class WrappedValue<V> {
   private final Callable<V> valueFetcher;
   private final CurrentTime currentTime;
 
-  private Optional<V> value;
-  private Optional<Long> writeTime;
+  private volatile Optional<V> value;
+  private volatile Optional<Long> writeTime;
+  private volatile ExecutionException failure;
 
   /**
    * Construct a representation of a cached entry.
@@ -59,6 +61,13 @@ final class WrappedValue<V> {
     return value;
   }
 
+  /**
+   * @return true if valueFetcher failed or returned null
+   */
+  public boolean hasFailed() {
+    return failure != null;
+  }
+
   /**
    * Must only be called once, by the thread that created this WrappedValue.
    * @return The value returned by valueFetcher
@@ -66,27 +75,38 @@ final class WrappedValue<V> {
   public synchronized V loadAndGet() throws ExecutionException {
     try {
       value = Optional.ofNullable(valueFetcher.call());
+      if (!value.isPresent()) {
+        failure = new ExecutionException(new NullPointerException("valueFetcher returned null"));
+      }
     } catch (final Exception e) {
-      throw new ExecutionException(e);
+      failure = new ExecutionException(e);
     } finally {
       writeTime = Optional.of(currentTime.now());
       this.notifyAll();
     }
-    if (!value.isPresent()) {
-      throw new ExecutionException(new NullPointerException("valueFetcher returned null"));
+    if (failure != null) {
+      throw failure;
     } else {
       return value.get();
     }
   }
 
-  public synchronized V waitAndGet() {
-    while (!value.isPresent()) {
+  /**
+   * Waits until the value is loaded by another thread.
+   * @return The value returned by valueFetcher
+   * @throws ExecutionException if valueFetcher failed or returned null
+   */
+  public synchronized V waitAndGet() throws ExecutionException {
+    while (!value.isPresent() && failure == null) {
       try {
         this.wait();
       } catch (final InterruptedException ignored) {
         // Ignore, as while loop will be re-entered
       }
     }
+    if (failure != null) {
+      throw failure;
+    }
     return value.get();
   }
 }
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.util.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test size bound, eviction policy, expiration, refresh-ahead and statistics of BoundedCacheImpl.
+ */
+public final class BoundedCacheImplTest {
+
+  private static final long TIMEOUT_MILLIS = 1000;
+  private static final int MAXIMUM_SIZE = 10;
+
+  private final ManualTime currentTime = new ManualTime();
+  private BoundedCacheImpl<String, Integer> cache;
+
+  @Before
+  public void setUp() {
+    cache = new BoundedCacheImpl<>(currentTime, TIMEOUT_MILLIS, MAXIMUM_SIZE);
+  }
+
+  /**
+   * Test that the cache never holds more than its maximum size, and that evictions are counted.
+   */
+  @Test
+  public void testMaximumSize() throws ExecutionException {
+    final int numKeys = 100;
+    for (int i = 0; i < numKeys; i++) {
+      assertEquals(i, (int) cache.get("key" + i, new ImmediateInteger(i)));
+      assertTrue(cache.size() <= MAXIMUM_SIZE);
+    }
+    assertEquals(numKeys, cache.getStats().getMissCount());
+    assertEquals(numKeys - MAXIMUM_SIZE, cache.getStats().getEvictionCount());
+  }
+
+  /**
+   * Test that keys that were read again survive a scan over many keys that are read only once.
+   */
+  @Test
+  public void testFrequentKeysSurviveScan() throws ExecutionException {
+    final int numHotKeys = 5;
+    for (int i = 0; i < numHotKeys; i++) {
+      cache.get("hot" + i, new ImmediateInteger(i));
+      cache.get("hot" + i, new ImmediateInteger(i));
+    }
+    for (int i = 0; i < 100; i++) {
+      cache.get("cold" + i, new ImmediateInteger(i));
+    }
+    for (int i = 0; i < numHotKeys; i++) {
+      // The original cached value should be retrieved, as hot keys are in the protected segment
+      assertEquals(i, (int) cache.get("hot" + i, new ImmediateInteger(-1)));
+    }
+    assertEquals(2 * numHotKeys, cache.getStats().getHitCount());
+  }
+
+  /**
+   * Test expire-after-write, and that expired entries are collected without being read.
+   */
+  @Test
+  public void testExpireAfterWrite() throws ExecutionException {
+    final String key = "testExpireAfterWrite";
+    assertEquals(20, (int) cache.get(key, new ImmediateInteger(20)));
+
+    currentTime.advance(TIMEOUT_MILLIS / 2);
+    assertEquals(20, (int) cache.get(key, new ImmediateInteger(40)));
+    for (int i = 0; i < MAXIMUM_SIZE / 2; i++) {
+      cache.get("other" + i, new ImmediateInteger(i));
+    }
+
+    currentTime.advance(TIMEOUT_MILLIS + TIMEOUT_MILLIS / 4);
+    assertEquals(40, (int) cache.get(key, new ImmediateInteger(40)));
+    assertEquals(1, cache.size());
+    assertEquals(1 + MAXIMUM_SIZE / 2, cache.getStats().getExpirationCount());
+  }
+
+  /**
+   * Test that a failed load is not cached, so that the next get loads the value again.
+   */
+  @Test
+  public void testFailedLoadIsRetried() throws ExecutionException {
+    final String key = "testFailedLoadIsRetried";
+    try {
+      cache.get(key, new Callable<Integer>() {
+        @Override
+        public Integer call() throws Exception {
+          throw new IllegalStateException("Failed to load");
+        }
+      });
+      fail("A failed load should throw an ExecutionException");
+    } catch (final ExecutionException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+    assertEquals(20, (int) cache.get(key, new ImmediateInteger(20)));
+    assertEquals(1, cache.getStats().getLoadFailureCount());
+  }
+
+  /**
+   * Test that a failed load is cached as a negative entry until the failure timeout.
+   */
+  @Test
+  public void testFailedLoadIsCached() throws ExecutionException {
+    final BoundedCacheImpl<String, Integer> negativeCache =
+        new BoundedCacheImpl<>(currentTime, TIMEOUT_MILLIS, TIMEOUT_MILLIS / 10, MAXIMUM_SIZE, TIMEOUT_MILLIS, null);
+    final String key = "testFailedLoadIsCached";
+    final Callable<Integer> failingLoader = new Callable<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        throw new IllegalStateException("Failed to load");
+      }
+    };
+    for (int i = 0; i < 2; i++) {
+      try {
+        // The second get should rethrow the cached failure without calling the loader
+        negativeCache.get(key, i == 0 ? failingLoader : new ImmediateInteger(20));
+        fail("A cached failure should throw an ExecutionException");
+      } catch (final ExecutionException e) {
+        assertTrue(e.getCause() instanceof IllegalStateException);
+      }
+    }
+
+    currentTime.advance(TIMEOUT_MILLIS / 10);
+    assertEquals(20, (int) negativeCache.get(key, new ImmediateInteger(20)));
+    assertEquals(1, negativeCache.getStats().getLoadFailureCount());
+    assertEquals(2, negativeCache.getStats().getMissCount());
+  }
+
+  /**
+   * Test that a hit after refreshAfterMillis returns the current value and reloads it ahead of the timeout.
+   */
+  @Test
+  public void testRefreshAhead() throws ExecutionException {
+    final Executor directExecutor = new Executor() {
+      @Override
+      public void execute(final Runnable command) {
+        command.run();
+      }
+    };
+    final BoundedCacheImpl<String, Integer> refreshingCache =
+        new BoundedCacheImpl<>(currentTime, TIMEOUT_MILLIS, MAXIMUM_SIZE, TIMEOUT_MILLIS / 2, directExecutor);
+    final String key = "testRefreshAhead";
+    assertEquals(20, (int) refreshingCache.get(key, new ImmediateInteger(20)));
+
+    currentTime.advance(TIMEOUT_MILLIS * 3 / 4);
+    assertEquals(20, (int) refreshingCache.get(key, new ImmediateInteger(40)));
+    assertEquals(40, (int) refreshingCache.get(key, new ImmediateInteger(60)));
+
+    // The refreshed value should not expire at the timeout of the original write
+    currentTime.advance(TIMEOUT_MILLIS * 3 / 8);
+    assertEquals(40, (int) refreshingCache.get(key, new ImmediateInteger(60)));
+    assertEquals(1, refreshingCache.getStats().getRefreshCount());
+    assertEquals(1, refreshingCache.getStats().getMissCount());
+  }
+
+  /**
+   * A time source that only moves when advanced.
+   */
+  private static final class ManualTime implements CurrentTime {
+    private long now = 1000000;
+
+    @Override
+    public long now() {
+      return now;
+    }
+
+    void advance(final long millis) {
+      now += millis;
+    }
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.reef.util.cache;
 
 import org.junit.Test;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -73,12 +74,13 @@ public final class WrappedValueTest {
 
     final Future<?>[] futures = new Future<?>[NUM_THREADS];
     for (int i = 0; i < NUM_THREADS; i++) {
-      futures[i] = executorService.submit(new Runnable() {
+      futures[i] = executorService.submit(new Callable<Void>() {
         @Override
-        public void run() {
+        public Void call() throws ExecutionException {
           final Integer valueAfterWait = wrappedValue.waitAndGet();
           assertEquals(value, valueAfterWait);
           assertTrue(value == valueAfterWait);
+          return null;
         }
       });
     }
@@ -40,6 +40,7 @@ abstract class AbstractNettyEventListener implements NettyEventListener {
   protected final ConcurrentMap<SocketAddress, LinkReference> addrToLinkRefMap;
   protected final EStage<TransportEvent> stage;
   protected EventHandler<Exception> exceptionHandler;
+  protected volatile EventHandler<SocketAddress> linkClosedHandler;
 
   AbstractNettyEventListener(
       final ConcurrentMap<SocketAddress, LinkReference> addrToLinkRefMap,
@@ -53,6 +54,11 @@ abstract class AbstractNettyEventListener implements NettyEventListener {
     this.exceptionHandler = handler;
   }
 
+  public void registerLinkClosedHandler(final EventHandler<SocketAddress> handler) {
+    LOG.log(Level.FINE, "Set link closed handler {0}", handler);
+    this.linkClosedHandler = handler;
+  }
+
   @Override
   public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
     final Channel channel = ctx.channel();
@@ -95,5 +101,8 @@ abstract class AbstractNettyEventListener implements NettyEventListener {
             this.addrToLinkRefMap.remove(channel.remoteAddress()) : null;
     LOG.log(Level.FINER, "Channel closed: {0}. Link ref found and removed: {1}",
         new Object[]{channel, refRemoved != null});
+    if (this.linkClosedHandler != null && channel != null && channel.remoteAddress() != null) {
+      this.linkClosedHandler.onNext(channel.remoteAddress());
+    }
   }
 }
@@ -66,26 +66,25 @@ public class ChunkedReadWriteHandler extends ChunkedWriteHandler {
   @Override
   public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
 
-    if (msg instanceof byte[]) {
-
-      final byte[] data = (byte[]) msg;
-
-      if (start) {
-        //LOG.log(Level.FINEST, "{0} Starting dechunking of a chunked write", curThrName);
-        expectedSize = getSize(data);
-        // LOG.log(Level.FINEST, "Expected Size = {0}. Wrapping byte[{1}] into a ChannelBuffer",
-        // new Object[]{expectedSize,expectedSize});
-        retArr = new byte[expectedSize];
-        readBuffer = Unpooled.wrappedBuffer(retArr);
-        readBuffer.clear();
-        //if (LOG.isLoggable(Level.FINEST)) LOG.log(Level.FINEST, curThrName + "read buffer: cur sz = " +
-        // readBuffer.writerIndex() + " + " + (data.length - INT_SIZE) + " bytes will added by current chunk");
-        readBuffer.writeBytes(data, INT_SIZE, data.length - INT_SIZE);
-        //if (LOG.isLoggable(Level.FINEST)) LOG.log(Level.FINEST, curThrName + "read buffer: new sz = " +
-        // readBuffer.writerIndex());
-        start = false;
-      } else {
+    if (msg instanceof ByteBuf) {
+
+      // the frame is a slice of the receive buffer: copy it straight into the message array and release it
+      final ByteBuf data = (ByteBuf) msg;
+
+      try {
+        if (start) {
+          //LOG.log(Level.FINEST, "{0} Starting dechunking of a chunked write", curThrName);
+          expectedSize = getSize(data);
+          // LOG.log(Level.FINEST, "Expected Size = {0}. Wrapping byte[{1}] into a ChannelBuffer",
+          // new Object[]{expectedSize,expectedSize});
+          retArr = new byte[expectedSize];
+          readBuffer = Unpooled.wrappedBuffer(retArr);
+          readBuffer.clear();
+          start = false;
+        }
         readBuffer.writeBytes(data);
+      } finally {
+        data.release();
       }
 
       if (readBuffer.writerIndex() == expectedSize) {
@@ -155,26 +154,15 @@ public class ChunkedReadWriteHandler extends ChunkedWriteHandler {
   }
 
   /**
-   * Get expected size encoded as the first 4 bytes of data.
-   */
-  private int getSize(final byte[] data) {
-    return getSize(data, 0);
-  }
-
-  /**
-   * Get expected size encoded as offset + 4 bytes of data.
+   * Get expected size encoded as the first 4 bytes of data, and skip over them.
    */
-  private int getSize(final byte[] data, final int offset) {
+  private int getSize(final ByteBuf data) {
 
-    if (data.length - offset < INT_SIZE) {
+    if (data.readableBytes() < INT_SIZE) {
       return 0;
     }
 
-    final ByteBuf intBuffer = Unpooled.wrappedBuffer(data, offset, INT_SIZE).order(Unpooled.LITTLE_ENDIAN);
-    final int ret = intBuffer.readInt();
-    intBuffer.release();
-
-    return ret;
+    return data.order(Unpooled.LITTLE_ENDIAN).readInt();
   }
 
   /**
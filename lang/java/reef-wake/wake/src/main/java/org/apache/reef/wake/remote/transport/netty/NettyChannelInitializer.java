@@ -20,9 +20,7 @@ package org.apache.reef.wake.remote.transport.netty;
 
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.LengthFieldPrepender;
-import io.netty.handler.codec.bytes.ByteArrayDecoder;
 import io.netty.handler.codec.bytes.ByteArrayEncoder;
 
 /**
@@ -42,8 +40,7 @@ class NettyChannelInitializer extends ChannelInitializer<SocketChannel> {
   @Override
   protected void initChannel(final SocketChannel ch) throws Exception {
     ch.pipeline()
-        .addLast("frameDecoder", new LengthFieldBasedFrameDecoder(MAXFRAMELENGTH, 0, 4, 0, 4))
-        .addLast("bytesDecoder", new ByteArrayDecoder())
+        .addLast("frameDecoder", new SlicingFrameDecoder())
         .addLast("frameEncoder", new LengthFieldPrepender(4))
         .addLast("bytesEncoder", new ByteArrayEncoder())
         .addLast("chunker", new ChunkedReadWriteHandler())
@@ -365,4 +365,16 @@ public class NettyMessagingTransport implements Transport {
     this.clientEventListener.registerErrorHandler(handler);
     this.serverEventListener.registerErrorHandler(handler);
   }
+
+  /**
+   * Registers the handler of closed links.
+   * The handler gets the remote address of a link when its channel is closed, both for the links this
+   * transport opened and for the links opened to it. It is called on a Netty I/O thread, so it must not block.
+   *
+   * @param handler the handler of the remote addresses of closed links
+   */
+  public void registerLinkClosedHandler(final EventHandler<SocketAddress> handler) {
+    this.clientEventListener.registerLinkClosedHandler(handler);
+    this.serverEventListener.registerLinkClosedHandler(handler);
+  }
 }
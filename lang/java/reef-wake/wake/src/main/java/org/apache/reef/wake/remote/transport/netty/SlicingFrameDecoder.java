@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+
+/**
+ * A frame decoder passing frames on as slices of the receive buffer instead of copies.
+ * The chunker copies each frame into the message it belongs to and releases it before
+ * the receive buffer is reused, so the frame does not need a buffer of its own.
+ */
+final class SlicingFrameDecoder extends LengthFieldBasedFrameDecoder {
+
+  SlicingFrameDecoder() {
+    super(NettyChannelInitializer.MAXFRAMELENGTH, 0, 4, 0, 4);
+  }
+
+  @Override
+  protected ByteBuf extractFrame(final ChannelHandlerContext ctx, final ByteBuf buffer,
+                                 final int index, final int length) {
+    return buffer.slice(index, length).retain();
+  }
+}
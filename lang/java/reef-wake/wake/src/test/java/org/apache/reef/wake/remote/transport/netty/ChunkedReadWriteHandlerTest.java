@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.bytes.ByteArrayEncoder;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for reading messages with {@link SlicingFrameDecoder} and {@link ChunkedReadWriteHandler}.
+ * A message is sent as frames, each prefixed with its length. The frames of a message carry
+ * the size of the message followed by its bytes.
+ */
+public final class ChunkedReadWriteHandlerTest {
+
+  /**
+   * Check that a frame received in several reads is decoded once it is complete.
+   */
+  @Test
+  public void testFrameSplitAcrossReads() {
+    final byte[] message = newMessage(1000);
+    final byte[] frame = toBytes(frame(chunkedContent(message)));
+    final ByteBuf[] reads = new ByteBuf[]{
+        Unpooled.wrappedBuffer(Arrays.copyOfRange(frame, 0, 2)),
+        Unpooled.wrappedBuffer(Arrays.copyOfRange(frame, 2, 500)),
+        Unpooled.wrappedBuffer(Arrays.copyOfRange(frame, 500, frame.length))};
+    final EmbeddedChannel channel = newReceivingChannel();
+
+    channel.writeInbound(reads[0]);
+    channel.writeInbound(reads[1]);
+    assertNull("no message before the frame is complete", channel.readInbound());
+    channel.writeInbound(reads[2]);
+
+    assertArrayEquals("message", message, (byte[]) channel.readInbound());
+    assertFalse("no more messages", channel.finish());
+    for (final ByteBuf read : reads) {
+      assertEquals("the received buffers are released", 0, read.refCnt());
+    }
+  }
+
+  /**
+   * Check that several frames received in one read are decoded in order.
+   */
+  @Test
+  public void testSeveralFramesInOneRead() {
+    final byte[][] messages = new byte[][]{newMessage(10), newMessage(1), newMessage(300)};
+    final ByteBuf read = Unpooled.wrappedBuffer(
+        frame(chunkedContent(messages[0])), frame(chunkedContent(messages[1])), frame(chunkedContent(messages[2])));
+    final EmbeddedChannel channel = newReceivingChannel();
+
+    channel.writeInbound(read);
+
+    for (final byte[] message : messages) {
+      assertArrayEquals("message", message, (byte[]) channel.readInbound());
+    }
+    assertFalse("no more messages", channel.finish());
+    assertEquals("the received buffer is released", 0, read.refCnt());
+  }
+
+  /**
+   * Check that a message sent in several frames is put together from them.
+   */
+  @Test
+  public void testMessageInSeveralFrames() {
+    final byte[] message = newMessage(1000);
+    final byte[] content = chunkedContent(message);
+    final ByteBuf read = Unpooled.wrappedBuffer(
+        frame(Arrays.copyOfRange(content, 0, 100)), frame(Arrays.copyOfRange(content, 100, content.length)));
+    final EmbeddedChannel channel = newReceivingChannel();
+
+    channel.writeInbound(read);
+
+    assertArrayEquals("message", message, (byte[]) channel.readInbound());
+    assertFalse("no more messages", channel.finish());
+    assertEquals("the received buffer is released", 0, read.refCnt());
+  }
+
+  /**
+   * Check that a frame longer than the maximum frame length is rejected.
+   */
+  @Test(expected = TooLongFrameException.class)
+  public void testOversizedFrame() {
+    final ByteBuf read = Unpooled.buffer(8);
+    read.writeInt(NettyChannelInitializer.MAXFRAMELENGTH + 1);
+    read.writeInt(0);
+
+    newReceivingChannel().writeInbound(read);
+  }
+
+  /**
+   * Check that a message larger than a chunk is written as several frames and read back.
+   */
+  @Test
+  public void testLargeMessageRoundTrip() {
+    final byte[] message = newMessage(NettyChannelInitializer.MAXFRAMELENGTH + 100);
+    final EmbeddedChannel sendingChannel =
+        new EmbeddedChannel(new LengthFieldPrepender(4), new ByteArrayEncoder(), new ChunkedReadWriteHandler());
+    sendingChannel.writeOutbound(Unpooled.wrappedBuffer(message));
+
+    final List<ByteBuf> frames = new ArrayList<>();
+    for (Object frame = sendingChannel.readOutbound(); frame != null; frame = sendingChannel.readOutbound()) {
+      frames.add((ByteBuf) frame);
+    }
+    assertEquals("number of frames", 2, frames.size());
+
+    final EmbeddedChannel receivingChannel = newReceivingChannel();
+    for (final ByteBuf frame : frames) {
+      receivingChannel.writeInbound(frame);
+    }
+    assertArrayEquals("message", message, (byte[]) receivingChannel.readInbound());
+    assertFalse("no more messages", receivingChannel.finish());
+  }
+
+  private static EmbeddedChannel newReceivingChannel() {
+    return new EmbeddedChannel(new SlicingFrameDecoder(), new ChunkedReadWriteHandler());
+  }
+
+  private static byte[] newMessage(final int size) {
+    final byte[] message = new byte[size];
+    for (int i = 0; i < size; i++) {
+      message[i] = (byte) i;
+    }
+    return message;
+  }
+
+  /**
+   * @return the size of the message in little endian order, followed by the message
+   */
+  private static byte[] chunkedContent(final byte[] message) {
+    final ByteBuf content = Unpooled.buffer(ChunkedReadWriteHandler.INT_SIZE + message.length)
+        .order(Unpooled.LITTLE_ENDIAN);
+    content.writeInt(message.length);
+    content.writeBytes(message);
+    return toBytes(content);
+  }
+
+  /**
+   * @return the length of the content, followed by the content
+   */
+  private static ByteBuf frame(final byte[] content) {
+    final ByteBuf frame = Unpooled.buffer(4 + content.length);
+    frame.writeInt(content.length);
+    frame.writeBytes(content);
+    return frame;
+  }
+
+  private static byte[] toBytes(final ByteBuf buffer) {
+    final byte[] bytes = new byte[buffer.readableBytes()];
+    buffer.readBytes(bytes);
+    buffer.release();
+    return bytes;
+  }
+}